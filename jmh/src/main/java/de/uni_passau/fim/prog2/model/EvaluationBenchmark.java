@@ -0,0 +1,71 @@
+package de.uni_passau.fim.prog2.model;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Misst den Durchsatz der Bewertung einer Spielsituation durch
+ * {@code Score} über alle Spielsituationen eines Korpus, wobei wie in der
+ * Suche pro Bewertung ein neuer {@code Score} kreiert wird. Eine Operation
+ * entspricht einer Spielsituation.
+ *
+ * @version 17.10.26
+ * @author -----
+ * @see     PositionCorpus
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EvaluationBenchmark {
+
+    /**
+     * Entspricht dem Namen des Korpus.
+     */
+    @Param({"midgame", "endgame"})
+    private String corpus;
+
+    /**
+     * Entspricht den Spielsituationen des Korpus.
+     */
+    private Reversi[] positions;
+
+    /**
+     * Lädt den Korpus.
+     */
+    @Setup
+    public void setUp() {
+        positions = PositionCorpus.load(corpus);
+    }
+
+    /**
+     * Bewertet jede Spielsituation aus Sicht der Maschine.
+     *
+     * @return              Gibt die Summe der Scores zurück.
+     * @see                 Score#calculateScore()
+     */
+    @Benchmark
+    @OperationsPerInvocation(PositionCorpus.SIZE)
+    public double calculateScore() {
+        double sum = 0;
+        for (Reversi position : positions) {
+            sum += new Score(position, Player.MACHINE,
+                    EvaluationWeights.DEFAULT).calculateScore();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,120 @@
+package de.uni_passau.fim.prog2.model;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Misst den Durchsatz der Zuggenerierung von {@code Reversi}, also das
+ * Ausführen eines Zuges, das Zählen der legalen Züge und das Klonen, über
+ * alle Spielsituationen eines Korpus. Eine Operation entspricht einer
+ * Spielsituation.
+ *
+ * @version 17.10.26
+ * @author -----
+ * @see     PositionCorpus
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoveGenerationBenchmark {
+
+    /**
+     * Entspricht dem Namen des Korpus.
+     */
+    @Param({"midgame", "endgame"})
+    private String corpus;
+
+    /**
+     * Entspricht den Spielsituationen des Korpus.
+     */
+    private Reversi[] positions;
+
+    /**
+     * Entspricht den Zeilen eines legalen Zuges pro Spielsituation.
+     */
+    private int[] rows;
+
+    /**
+     * Entspricht den Spalten eines legalen Zuges pro Spielsituation.
+     */
+    private int[] cols;
+
+    /**
+     * Lädt den Korpus und wählt pro Spielsituation den ersten legalen Zug
+     * in der Reihenfolge der Zeilen.
+     */
+    @Setup
+    public void setUp() {
+        positions = PositionCorpus.load(corpus);
+        rows = new int[positions.length];
+        cols = new int[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            int square = Long.numberOfTrailingZeros(
+                    positions[i].calculateLegalMoves(Player.MACHINE));
+            rows[i] = square / Board.SIZE + 1;
+            cols[i] = square % Board.SIZE + 1;
+        }
+    }
+
+    /**
+     * Führt pro Spielsituation einen legalen Zug der Maschine aus.
+     *
+     * @param blackhole     Verhindert, dass die Züge wegoptimiert werden.
+     * @see                 Reversi#moveForNextPlayer(int, int)
+     */
+    @Benchmark
+    @OperationsPerInvocation(PositionCorpus.SIZE)
+    public void moveForNextPlayer(Blackhole blackhole) {
+        for (int i = 0; i < positions.length; i++) {
+            blackhole.consume(positions[i].moveForNextPlayer(rows[i],
+                    cols[i]));
+        }
+    }
+
+    /**
+     * Zählt pro Spielsituation die legalen Züge beider Spieler.
+     *
+     * @return              Gibt die Summe der Anzahlen zurück.
+     * @see                 Reversi#numberOfLegalMoves(Player)
+     */
+    @Benchmark
+    @OperationsPerInvocation(PositionCorpus.SIZE)
+    public int numberOfLegalMoves() {
+        int sum = 0;
+        for (Reversi position : positions) {
+            sum += position.numberOfLegalMoves(Player.MACHINE)
+                    + position.numberOfLegalMoves(Player.HUMAN);
+        }
+        return sum;
+    }
+
+    /**
+     * Klont jede Spielsituation.
+     *
+     * @param blackhole     Verhindert, dass die Klone wegoptimiert werden.
+     * @see                 Reversi#clone()
+     */
+    @Benchmark
+    @OperationsPerInvocation(PositionCorpus.SIZE)
+    public void cloneBoard(Blackhole blackhole) {
+        for (Reversi position : positions) {
+            blackhole.consume(position.clone());
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package de.uni_passau.fim.prog2.model;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lädt die eingecheckten Spielsituationen der Benchmarks. Jede Zeile einer
+ * Datei enthält den Eröffner und die Züge ab der Ausgangsspielsituation,
+ * wobei ein Zug aus dem Buchstaben der Spalte und der Nummer der Zeile
+ * besteht, etwa {@code d3}. In jeder Spielsituation ist die Maschine an der
+ * Reihe.
+ *
+ * @version 17.10.26
+ * @author -----
+ */
+final class PositionCorpus {
+
+    /**
+     * Entspricht der Anzahl an Spielsituationen jeder Datei.
+     */
+    static final int SIZE = 100;
+
+    /**
+     * Entspricht der Sitzung aller Spielsituationen, die nur eine kleine
+     * Transpositionstabelle besitzt, da die Benchmarks eigene Sitzungen
+     * verwenden.
+     */
+    private static final EngineSession SESSION
+            = new EngineSession(EngineConfig.DEFAULT.withHashSize(1));
+
+    /**
+     * Verhindert die Instanziierung der Klasse.
+     */
+    private PositionCorpus() {
+    }
+
+    /**
+     * Lädt die Spielsituationen einer Datei.
+     *
+     * @param name                          Entspricht dem Namen der Datei
+     *                                      ohne Endung, also
+     *                                      {@code midgame} oder
+     *                                      {@code endgame}.
+     * @return                              Gibt die Spielsituationen
+     *                                      zurück.
+     * @throws IllegalArgumentException     Wird geworfen, falls die Datei
+     *                                      nicht existiert oder nicht genau
+     *                                      {@link #SIZE} Spielsituationen
+     *                                      enthält.
+     */
+    static Reversi[] load(String name) {
+        InputStream input = PositionCorpus.class.getResourceAsStream(
+                "/positions/" + name + ".txt");
+        if (input == null) {
+            throw new IllegalArgumentException("Unknown corpus " + name
+                    + "!");
+        }
+
+        List<Reversi> positions = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            for (String line = reader.readLine(); line != null;
+                    line = reader.readLine()) {
+                if (!line.isEmpty() && !line.startsWith("#")) {
+                    positions.add(parse(line));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (positions.size() != SIZE) {
+            throw new IllegalArgumentException("Corpus " + name + " has "
+                    + positions.size() + " positions!");
+        }
+        return positions.toArray(new Reversi[SIZE]);
+    }
+
+    /**
+     * Spielt die Züge einer Zeile ab der Ausgangsspielsituation nach.
+     *
+     * @param line          Entspricht dem Eröffner und den Zügen.
+     * @return              Gibt die Spielsituation nach den Zügen zurück.
+     */
+    private static Reversi parse(String line) {
+        String[] parts = line.trim().split("\\s+");
+        Reversi board = new Reversi(Player.valueOf(parts[0]), SESSION);
+        String moves = parts.length > 1 ? parts[1] : "";
+        for (int i = 0; i + 1 < moves.length(); i += 2) {
+            int col = moves.charAt(i) - 'a' + 1;
+            int row = moves.charAt(i + 1) - '0';
+            board = board.moveForNextPlayer(row, col);
+        }
+        assert !board.gameOver() && board.next() == Player.MACHINE
+                : "Machine has to be next!";
+        return board;
+    }
+}
@@ -0,0 +1,128 @@
+package de.uni_passau.fim.prog2.model;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Misst den Durchsatz der Suche des besten Zuges pro Level, einmal durch
+ * den vollständigen {@code Tree} und einmal durch
+ * {@link Board#machineMove(EngineSession)}. Eine Operation entspricht einer
+ * Suche, wobei die Spielsituationen des Korpus reihum durchsucht werden.
+ * Jede Suche der Maschine erhält eine neue Sitzung mit leerer
+ * Transpositionstabelle, damit keine Suche von der vorherigen profitiert.
+ * Der Löser des Endspiels ist ausgeschaltet, damit auch im Endspiel das
+ * Level gemessen wird.
+ *
+ * @version 17.10.26
+ * @author -----
+ * @see     PositionCorpus
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchBenchmark {
+
+    /**
+     * Entspricht der Größe der Transpositionstabelle in Megabyte.
+     */
+    private static final int HASH_SIZE = 1;
+
+    /**
+     * Entspricht dem Namen des Korpus.
+     */
+    @Param({"midgame", "endgame"})
+    private String corpus;
+
+    /**
+     * Entspricht dem Level der Suche.
+     */
+    @Param({"1", "2", "3", "4", "5", "6"})
+    private int level;
+
+    /**
+     * Entspricht den Spielsituationen des Korpus.
+     */
+    private Reversi[] positions;
+
+    /**
+     * Entspricht den Einstellungen der Suche der Maschine.
+     */
+    private EngineConfig config;
+
+    /**
+     * Entspricht dem Index der nächsten Spielsituation.
+     */
+    private int next;
+
+    /**
+     * Entspricht der Sitzung der nächsten Suche der Maschine.
+     */
+    private EngineSession session;
+
+    /**
+     * Lädt den Korpus.
+     */
+    @Setup
+    public void setUp() {
+        positions = PositionCorpus.load(corpus);
+        config = EngineConfig.DEFAULT.withLevel(level).withEndgameEmpties(0)
+                .withHashSize(HASH_SIZE);
+    }
+
+    /**
+     * Kreiert vor jeder Suche eine neue Sitzung, wobei dies nicht zur
+     * gemessenen Zeit zählt.
+     */
+    @Setup(Level.Invocation)
+    public void newSession() {
+        session = new EngineSession(config);
+    }
+
+    /**
+     * Berechnet den besten Zug durch den vollständigen Baum.
+     *
+     * @return              Gibt den besten Zug zurück.
+     * @see                 Tree#calculateBestMove()
+     */
+    @Benchmark
+    public EngineBoard tree() {
+        return new Tree(nextPosition(), level).calculateBestMove();
+    }
+
+    /**
+     * Berechnet den besten Zug wie im Spiel.
+     *
+     * @return              Gibt den besten Zug zurück.
+     * @see                 Board#machineMove(EngineSession)
+     */
+    @Benchmark
+    public Board machineMove() {
+        return nextPosition().machineMove(session);
+    }
+
+    /**
+     * Gibt die nächste Spielsituation des Korpus zurück.
+     *
+     * @return              Entspricht der Spielsituation.
+     */
+    private Reversi nextPosition() {
+        Reversi position = positions[next];
+        next = (next + 1) % positions.length;
+        return position;
+    }
+}
@@ -0,0 +1,57 @@
+package de.uni_passau.fim.prog2.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Prüft, dass {@code AlphaBetaSearch} auf zufälligen Spielsituationen den
+ * gleichen besten Zug wie der vollständig aufgebaute {@code Tree} berechnet.
+ *
+ * @version 17.10.26
+ * @author -----
+ */
+class AlphaBetaSearchTest {
+
+    /**
+     * Entspricht dem höchsten geprüften Level.
+     */
+    private static final int MAX_LEVEL = 5;
+
+    /**
+     * Entspricht der Anzahl der geprüften Spielsituationen.
+     */
+    private static final int POSITIONS = 30;
+
+    /**
+     * Vergleicht beide Suchen für alle Level bis {@code MAX_LEVEL} auf
+     * zufälligen Spielsituationen aller Spielphasen, wobei die
+     * Transpositionstabelle zwischen den Suchen erhalten bleibt.
+     */
+    @Test
+    void findsSameMoveAsTree() {
+        Random random = new Random(1);
+        TranspositionTable table = new TranspositionTable(8);
+        int checked = 0;
+        while (checked < POSITIONS) {
+            Player first = checked % 2 == 0 ? Player.HUMAN : Player.MACHINE;
+            EngineBoard start = checked % 4 < 2 ? new Reversi(first)
+                    : new BitBoard(first);
+            EngineBoard board = RandomGames.playUntil(start,
+                    random.nextInt(Board.SIZE * Board.SIZE - 4), random);
+            if (board.gameOver()) {
+                continue;
+            }
+            for (int level = 1; level <= MAX_LEVEL; level++) {
+                EngineBoard expected = new Tree(board, level)
+                        .calculateBestMove();
+                EngineBoard actual = new AlphaBetaSearch(board, level, table,
+                        EvaluationWeights.DEFAULT).calculateBestMove();
+                assertEquals(expected.toString(), actual.toString(),
+                        "Level " + level + " on\n" + board);
+            }
+            checked++;
+        }
+    }
+}
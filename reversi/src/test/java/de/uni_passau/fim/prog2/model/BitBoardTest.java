@@ -0,0 +1,121 @@
+package de.uni_passau.fim.prog2.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Prüft, dass sich {@code BitBoard} in zufälligen Spielen genauso wie
+ * {@code Reversi} verhält.
+ *
+ * @version 17.10.26
+ * @author -----
+ */
+class BitBoardTest {
+
+    /**
+     * Entspricht der Anzahl der geprüften Spiele.
+     */
+    private static final int GAMES = 200;
+
+    /**
+     * Führt in beiden Implementierungen die gleichen zufälligen Züge aus
+     * und vergleicht danach jeweils die gesamte Spielsituation sowie die
+     * Legalität jedes Feldes.
+     */
+    @Test
+    void behavesLikeReversi() {
+        Random random = new Random(2);
+        for (int game = 0; game < GAMES; game++) {
+            Player first = game % 2 == 0 ? Player.HUMAN : Player.MACHINE;
+            EngineBoard reversi = new Reversi(first);
+            EngineBoard bitBoard = new BitBoard(first);
+            while (!reversi.gameOver()) {
+                assertSameState(reversi, bitBoard);
+                for (int row = 1; row <= Board.SIZE; row++) {
+                    for (int col = 1; col <= Board.SIZE; col++) {
+                        EngineBoard expected
+                                = reversi.moveForNextPlayer(row, col);
+                        EngineBoard actual
+                                = bitBoard.moveForNextPlayer(row, col);
+                        if (expected == null) {
+                            assertNull(actual, row + "/" + col);
+                        } else {
+                            assertSameState(expected, actual);
+                        }
+                    }
+                }
+                int[] squares = RandomGames.legalSquares(reversi);
+                int square = squares[random.nextInt(squares.length)];
+                reversi = reversi.moveForNextPlayer(square / Board.SIZE + 1,
+                        square % Board.SIZE + 1);
+                bitBoard = bitBoard.moveForNextPlayer(square / Board.SIZE + 1,
+                        square % Board.SIZE + 1);
+            }
+            assertSameState(reversi, bitBoard);
+            assertEquals(reversi.getWinner(), bitBoard.getWinner());
+        }
+    }
+
+    /**
+     * Prüft, dass die Maschine in beiden Implementierungen den gleichen Zug
+     * berechnet.
+     */
+    @Test
+    void calculatesSameMachineMove() {
+        Random random = new Random(3);
+        for (int game = 0; game < 10; game++) {
+            EngineBoard reversi = new Reversi(Player.MACHINE);
+            EngineBoard bitBoard = new BitBoard(Player.MACHINE);
+            reversi.setLevel(3);
+            bitBoard.setLevel(3);
+            while (!reversi.gameOver()) {
+                if (reversi.next() == Player.MACHINE) {
+                    reversi = (EngineBoard) reversi.machineMove();
+                    bitBoard = (EngineBoard) bitBoard.machineMove();
+                } else {
+                    int[] squares = RandomGames.legalSquares(reversi);
+                    int square = squares[random.nextInt(squares.length)];
+                    reversi = reversi.moveForNextPlayer(
+                            square / Board.SIZE + 1, square % Board.SIZE + 1);
+                    bitBoard = bitBoard.moveForNextPlayer(
+                            square / Board.SIZE + 1, square % Board.SIZE + 1);
+                }
+                assertSameState(reversi, bitBoard);
+            }
+        }
+    }
+
+    /**
+     * Vergleicht zwei Spielsituationen inklusive der inkrementell
+     * berechneten Werte.
+     *
+     * @param expected      Entspricht der Spielsituation von
+     *                      {@code Reversi}.
+     * @param actual        Entspricht der Spielsituation von
+     *                      {@code BitBoard}.
+     */
+    private static void assertSameState(EngineBoard expected,
+                                        EngineBoard actual) {
+        assertEquals(expected.toString(), actual.toString());
+        assertEquals(expected.next(), actual.next());
+        assertEquals(expected.gameOver(), actual.gameOver());
+        assertEquals(expected.getHash(), actual.getHash());
+        assertEquals(expected.getNumberOfHumanTiles(),
+                actual.getNumberOfHumanTiles());
+        assertEquals(expected.getNumberOfMachineTiles(),
+                actual.getNumberOfMachineTiles());
+        for (Player player : Player.values()) {
+            assertEquals(expected.calculateLegalMoves(player),
+                    actual.calculateLegalMoves(player));
+            assertEquals(expected.numberOfLegalMoves(player),
+                    actual.numberOfLegalMoves(player));
+            assertEquals(expected.getFieldScore(player),
+                    actual.getFieldScore(player));
+            assertEquals(expected.getFrontier(player),
+                    actual.getFrontier(player));
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package de.uni_passau.fim.prog2.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Prüft, dass {@code EndgameSolver} die gleiche Differenz der Steine wie
+ * ein vollständiges Durchsuchen aller Züge ohne Abschneiden berechnet.
+ *
+ * @version 17.10.26
+ * @author -----
+ */
+class EndgameSolverTest {
+
+    /**
+     * Entspricht der Anzahl der leeren Felder der geprüften
+     * Spielsituationen.
+     */
+    private static final int EMPTIES = 8;
+
+    /**
+     * Entspricht der Anzahl der geprüften Spielsituationen.
+     */
+    private static final int POSITIONS = 40;
+
+    /**
+     * Vergleicht die Differenz und den Zug des Lösers mit dem vollständigen
+     * Durchsuchen auf zufälligen Spielsituationen mit wenigen leeren
+     * Feldern.
+     */
+    @Test
+    void solvesLikeBruteForce() {
+        Random random = new Random(7);
+        int checked = 0;
+        while (checked < POSITIONS) {
+            Player first = checked % 2 == 0 ? Player.HUMAN : Player.MACHINE;
+            EngineBoard start = checked % 4 < 2 ? new Reversi(first)
+                    : new BitBoard(first);
+            EngineBoard root = RandomGames.playUntil(start, EMPTIES, random);
+            if (root.gameOver()) {
+                continue;
+            }
+            EndgameSolver solver = new EndgameSolver(root,
+                    new AtomicBoolean());
+            EngineBoard bestMove = solver.calculateBestMove();
+            int expected = bruteForce(root);
+            assertEquals(expected, solver.getMargin(), root.toString());
+            assertEquals(expected, bruteForce(bestMove), root.toString());
+            checked++;
+        }
+    }
+
+    /**
+     * Berechnet die Differenz der Steine am Ende des Spiels, falls beide
+     * Spieler perfekt spielen, indem alle Züge durchsucht werden.
+     *
+     * @param board     Entspricht der Spielsituation.
+     * @return          Entspricht der Anzahl der Steine der Maschine minus
+     *                  der Anzahl der Steine des Menschen.
+     */
+    private static int bruteForce(EngineBoard board) {
+        if (board.gameOver()) {
+            return board.getNumberOfMachineTiles()
+                    - board.getNumberOfHumanTiles();
+        }
+        boolean machine = board.next() == Player.MACHINE;
+        int best = machine ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+        for (int square : RandomGames.legalSquares(board)) {
+            int margin = bruteForce(board.moveForNextPlayer(
+                    square / Board.SIZE + 1, square % Board.SIZE + 1));
+            best = machine ? Math.max(best, margin) : Math.min(best, margin);
+        }
+        return best;
+    }
+}
@@ -0,0 +1,132 @@
+package de.uni_passau.fim.prog2.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+/**
+ * Prüft, dass {@code GameSessionManager} neue Spiele und Aufträge nur bis
+ * zu den max Anzahlen annimmt und beim Beenden eines Spiels dessen
+ * Aufträge abbricht.
+ *
+ * @version 17.10.26
+ * @author -----
+ */
+class GameSessionManagerTest {
+
+    /**
+     * Entspricht der max Anzahl an gleichzeitigen Spielen.
+     */
+    private static final int MAX_SESSIONS = 2;
+
+    /**
+     * Entspricht der max Anzahl an wartenden Aufträgen.
+     */
+    private static final int MAX_PENDING_MOVES = 2;
+
+    /**
+     * Entspricht der max Zeit in Millisekunden, die auf die Threads der
+     * Suche gewartet wird.
+     */
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    /**
+     * Entspricht den Einstellungen einer Suche, die ohne Abbruch nicht in
+     * der Zeit des Tests endet.
+     */
+    private static final EngineConfig SLOW_CONFIG = EngineConfig.DEFAULT
+            .withLevel(EngineConfig.MAX_LEVEL).withEndgameEmpties(0);
+
+    /**
+     * Prüft, dass ein weiteres Spiel erst nach dem Beenden eines Spiels
+     * angenommen wird.
+     */
+    @Test
+    void admitsOnlyMaxSessions() {
+        try (final GameSessionManager manager = new GameSessionManager(
+                BoardType.BITBOARD, EngineConfig.DEFAULT, 1, MAX_SESSIONS,
+                MAX_PENDING_MOVES)) {
+            long first = manager.createSession(Player.HUMAN);
+            manager.createSession(Player.HUMAN);
+            assertThrows(IllegalStateException.class, new Executable() {
+                @Override
+                public void execute() {
+                    manager.createSession(Player.HUMAN);
+                }
+            });
+
+            manager.closeSession(first);
+            manager.createSession(Player.HUMAN);
+            assertEquals(MAX_SESSIONS, manager.getNumberOfSessions());
+        }
+    }
+
+    /**
+     * Beauftragt während einer langen Suche weitere Züge, bis die max
+     * Anzahl an wartenden Aufträgen erreicht ist, und beendet danach das
+     * Spiel, wodurch die wartenden Aufträge abgebrochen werden und die
+     * Suche den Thread und die Plätze der Aufträge freigibt.
+     *
+     * @throws InterruptedException     Wird geworfen, falls der Test
+     *                                  unterbrochen wird.
+     */
+    @Test
+    void closingSessionCancelsItsMoves() throws InterruptedException {
+        try (final GameSessionManager manager = new GameSessionManager(
+                BoardType.BITBOARD, SLOW_CONFIG, 1, MAX_SESSIONS,
+                MAX_PENDING_MOVES)) {
+            final long id = manager.createSession(Player.MACHINE);
+            awaitActiveSearches(manager, 1);
+
+            Future<?>[] moves = new Future<?>[MAX_PENDING_MOVES];
+            for (int i = 0; i < moves.length; i++) {
+                moves[i] = manager.move(id, 1, 1);
+            }
+            assertEquals(MAX_PENDING_MOVES, manager.getPendingMoves());
+            assertThrows(IllegalStateException.class, new Executable() {
+                @Override
+                public void execute() {
+                    manager.move(id, 1, 1);
+                }
+            });
+
+            manager.closeSession(id);
+            for (Future<?> move : moves) {
+                assertTrue(move.isCancelled());
+            }
+            assertThrows(IllegalArgumentException.class, new Executable() {
+                @Override
+                public void execute() {
+                    manager.getBoard(id);
+                }
+            });
+            awaitActiveSearches(manager, 0);
+        }
+    }
+
+    /**
+     * Wartet, bis eine Anzahl an Threads einen Auftrag ausführt und kein
+     * Auftrag mehr wartet.
+     *
+     * @param manager                   Entspricht der Verwaltung.
+     * @param activeSearches            Entspricht der erwarteten Anzahl.
+     * @throws InterruptedException     Wird geworfen, falls der Test
+     *                                  unterbrochen wird.
+     */
+    private static void awaitActiveSearches(GameSessionManager manager,
+                                            int activeSearches)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (manager.getActiveSearches() != activeSearches
+                || manager.getPendingMoves() != 0) {
+            assertTrue(System.currentTimeMillis() < deadline,
+                    "Active searches: " + manager.getActiveSearches()
+                    + ", pending moves: " + manager.getPendingMoves());
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package de.uni_passau.fim.prog2.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Prüft, dass {@code LatencyHistogram} jeden Wert einem Bucket zuordnet,
+ * dessen obere Grenze höchstens um {@code 1 / SUB_BUCKETS} über dem Wert
+ * liegt, und die Perzentile daraus berechnet.
+ *
+ * @version 17.10.26
+ * @author -----
+ */
+class LatencyHistogramTest {
+
+    /**
+     * Entspricht der Anzahl der zufällig geprüften Werte.
+     */
+    private static final int VALUES = 10_000;
+
+    /**
+     * Entspricht dem größten Wert der gleichverteilten Werte.
+     */
+    private static final int UNIFORM_VALUES = 10_000;
+
+    /**
+     * Prüft die obere Grenze des Buckets aller kleinen Werte, von
+     * Zweierpotenzen und ihren Nachbarn und von zufälligen Werten über alle
+     * Größenordnungen. Die Grenzen steigen mit dem Wert monoton.
+     */
+    @Test
+    void bucketsBoundValuesTightly() {
+        long previousBound = -1;
+        for (long value = 0; value < 4 * LatencyHistogram.SUB_BUCKETS;
+                value++) {
+            long bound = upperBoundOf(value);
+            assertBound(value, bound);
+            if (value < LatencyHistogram.SUB_BUCKETS) {
+                assertEquals(value, bound);
+            }
+            assertTrue(bound >= previousBound, "Bound of " + value);
+            previousBound = bound;
+        }
+        for (int exponent = 7; exponent < 42; exponent++) {
+            for (long value = (1L << exponent) - 1;
+                    value <= (1L << exponent) + 1; value++) {
+                long bound = upperBoundOf(value);
+                assertBound(value, bound);
+                assertTrue(bound >= previousBound, "Bound of " + value);
+                previousBound = bound;
+            }
+        }
+        assertEquals(LatencyHistogram.MAX_VALUE,
+                upperBoundOf(LatencyHistogram.MAX_VALUE));
+
+        Random random = new Random(9);
+        for (int i = 0; i < VALUES; i++) {
+            long value = random.nextLong() >>> (64 - 1 - random.nextInt(42));
+            assertBound(value, upperBoundOf(value));
+        }
+    }
+
+    /**
+     * Prüft, dass negative Werte als {@code 0} und Werte über
+     * {@code MAX_VALUE} im letzten Bucket gezählt werden, wobei das
+     * Maximum und die Summe den tatsächlichen Wert behalten.
+     */
+    @Test
+    void clampsValuesOutsideTheRange() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        histogram.record(4 * LatencyHistogram.MAX_VALUE);
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(2, snapshot.getCount());
+        assertEquals(0, snapshot.valueAtPercentile(50));
+        assertEquals(LatencyHistogram.MAX_VALUE,
+                snapshot.valueAtPercentile(100));
+        assertEquals(4 * LatencyHistogram.MAX_VALUE, snapshot.getMax());
+        assertEquals(2.0 * LatencyHistogram.MAX_VALUE, snapshot.getMean());
+    }
+
+    /**
+     * Prüft die Perzentile gleichverteilter Werte.
+     */
+    @Test
+    void calculatesPercentilesOfUniformValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int value = 1; value <= UNIFORM_VALUES; value++) {
+            histogram.record(value);
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(UNIFORM_VALUES, snapshot.getCount());
+        assertEquals((UNIFORM_VALUES + 1) / 2.0, snapshot.getMean());
+        for (int percentile = 1; percentile < 100; percentile++) {
+            long value = (long) percentile * UNIFORM_VALUES / 100;
+            assertBound(value, snapshot.valueAtPercentile(percentile));
+        }
+        assertEquals(UNIFORM_VALUES, snapshot.valueAtPercentile(100));
+    }
+
+    /**
+     * Prüft, dass die Differenz zweier Momentaufnahmen nur die Werte
+     * zwischen diesen enthält.
+     */
+    @Test
+    void subtractsSnapshots() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int value = 1; value <= 100; value++) {
+            histogram.record(value);
+        }
+        LatencyHistogram.Snapshot previous = histogram.snapshot();
+        for (int i = 0; i < 10; i++) {
+            histogram.record(1000);
+        }
+        LatencyHistogram.Snapshot difference = histogram.snapshot()
+                .minus(previous);
+        assertEquals(10, difference.getCount());
+        assertEquals(1000, difference.getMean());
+        assertEquals(1000, difference.getMax());
+        assertEquals(1000, difference.valueAtPercentile(1));
+    }
+
+    /**
+     * Gibt die obere Grenze des Buckets eines Wertes zurück, indem der Wert
+     * zusammen mit einem größeren Wert gezählt und dessen Median berechnet
+     * wird, da das Maximum den Median sonst begrenzen würde.
+     *
+     * @param value     Entspricht dem Wert.
+     * @return          Entspricht der oberen Grenze seines Buckets.
+     */
+    private static long upperBoundOf(long value) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(value);
+        histogram.record(LatencyHistogram.MAX_VALUE);
+        return histogram.snapshot().valueAtPercentile(50);
+    }
+
+    /**
+     * Prüft, dass eine obere Grenze nicht unter dem Wert liegt und um
+     * höchstens {@code 1 / SUB_BUCKETS} des Wertes von diesem abweicht.
+     *
+     * @param value     Entspricht dem Wert.
+     * @param bound     Entspricht der oberen Grenze.
+     */
+    private static void assertBound(long value, long bound) {
+        assertTrue(bound >= value && bound - value
+                <= value / LatencyHistogram.SUB_BUCKETS,
+                "Bound " + bound + " of " + value);
+    }
+}
@@ -0,0 +1,174 @@
+package de.uni_passau.fim.prog2.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.swing.SwingUtilities;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Prüft, dass eine abgebrochene {@link Board#machineMoveAsync(EngineSession,
+ * Executor)} ihren Thread kurz darauf freigibt und weder die Hauptvariante
+ * der Sitzung noch die Spielzüge von {@code DisplayData} verändert.
+ *
+ * @version 17.10.26
+ * @author -----
+ */
+class MachineMoveAsyncTest {
+
+    /**
+     * Entspricht dem Level der beendeten Suchen.
+     */
+    private static final int LEVEL = 4;
+
+    /**
+     * Entspricht den Einstellungen einer Suche, die ohne Abbruch nicht in
+     * der Zeit des Tests endet.
+     */
+    private static final EngineConfig SLOW_CONFIG = EngineConfig.DEFAULT
+            .withLevel(EngineConfig.MAX_LEVEL).withEndgameEmpties(0);
+
+    /**
+     * Entspricht der Zeit in Millisekunden, die die Suche vor dem Abbruch
+     * läuft.
+     */
+    private static final long SEARCH_MILLIS = 100;
+
+    /**
+     * Entspricht der max Zeit in Sekunden, bis eine abgebrochene Suche
+     * ihren Thread freigegeben haben muss.
+     */
+    private static final long TIMEOUT_SECONDS = 5;
+
+    /**
+     * Bricht eine Suche auf der Hauptvariante ab und prüft, dass die
+     * nächste beendete Suche gleich viele Halbzüge der Hauptvariante
+     * übernimmt wie ohne die abgebrochene Suche.
+     *
+     * @throws InterruptedException     Wird geworfen, falls der Test
+     *                                  unterbrochen wird.
+     */
+    @Test
+    void cancelledSearchKeepsPrincipalVariation()
+            throws InterruptedException {
+        EngineSession reference = new EngineSession(
+                EngineConfig.DEFAULT.withLevel(LEVEL));
+        EngineBoard board = humanReplyOnPrincipalVariation(reference);
+        board.machineMove(reference);
+        int expectedReusedPlies = reference.getReusedPlies();
+        assertTrue(expectedReusedPlies > 0);
+
+        EngineSession session = new EngineSession(
+                EngineConfig.DEFAULT.withLevel(LEVEL));
+        board = humanReplyOnPrincipalVariation(session);
+        session.setConfig(SLOW_CONFIG);
+        final ExecutorService service = Executors.newSingleThreadExecutor();
+        final CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<Board> search = board.machineMoveAsync(session,
+                new Executor() {
+                    @Override
+                    public void execute(final Runnable command) {
+                        service.execute(new Runnable() {
+                            @Override
+                            public void run() {
+                                started.countDown();
+                                command.run();
+                            }
+                        });
+                    }
+                });
+        started.await();
+        Thread.sleep(SEARCH_MILLIS);
+        search.cancel(false);
+        service.shutdown();
+        assertTrue(service.awaitTermination(TIMEOUT_SECONDS,
+                TimeUnit.SECONDS), "Search did not stop");
+        assertTrue(search.isCancelled());
+
+        session.setConfig(EngineConfig.DEFAULT.withLevel(LEVEL));
+        board.machineMove(session);
+        assertEquals(expectedReusedPlies, session.getReusedPlies());
+        session.close();
+        reference.close();
+    }
+
+    /**
+     * Nimmt in {@code DisplayData} den Zug des Menschen zurück, während die
+     * Antwort der Maschine berechnet wird, und prüft, dass die abgebrochene
+     * Suche danach keinen Zug mehr zu den Spielzügen hinzufügt.
+     *
+     * @throws InterruptedException         Wird geworfen, falls der Test
+     *                                      unterbrochen wird.
+     * @throws InvocationTargetException    Wird geworfen, falls der Test
+     *                                      auf dem Event Dispatch Thread
+     *                                      fehlschlägt.
+     */
+    @Test
+    void undoDuringSearchKeepsHistory()
+            throws InterruptedException, InvocationTargetException {
+        final DisplayData data = new DisplayData(BoardType.BITBOARD,
+                SLOW_CONFIG);
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        SwingUtilities.invokeAndWait(new Runnable() {
+            @Override
+            public void run() {
+                boolean moved = false;
+                for (int square = 0; !moved; square++) {
+                    moved = data.move(square / Board.SIZE + 1,
+                            square % Board.SIZE + 1);
+                }
+                data.machineMove();
+                data.undo();
+            }
+        });
+        Thread.sleep(SEARCH_MILLIS);
+        SwingUtilities.invokeAndWait(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    assertFalse(data.undoIsPossible());
+                    assertEquals(Player.HUMAN, data.next());
+                    assertEquals(2, data.getNumberOfHumanTiles());
+                    assertEquals(2, data.getNumberOfMachineTiles());
+                } catch (AssertionError e) {
+                    error.set(e);
+                }
+            }
+        });
+        assertNull(error.get());
+    }
+
+    /**
+     * Lässt die Maschine das Spiel eröffnen und den Menschen mit dem Zug
+     * der Hauptvariante antworten, sodass die nächste Suche auf der
+     * Hauptvariante liegt.
+     *
+     * @param session   Entspricht der Sitzung des Spiels.
+     * @return          Gibt die Spielsituation nach dem Zug des Menschen
+     *                  zurück.
+     */
+    private static EngineBoard humanReplyOnPrincipalVariation(
+            EngineSession session) {
+        EngineBoard board = (EngineBoard) new BitBoard(Player.MACHINE,
+                session).machineMove(session);
+        for (int square : RandomGames.legalSquares(board)) {
+            EngineBoard reply = board.moveForNextPlayer(
+                    square / Board.SIZE + 1, square % Board.SIZE + 1);
+            session.createMoveOrdering(reply);
+            if (session.getReusedPlies() > 0) {
+                return reply;
+            }
+        }
+        throw new AssertionError("Reply is not on the principal variation");
+    }
+}
@@ -0,0 +1,124 @@
+package de.uni_passau.fim.prog2.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Prüft die Elo-Differenz und das Log-Likelihood-Verhältnis von
+ * {@code MatchStatistics} an Ergebnissen, deren Werte von Hand berechnet
+ * wurden.
+ *
+ * @version 17.10.26
+ * @author -----
+ */
+class MatchStatisticsTest {
+
+    /**
+     * Entspricht der erlaubten Abweichung der berechneten Werte.
+     */
+    private static final double DELTA = 1e-3;
+
+    /**
+     * Entspricht der max Anzahl an Spielen, bis ein deutliches Ergebnis
+     * entschieden sein muss.
+     */
+    private static final int MAX_GAMES = 1000;
+
+    /**
+     * Prüft die Werte ohne gespielte Spiele.
+     */
+    @Test
+    void startsUndecided() {
+        MatchStatistics statistics = new MatchStatistics(0, 10);
+        assertEquals(0, statistics.getGames());
+        assertEquals(0.5, statistics.getScore());
+        assertEquals(0, statistics.getElo(), DELTA);
+        assertEquals(Double.POSITIVE_INFINITY, statistics.getEloError());
+        assertEquals(0, statistics.getLlr());
+        assertFalse(statistics.isDecided());
+    }
+
+    /**
+     * Prüft die Elo-Differenz bei drei Siegen und einer Niederlage, die
+     * {@code 400 * log10(3)} entspricht, bei dem umgekehrten Ergebnis und
+     * bei nur Siegen. Der Fehler der Elo-Differenz sinkt mit der Anzahl
+     * der Spiele.
+     */
+    @Test
+    void calculatesElo() {
+        MatchStatistics statistics = record(3, 0, 1);
+        assertEquals(0.75, statistics.getScore());
+        assertEquals(190.8485, statistics.getElo(), DELTA);
+        assertEquals(-190.8485, record(1, 0, 3).getElo(), DELTA);
+        assertEquals(Double.POSITIVE_INFINITY, record(2, 0, 0).getElo());
+
+        double error = record(30, 0, 10).getEloError();
+        assertTrue(error > 0 && !Double.isInfinite(error));
+        assertTrue(record(300, 0, 100).getEloError() < error);
+    }
+
+    /**
+     * Prüft das Log-Likelihood-Verhältnis von 60 Siegen, 20 Remis und 20
+     * Niederlagen mit den Hypothesen {@code 0} und {@code 10} Elo und die
+     * Grenzen für {@code alpha = beta = 0.05}.
+     */
+    @Test
+    void calculatesLlr() {
+        MatchStatistics statistics = record(60, 20, 20);
+        assertEquals(1.7337, statistics.getLlr(), DELTA);
+        assertEquals(-Math.log(19), statistics.getLowerBound(), DELTA);
+        assertEquals(Math.log(19), statistics.getUpperBound(), DELTA);
+        assertFalse(statistics.isDecided());
+    }
+
+    /**
+     * Prüft, dass ein deutlich stärkerer Spieler H1 und ein deutlich
+     * schwächerer Spieler H0 nach wenigen Spielen annimmt.
+     */
+    @Test
+    void decidesClearResults() {
+        MatchStatistics stronger = new MatchStatistics(0, 10);
+        MatchStatistics weaker = new MatchStatistics(0, 10);
+        for (int game = 0; game < MAX_GAMES && !(stronger.isDecided()
+                && weaker.isDecided()); game++) {
+            Player winner = game % 5 == 4 ? null
+                    : game % 5 == 3 ? Player.HUMAN : Player.MACHINE;
+            if (!stronger.isDecided()) {
+                stronger.record(winner);
+            }
+            if (!weaker.isDecided()) {
+                weaker.record(winner == null ? null : winner.inverse());
+            }
+        }
+        assertTrue(stronger.toString().endsWith(" H1 accepted"),
+                stronger.toString());
+        assertTrue(weaker.toString().endsWith(" H0 accepted"),
+                weaker.toString());
+    }
+
+    /**
+     * Erzeugt eine Statistik mit den Hypothesen {@code 0} und {@code 10}
+     * Elo und einem Ergebnis.
+     *
+     * @param wins      Entspricht der Anzahl der Siege der Maschine.
+     * @param draws     Entspricht der Anzahl der Remis.
+     * @param losses    Entspricht der Anzahl der Niederlagen der Maschine.
+     * @return          Gibt die Statistik zurück.
+     */
+    private static MatchStatistics record(int wins, int draws, int losses) {
+        MatchStatistics statistics = new MatchStatistics(0, 10);
+        for (int i = 0; i < wins; i++) {
+            statistics.record(Player.MACHINE);
+        }
+        for (int i = 0; i < draws; i++) {
+            statistics.record(null);
+        }
+        for (int i = 0; i < losses; i++) {
+            statistics.record(Player.HUMAN);
+        }
+        return statistics;
+    }
+}
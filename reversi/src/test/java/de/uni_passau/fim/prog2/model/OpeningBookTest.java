@@ -0,0 +1,126 @@
+package de.uni_passau.fim.prog2.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Prüft, dass ein durch {@code OpeningBookBuilder} geschriebenes
+ * {@code OpeningBook} für jede Spielsituation der Eröffnung, in der die
+ * Maschine an der Reihe ist, den Zug einer Suche der gleichen Tiefe
+ * enthält.
+ *
+ * @version 17.10.26
+ * @author -----
+ */
+class OpeningBookTest {
+
+    /**
+     * Entspricht der Anzahl an Halbzügen des Buches.
+     */
+    private static final int PLIES = 4;
+
+    /**
+     * Entspricht der Tiefe der Suche pro Eintrag.
+     */
+    private static final int DEPTH = 2;
+
+    /**
+     * Entspricht dem temporären Verzeichnis der Dateien.
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * Erzeugt und lädt ein Buch und vergleicht jeden Eintrag mit dem Zug des
+     * vollständig aufgebauten {@code Tree}.
+     *
+     * @throws IOException  Wird geworfen, falls das Buch nicht geschrieben
+     *                      oder gelesen werden kann.
+     */
+    @Test
+    void containsSearchedMoveOfEveryPosition() throws IOException {
+        Path file = directory.resolve("book.bin");
+        OpeningBookBuilder.main(new String[] {file.toString(),
+            String.valueOf(PLIES), String.valueOf(DEPTH)});
+        OpeningBook book = OpeningBook.load(file);
+
+        Set<Long> visited = new HashSet<>();
+        int entries = 0;
+        for (Player first : Player.values()) {
+            entries += check(book, new BitBoard(first), 0, visited);
+        }
+        assertEquals(entries, book.size());
+        assertFalse(book.probe(new BitBoard(Player.HUMAN).getHash(),
+                new TranspositionTable.Entry()));
+    }
+
+    /**
+     * Prüft, dass eine Datei ohne das Format eines Buches abgelehnt wird.
+     *
+     * @throws IOException  Wird geworfen, falls die Datei nicht geschrieben
+     *                      werden kann.
+     */
+    @Test
+    void rejectsOtherFiles() throws IOException {
+        final Path file = directory.resolve("other.bin");
+        Files.write(file, new byte[OpeningBook.HEADER_BYTES]);
+        assertThrows(IOException.class, new Executable() {
+            @Override
+            public void execute() throws IOException {
+                OpeningBook.load(file);
+            }
+        });
+    }
+
+    /**
+     * Durchläuft die Spielsituationen wie der Erzeuger und prüft jeden
+     * Eintrag.
+     *
+     * @param book          Entspricht dem geladenen Buch.
+     * @param board         Entspricht der Spielsituation.
+     * @param ply           Entspricht der Anzahl der Halbzüge vor der
+     *                      Spielsituation.
+     * @param visited       Entspricht den bereits durchlaufenen
+     *                      Spielsituationen.
+     * @return              Entspricht der Anzahl der geprüften Einträge.
+     */
+    private static int check(OpeningBook book, EngineBoard board, int ply,
+                              Set<Long> visited) {
+        if (ply >= PLIES || board.gameOver()
+                || !visited.add(board.getHash())) {
+            return 0;
+        }
+
+        if (board.next() == Player.MACHINE) {
+            TranspositionTable.Entry entry = new TranspositionTable.Entry();
+            assertTrue(book.probe(board.getHash(), entry), board.toString());
+            assertEquals(DEPTH, entry.depth);
+            assertTrue((board.calculateLegalMoves(Player.MACHINE)
+                    & 1L << entry.move) != 0, board.toString());
+            EngineBoard move = board.moveForNextPlayer(
+                    entry.move / Board.SIZE + 1, entry.move % Board.SIZE + 1);
+            assertEquals(new Tree(board, DEPTH).calculateBestMove().toString(),
+                    move.toString(), board.toString());
+            return 1 + check(book, move, ply + 1, visited);
+        } else {
+            int entries = 0;
+            for (int square : RandomGames.legalSquares(board)) {
+                entries += check(book, board.moveForNextPlayer(
+                        square / Board.SIZE + 1, square % Board.SIZE + 1),
+                        ply + 1, visited);
+            }
+            return entries;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package de.uni_passau.fim.prog2.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Collections;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+/**
+ * Prüft die Zugerzeugung beider Spielfelder, indem die Anzahlen der
+ * Spielsituationen bis zur Tiefe {@code 9} mit den veröffentlichten Zahlen
+ * verglichen werden.
+ *
+ * @version 17.10.26
+ * @author -----
+ * @see     Perft#check(BoardType, int, ForkJoinPool)
+ */
+class PerftTest {
+
+    /**
+     * Entspricht der max geprüften Tiefe.
+     */
+    private static final int DEPTH = 9;
+
+    /**
+     * Entspricht den Threads, auf die das Zählen verteilt wird.
+     */
+    private static ForkJoinPool pool;
+
+    /**
+     * Kreiert die Threads mit einem Thread pro Kern.
+     */
+    @BeforeAll
+    static void createPool() {
+        pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Beendet die Threads.
+     */
+    @AfterAll
+    static void shutdownPool() {
+        pool.shutdown();
+    }
+
+    /**
+     * Vergleicht die Anzahlen aller Tiefen bis {@code DEPTH} mit und ohne
+     * Aussetzen als Halbzug.
+     *
+     * @param type      Entspricht dem Spielfeld.
+     */
+    @ParameterizedTest
+    @EnumSource(BoardType.class)
+    void matchesKnownCounts(BoardType type) {
+        assertEquals(Collections.emptyList(),
+                Perft.check(type, DEPTH, pool), "perft of " + type);
+    }
+}
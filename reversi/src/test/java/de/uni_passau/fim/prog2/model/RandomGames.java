@@ -0,0 +1,84 @@
+package de.uni_passau.fim.prog2.model;
+
+import java.util.Random;
+
+/**
+ * Erzeugt Spielsituationen für die Tests, indem zufällige legale Züge
+ * ausgeführt werden. Die Züge werden unabhängig davon ausgeführt, welcher
+ * Spieler an der Reihe ist.
+ *
+ * @version 17.10.26
+ * @author -----
+ */
+final class RandomGames {
+
+    /**
+     * Verhindert, dass ein {@code RandomGames} kreiert wird.
+     */
+    private RandomGames() {
+    }
+
+    /**
+     * Gibt die Indexe der Felder aller legalen Züge des nächsten Spielers
+     * zurück.
+     *
+     * @param board     Entspricht der Spielsituation.
+     * @return          Entspricht den Indexen in aufsteigender Reihenfolge.
+     */
+    static int[] legalSquares(Position board) {
+        long legalMoves = board.calculateLegalMoves(board.next());
+        int[] squares = new int[Long.bitCount(legalMoves)];
+        int count = 0;
+        for (long rest = legalMoves; rest != 0; rest &= rest - 1) {
+            squares[count] = Long.numberOfTrailingZeros(rest);
+            count++;
+        }
+        return squares;
+    }
+
+    /**
+     * Führt einen zufälligen legalen Zug des nächsten Spielers aus.
+     *
+     * @param board     Entspricht der Spielsituation, die nicht vorbei sein
+     *                  darf.
+     * @param random    Entspricht dem Zufallsgenerator.
+     * @return          Entspricht dem Klon, auf dem der Zug ausgeführt
+     *                  wurde.
+     */
+    static EngineBoard randomMove(EngineBoard board, Random random) {
+        int[] squares = legalSquares(board);
+        int square = squares[random.nextInt(squares.length)];
+        return board.moveForNextPlayer(square / Board.SIZE + 1,
+                square % Board.SIZE + 1);
+    }
+
+    /**
+     * Führt zufällige legale Züge aus, bis höchstens noch {@code empties}
+     * Felder leer sind oder das Spiel vorbei ist.
+     *
+     * @param board     Entspricht der Ausgangsspielsituation.
+     * @param empties   Entspricht der Anzahl der leeren Felder, bei der
+     *                  aufgehört wird.
+     * @param random    Entspricht dem Zufallsgenerator.
+     * @return          Entspricht der erreichten Spielsituation.
+     */
+    static EngineBoard playUntil(EngineBoard board, int empties,
+                                 Random random) {
+        EngineBoard current = board;
+        while (!current.gameOver() && countEmptySquares(current) > empties) {
+            current = randomMove(current, random);
+        }
+        return current;
+    }
+
+    /**
+     * Gibt die Anzahl der leeren Felder zurück.
+     *
+     * @param board     Entspricht der Spielsituation.
+     * @return          Entspricht der Anzahl der leeren Felder.
+     */
+    static int countEmptySquares(Position board) {
+        return Board.SIZE * Board.SIZE - board.getNumberOfHumanTiles()
+                - board.getNumberOfMachineTiles();
+    }
+}
@@ -0,0 +1,78 @@
+package de.uni_passau.fim.prog2.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Prüft, dass die bei jedem Zug inkrementell aktualisierten Werte, aus
+ * denen {@code Score} bewertet, den vollständig neu berechneten Werten
+ * entsprechen.
+ *
+ * @version 17.10.26
+ * @author -----
+ */
+class ScoreTest {
+
+    /**
+     * Entspricht der Anzahl der geprüften Spiele.
+     */
+    private static final int GAMES = 300;
+
+    /**
+     * Vergleicht auf jeder Spielsituation zufälliger Spiele beider
+     * Implementierungen die Scores der Felder und die leeren Nachbarfelder
+     * mit den durch {@code Score} neu berechneten Werten.
+     */
+    @Test
+    void incrementalScoresMatchRecomputation() {
+        Random random = new Random(4);
+        for (int game = 0; game < GAMES; game++) {
+            Player first = game % 2 == 0 ? Player.HUMAN : Player.MACHINE;
+            EngineBoard board = game % 4 < 2 ? new Reversi(first)
+                    : new BitBoard(first);
+            while (true) {
+                for (Player player : Player.values()) {
+                    assertEquals(Score.sumFieldScores(board, player),
+                            board.getFieldScore(player), "Field score of "
+                            + player + " on\n" + board);
+                    assertEquals(Score.sumWrappingFields(board, player),
+                            board.getFrontier(player), "Frontier of "
+                            + player + " on\n" + board);
+                }
+                if (board.gameOver()) {
+                    break;
+                }
+                board = RandomGames.randomMove(board, random);
+            }
+        }
+    }
+
+    /**
+     * Prüft, dass die Bewertung einer Spielsituation nicht davon abhängt,
+     * ob die Werte von {@code Reversi} oder {@code BitBoard} stammen.
+     */
+    @Test
+    void scoreIsIndependentOfImplementation() {
+        Random random = new Random(5);
+        for (int game = 0; game < 50; game++) {
+            EngineBoard reversi = new Reversi(Player.HUMAN);
+            EngineBoard bitBoard = new BitBoard(Player.HUMAN);
+            while (!reversi.gameOver()) {
+                for (Player player : Player.values()) {
+                    assertEquals(new Score(reversi, player,
+                            EvaluationWeights.DEFAULT).calculateScore(),
+                            new Score(bitBoard, player,
+                            EvaluationWeights.DEFAULT).calculateScore());
+                }
+                int[] squares = RandomGames.legalSquares(reversi);
+                int square = squares[random.nextInt(squares.length)];
+                reversi = reversi.moveForNextPlayer(square / Board.SIZE + 1,
+                        square % Board.SIZE + 1);
+                bitBoard = bitBoard.moveForNextPlayer(square / Board.SIZE + 1,
+                        square % Board.SIZE + 1);
+            }
+        }
+    }
+}
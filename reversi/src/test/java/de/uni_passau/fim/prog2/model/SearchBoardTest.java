@@ -0,0 +1,75 @@
+package de.uni_passau.fim.prog2.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Prüft, dass {@code SearchBoard} Züge genauso wie die Spielbretter
+ * ausführt und durch {@link SearchBoard#unmakeMove()} exakt in die
+ * vorherigen Spielsituationen zurückkehrt.
+ *
+ * @version 17.10.26
+ * @author -----
+ */
+class SearchBoardTest {
+
+    /**
+     * Entspricht der Anzahl der geprüften Spiele.
+     */
+    private static final int GAMES = 500;
+
+    /**
+     * Spielt zufällige Spiele auf einem {@code SearchBoard} und dem
+     * Spielbrett parallel und nimmt danach alle Züge zurück.
+     */
+    @Test
+    void makeAndUnmakeRoundTrip() {
+        Random random = new Random(6);
+        for (int game = 0; game < GAMES; game++) {
+            Player first = game % 2 == 0 ? Player.HUMAN : Player.MACHINE;
+            EngineBoard board = game % 4 < 2 ? new Reversi(first)
+                    : new BitBoard(first);
+            SearchBoard searchBoard = new SearchBoard(board);
+            Deque<String> states = new ArrayDeque<>();
+            while (!board.gameOver()) {
+                assertEquals(stateOf(board), stateOf(searchBoard));
+                int[] squares = RandomGames.legalSquares(searchBoard);
+                int square = squares[random.nextInt(squares.length)];
+                states.push(stateOf(searchBoard));
+                searchBoard.makeMove(square);
+                board = board.moveForNextPlayer(square / Board.SIZE + 1,
+                        square % Board.SIZE + 1);
+            }
+            assertEquals(stateOf(board), stateOf(searchBoard));
+            while (!states.isEmpty()) {
+                searchBoard.unmakeMove();
+                assertEquals(states.pop(), stateOf(searchBoard));
+            }
+        }
+    }
+
+    /**
+     * Gibt alle Werte einer Spielsituation, die die Suche verwendet, als
+     * Text zurück.
+     *
+     * @param board     Entspricht der Spielsituation.
+     * @return          Entspricht der Darstellung.
+     */
+    private static String stateOf(Position board) {
+        StringBuilder state = new StringBuilder();
+        state.append(board.next()).append(' ').append(board.gameOver())
+                .append(' ').append(board.getHash()).append(' ')
+                .append(board.getNumberOfHumanTiles()).append(' ')
+                .append(board.getNumberOfMachineTiles());
+        for (Player player : Player.values()) {
+            state.append(' ').append(board.calculateLegalMoves(player))
+                    .append(' ').append(board.getFieldScore(player))
+                    .append(' ').append(board.getFrontier(player));
+        }
+        return state.toString();
+    }
+}
@@ -0,0 +1,145 @@
+package de.uni_passau.fim.prog2.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Prüft, dass {@code TranspositionTable} Einträge über die XOR-Verknüpfung
+ * von Schlüssel, Score und Informationen erkennt, sodass weder fremde noch
+ * halb geschriebene Einträge zurückgegeben werden.
+ *
+ * @version 17.10.26
+ * @author -----
+ */
+class TranspositionTableTest {
+
+    /**
+     * Entspricht der Anzahl der Threads, die gleichzeitig schreiben bzw
+     * lesen.
+     */
+    private static final int THREADS = 4;
+
+    /**
+     * Entspricht der Anzahl der Zugriffe pro Thread.
+     */
+    private static final int ACCESSES = 200_000;
+
+    /**
+     * Entspricht der Anzahl der verschiedenen Schlüssel, die sich den
+     * gleichen Platz teilen.
+     */
+    private static final int KEYS = 4;
+
+    /**
+     * Speichert einen Eintrag und liest diesen mit allen Werten wieder,
+     * wobei ein anderer Schlüssel des gleichen Platzes nicht gefunden wird.
+     */
+    @Test
+    void findsOnlyEntriesOfTheSameKey() {
+        TranspositionTable table = new TranspositionTable(1);
+        TranspositionTable.Entry entry = new TranspositionTable.Entry();
+        table.store(keyOfSlotZero(1), 5, TranspositionTable.Bound.LOWER,
+                1.5, 17);
+
+        assertTrue(table.probe(keyOfSlotZero(1), entry));
+        assertEquals(5, entry.depth);
+        assertEquals(TranspositionTable.Bound.LOWER, entry.bound);
+        assertEquals(1.5, entry.score);
+        assertEquals(17, entry.move);
+        assertFalse(table.probe(keyOfSlotZero(2), entry));
+        assertEquals(1, table.getCollisions());
+    }
+
+    /**
+     * Prüft, dass ein tieferer Eintrag der gleichen Suche nicht durch einen
+     * flacheren Eintrag eines anderen Schlüssels ersetzt wird, wohl aber
+     * nach dem Beginn einer neuen Suche.
+     */
+    @Test
+    void keepsDeeperEntriesOfTheCurrentSearch() {
+        TranspositionTable table = new TranspositionTable(1);
+        TranspositionTable.Entry entry = new TranspositionTable.Entry();
+        table.store(keyOfSlotZero(1), 6, TranspositionTable.Bound.EXACT, 2,
+                TranspositionTable.NO_MOVE);
+        table.store(keyOfSlotZero(2), 3, TranspositionTable.Bound.EXACT, 4,
+                TranspositionTable.NO_MOVE);
+        assertTrue(table.probe(keyOfSlotZero(1), entry));
+
+        table.newSearch();
+        table.store(keyOfSlotZero(2), 3, TranspositionTable.Bound.EXACT, 4,
+                TranspositionTable.NO_MOVE);
+        assertFalse(table.probe(keyOfSlotZero(1), entry));
+        assertTrue(table.probe(keyOfSlotZero(2), entry));
+    }
+
+    /**
+     * Lässt mehrere Threads gleichzeitig verschiedene Schlüssel auf den
+     * gleichen Platz schreiben und lesen. Jeder gefundene Eintrag muss
+     * genau die Werte seines Schlüssels enthalten, obwohl die Werte ohne
+     * Sperren einzeln geschrieben werden.
+     *
+     * @throws InterruptedException     Wird geworfen, falls der Test
+     *                                  unterbrochen wird.
+     */
+    @Test
+    void neverReturnsTornEntries() throws InterruptedException {
+        final TranspositionTable table = new TranspositionTable(1);
+        final AtomicReference<String> error = new AtomicReference<>();
+        final AtomicLong hits = new AtomicLong();
+        final Thread[] threads = new Thread[2 * THREADS];
+        for (int t = 0; t < threads.length; t++) {
+            final int number = t;
+            final boolean writer = t < THREADS;
+            threads[t] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    TranspositionTable.Entry entry
+                            = new TranspositionTable.Entry();
+                    for (int i = 0; i < ACCESSES && error.get() == null;
+                            i++) {
+                        int value = (i * threads.length + number) % KEYS
+                                + 1;
+                        long key = keyOfSlotZero(value);
+                        if (writer) {
+                            table.store(key, 0, TranspositionTable.Bound.EXACT,
+                                    value, value % Board.SIZE);
+                        } else if (table.probe(key, entry)) {
+                            hits.incrementAndGet();
+                            if (entry.score != value
+                                    || entry.move != value % Board.SIZE
+                                    || entry.depth != 0) {
+                                error.compareAndSet(null, "Entry of " + value
+                                        + " has score " + entry.score
+                                        + " and move " + entry.move);
+                            }
+                        }
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertNull(error.get());
+        assertTrue(hits.get() > 0, "No entry was found at all");
+    }
+
+    /**
+     * Gibt einen Schlüssel zurück, dessen Eintrag in jeder Tabelle auf dem
+     * ersten Platz liegt, da sich beide Hälften des Schlüssels bei der
+     * Berechnung des Platzes aufheben.
+     *
+     * @param value     Entspricht dem Wert, der den Schlüssel unterscheidet.
+     * @return          Entspricht dem Schlüssel.
+     */
+    private static long keyOfSlotZero(long value) {
+        return (value << 32) | value;
+    }
+}
@@ -0,0 +1,167 @@
+package de.uni_passau.fim.prog2.benchmark;
+
+import de.uni_passau.fim.prog2.model.Board;
+import de.uni_passau.fim.prog2.model.BoardType;
+import de.uni_passau.fim.prog2.model.EngineConfig;
+import de.uni_passau.fim.prog2.model.EngineSession;
+import de.uni_passau.fim.prog2.model.ParallelMode;
+import de.uni_passau.fim.prog2.model.Player;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Misst die Beschleunigung der parallelen Suche der Maschine. Dazu werden
+ * Spielsituationen aus zufälligen, aber durch einen festen Seed immer
+ * gleichen Partien erzeugt und für jede Anzahl an Threads die Zeit aller
+ * Maschinenzüge gemessen, nachdem die JVM durch einen ersten Durchlauf
+ * aufgewärmt wurde. Zusätzlich wird geprüft, ob bei jeder Anzahl an
+ * Threads die gleichen Züge gewählt werden.
+ *
+ * @version 17.10.26
+ * @author -----
+ */
+public final class ParallelSearchBenchmark {
+
+    /**
+     * Entspricht den Anzahlen an Threads, die gemessen werden.
+     */
+    private static final int[] THREADS = {1, 2, 4, 8, 16};
+
+    /**
+     * Entspricht dem Seed, mit dem die Spielsituationen erzeugt werden.
+     */
+    private static final long SEED = 20191221L;
+
+    /**
+     * Entspricht der min Anzahl an Halbzügen vor einer Spielsituation.
+     */
+    private static final int MIN_PLIES = 10;
+
+    /**
+     * Entspricht der max Anzahl an Halbzügen vor einer Spielsituation.
+     */
+    private static final int MAX_PLIES = 40;
+
+    /**
+     * Entspricht der Größe der Transpositionstabelle in Megabyte, wobei jede
+     * Messung eine neue Sitzung und somit eine leere Tabelle verwendet.
+     */
+    private static final int HASH_SIZE = 64;
+
+    /**
+     * Verhindert die Instanziierung der Klasse.
+     */
+    private ParallelSearchBenchmark() {
+    }
+
+    /**
+     * Startmethode des Benchmarks.
+     *
+     * @param args  Übergabeparameter des Programms, also optional das Level
+     *              (Standard {@code 7}), die Anzahl der Spielsituationen
+     *              (Standard {@code 8}), die Implementierung des
+     *              Spielbretts (Standard {@code BITBOARD}) und die Art der
+     *              parallelen Suche (Standard {@code SPLIT}).
+     */
+    public static void main(String[] args) {
+        int level = args.length > 0 ? Integer.parseInt(args[0]) : 7;
+        int numberOfPositions = args.length > 1
+                ? Integer.parseInt(args[1]) : 8;
+        BoardType boardType = args.length > 2
+                ? BoardType.valueOf(args[2]) : BoardType.BITBOARD;
+        ParallelMode mode = args.length > 3
+                ? ParallelMode.valueOf(args[3]) : ParallelMode.SPLIT;
+
+        List<Board> positions = createPositions(boardType, numberOfPositions);
+        System.out.printf("%d positions, level %d, %s, %s, %d cores%n",
+                positions.size(), level, boardType, mode,
+                Runtime.getRuntime().availableProcessors());
+
+        EngineConfig config = EngineConfig.DEFAULT.withLevel(level)
+                .withParallelMode(mode).withHashSize(HASH_SIZE);
+        EngineSession warmUp = new EngineSession(config);
+        for (Board position : positions) {
+            position.machineMove(warmUp);
+        }
+
+        List<String> expectedMoves = null;
+        long sequentialNanos = 0;
+        for (int threads : THREADS) {
+            List<String> moves = new ArrayList<>();
+            long nanos;
+            try (EngineSession session
+                    = new EngineSession(config.withThreads(threads))) {
+                long start = System.nanoTime();
+                for (Board position : positions) {
+                    moves.add(position.machineMove(session).toString());
+                }
+                nanos = System.nanoTime() - start;
+            }
+
+            if (expectedMoves == null) {
+                expectedMoves = moves;
+                sequentialNanos = nanos;
+            }
+            System.out.printf("threads %2d: %8.1f ms, speedup %5.2f, %s%n",
+                    threads, nanos / 1e6, sequentialNanos / (double) nanos,
+                    moves.equals(expectedMoves) ? "same moves"
+                                                : "DIFFERENT MOVES");
+        }
+    }
+
+    /**
+     * Erzeugt Spielsituationen, in denen die Maschine an der Reihe ist. Der
+     * Mensch zieht zufällig und die Maschine mit der kleinsten Tiefe, bis
+     * eine zufällige Anzahl an Halbzügen erreicht ist.
+     *
+     * @param boardType         Entspricht der Implementierung des
+     *                          Spielbretts.
+     * @param count             Entspricht der Anzahl der Spielsituationen.
+     * @return                  Gibt die Spielsituationen zurück.
+     */
+    private static List<Board> createPositions(BoardType boardType,
+                                               int count) {
+        Random random = new Random(SEED);
+        List<Board> positions = new ArrayList<>();
+        while (positions.size() < count) {
+            int plies = MIN_PLIES + random.nextInt(MAX_PLIES - MIN_PLIES);
+            Board board = boardType.createBoard(Player.HUMAN);
+            for (int i = 0; i < plies && !board.gameOver(); i++) {
+                if (board.next() == Player.HUMAN) {
+                    board = randomHumanMove(board, random);
+                } else {
+                    board = board.machineMove(Duration.ZERO);
+                }
+            }
+            if (!board.gameOver() && board.next() == Player.MACHINE) {
+                positions.add(board);
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * Führt einen zufälligen legalen Zug des Menschen aus.
+     *
+     * @param board         Entspricht der Spielsituation, in der der Mensch
+     *                      an der Reihe ist.
+     * @param random        Entspricht dem Zufallsgenerator.
+     * @return              Gibt die Spielsituation nach dem Zug zurück.
+     */
+    private static Board randomHumanMove(Board board, Random random) {
+        List<Board> moves = new ArrayList<>();
+        for (int row = 1; row <= Board.SIZE; row++) {
+            for (int col = 1; col <= Board.SIZE; col++) {
+                Board move = board.move(row, col);
+
+                if (move != null) {
+                    moves.add(move);
+                }
+            }
+        }
+        return moves.get(random.nextInt(moves.size()));
+    }
+}
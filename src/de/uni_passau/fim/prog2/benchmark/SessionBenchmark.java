@@ -0,0 +1,214 @@
+package de.uni_passau.fim.prog2.benchmark;
+
+import de.uni_passau.fim.prog2.model.Board;
+import de.uni_passau.fim.prog2.model.BoardType;
+import de.uni_passau.fim.prog2.model.EngineConfig;
+import de.uni_passau.fim.prog2.model.ExecutionMode;
+import de.uni_passau.fim.prog2.model.GameSessionManager;
+import de.uni_passau.fim.prog2.model.Player;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Misst, wie viele gleichzeitige Spiele ein {@code GameSessionManager}
+ * verkraftet, wobei die meisten Spiele auf den Zug des Menschen warten. Es
+ * werden der Speicher pro Spiel und die Anzahl der Threads gemessen, sowie
+ * der Durchsatz und die Wartezeiten der Züge der wenigen aktiven Spiele, in
+ * denen der Mensch zufällig zieht, bis diese vorbei sind.
+ *
+ * <p>Die Wartezeit eines Zuges wird durch regelmäßiges Nachfragen gemessen
+ * und ist somit um bis zu {@link #POLL_NANOS} zu groß.
+ *
+ * @version 17.10.26
+ * @author -----
+ */
+public final class SessionBenchmark {
+
+    /**
+     * Entspricht dem Seed, mit dem die Züge des Menschen gewählt werden.
+     */
+    private static final long SEED = 20191221L;
+
+    /**
+     * Entspricht der Zeit in Nanosekunden zwischen zwei Nachfragen, ob die
+     * Züge der aktiven Spiele berechnet wurden.
+     */
+    private static final long POLL_NANOS = 100_000;
+
+    /**
+     * Verhindert die Instanziierung der Klasse.
+     */
+    private SessionBenchmark() {
+    }
+
+    /**
+     * Startmethode des Benchmarks.
+     *
+     * @param args  Übergabeparameter des Programms, also optional die
+     *              Anzahl der Spiele (Standard {@code 100000}), die Anzahl
+     *              der aktiven Spiele (Standard {@code 1000}), die Anzahl
+     *              der Threads der Suche (Standard Anzahl der Kerne), die
+     *              Art der Threads der Aufträge (Standard {@code POOLED})
+     *              und das Level (Standard {@code 3}).
+     * @throws InterruptedException     Wird geworfen, falls der Benchmark
+     *                                  unterbrochen wird.
+     * @throws ExecutionException       Wird geworfen, falls ein Zug nicht
+     *                                  berechnet werden konnte.
+     */
+    public static void main(String[] args) throws InterruptedException,
+            ExecutionException {
+        int numberOfSessions = args.length > 0
+                ? Integer.parseInt(args[0]) : 100_000;
+        int active = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int threads = args.length > 2 ? Integer.parseInt(args[2])
+                : Runtime.getRuntime().availableProcessors();
+        ExecutionMode mode = args.length > 3
+                ? ExecutionMode.valueOf(args[3]) : ExecutionMode.POOLED;
+        int level = args.length > 4 ? Integer.parseInt(args[4]) : 3;
+        if (active > numberOfSessions) {
+            throw new IllegalArgumentException("More active than total"
+                    + " sessions!");
+        }
+
+        EngineConfig config = EngineConfig.DEFAULT.withLevel(level)
+                .withEndgameEmpties(0);
+        long heapBefore = usedHeap();
+        int threadsBefore = Thread.activeCount();
+        try (GameSessionManager manager = new GameSessionManager(
+                BoardType.BITBOARD, config, threads, numberOfSessions,
+                active, mode)) {
+            long start = System.nanoTime();
+            long[] ids = new long[numberOfSessions];
+            for (int i = 0; i < numberOfSessions; i++) {
+                ids[i] = manager.createSession(Player.HUMAN);
+            }
+            long createNanos = System.nanoTime() - start;
+            long heapPerSession = (usedHeap() - heapBefore) / numberOfSessions;
+            System.out.printf("%d sessions, %d active, %d search threads,"
+                    + " %s, level %d%n", numberOfSessions, active, threads,
+                    mode, level);
+            System.out.printf("created in %.1f ms, %d bytes heap per"
+                    + " session, %d threads%n", createNanos / 1e6,
+                    heapPerSession, Thread.activeCount() - threadsBefore);
+
+            playActiveSessions(manager, ids, active, threadsBefore);
+        }
+    }
+
+    /**
+     * Spielt die aktiven Spiele zu Ende, wobei der Mensch zufällig zieht,
+     * sobald die Antwort der Maschine berechnet wurde, und gibt den
+     * Durchsatz und die Wartezeiten aus.
+     *
+     * @param manager               Entspricht der Verwaltung der Spiele.
+     * @param ids                   Entspricht den Ids aller Spiele, wobei
+     *                              die ersten Spiele aktiv sind.
+     * @param active                Entspricht der Anzahl der aktiven
+     *                              Spiele.
+     * @param threadsBefore         Entspricht der Anzahl der Threads vor dem
+     *                              Kreieren der Verwaltung.
+     * @throws ExecutionException   Wird geworfen, falls ein Zug nicht
+     *                              berechnet werden konnte.
+     * @throws InterruptedException Wird geworfen, falls der Benchmark
+     *                              unterbrochen wird.
+     */
+    private static void playActiveSessions(GameSessionManager manager,
+                                           long[] ids, int active,
+                                           int threadsBefore)
+            throws ExecutionException, InterruptedException {
+        Random random = new Random(SEED);
+        List<Future<Board>> moves = new ArrayList<>();
+        long[] submitted = new long[active];
+        long[] latencies = new long[Board.SIZE * Board.SIZE * active];
+        int numberOfMoves = 0;
+        int running = active;
+        int maxThreads = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < active; i++) {
+            Board board = manager.getBoard(ids[i]);
+            moves.add(move(manager, ids[i], board, random));
+            submitted[i] = System.nanoTime();
+        }
+        while (running > 0) {
+            for (int i = 0; i < active; i++) {
+                Future<Board> move = moves.get(i);
+                if (move != null && move.isDone()) {
+                    latencies[numberOfMoves++]
+                            = System.nanoTime() - submitted[i];
+                    Board board = move.get();
+                    if (board.gameOver()) {
+                        moves.set(i, null);
+                        running--;
+                    } else {
+                        moves.set(i, move(manager, ids[i], board, random));
+                        submitted[i] = System.nanoTime();
+                    }
+                }
+            }
+            maxThreads = Math.max(maxThreads,
+                    Thread.activeCount() - threadsBefore);
+            LockSupport.parkNanos(POLL_NANOS);
+        }
+        long nanos = System.nanoTime() - start;
+
+        Arrays.sort(latencies, 0, numberOfMoves);
+        System.out.printf("%d moves in %.1f ms, %.0f moves/s, max %d"
+                + " threads%n", numberOfMoves, nanos / 1e6,
+                numberOfMoves / (nanos / 1e9), maxThreads);
+        System.out.printf("latency p50 %.2f ms, p99 %.2f ms, max %.2f ms%n",
+                percentile(latencies, numberOfMoves, 50) / 1e6,
+                percentile(latencies, numberOfMoves, 99) / 1e6,
+                latencies[numberOfMoves - 1] / 1e6);
+    }
+
+    /**
+     * Beauftragt einen zufälligen legalen Zug des Menschen.
+     *
+     * @param manager       Entspricht der Verwaltung der Spiele.
+     * @param id            Entspricht der Id des Spiels.
+     * @param board         Entspricht der Spielsituation, in der der Mensch
+     *                      an der Reihe ist.
+     * @param random        Entspricht dem Zufallsgenerator.
+     * @return              Gibt die Spielsituation nach der Antwort der
+     *                      Maschine zurück, sobald diese berechnet wurde.
+     */
+    private static Future<Board> move(GameSessionManager manager, long id,
+                                      Board board, Random random) {
+        long legalMoves = board.legalMoves();
+        for (int i = random.nextInt(Long.bitCount(legalMoves)); i > 0; i--) {
+            legalMoves &= legalMoves - 1;
+        }
+        int square = Long.numberOfTrailingZeros(legalMoves);
+        return manager.move(id, square / Board.SIZE + 1,
+                square % Board.SIZE + 1);
+    }
+
+    /**
+     * Gibt ein Perzentil der sortierten Wartezeiten zurück.
+     *
+     * @param sorted        Entspricht den sortierten Wartezeiten.
+     * @param count         Entspricht der Anzahl der Wartezeiten.
+     * @param percent       Entspricht dem Perzentil.
+     * @return              Gibt die Wartezeit des Perzentils zurück.
+     */
+    private static long percentile(long[] sorted, int count, int percent) {
+        return sorted[Math.min(count - 1, count * percent / 100)];
+    }
+
+    /**
+     * Gibt den belegten Speicher nach einer Garbage Collection zurück.
+     *
+     * @return              Entspricht dem belegten Speicher in Bytes.
+     */
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,587 @@
+package de.uni_passau.fim.prog2.model;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@code AlphaBetaSearch} berechnet den gleichen besten Zug wie {@code Tree},
+ * wobei der Baum der möglichen Züge jedoch nicht vollständig aufgebaut wird.
+ * Stattdessen wird dieser in Tiefensuche durchlaufen, sodass nur die
+ * Spielsituationen des momentanen Pfades gleichzeitig existieren. Durch
+ * Alpha-Beta Pruning werden Teilbäume übersprungen, die den Score der
+ * Wurzel nicht mehr beeinflussen können.
+ *
+ * <p>Die Züge werden auf einem einzigen {@code SearchBoard} ausgeführt und
+ * nach dem Durchsuchen des Teilbaums wieder zurückgenommen, sodass pro
+ * Knoten kein Klon erzeugt wird. Nur der beste Zug der Wurzel wird am Ende
+ * auf einem Klon der Ausgangsspielsituation ausgeführt. Wurde die Suche
+ * abgebrochen, kann diese deshalb nicht weiterverwendet werden.
+ *
+ * <p>Der Score eines Knotens entspricht wie bei {@code Tree} dem Score der
+ * Spielsituation plus dem Maximum bzw Minimum der Scores der Kinder. Da der
+ * eigene Score zu allen Kindern addiert wird, wird das Suchfenster für die
+ * Kinder um diesen verschoben.
+ *
+ * <p>Da der Score eines Knotens nur von der Spielsituation und der
+ * verbleibenden Tiefe abhängt, werden bereits berechnete Scores in einer
+ * {@code TranspositionTable} gespeichert. Ein gespeicherter Score wird nur bei
+ * gleicher verbleibender Tiefe verwendet, da eine tiefere Suche durch die
+ * Summe der Scores entlang des Pfades einen anderen Score ergibt.
+ *
+ * <p>Die Züge werden durch {@code MoveOrdering} sortiert durchsucht. Damit bei
+ * gleichem Score an der Wurzel trotzdem der Zug gewählt wird, der in der
+ * Reihenfolge der Zeilen zuerst kommt, wird für Züge vor dem momentan besten
+ * Zug ein um den kleinstmöglichen Wert erweitertes Fenster verwendet.
+ *
+ * @version 17.10.26
+ * @author -----
+ */
+class AlphaBetaSearch {
+
+    /**
+     * Entspricht der Anzahl an Knoten, nach denen jeweils geprüft wird, ob
+     * die verfügbare Zeit abgelaufen ist oder die Suche beendet wurde. Muss
+     * eine Zweierpotenz sein.
+     */
+    private static final int NODES_PER_TIME_CHECK = 1024;
+
+    /**
+     * Entspricht der max Anzahl an möglichen Zügen einer Spielsituation.
+     */
+    private static final int MAX_MOVES = Board.SIZE * Board.SIZE;
+
+    /**
+     * Entspricht der Ausgangsspielsituation.
+     */
+    private EngineBoard root;
+
+    /**
+     * Entspricht der max Tiefe der Suche.
+     */
+    private int level;
+
+    /**
+     * Entspricht dem Spieler, für den der beste Zug berechnet wird.
+     */
+    private Player playerToAssess;
+
+    /**
+     * Entspricht der Tabelle der bereits berechneten Scores.
+     */
+    private TranspositionTable transpositionTable;
+
+
+    /**
+     * Wird bei jeder Abfrage der {@code transpositionTable} befüllt.
+     */
+    private TranspositionTable.Entry entry;
+
+    /**
+     * Entspricht der Sortierung der Züge.
+     */
+    private MoveOrdering moveOrdering;
+
+    /**
+     * Entspricht der Spielsituation des momentanen Pfades, auf der die Züge
+     * ausgeführt und zurückgenommen werden.
+     */
+    private SearchBoard board;
+
+    /**
+     * Entspricht der Bewertung von {@code board}, die für alle Knoten
+     * verwendet wird, da die Züge auf {@code board} ausgeführt werden.
+     */
+    private Score score;
+
+    /**
+     * Entspricht den Indexen der Felder der Züge pro Tiefe, die vor dem
+     * Durchsuchen sortiert werden.
+     */
+    private int[][] squares;
+
+    /**
+     * Entspricht den Prioritäten der Züge pro Tiefe.
+     */
+    private long[][] priorities;
+
+    /**
+     * Entspricht dem Zeitpunkt in {@link System#nanoTime()}, zu dem die
+     * Suche abgebrochen wird.
+     */
+    private long deadline;
+
+    /**
+     * Entspricht {@code true}, falls die Suche nach {@code deadline}
+     * abgebrochen werden soll.
+     */
+    private boolean hasDeadline;
+
+    /**
+     * Entspricht {@code true}, sobald die Suche von einem anderen Thread
+     * beendet werden soll, bzw {@code null}, falls dies nicht möglich ist.
+     */
+    private AtomicBoolean stopped;
+
+    /**
+     * Entspricht der Anzahl der bisher bewerteten Spielsituationen.
+     */
+    private long nodes;
+
+    /**
+     * Entspricht den Zählern des Maschinenzuges, zu denen die Statistik
+     * dieser Suche addiert wird, bzw {@code null}, falls nicht gezählt wird.
+     */
+    private SearchCounters counters;
+
+    /**
+     * Entspricht der Anzahl der Spielsituationen, die bereits zu
+     * {@code counters} addiert wurden.
+     */
+    private long countedNodes;
+
+    /**
+     * Entspricht der Anzahl der noch nicht addierten Bewertungen.
+     */
+    private long evaluations;
+
+    /**
+     * Entspricht der Anzahl der noch nicht addierten abgeschnittenen
+     * Teilbäume.
+     */
+    private long cutoffs;
+
+    /**
+     * Entspricht der Anzahl der noch nicht addierten abgeschnittenen
+     * Teilbäume, bei denen bereits der erste Zug abgeschnitten hat.
+     */
+    private long firstMoveCutoffs;
+
+    /**
+     * Entspricht der Anzahl der noch nicht addierten Abfragen der
+     * {@code transpositionTable}.
+     */
+    private long cacheProbes;
+
+    /**
+     * Entspricht der Anzahl der noch nicht addierten gefundenen Einträge.
+     */
+    private long cacheHits;
+
+    /**
+     * Kreiert eine Suche für die Ausgangsspielsituation, die nicht vorbei
+     * sein darf.
+     *
+     * @param root              Entspricht der Ausgangsspielsituation.
+     * @param level             Entspricht der Schwierigkeitsstufe und somit
+     *                          der max Tiefe der Suche.
+     * @param table             Entspricht der Tabelle der bereits
+     *                          berechneten Scores.
+     * @param weights           Entspricht den Gewichten der Bewertung.
+     */
+    AlphaBetaSearch(EngineBoard root, int level, TranspositionTable table,
+                    EvaluationWeights weights) {
+        this(root, level, table, weights, new MoveOrdering());
+    }
+
+    /**
+     * Kreiert eine Suche für die Ausgangsspielsituation, wobei die Sortierung
+     * der Züge von vorherigen Suchen übernommen werden kann.
+     *
+     * @param root              Entspricht der Ausgangsspielsituation.
+     * @param level             Entspricht der max Tiefe der Suche.
+     * @param table             Entspricht der Tabelle der bereits
+     *                          berechneten Scores.
+     * @param weights           Entspricht den Gewichten der Bewertung.
+     * @param moveOrdering      Entspricht der Sortierung der Züge.
+     */
+    AlphaBetaSearch(EngineBoard root, int level, TranspositionTable table,
+                    EvaluationWeights weights, MoveOrdering moveOrdering) {
+        assert root != null : "The beginning game cannot be undefined!";
+        assert level > 0 : "Level cannot be negative or 0!";
+        assert !root.gameOver() : "The game cannot be already over!";
+        assert table != null : "The table cannot be undefined!";
+        assert weights != null : "The weights cannot be undefined!";
+        assert moveOrdering != null : "The ordering cannot be undefined!";
+
+        this.root = root;
+        this.level = level;
+        playerToAssess = root.next();
+        transpositionTable = table;
+        entry = new TranspositionTable.Entry();
+        this.moveOrdering = moveOrdering;
+        board = new SearchBoard(root);
+        score = new Score(board, playerToAssess, weights);
+        squares = new int[level][MAX_MOVES];
+        priorities = new long[level][MAX_MOVES];
+    }
+
+    /**
+     * Kreiert eine Suche für die Ausgangsspielsituation, die spätestens zum
+     * Zeitpunkt {@code deadline} oder sobald {@code stopped} gesetzt wird
+     * abgebrochen wird.
+     *
+     * @param root              Entspricht der Ausgangsspielsituation.
+     * @param level             Entspricht der max Tiefe der Suche.
+     * @param table             Entspricht der Tabelle der bereits
+     *                          berechneten Scores.
+     * @param weights           Entspricht den Gewichten der Bewertung.
+     * @param moveOrdering      Entspricht der Sortierung der Züge.
+     * @param deadline          Entspricht dem Zeitpunkt in
+     *                          {@link System#nanoTime()}, zu dem die Suche
+     *                          abgebrochen wird.
+     * @param stopped           Entspricht dem Signal, durch das die Suche
+     *                          beendet wird.
+     * @param counters          Entspricht den Zählern des Maschinenzuges.
+     * @see                     SearchAbortedException
+     */
+    AlphaBetaSearch(EngineBoard root, int level, TranspositionTable table,
+                    EvaluationWeights weights, MoveOrdering moveOrdering,
+                    long deadline, AtomicBoolean stopped,
+                    SearchCounters counters) {
+        this(root, level, table, weights, moveOrdering, stopped, counters);
+        this.deadline = deadline;
+        hasDeadline = true;
+    }
+
+    /**
+     * Kreiert eine Suche für die Ausgangsspielsituation, die abgebrochen
+     * wird, sobald {@code stopped} von einem anderen Thread gesetzt wird.
+     * Die Statistik der Suche wird zu {@code counters} addiert.
+     *
+     * @param root              Entspricht der Ausgangsspielsituation.
+     * @param level             Entspricht der max Tiefe der Suche.
+     * @param table             Entspricht der Tabelle der bereits
+     *                          berechneten Scores.
+     * @param weights           Entspricht den Gewichten der Bewertung.
+     * @param moveOrdering      Entspricht der Sortierung der Züge.
+     * @param stopped           Entspricht dem Signal, durch das die Suche
+     *                          beendet wird.
+     * @param counters          Entspricht den Zählern des Maschinenzuges.
+     * @see                     SearchAbortedException
+     */
+    AlphaBetaSearch(EngineBoard root, int level, TranspositionTable table,
+                    EvaluationWeights weights, MoveOrdering moveOrdering,
+                    AtomicBoolean stopped, SearchCounters counters) {
+        this(root, level, table, weights, moveOrdering);
+        assert stopped != null : "The signal cannot be undefined!";
+        assert counters != null : "The counters cannot be undefined!";
+
+        this.stopped = stopped;
+        this.counters = counters;
+    }
+
+    /**
+     * Berechnet den besten Zug für den nächst ziehenden Spieler. Bei
+     * gleichem Score wird wie bei {@code Tree} der Zug gewählt, der in der
+     * Reihenfolge der Zeilen zuerst kommt.
+     *
+     * @return          Entspricht dem besten Zug, ausgeführt auf einem Klon.
+     * @see             #calculateScore(int, double, double)
+     */
+    EngineBoard calculateBestMove() {
+        transpositionTable.newSearch();
+        return searchRoot();
+    }
+
+    /**
+     * Berechnet den besten Zug wie {@link #calculateBestMove()}, wobei die
+     * Einträge der {@code transpositionTable} jedoch nicht als veraltet
+     * markiert werden. Dadurch verdrängen gleichzeitige Suchen der gleichen
+     * Ausgangsspielsituation nicht gegenseitig ihre Einträge.
+     *
+     * @return                          Entspricht dem besten Zug, ausgeführt
+     *                                  auf einem Klon.
+     * @throws SearchAbortedException   Wird geworfen, falls die verfügbare
+     *                                  Zeit abgelaufen ist oder die Suche
+     *                                  beendet wurde.
+     * @see                             LazySmpSearch
+     */
+    EngineBoard searchRoot() {
+        long cpuStart = SearchCounters.currentCpuTime();
+        try {
+            return searchRootMoves();
+        } finally {
+            addStatistics(cpuStart);
+        }
+    }
+
+    /**
+     * Berechnet den besten Zug wie {@link #searchRoot()}, ohne die
+     * Statistik zu addieren.
+     *
+     * @return          Entspricht dem besten Zug, ausgeführt auf einem Klon.
+     */
+    private EngineBoard searchRootMoves() {
+        long key = keyOf(board);
+        int hashMove = TranspositionTable.NO_MOVE;
+        if (probe(key)) {
+            hashMove = entry.move;
+        }
+        int count = generateMoves(0, hashMove);
+
+        int bestSquare = TranspositionTable.NO_MOVE;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < count; i++) {
+            int square = squares[0][i];
+            double alpha = bestScore;
+            if (square < bestSquare) {
+                alpha = Math.nextDown(bestScore);
+            }
+
+            double scoreOfChild = scoreOfMove(square, alpha);
+            if (bestSquare == TranspositionTable.NO_MOVE
+                    || scoreOfChild > bestScore
+                    || (scoreOfChild == bestScore && square < bestSquare)) {
+                bestScore = scoreOfChild;
+                bestSquare = square;
+            }
+        }
+        assert bestSquare != TranspositionTable.NO_MOVE : "The game must have"
+                + " a legal move because the game is not over yet!";
+
+        transpositionTable.store(key, level, TranspositionTable.Bound.EXACT,
+                score.calculateScore() + bestScore, bestSquare);
+        return root.moveForNextPlayer(bestSquare / Board.SIZE + 1,
+                bestSquare % Board.SIZE + 1);
+    }
+
+    /**
+     * Berechnet den Score eines Zuges der Ausgangsspielsituation, wobei der
+     * Score nur genau ist, falls dieser größer als {@code alpha} ist. Dadurch
+     * können die Züge der Wurzel von mehreren Suchen gleichzeitig durchsucht
+     * werden.
+     *
+     * @param square                    Entspricht dem Index des Feldes des
+     *                                  legalen Zuges.
+     * @param alpha                     Entspricht dem Score, den der
+     *                                  bewertende Spieler bereits sicher
+     *                                  erreichen kann.
+     * @return                          Gibt den Score des Zuges zurück.
+     * @throws SearchAbortedException   Wird geworfen, falls die verfügbare
+     *                                  Zeit abgelaufen ist.
+     * @see                             ParallelSearch
+     */
+    double calculateScoreOfMove(int square, double alpha) {
+        long cpuStart = SearchCounters.currentCpuTime();
+        try {
+            return scoreOfMove(square, alpha);
+        } finally {
+            addStatistics(cpuStart);
+        }
+    }
+
+    /**
+     * Berechnet den Score eines Zuges wie
+     * {@link #calculateScoreOfMove(int, double)}, ohne die Statistik zu
+     * addieren.
+     *
+     * @param square        Entspricht dem Index des Feldes des Zuges.
+     * @param alpha         Entspricht dem Score, den der bewertende Spieler
+     *                      bereits sicher erreichen kann.
+     * @return              Gibt den Score des Zuges zurück.
+     */
+    private double scoreOfMove(int square, double alpha) {
+        board.makeMove(square);
+        double scoreOfMove = calculateScore(level - 1, alpha,
+                Double.POSITIVE_INFINITY);
+        board.unmakeMove();
+        return scoreOfMove;
+    }
+
+    /**
+     * Berechnet den Score der Spielsituation des {@code board} bis zur Tiefe
+     * {@code depth}.
+     * Liegt der Score innerhalb von ({@code alpha}, {@code beta}), entspricht
+     * dieser genau dem Score von {@code Tree}. Andernfalls ist lediglich
+     * garantiert, dass dieser ebenfalls außerhalb des Fensters liegt.
+     *
+     * @param depth                     Entspricht der verbleibenden Tiefe.
+     * @param alpha                     Entspricht dem Score, den der
+     *                                  bewertende Spieler bereits sicher
+     *                                  erreichen kann.
+     * @param beta                      Entspricht dem Score, den der Gegner
+     *                                  bereits sicher erreichen kann.
+     * @return                          Gibt den Score der Spielsituation
+     *                                  zurück.
+     * @throws SearchAbortedException   Wird geworfen, falls die verfügbare
+     *                                  Zeit abgelaufen ist oder die Suche
+     *                                  beendet wurde.
+     * @see                             Score#calculateScore()
+     */
+    private double calculateScore(int depth, double alpha, double beta) {
+        checkAbort();
+        long key = keyOf(board);
+        int hashMove = TranspositionTable.NO_MOVE;
+        if (probe(key)) {
+            if (entry.depth == depth
+                    && (entry.bound == TranspositionTable.Bound.EXACT
+                        || (entry.bound == TranspositionTable.Bound.LOWER
+                            && entry.score >= beta)
+                        || (entry.bound == TranspositionTable.Bound.UPPER
+                            && entry.score <= alpha))) {
+                return entry.score;
+            }
+            hashMove = entry.move;
+        }
+
+        double scoreOfBoard = score.calculateScore();
+        evaluations++;
+        if (depth == 0 || board.gameOver()) {
+            transpositionTable.store(key, depth,
+                    TranspositionTable.Bound.EXACT, scoreOfBoard,
+                    TranspositionTable.NO_MOVE);
+            return scoreOfBoard;
+        }
+
+        int ply = level - depth;
+        int count = generateMoves(ply, hashMove);
+        boolean maximize = board.next() == playerToAssess;
+        double lower = alpha - scoreOfBoard;
+        double upper = beta - scoreOfBoard;
+        double scoreOfChildren = maximize ? Double.NEGATIVE_INFINITY
+                                          : Double.POSITIVE_INFINITY;
+        int bestSquare = TranspositionTable.NO_MOVE;
+        boolean cutoff = false;
+        for (int i = 0; !cutoff && i < count; i++) {
+            int square = squares[ply][i];
+            board.makeMove(square);
+            if (maximize) {
+                double scoreOfChild = calculateScore(depth - 1,
+                        Math.max(lower, scoreOfChildren), upper);
+                if (scoreOfChild > scoreOfChildren) {
+                    scoreOfChildren = scoreOfChild;
+                    bestSquare = square;
+                }
+                cutoff = scoreOfChildren >= upper;
+            } else {
+                double scoreOfChild = calculateScore(depth - 1, lower,
+                        Math.min(upper, scoreOfChildren));
+                if (scoreOfChild < scoreOfChildren) {
+                    scoreOfChildren = scoreOfChild;
+                    bestSquare = square;
+                }
+                cutoff = scoreOfChildren <= lower;
+            }
+            board.unmakeMove();
+            if (cutoff) {
+                cutoffs++;
+                if (i == 0) {
+                    firstMoveCutoffs++;
+                }
+                moveOrdering.recordCutoff(square, ply, depth, board.next());
+            }
+        }
+
+        double result = scoreOfBoard + scoreOfChildren;
+        if (scoreOfChildren >= upper) {
+            transpositionTable.store(key, depth,
+                    TranspositionTable.Bound.LOWER, result, bestSquare);
+        } else if (scoreOfChildren <= lower) {
+            transpositionTable.store(key, depth,
+                    TranspositionTable.Bound.UPPER, result,
+                    TranspositionTable.NO_MOVE);
+        } else {
+            transpositionTable.store(key, depth,
+                    TranspositionTable.Bound.EXACT, result, bestSquare);
+        }
+        return result;
+    }
+
+    /**
+     * Berechnet alle möglichen Züge der Spielsituation des {@code board} und
+     * sortiert diese durch {@code moveOrdering}. Die Felder werden in dem
+     * Puffer der Tiefe {@code ply} gespeichert.
+     *
+     * @param ply           Entspricht der Tiefe der Spielsituation.
+     * @param hashMove      Entspricht dem Zug der {@code TranspositionTable}
+     *                      bzw {@code TranspositionTable.NO_MOVE}.
+     * @return              Gibt die Anzahl der möglichen Züge zurück.
+     * @see                 MoveOrdering#orderMoves(int[], long[], int, int,
+     *                      int, Player)
+     */
+    private int generateMoves(int ply, int hashMove) {
+        int[] squaresOfPly = squares[ply];
+        int count = 0;
+        for (long rest = board.calculateLegalMoves(board.next()); rest != 0;
+                rest &= rest - 1) {
+            squaresOfPly[count] = Long.numberOfTrailingZeros(rest);
+            count++;
+        }
+        moveOrdering.orderMoves(squaresOfPly, priorities[ply], count,
+                hashMove, ply, board.next());
+        return count;
+    }
+
+    /**
+     * Fragt die {@code transpositionTable} ab und zählt die Abfrage.
+     *
+     * @param key           Entspricht dem Schlüssel der Spielsituation.
+     * @return              Gibt zurück, ob ein Eintrag gefunden wurde, der
+     *                      dann in {@code entry} steht.
+     */
+    private boolean probe(long key) {
+        cacheProbes++;
+        if (transpositionTable.probe(key, entry)) {
+            cacheHits++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Addiert die Statistik seit der letzten Addition zu {@code counters},
+     * falls gezählt wird.
+     *
+     * @param cpuStart      Entspricht der Rechenzeit des Threads zu Beginn.
+     */
+    private void addStatistics(long cpuStart) {
+        if (counters != null) {
+            counters.add(nodes - countedNodes, evaluations, cutoffs,
+                    firstMoveCutoffs, cacheProbes, cacheHits, cpuStart);
+        }
+        countedNodes = nodes;
+        evaluations = 0;
+        cutoffs = 0;
+        firstMoveCutoffs = 0;
+        cacheProbes = 0;
+        cacheHits = 0;
+    }
+
+    /**
+     * Berechnet den Schlüssel einer Spielsituation für die
+     * {@code transpositionTable}, wobei auch der bewertende Spieler
+     * einbezogen wird, da der Score von diesem abhängt.
+     *
+     * @param board         Entspricht der Spielsituation.
+     * @return              Gibt den Schlüssel zurück.
+     */
+    private long keyOf(Position board) {
+        if (playerToAssess == Player.HUMAN) {
+            return board.getHash() ^ Zobrist.HUMAN_TO_ASSESS;
+        } else {
+            return board.getHash();
+        }
+    }
+
+    /**
+     * Bricht die Suche ab, falls die verfügbare Zeit abgelaufen ist, die
+     * Suche beendet wurde oder der suchende Thread unterbrochen wurde, wobei
+     * dies nur alle {@code NODES_PER_TIME_CHECK} Knoten geprüft wird.
+     *
+     * @throws SearchAbortedException   Wird geworfen, falls die verfügbare
+     *                                  Zeit abgelaufen ist, die Suche beendet
+     *                                  oder der Thread unterbrochen wurde.
+     * @see                             Thread#interrupt()
+     */
+    private void checkAbort() {
+        nodes++;
+        if ((nodes & (NODES_PER_TIME_CHECK - 1)) == 0) {
+            if (hasDeadline && System.nanoTime() - deadline > 0) {
+                throw new SearchAbortedException("Time budget is exceeded!");
+            } else if (stopped != null && stopped.get()) {
+                throw new SearchAbortedException("Search is stopped!");
+            } else if (Thread.currentThread().isInterrupted()) {
+                throw new SearchAbortedException("Thread is interrupted!");
+            }
+        }
+    }
+}
@@ -0,0 +1,716 @@
+package de.uni_passau.fim.prog2.model;
+
+/**
+ * Die Klasse {@code BitBoard} implementiert das gleiche Spiel wie
+ * {@code Reversi}, speichert das Spielfeld jedoch in zwei 64-Bit Masken, je
+ * eine pro Spieler. Das Feld in der Zeile {@code row} und der Spalte
+ * {@code col} entspricht dabei dem Bit {@code (row - 1) * 8 + (col - 1)}.
+ * Legale Züge und umzudrehende Steine werden durch Shift- und
+ * Maskenoperationen berechnet, wodurch weder Felder einzeln geprüft noch
+ * Arrays geklont werden müssen. Die Klasse ist nur für ein 8 x 8 Spielbrett
+ * möglich.
+ *
+ * @version 17.10.26
+ * @author -----
+ */
+public class BitBoard extends EngineBoard {
+
+    /**
+     * Entspricht allen Feldern außer denen der ersten Spalte.
+     */
+    private static final long NOT_FIRST_COL = 0xfefefefefefefefeL;
+
+    /**
+     * Entspricht allen Feldern außer denen der letzten Spalte.
+     */
+    private static final long NOT_LAST_COL = 0x7f7f7f7f7f7f7f7fL;
+
+    /**
+     * Entspricht der Anzahl an Himmelsrichtungen, in die Steine umgedreht
+     * werden können.
+     */
+    private static final int NUMBER_OF_DIRECTIONS = 8;
+
+    /**
+     * Entspricht den Masken der Nachbarfelder pro Feld.
+     */
+    static final long[] NEIGHBORS = calculateNeighbors();
+
+    /**
+     * Entspricht den Steinen des Menschen.
+     */
+    private long human;
+
+    /**
+     * Entspricht den Steinen der Maschine.
+     */
+    private long machine;
+
+    /**
+     * Entspricht dem Spieler, der das Spiel eröffnet hat.
+     */
+    private Player firstPlayer;
+
+    /**
+     * Entspricht dem Spieler, der nun an der Reihe ist.
+     */
+    private Player nextPlayer;
+
+    /**
+     * Entspricht dem Zobrist-Hash der Spielsituation.
+     */
+    private long hash;
+
+    /**
+     * Entspricht der Summe der Scores der Felder mit Steinen des Menschen.
+     */
+    private int humanFieldScore;
+
+    /**
+     * Entspricht der Summe der Scores der Felder mit Steinen der Maschine.
+     */
+    private int machineFieldScore;
+
+    /**
+     * Entspricht der Anzahl der leeren Nachbarfelder aller Steine des
+     * Menschen.
+     */
+    private int humanFrontier;
+
+    /**
+     * Entspricht der Anzahl der leeren Nachbarfelder aller Steine der
+     * Maschine.
+     */
+    private int machineFrontier;
+
+    /**
+     * Entspricht {@code true}, falls sowohl der Mensch als auch die Maschine
+     * nicht mehr ziehen konnten. Entspricht andernfalls {@code false}.
+     */
+    private boolean gameOver;
+
+    /**
+     * Entspricht den Feldern, auf die der Mensch legal ziehen kann. Wird bei
+     * jedem Zug einmal berechnet.
+     */
+    private long humanLegalMoves;
+
+    /**
+     * Entspricht den Feldern, auf die die Maschine legal ziehen kann. Wird
+     * bei jedem Zug einmal berechnet.
+     */
+    private long machineLegalMoves;
+
+    /**
+     * Erstellt ein Spiel, wobei der Eröffner gesetzt werden kann und die
+     * Maschine eine eigene Sitzung mit den standard Einstellungen verwendet.
+     *
+     * @param  firstPlayer                  Entspricht dem Eröffner des Spiels.
+     * @throws IllegalArgumentException     Wird geworfen, falls der Eröffner
+     *                                      {@code null} ist.
+     * @see                                 EngineConfig#DEFAULT
+     */
+    public BitBoard(Player firstPlayer) {
+        this(firstPlayer, new EngineSession());
+    }
+
+    /**
+     * Erstellt ein Spiel, wobei der Eröffner und die Sitzung der Maschine
+     * gesetzt werden können. Die Maschine sucht mit den Einstellungen der
+     * Sitzung.
+     *
+     * @param  firstPlayer                  Entspricht dem Eröffner des Spiels.
+     * @param  session                      Entspricht der Sitzung der
+     *                                      Maschine für dieses Spiel.
+     * @throws IllegalArgumentException     Wird geworfen, falls der Eröffner
+     *                                      oder die Sitzung {@code null} ist.
+     * @see                                 #setInitialPosition()
+     */
+    public BitBoard(Player firstPlayer, EngineSession session) {
+        super(session);
+        assert Board.SIZE == 8 : "BitBoard is only for 8x8 possible";
+
+        if (firstPlayer != null && session != null) {
+            this.firstPlayer = firstPlayer;
+            nextPlayer = firstPlayer;
+            setInitialPosition();
+        } else {
+            throw new IllegalArgumentException("FirstPlayer or session is"
+                    + " undefined!");
+        }
+    }
+
+    /**
+     * Gibt den Spieler zurück, der das Spiel eröffnet hat.
+     *
+     * @return      Entspricht dem Eröffner.
+     */
+    @Override
+    public Player getFirstPlayer() {
+        return firstPlayer;
+    }
+
+    /**
+     * Gibt den Spieler zurück, der nun an der Reihe ist.
+     *
+     * @return      Entspricht dem nun ziehenden Spieler.
+     */
+    @Override
+    public Player next() {
+        return nextPlayer;
+    }
+
+    /**
+     * Führt einen Zug des Menschen aus, falls der Mensch ziehen kann
+     * und dieser an der Reihe ist. Der Zug wird auf einem Klon durchgeführt,
+     * falls dieser legal ist.
+     *
+     * @param row                           Entspricht der Zeile auf der der
+     *                                      Stein gelegt werden soll.
+     * @param col                           Entspricht der Spalte auf der der
+     *                                      Stein gelegt werden soll.
+     * @return                              Falls der Zug legal ist, wird der
+     *                                      Zug auf einem Klon durchgeführt
+     *                                      und dieser zurückgegeben,
+     *                                      ansonsten wird {@code null}
+     *                                      zurückgegeben.
+     * @throws IllegalMoveException         Wird geworfen, falls das Spiel
+     *                                      vorbei ist oder der Mensch nicht
+     *                                      an der Reihe ist.
+     * @throws IllegalArgumentException     Wird geworfen, falls {@code row}
+     *                                      oder {@code col} nicht positiv oder
+     *                                      zu groß sind.
+     * @see                                 #moveForNextPlayer(int, int)
+     */
+    @Override
+    public BitBoard move(int row, int col) {
+        if (row > 0 && row <= Board.SIZE && col > 0 && col <= Board.SIZE) {
+            if (!gameOver()) {
+                if (next() == Player.HUMAN) {
+                    return moveForNextPlayer(row, col);
+                } else {
+                    throw new IllegalMoveException("Machine Turn!");
+                }
+            } else {
+                throw new IllegalMoveException("Game is already over!");
+            }
+        } else {
+            throw new IllegalArgumentException("Row or col is negative"
+                    + " or too big!");
+        }
+    }
+
+    /**
+     * Gibt zurück, ob das Spiel bereits vorbei ist.
+     *
+     * @return      Entspricht {@code true}, falls das Spiel vorbei ist,
+     *              andernfalls {@code false}.
+     */
+    @Override
+    public boolean gameOver() {
+        return gameOver;
+    }
+
+    /**
+     * Gibt zurück, wer der Gewinner des Spiels ist und somit mehr Steine auf
+     * dem Spielfeld hat.
+     *
+     * @return                          Entspricht dem Gewinner des Spiels.
+     *                                  Falls {@code null} zurückgegeben wird,
+     *                                  ist das Spiel unentschieden.
+     * @throws IllegalStateException    Wird geworfen, falls das Spiel noch
+     *                                  nicht vorbei ist.
+     */
+    @Override
+    public Player getWinner() {
+        if (gameOver()) {
+            int numberOfHumanTiles = getNumberOfHumanTiles();
+            int numberOfMachineTiles = getNumberOfMachineTiles();
+            if (numberOfHumanTiles > numberOfMachineTiles) {
+                return Player.HUMAN;
+            } else if (numberOfHumanTiles < numberOfMachineTiles) {
+                return Player.MACHINE;
+            } else {
+                return null;
+            }
+        } else {
+            throw new IllegalStateException("Game is not over!");
+        }
+    }
+
+    /**
+     * Gibt die Anzahl der Steine des Menschen auf dem Spielfeld zurück.
+     *
+     * @return      Entspricht der Anzahl der Steine.
+     */
+    @Override
+    public int getNumberOfHumanTiles() {
+        return Long.bitCount(human);
+    }
+
+    /**
+     * Gibt die Anzahl der Steine der Maschine auf dem Spielfeld zurück.
+     *
+     * @return      Entspricht der Anzahl der Steine.
+     */
+    @Override
+    public int getNumberOfMachineTiles() {
+        return Long.bitCount(machine);
+    }
+
+    /**
+     * Gibt den Inhalt des Felds zurück, wobei {@code null} für ein leeres
+     * Feld steht.
+     *
+     * @param row                       Entspricht der Zeile des Spielfelds.
+     * @param col                       Entspricht der Spalte des Spielfelds.
+     * @return                          Gibt den Spieler des Steines auf dem
+     *                                  Feld zurück. Falls {@code null}
+     *                                  zurückgegeben wird, ist das Feld leer.
+     * @throws IllegalArgumentException Wird geworfen, falls {@code row} oder
+     *                                  {@code col} nicht positiv oder zu groß
+     *                                  sind.
+     */
+    @Override
+    public Player getSlot(int row, int col) {
+        if (row > 0 && col > 0 && row <= Board.SIZE && col <= Board.SIZE) {
+            long square = 1L << toSquare(row, col);
+            if ((human & square) != 0) {
+                return Player.HUMAN;
+            } else if ((machine & square) != 0) {
+                return Player.MACHINE;
+            } else {
+                return null;
+            }
+        } else {
+            throw new IllegalArgumentException("Row or col is negative"
+                + " or too big!");
+        }
+    }
+
+    /**
+     * Klont das Spielobjekt und gibt den Klon zurück. Da das Spielfeld aus
+     * primitiven Masken besteht, ist die flache Kopie bereits tief.
+     *
+     * @return                          Entspricht dem Klon des Objekts.
+     * @throws IllegalStateException    Wird geworfen, falls {@code BitBoard}
+     *                                  unvorhergesehen nicht klonbar ist.
+     */
+    @Override
+    public BitBoard clone() {
+        return (BitBoard) super.clone();
+    }
+
+    /**
+     * Gibt die kanonische Darstellung des Spielfelds zurück. Dabei steht "."
+     * für ein leeres Feld, "O" für die Maschine, "X" für den Menschen.
+     *
+     * @return          Entspricht der Darstellung des Spielfelds.
+     */
+    @Override
+    public String toString() {
+        StringBuilder stringBuilder = new StringBuilder();
+        for (int i = 1; i <= Board.SIZE; i++) {
+            for (int u = 1; u <= Board.SIZE; u++) {
+                Player playerOfSlot = getSlot(i, u);
+
+                if (playerOfSlot == null) {
+                    stringBuilder.append('.');
+                } else if (playerOfSlot == Player.HUMAN) {
+                    stringBuilder.append('X');
+                } else {
+                    stringBuilder.append('O');
+                }
+
+                if (u != Board.SIZE) {
+                    stringBuilder.append(' ');
+                }
+            }
+            if (i != Board.SIZE) {
+                stringBuilder.append("\n");
+            }
+        }
+        return stringBuilder.toString();
+    }
+
+    /**
+     * Führt für den nächsten Spieler einen Zug auf einem Klon aus, falls
+     * dieser legal ist.
+     *
+     * @param row               Entspricht der Zeile auf der der Stein gelegt
+     *                          werden soll.
+     * @param col               Entspricht der Spalte auf der der Stein gelegt
+     *                          werden soll.
+     * @return                  Falls der Zug legal ist, wird ein Klon
+     *                          zurückgegeben, auf dem der Zug ausgeführt
+     *                          wurde, andernfalls wird {@code null}
+     *                          zurückgegeben.
+     * @see                     #calculateFlips(long, long, int)
+     */
+    @Override
+    public BitBoard moveForNextPlayer(int row, int col) {
+        assert row > 0 && row <= Board.SIZE : "Row is not positive or to big!";
+        assert col > 0 && col <= Board.SIZE : "Col is not positive or to big!";
+        assert nextPlayer != null : "Next player cannot be undefined!";
+
+        int square = toSquare(row, col);
+        if ((calculateLegalMoves(nextPlayer) & (1L << square)) != 0) {
+            return executeMove(square, calculateFlips(tilesOf(nextPlayer),
+                    tilesOf(nextPlayer.inverse()), square));
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Prüft, wie viele legale Züge für einen Spieler möglich sind.
+     *
+     * @param player            Entspricht dem Spieler, für den die Anzahl der
+     *                          legalen Züge berechnet wird.
+     * @return                  Es wird die Anzahl an legalen, möglichen Zügen
+     *                          zurückgegeben.
+     * @see                     #calculateLegalMoves(long, long)
+     */
+    @Override
+    public int numberOfLegalMoves(Player player) {
+        assert player != null : "Player cannot be undefined!";
+
+        return Long.bitCount(calculateLegalMoves(player));
+    }
+
+    /**
+     * Gibt alle Felder zurück, auf die ein Spieler legal ziehen kann. Diese
+     * werden nach jedem Zug einmal für beide Spieler berechnet.
+     *
+     * @param player            Entspricht dem Spieler, für den die legalen
+     *                          Züge zurückgegeben werden.
+     * @return                  Gibt die Maske der legalen Felder zurück.
+     * @see                     #updateLegalMoves()
+     */
+    @Override
+    public long calculateLegalMoves(Player player) {
+        assert player != null : "Player cannot be undefined!";
+
+        return player == Player.HUMAN ? humanLegalMoves : machineLegalMoves;
+    }
+
+    /**
+     * Gibt die Felder zurück, auf die der nächste Spieler legal ziehen kann.
+     * Diese wurden beim Erzeugen der Spielsituation einmal berechnet.
+     *
+     * @return      Entspricht der Maske der legalen Felder, die {@code 0}
+     *              ist, falls das Spiel vorbei ist.
+     */
+    @Override
+    public long legalMoves() {
+        return calculateLegalMoves(nextPlayer);
+    }
+
+    /**
+     * Gibt die Summe der Scores der Felder zurück, auf denen Steine eines
+     * Spielers liegen.
+     *
+     * @param player        Entspricht dem Spieler.
+     * @return              Entspricht der Summe der Scores der Felder.
+     */
+    @Override
+    public int getFieldScore(Player player) {
+        assert player != null : "Player cannot be undefined!";
+
+        return player == Player.HUMAN ? humanFieldScore : machineFieldScore;
+    }
+
+    /**
+     * Gibt die Anzahl der leeren Nachbarfelder aller Steine eines Spielers
+     * zurück.
+     *
+     * @param player        Entspricht dem Spieler.
+     * @return              Entspricht der Anzahl der leeren Nachbarfelder.
+     */
+    @Override
+    public int getFrontier(Player player) {
+        assert player != null : "Player cannot be undefined!";
+
+        return player == Player.HUMAN ? humanFrontier : machineFrontier;
+    }
+
+    /**
+     * Gibt den Zobrist-Hash der Spielsituation zurück.
+     *
+     * @return      Entspricht dem Hash der Spielsituation.
+     */
+    @Override
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Berechnet alle Felder, auf die der Spieler mit den Steinen {@code own}
+     * legal ziehen kann. Pro Himmelsrichtung werden dabei die an eigene Steine
+     * angrenzenden gegnerischen Steine schrittweise erweitert, wobei maximal
+     * sechs gegnerische Steine zwischen zwei Feldern liegen können.
+     *
+     * @param own           Entspricht den Steinen des ziehenden Spielers.
+     * @param opponent      Entspricht den Steinen des Gegners.
+     * @return              Gibt die Maske der legalen Felder zurück.
+     */
+    static long calculateLegalMoves(long own, long opponent) {
+        long empty = ~(own | opponent);
+        long legalMoves = 0;
+        for (int direction = 0; direction < NUMBER_OF_DIRECTIONS; direction++) {
+            long candidates = shift(own, direction) & opponent;
+            candidates |= shift(candidates, direction) & opponent;
+            candidates |= shift(candidates, direction) & opponent;
+            candidates |= shift(candidates, direction) & opponent;
+            candidates |= shift(candidates, direction) & opponent;
+            candidates |= shift(candidates, direction) & opponent;
+            legalMoves |= shift(candidates, direction) & empty;
+        }
+        return legalMoves;
+    }
+
+    /**
+     * Berechnet die gegnerischen Steine, die durch einen Zug auf das Feld
+     * {@code square} umgedreht werden. Ist das Feld belegt, wird kein Stein
+     * umgedreht.
+     *
+     * @param own           Entspricht den Steinen des ziehenden Spielers.
+     * @param opponent      Entspricht den Steinen des Gegners.
+     * @param square        Entspricht dem Index des Feldes zwischen {@code 0}
+     *                      und {@code 63}.
+     * @return              Gibt die Maske der umzudrehenden Steine zurück,
+     *                      die genau dann {@code 0} ist, wenn der Zug nicht
+     *                      legal ist.
+     */
+    static long calculateFlips(long own, long opponent, int square) {
+        assert square >= 0 && square < Board.SIZE * Board.SIZE
+                : "Square is not on the board!";
+
+        long move = 1L << square;
+        if (((own | opponent) & move) != 0) {
+            return 0;
+        }
+
+        long flips = 0;
+        for (int direction = 0; direction < NUMBER_OF_DIRECTIONS; direction++) {
+            long flipsOfDirection = 0;
+            long current = shift(move, direction);
+            while ((current & opponent) != 0) {
+                flipsOfDirection |= current;
+                current = shift(current, direction);
+            }
+            if ((current & own) != 0) {
+                flips |= flipsOfDirection;
+            }
+        }
+        return flips;
+    }
+
+    /**
+     * Berechnet die Masken der Nachbarfelder aller Felder.
+     *
+     * @return              Gibt die Masken pro Feld zurück.
+     */
+    private static long[] calculateNeighbors() {
+        long[] neighbors = new long[Board.SIZE * Board.SIZE];
+        for (int square = 0; square < neighbors.length; square++) {
+            for (int direction = 0; direction < NUMBER_OF_DIRECTIONS;
+                    direction++) {
+                neighbors[square] |= shift(1L << square, direction);
+            }
+        }
+        return neighbors;
+    }
+
+    /**
+     * Verschiebt alle Steine einer Maske um einen Schritt in eine
+     * Himmelsrichtung, wobei Steine, die das Spielfeld verlassen oder über
+     * den Rand in eine andere Zeile wandern würden, entfernt werden. Die
+     * Reihenfolge der Richtungen entspricht der von {@code Direction}.
+     *
+     * @param tiles         Entspricht der zu verschiebenden Maske.
+     * @param direction     Entspricht der Richtung zwischen {@code 0} und
+     *                      {@code 7}.
+     * @return              Gibt die verschobene Maske zurück.
+     * @see                 Direction
+     */
+    private static long shift(long tiles, int direction) {
+        switch (direction) {
+            case 0:
+                return tiles >>> 8;
+            case 1:
+                return (tiles >>> 7) & NOT_FIRST_COL;
+            case 2:
+                return (tiles << 1) & NOT_FIRST_COL;
+            case 3:
+                return (tiles << 9) & NOT_FIRST_COL;
+            case 4:
+                return tiles << 8;
+            case 5:
+                return (tiles << 7) & NOT_LAST_COL;
+            case 6:
+                return (tiles >>> 1) & NOT_LAST_COL;
+            case 7:
+                return (tiles >>> 9) & NOT_LAST_COL;
+            default:
+                throw new IllegalArgumentException("Direction is illegal!");
+        }
+    }
+
+    /**
+     * Addiert Werte zu der Summe der Scores der Felder und der Anzahl der
+     * leeren Nachbarfelder eines Spielers.
+     *
+     * @param player            Entspricht dem Spieler.
+     * @param fieldScore        Entspricht dem Wert, der zu der Summe der
+     *                          Scores der Felder addiert wird.
+     * @param frontier          Entspricht dem Wert, der zu der Anzahl der
+     *                          leeren Nachbarfelder addiert wird.
+     */
+    private void addToScores(Player player, int fieldScore, int frontier) {
+        if (player == Player.HUMAN) {
+            humanFieldScore += fieldScore;
+            humanFrontier += frontier;
+        } else {
+            machineFieldScore += fieldScore;
+            machineFrontier += frontier;
+        }
+    }
+
+    /**
+     * Berechnet den Index eines Feldes in den Masken.
+     *
+     * @param row       Entspricht der Zeile des Feldes.
+     * @param col       Entspricht der Spalte des Feldes.
+     * @return          Gibt den Index zwischen {@code 0} und {@code 63}
+     *                  zurück.
+     */
+    private static int toSquare(int row, int col) {
+        return (row - 1) * Board.SIZE + (col - 1);
+    }
+
+    /**
+     * Gibt die Maske der Steine eines Spielers zurück.
+     *
+     * @param player        Entspricht dem Spieler.
+     * @return              Gibt die Steine des Spielers zurück.
+     */
+    private long tilesOf(Player player) {
+        assert player != null : "Player cannot be undefined!";
+
+        return player == Player.HUMAN ? human : machine;
+    }
+
+    /**
+     * Führt einen bereits vorher auf Legalität geprüften Zug auf einem Klon
+     * aus, wobei der Zug für {@code nextPlayer} ausgeführt wird. Außerdem
+     * wird der nächste Spieler berechnet.
+     *
+     * @param square            Entspricht dem Index des Feldes, auf das der
+     *                          Stein gelegt werden soll.
+     * @param flips             Entspricht den umzudrehenden Steinen.
+     * @return                  Gibt einen Klon zurück, auf dem der Zug
+     *                          ausgeführt wurde.
+     * @see                     #setNextPlayer()
+     */
+    private BitBoard executeMove(int square, long flips) {
+        assert flips != 0 : "The move is not legal!";
+        assert nextPlayer != null : "Next player cannot be undefined!";
+
+        BitBoard copy = clone();
+        copy.clearSearchResult();
+        long changed = flips | (1L << square);
+        if (nextPlayer == Player.HUMAN) {
+            copy.human |= changed;
+            copy.machine &= ~flips;
+        } else {
+            copy.machine |= changed;
+            copy.human &= ~flips;
+        }
+        copy.hash ^= Zobrist.of(nextPlayer, square);
+
+        long neighbors = NEIGHBORS[square];
+        copy.humanFrontier -= Long.bitCount(neighbors & human);
+        copy.machineFrontier -= Long.bitCount(neighbors & machine);
+        long empty = ~(copy.human | copy.machine);
+        int flippedFieldScore = 0;
+        int flippedFrontier = 0;
+        for (long rest = flips; rest != 0; rest &= rest - 1) {
+            int flipped = Long.numberOfTrailingZeros(rest);
+            copy.hash ^= Zobrist.of(Player.HUMAN, flipped)
+                    ^ Zobrist.of(Player.MACHINE, flipped);
+            flippedFieldScore += Score.getFieldScore(
+                    flipped / Board.SIZE + 1, flipped % Board.SIZE + 1);
+            flippedFrontier += Long.bitCount(NEIGHBORS[flipped] & empty);
+        }
+        copy.addToScores(nextPlayer, Score.getFieldScore(
+                square / Board.SIZE + 1, square % Board.SIZE + 1)
+                + flippedFieldScore,
+                Long.bitCount(neighbors & empty) + flippedFrontier);
+        copy.addToScores(nextPlayer.inverse(), -flippedFieldScore,
+                -flippedFrontier);
+        copy.setNextPlayer();
+        if (copy.nextPlayer != nextPlayer) {
+            copy.hash ^= Zobrist.MACHINE_TO_MOVE;
+        }
+        return copy;
+    }
+
+    /**
+     * Setzt nach einem Zug den nächsten Spieler, wobei beachtet werden muss,
+     * dass es ebenfalls vorkommen kann, das ein bzw beide Spieler aussetzen
+     * müssen. Falls beide aussetzen müssen, ist das Spiel vorbei.
+     *
+     * @see                         #calculateLegalMoves(Player)
+     */
+    private void setNextPlayer() {
+        assert nextPlayer != null : "Old player cannot be undefined!";
+
+        updateLegalMoves();
+        nextPlayer = nextPlayer.inverse();
+        if (calculateLegalMoves(nextPlayer) == 0) {
+            if (calculateLegalMoves(nextPlayer.inverse()) == 0) {
+                gameOver = true;
+            } else {
+                nextPlayer = nextPlayer.inverse();
+            }
+        }
+    }
+
+    /**
+     * Setzt die Anfangsposition des Spielfelds wie bei {@code Reversi}.
+     */
+    private void setInitialPosition() {
+        assert firstPlayer != null : "First player cannot be undefined!";
+
+        int median = Board.SIZE / 2;
+        long first = (1L << toSquare(median + 1, median))
+                | (1L << toSquare(median, median + 1));
+        long second = (1L << toSquare(median, median))
+                | (1L << toSquare(median + 1, median + 1));
+        if (firstPlayer == Player.HUMAN) {
+            human = first;
+            machine = second;
+        } else {
+            machine = first;
+            human = second;
+        }
+        hash = Zobrist.hashOf(this);
+        for (Player player : Player.values()) {
+            addToScores(player, Score.sumFieldScores(this, player),
+                    Score.sumWrappingFields(this, player));
+        }
+        updateLegalMoves();
+    }
+
+    /**
+     * Berechnet die legalen Felder beider Spieler, damit diese nicht bei
+     * jeder Abfrage erneut berechnet werden müssen.
+     *
+     * @see                         #calculateLegalMoves(long, long)
+     */
+    private void updateLegalMoves() {
+        humanLegalMoves = calculateLegalMoves(human, machine);
+        machineLegalMoves = calculateLegalMoves(machine, human);
+    }
+}
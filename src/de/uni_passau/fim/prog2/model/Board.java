@@ -1,5 +1,11 @@
 package de.uni_passau.fim.prog2.model;
 
+import java.time.Duration;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 /**
  * Interface for a Reversi game, also known as Othello.
  *
@@ -58,12 +64,179 @@ public interface Board extends Cloneable {
     Board machineMove();
 
     /**
-     * Sets the skill level of the machine.
+     * Executes a machine move that is searched within the given time budget
+     * instead of up to the skill level. The search is deepened iteratively
+     * and the best move of the deepest completed iteration is executed. The
+     * reached depth is available through {@link #getSearchDepth()} of the
+     * returned board. Like a search up to the level, the search reuses the
+     * principal variation of the game's session and records its own. It
+     * always runs on the calling thread only, regardless of the number of
+     * threads in the settings.
+     *
+     * @param budget The time available for searching the move. At least one
+     *        iteration is always completed, even if the budget is too short.
+     * @return A new board with the move executed.
+     * @throws IllegalMoveException If the game is already over, or it is not
+     *         the machine's turn.
+     * @throws IllegalArgumentException If the budget is {@code null} or
+     *         negative.
+     */
+    Board machineMove(Duration budget);
+
+    /**
+     * Executes a machine move like {@link #machineMove()}, but uses the
+     * settings of the given session and keeps the search state in it.
+     * If the game followed the principal variation of the session's previous
+     * search, the matching part of that search is reused, so consecutive
+     * machine moves of one game only pay for the additional depth.
+     *
+     * @param session The session of the game this board belongs to.
+     * @return A new board with the move executed.
+     * @throws IllegalMoveException If the game is already over, or it is not
+     *         the machine's turn.
+     * @throws IllegalArgumentException If the session is {@code null}.
+     * @throws IllegalStateException If the session has been closed.
+     */
+    Board machineMove(EngineSession session);
+
+    /**
+     * Calculates a machine move like {@link #machineMove(EngineSession)},
+     * but runs the search on the given executor and returns immediately.
+     * Cancelling or otherwise completing the returned future stops the
+     * search cooperatively: the search checks a stop signal regularly and
+     * gives up within a few milliseconds, leaving this board and the
+     * session's principal variation unchanged.
      *
-     * @param level The skill as a number, must be at least 1.
+     * @param session The session of the game this board belongs to.
+     * @param executor The executor that runs the search.
+     * @return A future of the new board with the move executed, which is
+     *         cancelled if the search was stopped.
+     * @throws IllegalMoveException If the game is already over, or it is not
+     *         the machine's turn.
+     * @throws IllegalArgumentException If the session or the executor is
+     *         {@code null}.
+     */
+    CompletableFuture<Board> machineMoveAsync(EngineSession session,
+                                              Executor executor);
+
+    /**
+     * Gets the depth of the search that calculated this board by a machine
+     * move.
+     *
+     * @return The search depth, or {@code 0} if this board was not created
+     *         by a machine move.
+     */
+    int getSearchDepth();
+
+    /**
+     * Gets the exact final disc margin if this board was created by a
+     * machine move that solved the endgame, i.e., the number of machine
+     * tiles minus the number of human tiles at the end of the game if both
+     * players play perfectly from this board on.
+     *
+     * @return The solved margin, or an empty value if this board was not
+     *         created by solving the endgame.
+     */
+    OptionalInt getSolvedMargin();
+
+    /**
+     * Gets the statistics of the search that calculated this board by a
+     * machine move, e.g., the number of visited nodes, the cutoffs, the hit
+     * rate of the transposition table and the wall and CPU time. The
+     * statistics of all machine moves of this process are also aggregated
+     * in the {@link SearchStatsMXBean} registered with the platform MBean
+     * server.
+     *
+     * @return The statistics, or an empty value if this board was not
+     *         created by a machine move.
+     */
+    Optional<SearchStats> getSearchStats();
+
+    /**
+     * Sets the skill level of the machine. Like all engine settings, the
+     * level applies to this game only, i.e., to this board and all boards
+     * created from it, and does not affect other games.
+     *
+     * @param level The skill as a number, must be at least 1 and at most
+     *        {@link EngineConfig#MAX_LEVEL}.
+     * @throws IllegalArgumentException If the level is out of range.
+     * @see #setConfig(EngineConfig)
      */
     void setLevel(int level);
 
+    /**
+     * Replaces the transposition table of the machine search of this game by
+     * an empty one of the given size.
+     *
+     * @param megabytes The size of the table in megabytes, must be at least
+     *        1.
+     */
+    void setHashSize(int megabytes);
+
+    /**
+     * Sets the number of threads the machine search may use. With more than
+     * one thread the moves of the current position are searched in
+     * parallel. The chosen move does not depend on the number of threads.
+     *
+     * @param threads The number of threads, must be at least 1.
+     */
+    void setParallelism(int threads);
+
+    /**
+     * Sets how the machine search is distributed over its threads if more
+     * than one thread is used.
+     *
+     * @param mode Either splitting the moves of the current position over
+     *        the threads or Lazy SMP, where all threads search the whole
+     *        position and share the transposition table.
+     * @throws IllegalArgumentException If the mode is {@code null}.
+     */
+    void setParallelMode(ParallelMode mode);
+
+    /**
+     * Sets the number of empty squares from which on the machine solves the
+     * game exactly instead of estimating the positions by the skill level
+     * or the time budget.
+     *
+     * @param empties The number of empty squares, {@code 0} disables the
+     *        endgame solver.
+     * @throws IllegalArgumentException If the number is negative.
+     */
+    void setEndgameEmpties(int empties);
+
+    /**
+     * Sets the opening book the machine consults before searching. If the
+     * book contains the current position, its move is executed without a
+     * search.
+     *
+     * @param book The opening book, or {@code null} to search every move.
+     */
+    void setOpeningBook(OpeningBook book);
+
+    /**
+     * Gets the engine settings of this game.
+     *
+     * @return The immutable settings the next machine move is searched with.
+     */
+    EngineConfig getConfig();
+
+    /**
+     * Replaces all engine settings of this game at once. Searches that are
+     * already running keep the settings they started with.
+     *
+     * @param config The new settings.
+     * @throws IllegalArgumentException If the settings are {@code null}.
+     */
+    void setConfig(EngineConfig config);
+
+    /**
+     * Gets the transposition table of the machine search, e.g., to read its
+     * hit, miss and collision counters.
+     *
+     * @return The transposition table.
+     */
+    TranspositionTable getTranspositionTable();
+
     /**
      * Checks if the game is over. Either one player has won or there is a tie,
      * i.e., no player can perform a move any more.
@@ -104,6 +277,18 @@ public interface Board extends Cloneable {
      */
     Player getSlot(int row, int col);
 
+    /**
+     * Gets the slots on which the player who owns the next game turn may
+     * place a tile. They are computed once when the board is created, so
+     * this method is cheap to call repeatedly.
+     *
+     * @return A bit mask of the legal moves, in which the slot in row
+     *         {@code row} and column {@code col} corresponds to the bit
+     *         {@code (row - 1) * SIZE + (col - 1)}. If the game is over,
+     *         {@code 0} is returned.
+     */
+    long legalMoves();
+
     /**
      * Creates and returns a deep copy of this board.
      *
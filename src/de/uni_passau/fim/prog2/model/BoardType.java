@@ -0,0 +1,80 @@
+package de.uni_passau.fim.prog2.model;
+
+/**
+ * Stellt die verfügbaren Implementierungen von {@code Board} dar, zwischen
+ * denen für ein Spiel gewählt werden kann. Die Maschine berechnet ihre Züge
+ * jeweils auf der gewählten Implementierung.
+ *
+ * @version 17.10.26
+ * @author -----
+ */
+public enum BoardType {
+
+    /**
+     * Entspricht {@code Reversi}, das das Spielfeld als Array speichert.
+     */
+    ARRAY {
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Board createBoard(Player firstPlayer) {
+            return new Reversi(firstPlayer);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Board createBoard(Player firstPlayer, EngineSession session) {
+            return new Reversi(firstPlayer, session);
+        }
+    },
+
+    /**
+     * Entspricht {@code BitBoard}, das das Spielfeld als zwei 64-Bit Masken
+     * speichert.
+     */
+    BITBOARD {
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Board createBoard(Player firstPlayer) {
+            return new BitBoard(firstPlayer);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Board createBoard(Player firstPlayer, EngineSession session) {
+            return new BitBoard(firstPlayer, session);
+        }
+    };
+
+    /**
+     * Erstellt ein neues Spiel der jeweiligen Implementierung.
+     *
+     * @param firstPlayer                   Entspricht dem Eröffner des Spiels.
+     * @return                              Gibt das neue Spiel zurück.
+     * @throws IllegalArgumentException     Wird geworfen, falls der Eröffner
+     *                                      {@code null} ist.
+     */
+    public abstract Board createBoard(Player firstPlayer);
+
+    /**
+     * Erstellt ein neues Spiel der jeweiligen Implementierung, dessen
+     * Maschinenzüge mit den Einstellungen und der Transpositionstabelle einer
+     * Sitzung berechnet werden.
+     *
+     * @param firstPlayer                   Entspricht dem Eröffner des Spiels.
+     * @param session                       Entspricht der Sitzung der
+     *                                      Maschine.
+     * @return                              Gibt das neue Spiel zurück.
+     * @throws IllegalArgumentException     Wird geworfen, falls der Eröffner
+     *                                      oder die Sitzung {@code null} ist.
+     */
+    public abstract Board createBoard(Player firstPlayer,
+                                      EngineSession session);
+}
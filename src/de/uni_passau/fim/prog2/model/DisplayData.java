@@ -2,9 +2,18 @@ package de.uni_passau.fim.prog2.model;
 
 import de.uni_passau.fim.prog2.observer.Observable;
 
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.Stack;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.BiConsumer;
 import javax.swing.SwingUtilities;
-import java.lang.reflect.InvocationTargetException;
 
 /**
  * Entspricht dem Vermittler zwischen {@code Board} und Controller. Die Klasse
@@ -13,6 +22,22 @@ import java.lang.reflect.InvocationTargetException;
  * hinzugefügt, die den letzten Spielzug des Menschen rückgängig macht, falls
  * dieser bereits gezogen ist.
  *
+ * <p>Optional berechnet die Maschine während des Zuges des Menschen ihre
+ * Antworten auf dessen mögliche Züge voraus. Zieht der Mensch einen bereits
+ * vorausberechneten Zug, wird die Antwort ohne erneute Suche ausgeführt.
+ * Andernfalls profitiert die Suche zumindest von der bereits befüllten
+ * {@code TranspositionTable}.
+ *
+ * <p>Alle Maschinenzüge eines Spiels verwenden eine gemeinsame
+ * {@code EngineSession}, sodass eine Suche die Teile der vorherigen Suche
+ * übernimmt, denen das Spiel gefolgt ist. Die Sitzung enthält auch die
+ * {@code EngineConfig} der Maschine, die somit nur für die Spiele dieses
+ * Vermittlers gilt.
+ *
+ * <p>Nach jedem Maschinenzug werden die registrierten
+ * {@code SearchStatsListener} mit der {@code SearchStats} der Suche
+ * benachrichtigt.
+ *
  * @version 25.01.20
  * @author -----
  */
@@ -24,10 +49,50 @@ public final class DisplayData extends Observable {
     private Stack<Board> boards;
 
     /**
-     * Entspricht dem {@code Thread}, der den momentanen Maschinenzug berechnet,
-     * wobei dieser während einem Zug des Menschen {@code null} ist.
+     * Entspricht der Implementierung des Spielbretts, die für alle Spiele
+     * verwendet wird.
+     */
+    private final BoardType boardType;
+
+    /**
+     * Entspricht den Einstellungen und dem Zustand der Suchen der
+     * Maschinenzüge, die von allen Spielen dieses Vermittlers verwendet
+     * werden.
+     */
+    private final EngineSession session;
+
+    /**
+     * Entspricht dem {@code Thread}, auf dem die Maschinenzüge berechnet
+     * werden, sodass höchstens eine Suche gleichzeitig läuft.
+     */
+    private final ExecutorService machineExecutor;
+
+    /**
+     * Entspricht der Suche des momentanen Maschinenzuges, wobei diese
+     * während einem Zug des Menschen {@code null} ist. Wird nur vom Event
+     * Dispatch Thread verändert.
+     */
+    private CompletableFuture<Board> machineSearch;
+
+    /**
+     * Entspricht {@code true}, falls die Maschine während des Zuges des
+     * Menschen ihre Antworten vorausberechnen soll.
      */
-    private Thread machineThread;
+    private boolean pondering;
+
+    /**
+     * Entspricht dem {@code Thread}, der die Antworten der Maschine während
+     * des Zuges des Menschen vorausberechnet, bzw {@code null}, falls nicht
+     * vorausberechnet wird. Wird nur vom Event Dispatch Thread verändert.
+     */
+    private PonderThread ponderThread;
+
+    /**
+     * Entspricht der vorausberechneten Antwort der Maschine auf den letzten
+     * Zug des Menschen, die beim nächsten Maschinenzug verwendet wird, bzw
+     * {@code null}, falls diese nicht vorausberechnet wurde.
+     */
+    private Board ponderedReply;
 
     /**
      * Entspricht einem Flag, ob die momentane Spielsituation durch ein Undo
@@ -36,6 +101,13 @@ public final class DisplayData extends Observable {
      */
     private boolean undoWasUsed;
 
+    /**
+     * Entspricht den {@code SearchStatsListener}, die nach jedem
+     * Maschinenzug benachrichtigt werden.
+     */
+    private final Set<SearchStatsListener> statsListeners
+            = new LinkedHashSet<>();
+
     /**
      * Kreiert den Vermittler für die Gui mit den standard Spieleinstellungen
      * für das erste Spiel.
@@ -43,7 +115,57 @@ public final class DisplayData extends Observable {
      * @see     #createNewStack(Player)
      */
     public DisplayData() {
-        boards = createNewStack(Player.HUMAN);
+        this(BoardType.ARRAY);
+    }
+
+    /**
+     * Kreiert den Vermittler für die Gui mit den standard Spieleinstellungen
+     * für das erste Spiel, wobei die Implementierung des Spielbretts gewählt
+     * werden kann.
+     *
+     * @param boardType                     Entspricht der Implementierung
+     *                                      des Spielbretts.
+     * @throws IllegalArgumentException     Wird geworfen, falls
+     *                                      {@code boardType} {@code null} ist.
+     * @see                                 #createNewStack(Player)
+     */
+    public DisplayData(BoardType boardType) {
+        this(boardType, EngineConfig.DEFAULT);
+    }
+
+    /**
+     * Kreiert den Vermittler für die Gui, wobei die Implementierung des
+     * Spielbretts und die Einstellungen der Maschine gewählt werden können.
+     * Die Einstellungen gelten nur für die Spiele dieses Vermittlers.
+     *
+     * @param boardType                     Entspricht der Implementierung
+     *                                      des Spielbretts.
+     * @param config                        Entspricht den Einstellungen der
+     *                                      Maschine.
+     * @throws IllegalArgumentException     Wird geworfen, falls
+     *                                      {@code boardType} oder
+     *                                      {@code config} {@code null} ist.
+     * @see                                 #createNewStack(Player)
+     */
+    public DisplayData(BoardType boardType, EngineConfig config) {
+        if (boardType != null && config != null) {
+            this.boardType = boardType;
+            session = new EngineSession(config);
+            machineExecutor = Executors.newSingleThreadExecutor(
+                    new ThreadFactory() {
+                        @Override
+                        public Thread newThread(Runnable runnable) {
+                            Thread thread = new Thread(runnable,
+                                    "machine-move");
+                            thread.setDaemon(true);
+                            return thread;
+                        }
+                    });
+            boards = createNewStack(Player.HUMAN);
+        } else {
+            throw new IllegalArgumentException("BoardType or config cannot"
+                    + " be null!");
+        }
     }
 
     /**
@@ -54,17 +176,21 @@ public final class DisplayData extends Observable {
     public void createNewBoard() {
         assert !boards.empty() : "Illegal state of DisplayData";
 
-        stopMachineThread();
+        stopMachineMove();
+        session.reset();
         boards = createNewStack(boards.peek().getFirstPlayer());
         setChanged();
         notifyObserver();
         machineMove();
+        startPondering();
     }
 
     /**
      * Führt einen Zug des menschlichen Spielers aus, falls dieser legal ist.
      * Falls der Zug erfolgreich war, werden die {@code Observer}
-     * benachrichtigt.
+     * benachrichtigt und das Vorausberechnen beendet, wobei eine bereits
+     * vorausberechnete Antwort für den nächsten Maschinenzug übernommen
+     * wird.
      *
      * @param row                           Entspricht der Zeile in der der
      *                                      Stein gelegt werden soll.
@@ -87,6 +213,14 @@ public final class DisplayData extends Observable {
 
         Board move = boards.peek().move(row, col);
         if (move != null) {
+            if (ponderThread != null && ponderThread.board == boards.peek()) {
+                ponderedReply = ponderThread.getReply(row, col);
+                if (ponderedReply != null) {
+                    session.adoptPrincipalVariation(
+                            ponderThread.getSession(row, col));
+                }
+            }
+            stopPondering();
             boards.push(move);
             setChanged();
             notifyObserver();
@@ -97,27 +231,93 @@ public final class DisplayData extends Observable {
 
     /**
      * Führt Maschinenzüge aus, falls das Spiel nicht vorbei ist und
-     * die Maschine an der Reihe ist, wobei dies von {@code MachineThread}
-     * berechnet wird. Die Maschine zieht dabei solange sie kann.
+     * die Maschine an der Reihe ist, wobei diese im Hintergrund berechnet
+     * werden. Die Maschine zieht dabei solange sie kann. Eine bereits
+     * vorausberechnete Antwort wird ohne Suche übernommen.
      *
      * @throws IllegalStateException    Wird geworfen, falls versucht wird,
      *                                  Maschinenzüge auszuführen, obwohl diese
      *                                  bereits momentan berechnet werden.
-     * @see                             MachineThread
+     * @see                             Board#machineMoveAsync(EngineSession,
+     *                                  java.util.concurrent.Executor)
+     * @see                             #finishMachineMove(CompletableFuture,
+     *                                  Board, Throwable,
+     *                                  MachineMoveUpdateEvent)
      */
     public void machineMove() {
         assert !boards.empty() : "Illegal state of DisplayData";
 
-        if (machineThread == null) {
+        if (machineSearch == null) {
             if (!isGameOver() && next() == Player.MACHINE) {
-                machineThread = new MachineThread();
-                machineThread.start();
+                final CompletableFuture<Board> search;
+                if (ponderedReply != null) {
+                    search = CompletableFuture.completedFuture(ponderedReply);
+                    ponderedReply = null;
+                } else {
+                    search = boards.peek().machineMoveAsync(session,
+                            machineExecutor);
+                }
+                machineSearch = search;
+                search.whenComplete(new BiConsumer<Board, Throwable>() {
+                    @Override
+                    public void accept(final Board reply,
+                                       final Throwable error) {
+                        final MachineMoveUpdateEvent update
+                                = new MachineMoveUpdateEvent();
+                        update.begin();
+                        final long completed = System.nanoTime();
+                        SwingUtilities.invokeLater(new Runnable() {
+                            @Override
+                            public void run() {
+                                update.dispatchDelay = System.nanoTime()
+                                        - completed;
+                                finishMachineMove(search, reply, error,
+                                        update);
+                            }
+                        });
+                    }
+                });
             }
         } else {
             throw new IllegalStateException("The machine is already moving!");
         }
     }
 
+    /**
+     * Fügt einen {@code SearchStatsListener} hinzu, der nach jedem
+     * Maschinenzug auf dem Event Dispatch Thread benachrichtigt wird. Ein
+     * bereits registrierter Listener wird nicht erneut hinzugefügt.
+     *
+     * @param listener                      Entspricht dem Listener.
+     * @throws IllegalArgumentException     Wird geworfen, falls
+     *                                      {@code listener} {@code null}
+     *                                      ist.
+     * @see                                 Board#getSearchStats()
+     */
+    public void addSearchStatsListener(SearchStatsListener listener) {
+        if (listener != null) {
+            statsListeners.add(listener);
+        } else {
+            throw new IllegalArgumentException("Listener cannot be null!");
+        }
+    }
+
+    /**
+     * Löscht einen registrierten {@code SearchStatsListener}.
+     *
+     * @param listener                      Entspricht dem Listener.
+     * @throws IllegalArgumentException     Wird geworfen, falls
+     *                                      {@code listener} {@code null}
+     *                                      ist.
+     */
+    public void removeSearchStatsListener(SearchStatsListener listener) {
+        if (listener != null) {
+            statsListeners.remove(listener);
+        } else {
+            throw new IllegalArgumentException("Listener cannot be null!");
+        }
+    }
+
     /**
      * Gibt den Stein aus, wobei {@code null} für keinen Stein steht.
      *
@@ -141,34 +341,88 @@ public final class DisplayData extends Observable {
     /**
      * Setzt das Level, falls {@code level} positiv ist, wobei zu beachten ist,
      * dass das Level sich nach {@link #undo()} nicht zurücksetzt und alle
-     * zukünftigen Spiele in dem selben Level eingestellt sind.
+     * zukünftigen Spiele dieses Vermittlers in dem selben Level eingestellt
+     * sind.
      *
      * @param level                         Entspricht dem neuen Level.
      * @throws IllegalArgumentException     Wird geworfen, falls {@code level}
-     *                                      negativ oder 0 ist.
-     * @see                                 Board#setLevel(int)
+     *                                      negativ, 0 oder größer als
+     *                                      {@code EngineConfig.MAX_LEVEL}
+     *                                      ist.
+     * @see                                 EngineConfig#withLevel(int)
      */
     public void setLevel(int level) {
-        assert !boards.empty() : "Illegal state of DisplayData";
+        setConfig(session.getConfig().withLevel(level));
+    }
+
+    /**
+     * Setzt das Eröffnungsbuch der Maschine, wobei dieses für alle
+     * zukünftigen Spiele dieses Vermittlers verwendet wird.
+     *
+     * @param book      Entspricht dem Eröffnungsbuch bzw {@code null}, falls
+     *                  jeder Zug durchsucht werden soll.
+     * @see             EngineConfig#withOpeningBook(OpeningBook)
+     */
+    public void setOpeningBook(OpeningBook book) {
+        setConfig(session.getConfig().withOpeningBook(book));
+    }
 
-        boards.peek().setLevel(level);
+    /**
+     * Gibt die Einstellungen der Maschine zurück.
+     *
+     * @return      Entspricht den Einstellungen.
+     */
+    public EngineConfig getConfig() {
+        return session.getConfig();
+    }
+
+    /**
+     * Ersetzt die Einstellungen der Maschine, wobei diese für das momentane
+     * und alle zukünftigen Spiele dieses Vermittlers gelten. Ein momentan
+     * berechneter Maschinenzug verwendet noch die vorherigen Einstellungen.
+     *
+     * @param config                        Entspricht den neuen
+     *                                      Einstellungen.
+     * @throws IllegalArgumentException     Wird geworfen, falls
+     *                                      {@code config} {@code null} ist.
+     * @see                                 EngineSession#setConfig(
+     *                                      EngineConfig)
+     */
+    public void setConfig(EngineConfig config) {
+        session.setConfig(config);
+        restartPondering();
+    }
+
+    /**
+     * Setzt, ob die Maschine während des Zuges des Menschen ihre Antworten
+     * auf dessen mögliche Züge vorausberechnet. Das Vorausberechnen beginnt
+     * sofort, falls der Mensch gerade an der Reihe ist.
+     *
+     * @param pondering     Entspricht {@code true}, falls vorausberechnet
+     *                      werden soll, andernfalls {@code false}.
+     */
+    public void setPondering(boolean pondering) {
+        this.pondering = pondering;
+        restartPondering();
     }
 
     /**
      * Tauscht den Eröffner, startet ein neues Spiel und benachrichtigt die
      * View, wobei dadurch auch momentane Maschinenzüge abgebrochen werden.
      *
-     * @see         #stopMachineThread()
+     * @see         #stopMachineMove()
      * @see         #createNewStack(Player)
      */
     public void switchPlayerOrder() {
         assert !boards.empty() : "Illegal state of DisplayData";
 
-        stopMachineThread();
+        stopMachineMove();
+        session.reset();
         boards = createNewStack(boards.peek().getFirstPlayer().inverse());
         setChanged();
         notifyObserver();
         machineMove();
+        startPondering();
     }
 
     /**
@@ -179,7 +433,7 @@ public final class DisplayData extends Observable {
      * @throws IllegalStateException    Wird geworfen, falls
      *                                  {@link #undoIsPossible()} {@code false}
      *                                  entspricht.
-     * @see                             #stopMachineThread()
+     * @see                             #stopMachineMove()
      * @see                             #undoIsPossible()
      */
     public void undo() {
@@ -187,7 +441,7 @@ public final class DisplayData extends Observable {
 
         if (undoIsPossible()) {
             boolean humanMovePopped = false;
-            stopMachineThread();
+            stopMachineMove();
             do {
                 boards.pop();
                 if (next() == Player.HUMAN) {
@@ -198,6 +452,7 @@ public final class DisplayData extends Observable {
             setChanged();
             notifyObserver();
             undoWasUsed = false;
+            startPondering();
         } else {
             throw new IllegalStateException("Undo is not possible!");
         }
@@ -318,20 +573,125 @@ public final class DisplayData extends Observable {
 
     /**
      * Falls momentan ein Maschinenzug berechnet wird, wird diese Berechnung
-     * abgebrochen und zum Ausgangszustand zurückgeführt.
+     * abgebrochen, wobei die Spielzüge unverändert bleiben, da nur
+     * beendete Maschinenzüge vom Event Dispatch Thread hinzugefügt werden.
+     * Die Suche prüft das Signal regelmäßig und bricht kurz darauf ab.
+     * Außerdem wird das Vorausberechnen beendet.
+     *
+     * @see     #stopPondering()
+     * @see     CompletableFuture#cancel(boolean)
      */
-    @SuppressWarnings("deprecation")
-    public void stopMachineThread() {
-        if (machineThread != null) {
-            machineThread.stop();
-            machineThread = null;
+    public void stopMachineMove() {
+        stopPondering();
+        ponderedReply = null;
+        if (machineSearch != null) {
+            machineSearch.cancel(false);
+            machineSearch = null;
             clearChanged();
         }
     }
 
     /**
-     * Kreiert einen neuen {@code Stack<Board>} mit einem neuen Spiel, wobei
-     * der Eröffner gesetzt werden kann.
+     * Übernimmt einen berechneten Maschinenzug auf dem Event Dispatch
+     * Thread, benachrichtigt die {@code Observer} und führt den nächsten
+     * Maschinenzug aus, falls die Maschine erneut an der Reihe ist.
+     * Andernfalls beginnt das Vorausberechnen. Der Zug wird verworfen,
+     * falls die Suche inzwischen abgebrochen wurde, etwa durch
+     * {@link #undo()}. Die Übernahme wird als
+     * {@code MachineMoveUpdateEvent} aufgezeichnet.
+     *
+     * @param search                    Entspricht der beendeten Suche.
+     * @param reply                     Entspricht dem Maschinenzug bzw
+     *                                  {@code null}, falls die Suche
+     *                                  fehlgeschlagen ist.
+     * @param error                     Entspricht dem Fehler der Suche bzw
+     *                                  {@code null}.
+     * @param update                    Entspricht dem Ereignis, das mit dem
+     *                                  Ende der Suche begonnen wurde.
+     * @throws IllegalStateException    Wird geworfen, falls die Suche
+     *                                  fehlgeschlagen ist, ohne abgebrochen
+     *                                  worden zu sein.
+     */
+    private void finishMachineMove(CompletableFuture<Board> search,
+                                   Board reply, Throwable error,
+                                   MachineMoveUpdateEvent update) {
+        if (search != machineSearch) {
+            return;
+        }
+
+        machineSearch = null;
+        if (error != null) {
+            throw new IllegalStateException("Machine move failed!", error);
+        }
+        boards.push(reply);
+        setChanged();
+        notifyObserver();
+        update.finish(reply, session.getConfig().getLevel());
+        Optional<SearchStats> stats = reply.getSearchStats();
+        if (stats.isPresent()) {
+            for (SearchStatsListener listener : statsListeners) {
+                listener.searchFinished(stats.get());
+            }
+        }
+        machineMove();
+        startPondering();
+    }
+
+    /**
+     * Benachrichtigt die {@code Observer} wie {@link Observable} und zählt
+     * die Dauer im {@code LatencyMonitor}, da die {@code Observer} dabei den
+     * Event Dispatch Thread belegen.
+     *
+     * @see     LatencyMonitor
+     */
+    @Override
+    protected void notifyObserver() {
+        if (hasChanged()) {
+            long start = System.nanoTime();
+            super.notifyObserver();
+            LatencyMonitor.recordNotification(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Beginnt das Vorausberechnen der Antworten der Maschine, falls dieses
+     * aktiviert ist, das Spiel nicht vorbei ist und der Mensch an der Reihe
+     * ist.
+     *
+     * @see     PonderThread
+     */
+    private void startPondering() {
+        if (pondering && ponderThread == null && !isGameOver()
+                && next() == Player.HUMAN) {
+            ponderThread = new PonderThread(boards.peek(), session.fork());
+            ponderThread.start();
+        }
+    }
+
+    /**
+     * Beendet das Vorausberechnen, indem der {@code PonderThread}
+     * unterbrochen wird. Dessen Suche bricht daraufhin ab, ohne den Zustand
+     * von {@code DisplayData} zu verändern.
+     */
+    private void stopPondering() {
+        if (ponderThread != null) {
+            ponderThread.interrupt();
+            ponderThread = null;
+        }
+    }
+
+    /**
+     * Beendet das Vorausberechnen und beginnt dieses erneut, damit die
+     * Antworten mit den geänderten Einstellungen berechnet werden.
+     */
+    private void restartPondering() {
+        stopPondering();
+        startPondering();
+    }
+
+    /**
+     * Kreiert einen neuen {@code Stack<Board>} mit einem neuen Spiel der
+     * gewählten Implementierung, wobei der Eröffner gesetzt werden kann.
      *
      * @param firstPlayer       Entspricht dem Eröffner.
      * @return                  Gibt den neuen {@code Stack<Board>} zurück.
@@ -340,53 +700,157 @@ public final class DisplayData extends Observable {
         assert firstPlayer != null : "First player cannot be undefined!";
 
         Stack<Board> stack = new Stack<>();
-        stack.add(new Reversi(firstPlayer));
+        stack.add(boardType.createBoard(firstPlayer, session));
         return stack;
     }
 
     /**
-     * Dieser {@code Thread} berechnet die Züge der Maschine.
+     * Dieser {@code Thread} berechnet während des Zuges des Menschen die
+     * Antworten der Maschine auf dessen mögliche Züge voraus. Die Züge werden
+     * nach dem Score ihres Feldes sortiert, sodass vermutlich gute Züge des
+     * Menschen zuerst vorausberechnet werden. Der {@code Thread} wird durch
+     * {@link #interrupt()} beendet. Jede Antwort wird mit einer eigenen
+     * {@code EngineSession} mit einem Thread gesucht, die Einträge landen
+     * aber in der Transpositionstabelle des Spiels. Wird eine Antwort
+     * übernommen, übernimmt das Spiel auch die Hauptvariante ihrer Sitzung.
+     * Da die Suchen spekulativ sind, werden diese nicht in der Statistik des
+     * Prozesses aufgezeichnet.
      */
-    private final class MachineThread extends Thread {
+    private static final class PonderThread extends Thread {
+
+        /**
+         * Entspricht der Spielsituation, in der der Mensch an der Reihe ist.
+         */
+        private final Board board;
+
+        /**
+         * Entspricht den vorausberechneten Antworten der Maschine pro Index
+         * des Feldes des Zuges des Menschen.
+         */
+        private final Map<Integer, Board> replies;
+
+        /**
+         * Entspricht den Sitzungen der Suchen der Antworten pro Index des
+         * Feldes des Zuges des Menschen.
+         */
+        private final Map<Integer, EngineSession> sessions;
+
+        /**
+         * Entspricht der Sitzung, von der die Sitzungen der Antworten
+         * abgeleitet werden.
+         */
+        private final EngineSession session;
 
         /**
-         * Führt Maschinenzüge solange aus, bis das Spiel vorbei ist oder die
-         * Maschine nicht mehr an der Reihe ist, wobei jeweils gewartet wird,
-         * bis die {@code Observer} vollständig geupdatet wurden.
+         * Kreiert den {@code Thread} für eine Spielsituation, in der der
+         * Mensch an der Reihe ist.
          *
-         * @see         #isGameOver()
-         * @see         #next()
-         * @see         #update()
-         * @see         Board#machineMove()
+         * @param board         Entspricht der Spielsituation.
+         * @param session       Entspricht der Sitzung der Suchen, die die
+         *                      Transpositionstabelle des Spiels verwendet.
+         */
+        PonderThread(Board board, EngineSession session) {
+            assert board != null : "Board cannot be undefined!";
+            assert board.next() == Player.HUMAN : "Human has to be next!";
+            assert board instanceof EngineBoard : "Board has no engine!";
+
+            this.board = board;
+            replies = new ConcurrentHashMap<>();
+            sessions = new ConcurrentHashMap<>();
+            this.session = session;
+            setDaemon(true);
+            setPriority(Thread.MIN_PRIORITY);
+        }
+
+        /**
+         * Berechnet die Antworten der Maschine auf alle legalen Züge des
+         * Menschen, bis alle berechnet wurden oder der {@code Thread}
+         * unterbrochen wurde.
+         *
+         * @see         EngineBoard#ponderMove(EngineSession)
+         * @see         SearchAbortedException
          */
         @Override
         public void run() {
-            while (!isGameOver() && next() == Player.MACHINE) {
-                boards.push(boards.peek().machineMove());
-                update();
+            int[] squares = orderLegalMoves();
+            try {
+                for (int i = 0; i < squares.length && !isInterrupted(); i++) {
+                    Board child = board.move(squares[i] / Board.SIZE + 1,
+                            squares[i] % Board.SIZE + 1);
+                    if (!child.gameOver() && child.next() == Player.MACHINE) {
+                        EngineSession replySession = session.fork();
+                        sessions.put(squares[i], replySession);
+                        replies.put(squares[i], ((EngineBoard) child)
+                                .ponderMove(replySession));
+                    }
+                }
+            } catch (SearchAbortedException e) {
+                return;
             }
-            machineThread = null;
         }
 
         /**
-         * Benachrichtigt die {@code Observer} und der {@code MachineThread}
-         * wartet, bis diese geupdatet wurden.
+         * Gibt die vorausberechnete Antwort auf einen Zug des Menschen
+         * zurück.
+         *
+         * @param row           Entspricht der Zeile des Zuges.
+         * @param col           Entspricht der Spalte des Zuges.
+         * @return              Entspricht der Spielsituation nach der
+         *                      Antwort bzw {@code null}, falls diese noch
+         *                      nicht berechnet wurde.
          */
-        private void update() {
-            try {
-                SwingUtilities.invokeAndWait(new Runnable() {
-                    @Override
-                    public void run() {
-                        setChanged();
-                        notifyObserver();
-                    }
-                });
-            } catch (InterruptedException e) {
-                stopMachineThread();
-                machineMove();
-            } catch (InvocationTargetException e) {
-                throw new IllegalStateException("Notifying Observer failed!");
+        Board getReply(int row, int col) {
+            return replies.get((row - 1) * Board.SIZE + (col - 1));
+        }
+
+        /**
+         * Gibt die Sitzung der Suche der Antwort auf einen Zug des Menschen
+         * zurück.
+         *
+         * @param row           Entspricht der Zeile des Zuges.
+         * @param col           Entspricht der Spalte des Zuges.
+         * @return              Entspricht der Sitzung bzw {@code null},
+         *                      falls die Suche noch nicht begonnen hat.
+         */
+        EngineSession getSession(int row, int col) {
+            return sessions.get((row - 1) * Board.SIZE + (col - 1));
+        }
+
+        /**
+         * Sortiert die legalen Züge des Menschen absteigend nach dem Score
+         * ihres Feldes, wobei die Reihenfolge der Zeilen bei gleichem Score
+         * erhalten bleibt.
+         *
+         * @return              Gibt die Indexe der Felder der Züge zurück.
+         * @see                 Score#getFieldScore(int, int)
+         */
+        private int[] orderLegalMoves() {
+            long legalMoves = board.legalMoves();
+            int[] squares = new int[Long.bitCount(legalMoves)];
+            int count = 0;
+            for (long rest = legalMoves; rest != 0; rest &= rest - 1) {
+                int square = Long.numberOfTrailingZeros(rest);
+                int fieldScore = fieldScoreOf(square);
+                int u = count - 1;
+                while (u >= 0 && fieldScoreOf(squares[u]) < fieldScore) {
+                    squares[u + 1] = squares[u];
+                    u--;
+                }
+                squares[u + 1] = square;
+                count++;
             }
+            return squares;
+        }
+
+        /**
+         * Gibt den Score des Feldes eines Zuges zurück.
+         *
+         * @param square        Entspricht dem Index des Feldes.
+         * @return              Gibt den Score des Feldes zurück.
+         */
+        private static int fieldScoreOf(int square) {
+            return Score.getFieldScore(square / Board.SIZE + 1,
+                    square % Board.SIZE + 1);
         }
     }
 }
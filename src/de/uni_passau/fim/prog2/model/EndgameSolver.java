@@ -0,0 +1,618 @@
+package de.uni_passau.fim.prog2.model;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@code EndgameSolver} berechnet den besten Zug einer Spielsituation mit
+ * wenigen leeren Feldern exakt, anstatt diese durch {@code Score} zu
+ * schätzen. Dazu wird der Baum bis zum Ende des Spiels durchsucht und die
+ * Differenz der Steine beider Spieler maximiert. Die Suche arbeitet auf den
+ * Masken von {@code BitBoard}, sodass pro Knoten kein Objekt erzeugt wird.
+ *
+ * <p>Die Züge werden nach der Parität der Quadranten sortiert: Züge in einem
+ * Quadranten mit einer ungeraden Anzahl an leeren Feldern kommen zuerst, da
+ * der ziehende Spieler dort voraussichtlich den letzten Zug hat. Danach
+ * kommen die Züge, nach denen der Gegner die wenigsten Züge hat. Für die
+ * letzten vier leeren Felder werden die Felder direkt durchprobiert, ohne
+ * die legalen Züge zu berechnen.
+ *
+ * @version 17.10.26
+ * @author -----
+ */
+class EndgameSolver {
+
+    /**
+     * Entspricht der Anzahl der leeren Felder, ab der die letzten Felder
+     * direkt durchprobiert werden.
+     */
+    private static final int LAST_EMPTIES = 4;
+
+    /**
+     * Entspricht der Anzahl an Knoten, nach denen jeweils geprüft wird, ob
+     * die Suche beendet werden soll.
+     */
+    private static final int NODES_PER_STOP_CHECK = 1024;
+
+    /**
+     * Entspricht einer Differenz, die größer als jede mögliche Differenz der
+     * Steine ist.
+     */
+    private static final int INFINITY = Board.SIZE * Board.SIZE + 1;
+
+    /**
+     * Entspricht der Priorität eines Zuges in einem Quadranten mit einer
+     * ungeraden Anzahl an leeren Feldern.
+     */
+    private static final int ODD_PARITY = 1 << 8;
+
+    /**
+     * Entspricht den Masken der vier Quadranten des Spielfelds.
+     */
+    private static final long[] QUADRANTS = {
+        0x000000000f0f0f0fL, 0x00000000f0f0f0f0L,
+        0x0f0f0f0f00000000L, 0xf0f0f0f000000000L
+    };
+
+    /**
+     * Entspricht der Ausgangsspielsituation.
+     */
+    private EngineBoard root;
+
+    /**
+     * Entspricht den Feldern der Züge pro Anzahl an leeren Feldern.
+     */
+    private int[][] squares;
+
+    /**
+     * Entspricht den Prioritäten der Züge pro Anzahl an leeren Feldern.
+     */
+    private int[][] priorities;
+
+    /**
+     * Entspricht den letzten leeren Feldern, sortiert nach der Parität ihrer
+     * Quadranten.
+     */
+    private int[] lastSquares;
+
+    /**
+     * Entspricht der exakten Differenz der Steine von Maschine und Mensch
+     * am Ende des Spiels nach dem besten Zug.
+     */
+    private int margin;
+
+    /**
+     * Entspricht der Anzahl der bisher durchsuchten Spielsituationen.
+     */
+    private long nodes;
+
+    /**
+     * Entspricht der Anzahl der Spielsituationen bis zur nächsten Prüfung,
+     * ob die Suche beendet wurde. Diese wird getrennt von {@code nodes}
+     * gezählt, da die letzten leeren Felder ohne Prüfung gezählt werden.
+     */
+    private int nodesUntilStopCheck = NODES_PER_STOP_CHECK;
+
+    /**
+     * Entspricht dem Signal, durch das die Suche beendet wird.
+     */
+    private AtomicBoolean stopped;
+
+    /**
+     * Kreiert einen Löser für die Ausgangsspielsituation, die nicht vorbei
+     * sein darf.
+     *
+     * @param root          Entspricht der Ausgangsspielsituation.
+     * @param stopped       Entspricht dem Signal, durch das die Suche
+     *                      beendet wird.
+     */
+    EndgameSolver(EngineBoard root, AtomicBoolean stopped) {
+        assert root != null : "The beginning game cannot be undefined!";
+        assert !root.gameOver() : "The game cannot be already over!";
+        assert stopped != null : "The signal cannot be undefined!";
+
+        this.root = root;
+        this.stopped = stopped;
+        squares = new int[Board.SIZE * Board.SIZE + 1][];
+        priorities = new int[Board.SIZE * Board.SIZE + 1][];
+        lastSquares = new int[LAST_EMPTIES];
+    }
+
+    /**
+     * Berechnet den Zug, der die Differenz der Steine am Ende des Spiels für
+     * den nächst ziehenden Spieler maximiert. Bei gleicher Differenz wird der
+     * Zug gewählt, der in der Reihenfolge der Zeilen zuerst kommt.
+     *
+     * @return                          Entspricht dem besten Zug, ausgeführt
+     *                                  auf einem Klon.
+     * @throws SearchAbortedException   Wird geworfen, falls die Suche
+     *                                  beendet oder der Thread unterbrochen
+     *                                  wurde.
+     * @see                             #getMargin()
+     */
+    EngineBoard calculateBestMove() {
+        Player player = root.next();
+        long own = tilesOf(root, player);
+        long opponent = tilesOf(root, player.inverse());
+        int empties = Long.bitCount(~(own | opponent));
+        int count = generateMoves(own, opponent, empties);
+        assert count > 0 : "The game must have a legal move because the game"
+                + " is not over yet!";
+
+        int bestSquare = TranspositionTable.NO_MOVE;
+        int bestScore = -INFINITY;
+        for (int i = 0; i < count; i++) {
+            int square = squares[empties][i];
+            int alpha = bestScore;
+            if (square < bestSquare) {
+                alpha = bestScore - 1;
+            }
+
+            long flips = BitBoard.calculateFlips(own, opponent, square);
+            int score = -solve(opponent & ~flips, own | flips | 1L << square,
+                    -INFINITY, -alpha, false);
+            if (score > bestScore
+                    || (score == bestScore && square < bestSquare)) {
+                bestScore = score;
+                bestSquare = square;
+            }
+        }
+
+        margin = player == Player.MACHINE ? bestScore : -bestScore;
+        return root.moveForNextPlayer(bestSquare / Board.SIZE + 1,
+                bestSquare % Board.SIZE + 1);
+    }
+
+    /**
+     * Gibt die exakte Differenz der Steine am Ende des Spiels zurück, falls
+     * beide Spieler nach dem besten Zug perfekt spielen.
+     *
+     * @return      Entspricht der Anzahl der Steine der Maschine minus der
+     *              Anzahl der Steine des Menschen.
+     */
+    int getMargin() {
+        return margin;
+    }
+
+    /**
+     * Gibt die Anzahl der durchsuchten Spielsituationen zurück.
+     *
+     * @return      Entspricht der Anzahl der Knoten.
+     */
+    long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Berechnet die Differenz der Steine am Ende des Spiels für den
+     * ziehenden Spieler. Liegt diese innerhalb von ({@code alpha},
+     * {@code beta}), ist diese exakt, andernfalls liegt diese ebenfalls
+     * außerhalb des Fensters.
+     *
+     * @param own           Entspricht den Steinen des ziehenden Spielers.
+     * @param opponent      Entspricht den Steinen des Gegners.
+     * @param alpha         Entspricht der Differenz, die der ziehende
+     *                      Spieler bereits sicher erreichen kann.
+     * @param beta          Entspricht der Differenz, die der Gegner bereits
+     *                      sicher erreichen kann.
+     * @param passed        Entspricht {@code true}, falls der Gegner zuvor
+     *                      passen musste.
+     * @return              Gibt die Differenz der Steine zurück.
+     */
+    private int solve(long own, long opponent, int alpha, int beta,
+                      boolean passed) {
+        long empty = ~(own | opponent);
+        int empties = Long.bitCount(empty);
+        if (empties == LAST_EMPTIES) {
+            return solveLastFour(own, opponent, alpha, beta, empty, passed);
+        } else if (empties < LAST_EMPTIES) {
+            return solveLastEmpties(own, opponent, alpha, beta, empty,
+                    empties, passed);
+        }
+
+        nodes++;
+        nodesUntilStopCheck--;
+        if (nodesUntilStopCheck == 0) {
+            nodesUntilStopCheck = NODES_PER_STOP_CHECK;
+            checkStop();
+        }
+        int count = generateMoves(own, opponent, empties);
+        if (count == 0) {
+            if (passed) {
+                return differenceOf(own, opponent);
+            } else {
+                return -solve(opponent, own, -beta, -alpha, true);
+            }
+        }
+
+        int[] squaresOfPly = squares[empties];
+        int best = -INFINITY;
+        for (int i = 0; i < count; i++) {
+            int square = squaresOfPly[i];
+            long flips = BitBoard.calculateFlips(own, opponent, square);
+            int score = -solve(opponent & ~flips, own | flips | 1L << square,
+                    -beta, -Math.max(alpha, best), false);
+            if (score > best) {
+                best = score;
+                if (best >= beta) {
+                    return best;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Sortiert die vier letzten leeren Felder nach der Parität ihrer
+     * Quadranten und durchsucht diese direkt.
+     *
+     * @param own           Entspricht den Steinen des ziehenden Spielers.
+     * @param opponent      Entspricht den Steinen des Gegners.
+     * @param alpha         Entspricht der unteren Schranke des Fensters.
+     * @param beta          Entspricht der oberen Schranke des Fensters.
+     * @param empty         Entspricht den vier leeren Feldern.
+     * @param passed        Entspricht {@code true}, falls der Gegner zuvor
+     *                      passen musste.
+     * @return              Gibt die Differenz der Steine zurück.
+     */
+    private int solveLastFour(long own, long opponent, int alpha, int beta,
+                              long empty, boolean passed) {
+        int count = 0;
+        for (int parity = 1; parity >= 0; parity--) {
+            long remaining = empty;
+            while (remaining != 0) {
+                int square = Long.numberOfTrailingZeros(remaining);
+                remaining &= remaining - 1;
+                if (isOddQuadrant(empty, square) == (parity == 1)) {
+                    lastSquares[count++] = square;
+                }
+            }
+        }
+        return solve4(own, opponent, alpha, beta, lastSquares[0],
+                lastSquares[1], lastSquares[2], lastSquares[3], passed);
+    }
+
+    /**
+     * Durchsucht weniger als vier leere Felder direkt, wobei die Felder in
+     * der Reihenfolge der Zeilen durchprobiert werden.
+     *
+     * @param own           Entspricht den Steinen des ziehenden Spielers.
+     * @param opponent      Entspricht den Steinen des Gegners.
+     * @param alpha         Entspricht der unteren Schranke des Fensters.
+     * @param beta          Entspricht der oberen Schranke des Fensters.
+     * @param empty         Entspricht den leeren Feldern.
+     * @param empties       Entspricht der Anzahl der leeren Felder.
+     * @param passed        Entspricht {@code true}, falls der Gegner zuvor
+     *                      passen musste.
+     * @return              Gibt die Differenz der Steine zurück.
+     */
+    private int solveLastEmpties(long own, long opponent, int alpha, int beta,
+                                 long empty, int empties, boolean passed) {
+        int square1 = Long.numberOfTrailingZeros(empty);
+        empty &= empty - 1;
+        int square2 = Long.numberOfTrailingZeros(empty);
+        empty &= empty - 1;
+        int square3 = Long.numberOfTrailingZeros(empty);
+        switch (empties) {
+            case 3:
+                return solve3(own, opponent, alpha, beta, square1, square2,
+                        square3, passed);
+            case 2:
+                return solve2(own, opponent, alpha, beta, square1, square2,
+                        passed);
+            case 1:
+                return solve1(own, opponent, square1);
+            default:
+                return differenceOf(own, opponent);
+        }
+    }
+
+    /**
+     * Durchsucht die letzten vier leeren Felder.
+     *
+     * @param own           Entspricht den Steinen des ziehenden Spielers.
+     * @param opponent      Entspricht den Steinen des Gegners.
+     * @param alpha         Entspricht der unteren Schranke des Fensters.
+     * @param beta          Entspricht der oberen Schranke des Fensters.
+     * @param square1       Entspricht dem ersten leeren Feld.
+     * @param square2       Entspricht dem zweiten leeren Feld.
+     * @param square3       Entspricht dem dritten leeren Feld.
+     * @param square4       Entspricht dem vierten leeren Feld.
+     * @param passed        Entspricht {@code true}, falls der Gegner zuvor
+     *                      passen musste.
+     * @return              Gibt die Differenz der Steine zurück.
+     */
+    private int solve4(long own, long opponent, int alpha, int beta,
+                       int square1, int square2, int square3, int square4,
+                       boolean passed) {
+        nodes++;
+        int best = -INFINITY;
+        long flips = BitBoard.calculateFlips(own, opponent, square1);
+        if (flips != 0) {
+            best = -solve3(opponent & ~flips, own | flips | 1L << square1,
+                    -beta, -alpha, square2, square3, square4, false);
+            if (best >= beta) {
+                return best;
+            }
+        }
+        flips = BitBoard.calculateFlips(own, opponent, square2);
+        if (flips != 0) {
+            int score = -solve3(opponent & ~flips, own | flips | 1L << square2,
+                    -beta, -Math.max(alpha, best), square1, square3, square4,
+                    false);
+            if (score > best) {
+                best = score;
+                if (best >= beta) {
+                    return best;
+                }
+            }
+        }
+        flips = BitBoard.calculateFlips(own, opponent, square3);
+        if (flips != 0) {
+            int score = -solve3(opponent & ~flips, own | flips | 1L << square3,
+                    -beta, -Math.max(alpha, best), square1, square2, square4,
+                    false);
+            if (score > best) {
+                best = score;
+                if (best >= beta) {
+                    return best;
+                }
+            }
+        }
+        flips = BitBoard.calculateFlips(own, opponent, square4);
+        if (flips != 0) {
+            int score = -solve3(opponent & ~flips, own | flips | 1L << square4,
+                    -beta, -Math.max(alpha, best), square1, square2, square3,
+                    false);
+            if (score > best) {
+                best = score;
+            }
+        }
+
+        if (best == -INFINITY) {
+            if (passed) {
+                return differenceOf(own, opponent);
+            } else {
+                return -solve4(opponent, own, -beta, -alpha, square1,
+                        square2, square3, square4, true);
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Durchsucht die letzten drei leeren Felder.
+     *
+     * @param own           Entspricht den Steinen des ziehenden Spielers.
+     * @param opponent      Entspricht den Steinen des Gegners.
+     * @param alpha         Entspricht der unteren Schranke des Fensters.
+     * @param beta          Entspricht der oberen Schranke des Fensters.
+     * @param square1       Entspricht dem ersten leeren Feld.
+     * @param square2       Entspricht dem zweiten leeren Feld.
+     * @param square3       Entspricht dem dritten leeren Feld.
+     * @param passed        Entspricht {@code true}, falls der Gegner zuvor
+     *                      passen musste.
+     * @return              Gibt die Differenz der Steine zurück.
+     */
+    private int solve3(long own, long opponent, int alpha, int beta,
+                       int square1, int square2, int square3,
+                       boolean passed) {
+        nodes++;
+        int best = -INFINITY;
+        long flips = BitBoard.calculateFlips(own, opponent, square1);
+        if (flips != 0) {
+            best = -solve2(opponent & ~flips, own | flips | 1L << square1,
+                    -beta, -alpha, square2, square3, false);
+            if (best >= beta) {
+                return best;
+            }
+        }
+        flips = BitBoard.calculateFlips(own, opponent, square2);
+        if (flips != 0) {
+            int score = -solve2(opponent & ~flips, own | flips | 1L << square2,
+                    -beta, -Math.max(alpha, best), square1, square3, false);
+            if (score > best) {
+                best = score;
+                if (best >= beta) {
+                    return best;
+                }
+            }
+        }
+        flips = BitBoard.calculateFlips(own, opponent, square3);
+        if (flips != 0) {
+            int score = -solve2(opponent & ~flips, own | flips | 1L << square3,
+                    -beta, -Math.max(alpha, best), square1, square2, false);
+            if (score > best) {
+                best = score;
+            }
+        }
+
+        if (best == -INFINITY) {
+            if (passed) {
+                return differenceOf(own, opponent);
+            } else {
+                return -solve3(opponent, own, -beta, -alpha, square1,
+                        square2, square3, true);
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Durchsucht die letzten zwei leeren Felder.
+     *
+     * @param own           Entspricht den Steinen des ziehenden Spielers.
+     * @param opponent      Entspricht den Steinen des Gegners.
+     * @param alpha         Entspricht der unteren Schranke des Fensters.
+     * @param beta          Entspricht der oberen Schranke des Fensters.
+     * @param square1       Entspricht dem ersten leeren Feld.
+     * @param square2       Entspricht dem zweiten leeren Feld.
+     * @param passed        Entspricht {@code true}, falls der Gegner zuvor
+     *                      passen musste.
+     * @return              Gibt die Differenz der Steine zurück.
+     */
+    private int solve2(long own, long opponent, int alpha, int beta,
+                       int square1, int square2, boolean passed) {
+        nodes++;
+        int best = -INFINITY;
+        long flips = BitBoard.calculateFlips(own, opponent, square1);
+        if (flips != 0) {
+            best = -solve1(opponent & ~flips, own | flips | 1L << square1,
+                    square2);
+            if (best >= beta) {
+                return best;
+            }
+        }
+        flips = BitBoard.calculateFlips(own, opponent, square2);
+        if (flips != 0) {
+            int score = -solve1(opponent & ~flips, own | flips | 1L << square2,
+                    square1);
+            if (score > best) {
+                best = score;
+            }
+        }
+
+        if (best == -INFINITY) {
+            if (passed) {
+                return differenceOf(own, opponent);
+            } else {
+                return -solve2(opponent, own, -beta, -alpha, square1,
+                        square2, true);
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Berechnet die Differenz der Steine für das letzte leere Feld. Kann der
+     * ziehende Spieler nicht ziehen, zieht der Gegner, und kann keiner der
+     * beiden ziehen, bleibt das Feld leer.
+     *
+     * @param own           Entspricht den Steinen des ziehenden Spielers.
+     * @param opponent      Entspricht den Steinen des Gegners.
+     * @param square        Entspricht dem letzten leeren Feld.
+     * @return              Gibt die Differenz der Steine zurück.
+     */
+    private int solve1(long own, long opponent, int square) {
+        nodes++;
+        int difference = differenceOf(own, opponent);
+        long flips = BitBoard.calculateFlips(own, opponent, square);
+        if (flips != 0) {
+            return difference + 2 * Long.bitCount(flips) + 1;
+        }
+        flips = BitBoard.calculateFlips(opponent, own, square);
+        if (flips != 0) {
+            return difference - 2 * Long.bitCount(flips) - 1;
+        }
+        return difference;
+    }
+
+    /**
+     * Bricht die Suche ab, falls diese beendet oder der suchende Thread
+     * unterbrochen wurde.
+     *
+     * @throws SearchAbortedException   Wird geworfen, falls die Suche
+     *                                  beendet oder der Thread unterbrochen
+     *                                  wurde.
+     * @see                             AlphaBetaSearch
+     */
+    private void checkStop() {
+        if (stopped.get()) {
+            throw new SearchAbortedException("Search is stopped!");
+        } else if (Thread.currentThread().isInterrupted()) {
+            throw new SearchAbortedException("Thread is interrupted!");
+        }
+    }
+
+    /**
+     * Berechnet die legalen Züge des ziehenden Spielers und sortiert diese
+     * nach der Parität ihres Quadranten und der Anzahl der Züge des Gegners
+     * danach. Die Züge werden in den Puffern der Anzahl der leeren Felder
+     * gespeichert, da diese in jeder Tiefe verschieden ist.
+     *
+     * @param own           Entspricht den Steinen des ziehenden Spielers.
+     * @param opponent      Entspricht den Steinen des Gegners.
+     * @param empties       Entspricht der Anzahl der leeren Felder.
+     * @return              Gibt die Anzahl der legalen Züge zurück.
+     */
+    private int generateMoves(long own, long opponent, int empties) {
+        if (squares[empties] == null) {
+            squares[empties] = new int[empties];
+            priorities[empties] = new int[empties];
+        }
+        int[] squaresOfPly = squares[empties];
+        int[] prioritiesOfPly = priorities[empties];
+        long empty = ~(own | opponent);
+        long moves = BitBoard.calculateLegalMoves(own, opponent);
+
+        int count = 0;
+        while (moves != 0) {
+            int square = Long.numberOfTrailingZeros(moves);
+            moves &= moves - 1;
+            long flips = BitBoard.calculateFlips(own, opponent, square);
+            int priority = -Long.bitCount(BitBoard.calculateLegalMoves(
+                    opponent & ~flips, own | flips | 1L << square));
+            if (isOddQuadrant(empty, square)) {
+                priority += ODD_PARITY;
+            }
+
+            int u = count - 1;
+            while (u >= 0 && prioritiesOfPly[u] < priority) {
+                squaresOfPly[u + 1] = squaresOfPly[u];
+                prioritiesOfPly[u + 1] = prioritiesOfPly[u];
+                u--;
+            }
+            squaresOfPly[u + 1] = square;
+            prioritiesOfPly[u + 1] = priority;
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Prüft, ob der Quadrant eines Feldes eine ungerade Anzahl an leeren
+     * Feldern hat.
+     *
+     * @param empty         Entspricht den leeren Feldern.
+     * @param square        Entspricht dem Feld.
+     * @return              Gibt {@code true} zurück, falls die Anzahl
+     *                      ungerade ist.
+     */
+    private static boolean isOddQuadrant(long empty, int square) {
+        int row = square / Board.SIZE;
+        int col = square % Board.SIZE;
+        int quadrant = (row < Board.SIZE / 2 ? 0 : 2)
+                + (col < Board.SIZE / 2 ? 0 : 1);
+        return (Long.bitCount(empty & QUADRANTS[quadrant]) & 1) != 0;
+    }
+
+    /**
+     * Berechnet die Differenz der Steine zweier Spieler.
+     *
+     * @param own           Entspricht den Steinen des ersten Spielers.
+     * @param opponent      Entspricht den Steinen des zweiten Spielers.
+     * @return              Gibt die Anzahl der eigenen minus der Anzahl der
+     *                      gegnerischen Steine zurück.
+     */
+    private static int differenceOf(long own, long opponent) {
+        return Long.bitCount(own) - Long.bitCount(opponent);
+    }
+
+    /**
+     * Berechnet die Maske der Steine eines Spielers.
+     *
+     * @param board         Entspricht der Spielsituation.
+     * @param player        Entspricht dem Spieler.
+     * @return              Gibt die Maske der Steine des Spielers zurück.
+     */
+    private static long tilesOf(EngineBoard board, Player player) {
+        long tiles = 0;
+        for (int row = 1; row <= Board.SIZE; row++) {
+            for (int col = 1; col <= Board.SIZE; col++) {
+                if (board.getSlot(row, col) == player) {
+                    tiles |= 1L << ((row - 1) * Board.SIZE + (col - 1));
+                }
+            }
+        }
+        return tiles;
+    }
+}
@@ -0,0 +1,450 @@
+package de.uni_passau.fim.prog2.model;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+
+/**
+ * Erweitert {@code Board} um die Methoden, die die Maschine zur Berechnung
+ * ihrer Züge benötigt. Dadurch können {@code Tree} und {@code Score} mit
+ * jeder Implementierung des Spielbretts arbeiten. Die Methoden für die
+ * Bewertung werden von {@code Position} übernommen.
+ *
+ * <p>Die Sitzung der Maschine, die Einstellungen und die Ergebnisse der
+ * Suche eines Maschinenzuges werden hier für alle Implementierungen
+ * gemeinsam verwaltet. Die Suche selbst übernimmt {@code MachineMoves},
+ * sodass eine Implementierung nur die Spielregeln,
+ * {@link #moveForNextPlayer(int, int)} und {@link #clone()} bereitstellt.
+ *
+ * @version 17.10.26
+ * @author -----
+ * @see     MachineMoves
+ */
+abstract class EngineBoard implements Board, Position {
+
+    /**
+     * Entspricht der Sitzung der Maschine mit den Einstellungen und der
+     * Transpositionstabelle des Spiels, die von allen Spielsituationen
+     * dieses Spiels gemeinsam verwendet wird.
+     */
+    private final EngineSession session;
+
+    /**
+     * Entspricht der Tiefe der Suche, durch die diese Spielsituation als
+     * Maschinenzug berechnet wurde, bzw {@code 0} bei anderen Zügen.
+     */
+    int searchDepth;
+
+    /**
+     * Entspricht {@code true}, falls diese Spielsituation durch das exakte
+     * Lösen des Spiels als Maschinenzug berechnet wurde.
+     */
+    boolean solved;
+
+    /**
+     * Entspricht der exakten Differenz der Steine von Maschine und Mensch
+     * am Ende des Spiels, falls {@code solved} gesetzt ist.
+     */
+    int solvedMargin;
+
+    /**
+     * Entspricht der Statistik der Suche, durch die diese Spielsituation als
+     * Maschinenzug berechnet wurde, bzw {@code null} bei anderen Zügen.
+     */
+    SearchStats searchStats;
+
+    /**
+     * Kreiert eine Spielsituation, deren Spiel die übergebene Sitzung
+     * verwendet. Die Implementierung prüft, ob diese definiert ist.
+     *
+     * @param session       Entspricht der Sitzung der Maschine.
+     */
+    EngineBoard(EngineSession session) {
+        this.session = session;
+    }
+
+    /**
+     * Führt für den nächsten Spieler einen Zug auf einem Klon aus, falls
+     * dieser legal ist.
+     *
+     * @param row           Entspricht der Zeile auf der der Stein gelegt
+     *                      werden soll.
+     * @param col           Entspricht der Spalte auf der der Stein gelegt
+     *                      werden soll.
+     * @return              Falls der Zug legal ist, wird ein Klon
+     *                      zurückgegeben, auf dem der Zug ausgeführt wurde,
+     *                      andernfalls wird {@code null} zurückgegeben.
+     */
+    abstract EngineBoard moveForNextPlayer(int row, int col);
+
+    /**
+     * Klont die Spielsituation flach, wobei die Implementierung veränderbare
+     * Felder selbst kopieren muss.
+     *
+     * @return                          Entspricht dem Klon des Objekts.
+     * @throws IllegalStateException    Wird geworfen, falls die
+     *                                  Spielsituation unvorhergesehen nicht
+     *                                  klonbar ist.
+     */
+    @Override
+    public EngineBoard clone() {
+        try {
+            return (EngineBoard) super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("Board has to be cloneable!");
+        }
+    }
+
+    /**
+     * Berechnet den besten Zug für die Maschine mit den Einstellungen und
+     * der Sitzung dieses Spiels und führt diesen auf einem Klon aus, falls
+     * die Maschine an der Reihe ist und das Spiel nicht vorbei ist.
+     *
+     * @return                          Entspricht dem Klon, auf dem der Zug
+     *                                  ausgeführt wurde.
+     * @throws IllegalMoveException     Wird geworfen, falls das Spiel bereits
+     *                                  vorbei ist oder die Maschine nicht an
+     *                                  der Reihe ist.
+     * @see                             #machineMove(EngineSession)
+     */
+    @Override
+    public Board machineMove() {
+        return machineMove(session);
+    }
+
+    /**
+     * Berechnet den besten Zug für die Maschine und führt diesen auf einem
+     * Klon aus, falls die Maschine an der Reihe ist und das Spiel nicht
+     * vorbei ist. Die Suche verwendet die Einstellungen und die
+     * Transpositionstabelle der Sitzung und übernimmt deren Hauptvariante,
+     * falls das Spiel dieser gefolgt ist. Ist in den Einstellungen eine Zeit
+     * pro Zug gesetzt, wird innerhalb dieser Zeit gesucht.
+     *
+     * @param session                       Entspricht der Sitzung des
+     *                                      Spiels.
+     * @return                              Entspricht dem Klon, auf dem der
+     *                                      Zug ausgeführt wurde.
+     * @throws IllegalMoveException         Wird geworfen, falls das Spiel
+     *                                      bereits vorbei ist oder die
+     *                                      Maschine nicht an der Reihe ist.
+     * @throws IllegalArgumentException     Wird geworfen, falls
+     *                                      {@code session} {@code null} ist.
+     * @see                                 MachineMoves#calculate(
+     *                                      EngineBoard, EngineSession,
+     *                                      EngineConfig, Duration,
+     *                                      AtomicBoolean, boolean)
+     */
+    @Override
+    public Board machineMove(EngineSession session) {
+        if (session != null) {
+            EngineConfig config = session.getConfig();
+            return MachineMoves.calculate(this, session, config,
+                    config.getBudget(), new AtomicBoolean(), true);
+        } else {
+            throw new IllegalArgumentException("Session cannot be null!");
+        }
+    }
+
+    /**
+     * Berechnet den besten Zug für die Maschine wie
+     * {@link #machineMove(EngineSession)}, wobei die Suche auf dem
+     * {@code executor} läuft. Wird die zurückgegebene
+     * {@code CompletableFuture} abgebrochen oder anderweitig beendet, wird
+     * das Signal der Suche gesetzt, das diese regelmäßig prüft, sodass die
+     * Suche kurz darauf abbricht. Diese Spielsituation wird dabei nicht
+     * verändert und die Sitzung behält die Hauptvariante der vorherigen
+     * Suche.
+     *
+     * @param session                       Entspricht der Sitzung des
+     *                                      Spiels.
+     * @param executor                      Entspricht den Threads, auf
+     *                                      denen die Suche läuft.
+     * @return                              Gibt den Klon, auf dem der Zug
+     *                                      ausgeführt wurde, zurück, sobald
+     *                                      dieser berechnet wurde.
+     * @throws IllegalMoveException         Wird geworfen, falls das Spiel
+     *                                      bereits vorbei ist oder die
+     *                                      Maschine nicht an der Reihe ist.
+     * @throws IllegalArgumentException     Wird geworfen, falls
+     *                                      {@code session} oder
+     *                                      {@code executor} {@code null}
+     *                                      ist.
+     * @see                                 SearchAbortedException
+     */
+    @Override
+    public CompletableFuture<Board> machineMoveAsync(
+            final EngineSession session, Executor executor) {
+        if (session == null || executor == null) {
+            throw new IllegalArgumentException("Session or executor cannot"
+                    + " be null!");
+        } else if (gameOver()) {
+            throw new IllegalMoveException("Game is already over!");
+        } else if (next() != Player.MACHINE) {
+            throw new IllegalMoveException("Human Turn!");
+        }
+
+        final AtomicBoolean stopped = new AtomicBoolean();
+        final CompletableFuture<Board> future = new CompletableFuture<>();
+        future.whenComplete(new BiConsumer<Board, Throwable>() {
+            @Override
+            public void accept(Board board, Throwable error) {
+                stopped.set(true);
+            }
+        });
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                if (future.isDone()) {
+                    return;
+                }
+                try {
+                    EngineConfig config = session.getConfig();
+                    future.complete(MachineMoves.calculate(EngineBoard.this,
+                            session, config, config.getBudget(), stopped,
+                            true));
+                } catch (SearchAbortedException e) {
+                    future.cancel(false);
+                } catch (RuntimeException | Error e) {
+                    future.completeExceptionally(e);
+                }
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Berechnet den besten Zug für die Maschine innerhalb der verfügbaren
+     * Zeit und führt diesen auf einem Klon aus, falls die Maschine an der
+     * Reihe ist und das Spiel nicht vorbei ist. Das Level wird dabei nicht
+     * beachtet.
+     *
+     * @param budget                        Entspricht der für den Zug
+     *                                      verfügbaren Zeit.
+     * @return                              Entspricht dem Klon, auf dem der
+     *                                      Zug ausgeführt wurde.
+     * @throws IllegalMoveException         Wird geworfen, falls das Spiel
+     *                                      bereits vorbei ist oder die
+     *                                      Maschine nicht an der Reihe ist.
+     * @throws IllegalArgumentException     Wird geworfen, falls
+     *                                      {@code budget} {@code null} oder
+     *                                      negativ ist.
+     * @see                                 MachineMoves#calculate(
+     *                                      EngineBoard, EngineSession,
+     *                                      EngineConfig, Duration,
+     *                                      AtomicBoolean, boolean)
+     */
+    @Override
+    public Board machineMove(Duration budget) {
+        if (budget != null && !budget.isNegative()) {
+            return MachineMoves.calculate(this, session, session.getConfig(),
+                    budget, new AtomicBoolean(), true);
+        } else {
+            throw new IllegalArgumentException("Budget is null or negative!");
+        }
+    }
+
+    /**
+     * Berechnet den besten Zug für die Maschine spekulativ wie
+     * {@link #machineMove(EngineSession)}, wobei die Suche weder zur
+     * Statistik des Prozesses addiert noch als {@code MachineMoveEvent}
+     * aufgezeichnet noch im {@code LatencyMonitor} gezählt wird. Die
+     * Statistik der Suche wird trotzdem am Klon gespeichert.
+     *
+     * @param session                       Entspricht der Sitzung der
+     *                                      Suche.
+     * @return                              Entspricht dem Klon, auf dem der
+     *                                      Zug ausgeführt wurde.
+     * @throws IllegalMoveException         Wird geworfen, falls das Spiel
+     *                                      bereits vorbei ist oder die
+     *                                      Maschine nicht an der Reihe ist.
+     * @throws SearchAbortedException       Wird geworfen, falls der Thread
+     *                                      unterbrochen wurde.
+     */
+    EngineBoard ponderMove(EngineSession session) {
+        assert session != null : "Session cannot be undefined!";
+
+        EngineConfig config = session.getConfig();
+        return MachineMoves.calculate(this, session, config,
+                config.getBudget(), new AtomicBoolean(), false);
+    }
+
+    /**
+     * Gibt die Tiefe der Suche zurück, durch die diese Spielsituation als
+     * Maschinenzug berechnet wurde.
+     *
+     * @return      Entspricht der Tiefe der Suche bzw {@code 0}, falls die
+     *              Spielsituation kein Maschinenzug ist.
+     */
+    @Override
+    public int getSearchDepth() {
+        return searchDepth;
+    }
+
+    /**
+     * Gibt die exakte Differenz der Steine von Maschine und Mensch am Ende
+     * des Spiels zurück, falls diese Spielsituation durch das exakte Lösen
+     * des Spiels als Maschinenzug berechnet wurde.
+     *
+     * @return      Entspricht der Differenz bzw einem leeren Wert, falls
+     *              das Spiel nicht gelöst wurde.
+     */
+    @Override
+    public OptionalInt getSolvedMargin() {
+        if (solved) {
+            return OptionalInt.of(solvedMargin);
+        } else {
+            return OptionalInt.empty();
+        }
+    }
+
+    /**
+     * Gibt die Statistik der Suche zurück, durch die diese Spielsituation
+     * als Maschinenzug berechnet wurde.
+     *
+     * @return      Entspricht der Statistik bzw einem leeren Wert, falls
+     *              die Spielsituation kein Maschinenzug ist.
+     */
+    @Override
+    public Optional<SearchStats> getSearchStats() {
+        return Optional.ofNullable(searchStats);
+    }
+
+    /**
+     * Setzt die Schwierigkeitsstufe auf einen neuen Wert, der positiv sein
+     * muss. Das Level kann bis {@code EngineConfig.MAX_LEVEL} gesetzt
+     * werden, wobei die Rechenzeit sehr lang dauern kann. Mehr Züge sind in
+     * keinem Spiel möglich. Das Level gilt für alle Spielsituationen dieses
+     * Spiels.
+     *
+     * @param level                         Entspricht dem neuen Level der
+     *                                      Maschine und muss positiv sein.
+     * @throws IllegalArgumentException     Wird geworfen, falls {@code level}
+     *                                      nicht positiv oder größer als
+     *                                      {@code EngineConfig.MAX_LEVEL}
+     *                                      ist.
+     */
+    @Override
+    public void setLevel(int level) {
+        setConfig(getConfig().withLevel(level));
+    }
+
+    /**
+     * Ersetzt die Transpositionstabelle der Maschine durch eine leere
+     * Tabelle der angegebenen Größe, die für alle Spielsituationen dieses
+     * Spiels verwendet wird.
+     *
+     * @param megabytes                     Entspricht der Größe der Tabelle
+     *                                      in Megabyte.
+     * @throws IllegalArgumentException     Wird geworfen, falls
+     *                                      {@code megabytes} nicht positiv
+     *                                      ist.
+     */
+    @Override
+    public void setHashSize(int megabytes) {
+        setConfig(getConfig().withHashSize(megabytes));
+    }
+
+    /**
+     * Setzt die Anzahl der Threads, die die Maschine für die Berechnung
+     * ihrer Züge in diesem Spiel verwendet.
+     *
+     * @param threads                       Entspricht der Anzahl der
+     *                                      Threads.
+     * @throws IllegalArgumentException     Wird geworfen, falls
+     *                                      {@code threads} nicht positiv
+     *                                      ist.
+     */
+    @Override
+    public void setParallelism(int threads) {
+        setConfig(getConfig().withThreads(threads));
+    }
+
+    /**
+     * Setzt die Art, wie die Maschine ihre Suche in diesem Spiel auf die
+     * Threads verteilt.
+     *
+     * @param mode                          Entspricht der neuen Art.
+     * @throws IllegalArgumentException     Wird geworfen, falls {@code mode}
+     *                                      {@code null} ist.
+     */
+    @Override
+    public void setParallelMode(ParallelMode mode) {
+        setConfig(getConfig().withParallelMode(mode));
+    }
+
+    /**
+     * Setzt die Anzahl der leeren Felder, ab der die Maschine dieses Spiel
+     * exakt löst.
+     *
+     * @param empties                       Entspricht der Anzahl der leeren
+     *                                      Felder bzw {@code 0}, falls das
+     *                                      Spiel nie gelöst werden soll.
+     * @throws IllegalArgumentException     Wird geworfen, falls
+     *                                      {@code empties} negativ ist.
+     */
+    @Override
+    public void setEndgameEmpties(int empties) {
+        setConfig(getConfig().withEndgameEmpties(empties));
+    }
+
+    /**
+     * Setzt das Eröffnungsbuch der Maschine für dieses Spiel.
+     *
+     * @param book      Entspricht dem Eröffnungsbuch bzw {@code null}, falls
+     *                  jeder Zug durchsucht werden soll.
+     */
+    @Override
+    public void setOpeningBook(OpeningBook book) {
+        setConfig(getConfig().withOpeningBook(book));
+    }
+
+    /**
+     * Gibt die Einstellungen der Maschine für dieses Spiel zurück.
+     *
+     * @return      Entspricht den Einstellungen der Sitzung.
+     */
+    @Override
+    public EngineConfig getConfig() {
+        return session.getConfig();
+    }
+
+    /**
+     * Ersetzt die Einstellungen der Maschine für alle Spielsituationen
+     * dieses Spiels, wobei andere Spiele nicht beeinflusst werden.
+     *
+     * @param config                        Entspricht den neuen
+     *                                      Einstellungen.
+     * @throws IllegalArgumentException     Wird geworfen, falls
+     *                                      {@code config} {@code null} ist.
+     * @see                                 EngineSession#setConfig(
+     *                                      EngineConfig)
+     */
+    @Override
+    public void setConfig(EngineConfig config) {
+        session.setConfig(config);
+    }
+
+    /**
+     * Gibt die Transpositionstabelle der Maschine für dieses Spiel zurück.
+     *
+     * @return      Entspricht der Transpositionstabelle.
+     */
+    @Override
+    public TranspositionTable getTranspositionTable() {
+        return session.getTranspositionTable();
+    }
+
+    /**
+     * Setzt die Ergebnisse der Suche zurück, nachdem auf einem Klon ein
+     * neuer Zug ausgeführt wurde.
+     */
+    void clearSearchResult() {
+        searchDepth = 0;
+        solved = false;
+        searchStats = null;
+    }
+}
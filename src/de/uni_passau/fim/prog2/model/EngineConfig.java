@@ -0,0 +1,355 @@
+package de.uni_passau.fim.prog2.model;
+
+import java.time.Duration;
+
+/**
+ * {@code EngineConfig} enthält alle Einstellungen der Suche der Maschine für
+ * ein Spiel, also das Level, die verfügbare Zeit pro Zug, die Anzahl der
+ * Threads, die Größe der Transpositionstabelle, die Gewichte der Bewertung,
+ * die Anzahl der leeren Felder, ab der das Spiel gelöst wird, und das
+ * Eröffnungsbuch.
+ *
+ * <p>Die Einstellungen sind unveränderlich. Jede Methode {@code with...}
+ * gibt neue Einstellungen zurück, in denen nur ein Wert ersetzt wurde.
+ * Dadurch kann jedes Spiel eigene Einstellungen verwenden, ohne dass sich
+ * gleichzeitige Suchen verschiedener Spiele beeinflussen, und eine Suche
+ * verwendet bis zu ihrem Ende die Einstellungen, mit denen sie begonnen hat.
+ *
+ * @version 17.10.26
+ * @author -----
+ * @see     EngineSession
+ */
+public final class EngineConfig {
+
+    /**
+     * Entspricht dem max Level, also der Anzahl der anfangs leeren Felder,
+     * da kein Spiel mehr Züge hat. Dadurch passt jede Tiefe der Suche in
+     * die Einträge der {@code TranspositionTable}.
+     */
+    public static final int MAX_LEVEL = Board.SIZE * Board.SIZE - 4;
+
+    /**
+     * Entspricht den Einstellungen, mit denen jedes Spiel beginnt.
+     */
+    public static final EngineConfig DEFAULT = new EngineConfig(3, null, 1,
+            ParallelMode.SPLIT, 8, EvaluationWeights.DEFAULT, 14, null);
+
+    /**
+     * Entspricht der Schwierigkeitsstufe und somit der Tiefe der Suche.
+     */
+    private final int level;
+
+    /**
+     * Entspricht der verfügbaren Zeit pro Zug bzw {@code null}, falls bis
+     * zu der Tiefe {@code level} gesucht wird.
+     */
+    private final Duration budget;
+
+    /**
+     * Entspricht der Anzahl der Threads der Suche.
+     */
+    private final int threads;
+
+    /**
+     * Entspricht der Art, wie die Suche auf die Threads verteilt wird.
+     */
+    private final ParallelMode parallelMode;
+
+    /**
+     * Entspricht der Größe der Transpositionstabelle in Megabyte.
+     */
+    private final int hashSize;
+
+    /**
+     * Entspricht den Gewichten der Bewertung.
+     */
+    private final EvaluationWeights weights;
+
+    /**
+     * Entspricht der Anzahl der leeren Felder, ab der das Spiel exakt
+     * gelöst wird, bzw {@code 0}, falls das Spiel nie gelöst wird.
+     */
+    private final int endgameEmpties;
+
+    /**
+     * Entspricht dem Eröffnungsbuch bzw {@code null}, falls jeder Zug
+     * durchsucht wird.
+     */
+    private final OpeningBook openingBook;
+
+    /**
+     * Kreiert Einstellungen aus bereits geprüften Werten.
+     *
+     * @param level             Entspricht dem Level.
+     * @param budget            Entspricht der Zeit pro Zug bzw {@code null}.
+     * @param threads           Entspricht der Anzahl der Threads.
+     * @param parallelMode      Entspricht der Art der parallelen Suche.
+     * @param hashSize          Entspricht der Größe der Tabelle in Megabyte.
+     * @param weights           Entspricht den Gewichten der Bewertung.
+     * @param endgameEmpties    Entspricht der Anzahl der leeren Felder.
+     * @param openingBook       Entspricht dem Eröffnungsbuch bzw
+     *                          {@code null}.
+     */
+    private EngineConfig(int level, Duration budget, int threads,
+                         ParallelMode parallelMode, int hashSize,
+                         EvaluationWeights weights, int endgameEmpties,
+                         OpeningBook openingBook) {
+        this.level = level;
+        this.budget = budget;
+        this.threads = threads;
+        this.parallelMode = parallelMode;
+        this.hashSize = hashSize;
+        this.weights = weights;
+        this.endgameEmpties = endgameEmpties;
+        this.openingBook = openingBook;
+    }
+
+    /**
+     * Gibt das Level zurück, bis zu dessen Tiefe gesucht wird.
+     *
+     * @return      Entspricht dem Level.
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * Gibt die verfügbare Zeit pro Zug zurück.
+     *
+     * @return      Entspricht der Zeit bzw {@code null}, falls bis zu der
+     *              Tiefe des Levels gesucht wird.
+     */
+    public Duration getBudget() {
+        return budget;
+    }
+
+    /**
+     * Gibt die Anzahl der Threads der Suche zurück.
+     *
+     * @return      Entspricht der Anzahl der Threads.
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Gibt die Art zurück, wie die Suche auf die Threads verteilt wird.
+     *
+     * @return      Entspricht der Art der parallelen Suche.
+     */
+    public ParallelMode getParallelMode() {
+        return parallelMode;
+    }
+
+    /**
+     * Gibt die Größe der Transpositionstabelle zurück.
+     *
+     * @return      Entspricht der Größe in Megabyte.
+     */
+    public int getHashSize() {
+        return hashSize;
+    }
+
+    /**
+     * Gibt die Gewichte der Bewertung zurück.
+     *
+     * @return      Entspricht den Gewichten.
+     */
+    public EvaluationWeights getWeights() {
+        return weights;
+    }
+
+    /**
+     * Gibt die Anzahl der leeren Felder zurück, ab der das Spiel exakt
+     * gelöst wird.
+     *
+     * @return      Entspricht der Anzahl bzw {@code 0}, falls das Spiel nie
+     *              gelöst wird.
+     */
+    public int getEndgameEmpties() {
+        return endgameEmpties;
+    }
+
+    /**
+     * Gibt das Eröffnungsbuch zurück.
+     *
+     * @return      Entspricht dem Eröffnungsbuch bzw {@code null}, falls
+     *              jeder Zug durchsucht wird.
+     */
+    public OpeningBook getOpeningBook() {
+        return openingBook;
+    }
+
+    /**
+     * Gibt Einstellungen mit einem anderen Level zurück.
+     *
+     * @param level                         Entspricht dem neuen Level.
+     * @return                              Gibt die neuen Einstellungen
+     *                                      zurück.
+     * @throws IllegalArgumentException     Wird geworfen, falls
+     *                                      {@code level} nicht positiv
+     *                                      oder größer als
+     *                                      {@code MAX_LEVEL} ist.
+     */
+    public EngineConfig withLevel(int level) {
+        if (level <= 0) {
+            throw new IllegalArgumentException("Level is negative or 0!");
+        } else if (level > MAX_LEVEL) {
+            throw new IllegalArgumentException("Level is greater than "
+                    + MAX_LEVEL + "!");
+        } else {
+            return new EngineConfig(level, budget, threads, parallelMode,
+                    hashSize, weights, endgameEmpties, openingBook);
+        }
+    }
+
+    /**
+     * Gibt Einstellungen mit einer anderen verfügbaren Zeit pro Zug zurück.
+     * Ist eine Zeit gesetzt, wird das Level nicht beachtet und die Suche
+     * verwendet nur einen Thread.
+     *
+     * @param budget                        Entspricht der Zeit bzw
+     *                                      {@code null}, falls bis zu der
+     *                                      Tiefe des Levels gesucht werden
+     *                                      soll.
+     * @return                              Gibt die neuen Einstellungen
+     *                                      zurück.
+     * @throws IllegalArgumentException     Wird geworfen, falls
+     *                                      {@code budget} negativ ist.
+     */
+    public EngineConfig withBudget(Duration budget) {
+        if (budget == null || !budget.isNegative()) {
+            return new EngineConfig(level, budget, threads, parallelMode,
+                    hashSize, weights, endgameEmpties, openingBook);
+        } else {
+            throw new IllegalArgumentException("Budget is negative!");
+        }
+    }
+
+    /**
+     * Gibt Einstellungen mit einer anderen Anzahl an Threads zurück.
+     *
+     * @param threads                       Entspricht der Anzahl der
+     *                                      Threads.
+     * @return                              Gibt die neuen Einstellungen
+     *                                      zurück.
+     * @throws IllegalArgumentException     Wird geworfen, falls
+     *                                      {@code threads} nicht positiv
+     *                                      ist.
+     */
+    public EngineConfig withThreads(int threads) {
+        if (threads > 0) {
+            return new EngineConfig(level, budget, threads, parallelMode,
+                    hashSize, weights, endgameEmpties, openingBook);
+        } else {
+            throw new IllegalArgumentException("Threads are negative or 0!");
+        }
+    }
+
+    /**
+     * Gibt Einstellungen mit einer anderen Art der parallelen Suche zurück.
+     *
+     * @param parallelMode                  Entspricht der neuen Art.
+     * @return                              Gibt die neuen Einstellungen
+     *                                      zurück.
+     * @throws IllegalArgumentException     Wird geworfen, falls
+     *                                      {@code parallelMode} {@code null}
+     *                                      ist.
+     */
+    public EngineConfig withParallelMode(ParallelMode parallelMode) {
+        if (parallelMode != null) {
+            return new EngineConfig(level, budget, threads, parallelMode,
+                    hashSize, weights, endgameEmpties, openingBook);
+        } else {
+            throw new IllegalArgumentException("Mode is null!");
+        }
+    }
+
+    /**
+     * Gibt Einstellungen mit einer anderen Größe der Transpositionstabelle
+     * zurück.
+     *
+     * @param hashSize                      Entspricht der Größe in Megabyte.
+     * @return                              Gibt die neuen Einstellungen
+     *                                      zurück.
+     * @throws IllegalArgumentException     Wird geworfen, falls
+     *                                      {@code hashSize} nicht positiv
+     *                                      ist.
+     */
+    public EngineConfig withHashSize(int hashSize) {
+        if (hashSize > 0) {
+            return new EngineConfig(level, budget, threads, parallelMode,
+                    hashSize, weights, endgameEmpties, openingBook);
+        } else {
+            throw new IllegalArgumentException("Hash size is negative or 0!");
+        }
+    }
+
+    /**
+     * Gibt Einstellungen mit anderen Gewichten der Bewertung zurück.
+     *
+     * @param weights                       Entspricht den neuen Gewichten.
+     * @return                              Gibt die neuen Einstellungen
+     *                                      zurück.
+     * @throws IllegalArgumentException     Wird geworfen, falls
+     *                                      {@code weights} {@code null} ist.
+     */
+    public EngineConfig withWeights(EvaluationWeights weights) {
+        if (weights != null) {
+            return new EngineConfig(level, budget, threads, parallelMode,
+                    hashSize, weights, endgameEmpties, openingBook);
+        } else {
+            throw new IllegalArgumentException("Weights are null!");
+        }
+    }
+
+    /**
+     * Gibt Einstellungen mit einer anderen Anzahl an leeren Feldern zurück,
+     * ab der das Spiel exakt gelöst wird.
+     *
+     * @param endgameEmpties                Entspricht der Anzahl der leeren
+     *                                      Felder bzw {@code 0}, falls das
+     *                                      Spiel nie gelöst werden soll.
+     * @return                              Gibt die neuen Einstellungen
+     *                                      zurück.
+     * @throws IllegalArgumentException     Wird geworfen, falls
+     *                                      {@code endgameEmpties} negativ
+     *                                      ist.
+     */
+    public EngineConfig withEndgameEmpties(int endgameEmpties) {
+        if (endgameEmpties >= 0) {
+            return new EngineConfig(level, budget, threads, parallelMode,
+                    hashSize, weights, endgameEmpties, openingBook);
+        } else {
+            throw new IllegalArgumentException("Empties are negative!");
+        }
+    }
+
+    /**
+     * Gibt Einstellungen mit einem anderen Eröffnungsbuch zurück.
+     *
+     * @param openingBook       Entspricht dem Eröffnungsbuch bzw
+     *                          {@code null}, falls jeder Zug durchsucht
+     *                          werden soll.
+     * @return                  Gibt die neuen Einstellungen zurück.
+     */
+    public EngineConfig withOpeningBook(OpeningBook openingBook) {
+        return new EngineConfig(level, budget, threads, parallelMode,
+                hashSize, weights, endgameEmpties, openingBook);
+    }
+
+    /**
+     * Gibt die Einstellungen als Text zurück, wobei das Eröffnungsbuch nur
+     * durch seine Anzahl an Einträgen dargestellt wird.
+     *
+     * @return      Entspricht der Darstellung der Einstellungen.
+     */
+    @Override
+    public String toString() {
+        return "EngineConfig[level=" + level + ", budget=" + budget
+                + ", threads=" + threads + ", parallelMode=" + parallelMode
+                + ", hashSize=" + hashSize + ", endgameEmpties="
+                + endgameEmpties + ", openingBook="
+                + (openingBook != null ? openingBook.size() : 0) + "]";
+    }
+}
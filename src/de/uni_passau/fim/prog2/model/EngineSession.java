@@ -0,0 +1,376 @@
+package de.uni_passau.fim.prog2.model;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * {@code EngineSession} bewahrt die Einstellungen und den Zustand der Suche
+ * zwischen den aufeinanderfolgenden Maschinenzügen eines Spiels auf, damit
+ * eine Suche nicht jedes Mal von vorne beginnt. Dazu gehören die
+ * {@code EngineConfig} des Spiels, die {@code TranspositionTable} und die
+ * Threads der Suche sowie die Hauptvariante der vorherigen Suche, also die
+ * Folge der Züge, die beide Spieler laut der Suche als nächstes ziehen.
+ * Jedes Spiel verwendet eine eigene Sitzung, sodass sich gleichzeitige
+ * Spiele mit verschiedenen Einstellungen nicht beeinflussen.
+ *
+ * <p>Folgt das Spiel der Hauptvariante, liegt die neue
+ * Ausgangsspielsituation auf dieser. Der Rest der Hauptvariante wird dann
+ * als Killer-Zug der jeweiligen Tiefe gesetzt, sodass die neue Suche genau
+ * dort mit den besten Zügen beginnt, wo die vorherige aufgehört hat. Die
+ * Einträge der {@code TranspositionTable} dieser Teilbäume liefern
+ * zusätzlich die besten Züge aller schon durchsuchten Spielsituationen.
+ * Scores werden nicht übernommen, da ein Score nur für genau die Tiefe
+ * seines Eintrags gilt.
+ *
+ * <p>Die Methoden sind synchronisiert und jede Suche erhält eine eigene
+ * {@code MoveOrdering}, sodass gleichzeitige Suchen sich nicht gegenseitig
+ * stören. Eine Suche liest die Einstellungen einmal zu Beginn und
+ * verwendet diese bis zu ihrem Ende.
+ *
+ * @version 17.10.26
+ * @author -----
+ * @see     Board#machineMove(EngineSession)
+ */
+public final class EngineSession implements AutoCloseable {
+
+    /**
+     * Entspricht der max Länge der Hauptvariante.
+     */
+    private static final int MAX_PLY = Board.SIZE * Board.SIZE;
+
+    /**
+     * Entspricht den momentanen Einstellungen des Spiels.
+     */
+    private EngineConfig config;
+
+    /**
+     * Entspricht der Transpositionstabelle aller Suchen des Spiels bzw
+     * {@code null}, falls diese noch nicht benötigt wurde.
+     */
+    private TranspositionTable transpositionTable;
+
+    /**
+     * Entspricht den Threads der Suche bzw {@code null}, falls die Suche
+     * nur einen Thread verwendet.
+     */
+    private ForkJoinPool pool;
+
+    /**
+     * Entspricht den Indexen der Felder der Züge der Hauptvariante.
+     */
+    private final int[] principalVariation;
+
+    /**
+     * Entspricht den Hashes der Spielsituationen vor den Zügen der
+     * Hauptvariante.
+     */
+    private final long[] hashes;
+
+    /**
+     * Entspricht der Länge der Hauptvariante.
+     */
+    private int length;
+
+    /**
+     * Entspricht der Anzahl der Halbzüge der Hauptvariante, die bei der
+     * letzten Suche übernommen wurden.
+     */
+    private int reusedPlies;
+
+    /**
+     * Gibt an, ob die Sitzung bereits beendet wurde.
+     */
+    private boolean closed;
+
+    /**
+     * Kreiert eine leere Sitzung mit den standard Einstellungen.
+     *
+     * @see     EngineConfig#DEFAULT
+     */
+    public EngineSession() {
+        this(EngineConfig.DEFAULT);
+    }
+
+    /**
+     * Kreiert eine leere Sitzung mit den angegebenen Einstellungen.
+     *
+     * @param config                        Entspricht den Einstellungen.
+     * @throws IllegalArgumentException     Wird geworfen, falls
+     *                                      {@code config} {@code null} ist.
+     */
+    public EngineSession(EngineConfig config) {
+        this(config, null);
+    }
+
+    /**
+     * Kreiert eine leere Sitzung, die eine bereits bestehende
+     * Transpositionstabelle verwenden kann.
+     *
+     * @param config                        Entspricht den Einstellungen.
+     * @param table                         Entspricht der
+     *                                      Transpositionstabelle bzw
+     *                                      {@code null}, falls eine neue
+     *                                      Tabelle angelegt werden soll.
+     * @throws IllegalArgumentException     Wird geworfen, falls
+     *                                      {@code config} {@code null} ist.
+     */
+    private EngineSession(EngineConfig config, TranspositionTable table) {
+        if (config != null) {
+            this.config = config;
+            transpositionTable = table;
+            pool = createPool(config.getThreads());
+            principalVariation = new int[MAX_PLY];
+            hashes = new long[MAX_PLY];
+        } else {
+            throw new IllegalArgumentException("Config cannot be null!");
+        }
+    }
+
+    /**
+     * Gibt die momentanen Einstellungen des Spiels zurück.
+     *
+     * @return      Entspricht den Einstellungen.
+     */
+    public synchronized EngineConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Ersetzt die Einstellungen des Spiels, wobei laufende Suchen die
+     * vorherigen Einstellungen behalten. Ändert sich die Größe der
+     * Transpositionstabelle oder die Gewichte der Bewertung, wird eine neue
+     * Tabelle angelegt, da die gespeicherten Scores nur für die vorherigen
+     * Gewichte gelten. Ändert sich die Anzahl der Threads, werden neue
+     * Threads angelegt. Die vorherigen Threads nehmen keine neuen Suchen
+     * mehr an und beenden sich, sobald die laufenden Suchen beendet sind.
+     *
+     * @param config                        Entspricht den neuen
+     *                                      Einstellungen.
+     * @throws IllegalArgumentException     Wird geworfen, falls
+     *                                      {@code config} {@code null} ist.
+     * @throws IllegalStateException        Wird geworfen, falls die
+     *                                      Sitzung bereits beendet wurde.
+     */
+    public synchronized void setConfig(EngineConfig config) {
+        checkOpen();
+        if (config != null) {
+            if (config.getHashSize() != this.config.getHashSize()
+                    || !config.getWeights().equals(this.config.getWeights())) {
+                transpositionTable = null;
+                length = 0;
+            }
+            if (config.getThreads() != this.config.getThreads()) {
+                ForkJoinPool previous = pool;
+                pool = createPool(config.getThreads());
+                if (previous != null) {
+                    previous.shutdown();
+                }
+            }
+            this.config = config;
+        } else {
+            throw new IllegalArgumentException("Config cannot be null!");
+        }
+    }
+
+    /**
+     * Gibt die Transpositionstabelle aller Suchen des Spiels zurück, wobei
+     * diese erst beim ersten Aufruf angelegt wird.
+     *
+     * @return                          Entspricht der
+     *                                  Transpositionstabelle.
+     * @throws IllegalStateException    Wird geworfen, falls die Sitzung
+     *                                  bereits beendet wurde.
+     */
+    public synchronized TranspositionTable getTranspositionTable() {
+        checkOpen();
+        return table();
+    }
+
+    /**
+     * Gibt die Transpositionstabelle zurück und legt diese beim ersten
+     * Aufruf an, ohne zu prüfen, ob die Sitzung beendet wurde.
+     *
+     * @return      Entspricht der Transpositionstabelle.
+     */
+    private TranspositionTable table() {
+        if (transpositionTable == null) {
+            transpositionTable = new TranspositionTable(config.getHashSize());
+        }
+        return transpositionTable;
+    }
+
+    /**
+     * Gibt zurück, wie viele Halbzüge der Hauptvariante bei der letzten
+     * Suche bereits gespielt waren und somit übernommen wurden.
+     *
+     * @return      Entspricht der Anzahl der Halbzüge bzw {@code 0}, falls
+     *              das Spiel von der Hauptvariante abgewichen ist.
+     */
+    public synchronized int getReusedPlies() {
+        return reusedPlies;
+    }
+
+    /**
+     * Verwirft die Hauptvariante, etwa da ein neues Spiel beginnt. Die
+     * Einträge der Transpositionstabelle bleiben erhalten, da diese nur zu
+     * ihrer Spielsituation gehören.
+     */
+    public synchronized void reset() {
+        length = 0;
+        reusedPlies = 0;
+    }
+
+    /**
+     * Beendet die Sitzung und deren Threads, sobald das Spiel nicht mehr
+     * benötigt wird. Laufende Suchen werden noch beendet, neue Suchen mit
+     * der Sitzung werfen danach eine {@code IllegalStateException}. Ein
+     * erneuter Aufruf hat keine Wirkung.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
+    }
+
+    /**
+     * Gibt die Threads der Suche zurück.
+     *
+     * @return                          Entspricht den Threads bzw
+     *                                  {@code null}, falls nur ein Thread
+     *                                  verwendet wird.
+     * @throws IllegalStateException    Wird geworfen, falls die Sitzung
+     *                                  bereits beendet wurde.
+     */
+    synchronized ForkJoinPool getPool() {
+        checkOpen();
+        return pool;
+    }
+
+    /**
+     * Kreiert eine Sitzung, die die Einstellungen und die
+     * Transpositionstabelle dieser Sitzung, aber eine eigene Hauptvariante
+     * verwendet und nur mit einem Thread sucht. Dadurch landen die Einträge
+     * von Suchen im Hintergrund in der Tabelle des Spiels, ohne die
+     * Hauptvariante der Züge des Spiels zu verändern.
+     *
+     * @return                          Gibt die neue Sitzung zurück.
+     * @throws IllegalStateException    Wird geworfen, falls die Sitzung
+     *                                  bereits beendet wurde.
+     */
+    synchronized EngineSession fork() {
+        checkOpen();
+        return new EngineSession(config.withThreads(1),
+                getTranspositionTable());
+    }
+
+    /**
+     * Kreiert die Sortierung für eine Suche der Maschine. Liegt die
+     * Ausgangsspielsituation auf der Hauptvariante, werden deren restliche
+     * Züge als Killer-Züge ihrer Tiefe gesetzt.
+     *
+     * @param root                      Entspricht der
+     *                                  Ausgangsspielsituation.
+     * @return                          Gibt die neue Sortierung zurück.
+     * @throws IllegalStateException    Wird geworfen, falls die Sitzung
+     *                                  bereits beendet wurde.
+     */
+    synchronized MoveOrdering createMoveOrdering(Position root) {
+        assert root != null : "Root cannot be undefined!";
+
+        checkOpen();
+        MoveOrdering moveOrdering = new MoveOrdering();
+        reusedPlies = 0;
+        for (int ply = 1; ply < length && reusedPlies == 0; ply++) {
+            if (hashes[ply] == root.getHash()) {
+                reusedPlies = ply;
+            }
+        }
+        if (reusedPlies > 0) {
+            for (int ply = reusedPlies; ply < length; ply++) {
+                moveOrdering.addKiller(principalVariation[ply],
+                        ply - reusedPlies);
+            }
+        }
+        return moveOrdering;
+    }
+
+    /**
+     * Liest die Hauptvariante einer beendeten Suche aus der
+     * Transpositionstabelle, indem ab der Ausgangsspielsituation den
+     * gespeicherten Zügen gefolgt wird, solange deren Einträge die erwartete
+     * Tiefe haben.
+     *
+     * @param root          Entspricht der Ausgangsspielsituation, in der die
+     *                      Maschine an der Reihe ist.
+     * @param depth         Entspricht der Tiefe der Suche.
+     */
+    synchronized void recordPrincipalVariation(EngineBoard root, int depth) {
+        assert root != null : "Root cannot be undefined!";
+        assert root.next() == Player.MACHINE : "Machine has to be next!";
+
+        TranspositionTable table = table();
+        SearchBoard board = new SearchBoard(root);
+        TranspositionTable.Entry entry = new TranspositionTable.Entry();
+        length = 0;
+        while (length < depth && !board.gameOver()
+                && table.probe(board.getHash(), entry)
+                && entry.depth == depth - length
+                && entry.move < TranspositionTable.NO_MOVE
+                && (board.calculateLegalMoves(board.next())
+                    & (1L << entry.move)) != 0) {
+            hashes[length] = board.getHash();
+            principalVariation[length] = entry.move;
+            length++;
+            board.makeMove(entry.move);
+        }
+    }
+
+    /**
+     * Übernimmt die Hauptvariante einer anderen Sitzung, deren Zug das
+     * Spiel übernimmt, etwa eine vorausberechnete Antwort der Maschine.
+     * Dadurch beginnt die nächste Suche des Spiels so, als hätte das Spiel
+     * diese Antwort selbst gesucht.
+     *
+     * @param other         Entspricht der Sitzung, die die Antwort gesucht
+     *                      hat.
+     */
+    synchronized void adoptPrincipalVariation(EngineSession other) {
+        assert other != null && other != this : "Session is illegal!";
+
+        synchronized (other) {
+            System.arraycopy(other.principalVariation, 0, principalVariation,
+                    0, other.length);
+            System.arraycopy(other.hashes, 0, hashes, 0, other.length);
+            length = other.length;
+        }
+    }
+
+    /**
+     * Prüft, ob die Sitzung noch verwendet werden kann.
+     *
+     * @throws IllegalStateException    Wird geworfen, falls die Sitzung
+     *                                  bereits beendet wurde.
+     */
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Session is closed!");
+        }
+    }
+
+    /**
+     * Kreiert die Threads für eine Anzahl an Threads.
+     *
+     * @param threads       Entspricht der Anzahl der Threads.
+     * @return              Gibt die Threads zurück bzw {@code null}, falls
+     *                      nur ein Thread verwendet wird.
+     */
+    private static ForkJoinPool createPool(int threads) {
+        if (threads > 1) {
+            return new ForkJoinPool(threads);
+        } else {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package de.uni_passau.fim.prog2.model;
+
+/**
+ * {@code EvaluationWeights} enthält die Gewichte, mit denen {@code Score}
+ * die Felder, die Mobilität und das Potenzial beider Spieler bewertet. Die
+ * Gewichte sind unveränderlich, sodass gleichzeitige Suchen verschiedener
+ * Spiele mit verschiedenen Gewichten bewerten können.
+ *
+ * @version 17.10.26
+ * @author -----
+ * @see     Score
+ */
+public final class EvaluationWeights {
+
+    /**
+     * Entspricht den Gewichten, mit denen die Maschine standardmäßig
+     * bewertet.
+     */
+    public static final EvaluationWeights DEFAULT
+            = new EvaluationWeights(1.0, 1.5, 3.0, 4.0, 2.5, 3.0);
+
+    /**
+     * Entspricht dem Gewicht der Scores der Felder des bewertenden Spielers.
+     */
+    private final double field;
+
+    /**
+     * Entspricht dem Gewicht der Scores der Felder des Gegners.
+     */
+    private final double enemyField;
+
+    /**
+     * Entspricht dem Gewicht der möglichen Züge des bewertenden Spielers.
+     */
+    private final double mobility;
+
+    /**
+     * Entspricht dem Gewicht der möglichen Züge des Gegners.
+     */
+    private final double enemyMobility;
+
+    /**
+     * Entspricht dem Gewicht der leeren Nachbarfelder des Gegners, also des
+     * Potenzials des bewertenden Spielers.
+     */
+    private final double potential;
+
+    /**
+     * Entspricht dem Gewicht der leeren Nachbarfelder des bewertenden
+     * Spielers, also des Potenzials des Gegners.
+     */
+    private final double enemyPotential;
+
+    /**
+     * Kreiert Gewichte für die Bewertung, wobei die Gewichte des Gegners
+     * abgezogen werden.
+     *
+     * @param field                         Entspricht dem Gewicht der
+     *                                      eigenen Felder.
+     * @param enemyField                    Entspricht dem Gewicht der
+     *                                      Felder des Gegners.
+     * @param mobility                      Entspricht dem Gewicht der
+     *                                      eigenen möglichen Züge.
+     * @param enemyMobility                 Entspricht dem Gewicht der
+     *                                      möglichen Züge des Gegners.
+     * @param potential                     Entspricht dem Gewicht des
+     *                                      eigenen Potenzials.
+     * @param enemyPotential                Entspricht dem Gewicht des
+     *                                      Potenzials des Gegners.
+     * @throws IllegalArgumentException     Wird geworfen, falls ein Gewicht
+     *                                      negativ oder keine endliche Zahl
+     *                                      ist.
+     */
+    public EvaluationWeights(double field, double enemyField, double mobility,
+                             double enemyMobility, double potential,
+                             double enemyPotential) {
+        if (isLegal(field) && isLegal(enemyField) && isLegal(mobility)
+                && isLegal(enemyMobility) && isLegal(potential)
+                && isLegal(enemyPotential)) {
+            this.field = field;
+            this.enemyField = enemyField;
+            this.mobility = mobility;
+            this.enemyMobility = enemyMobility;
+            this.potential = potential;
+            this.enemyPotential = enemyPotential;
+        } else {
+            throw new IllegalArgumentException("Weight is negative or not"
+                    + " finite!");
+        }
+    }
+
+    /**
+     * Gibt das Gewicht der Scores der Felder des bewertenden Spielers
+     * zurück.
+     *
+     * @return      Entspricht dem Gewicht.
+     */
+    public double getField() {
+        return field;
+    }
+
+    /**
+     * Gibt das Gewicht der Scores der Felder des Gegners zurück.
+     *
+     * @return      Entspricht dem Gewicht.
+     */
+    public double getEnemyField() {
+        return enemyField;
+    }
+
+    /**
+     * Gibt das Gewicht der möglichen Züge des bewertenden Spielers zurück.
+     *
+     * @return      Entspricht dem Gewicht.
+     */
+    public double getMobility() {
+        return mobility;
+    }
+
+    /**
+     * Gibt das Gewicht der möglichen Züge des Gegners zurück.
+     *
+     * @return      Entspricht dem Gewicht.
+     */
+    public double getEnemyMobility() {
+        return enemyMobility;
+    }
+
+    /**
+     * Gibt das Gewicht des Potenzials des bewertenden Spielers zurück.
+     *
+     * @return      Entspricht dem Gewicht.
+     */
+    public double getPotential() {
+        return potential;
+    }
+
+    /**
+     * Gibt das Gewicht des Potenzials des Gegners zurück.
+     *
+     * @return      Entspricht dem Gewicht.
+     */
+    public double getEnemyPotential() {
+        return enemyPotential;
+    }
+
+    /**
+     * Prüft, ob zwei Gewichte genau gleich bewerten.
+     *
+     * @param other     Entspricht dem zu vergleichenden Objekt.
+     * @return          Gibt {@code true} zurück, falls alle Gewichte gleich
+     *                  sind, andernfalls {@code false}.
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        } else if (!(other instanceof EvaluationWeights)) {
+            return false;
+        }
+        EvaluationWeights weights = (EvaluationWeights) other;
+        return Double.compare(field, weights.field) == 0
+                && Double.compare(enemyField, weights.enemyField) == 0
+                && Double.compare(mobility, weights.mobility) == 0
+                && Double.compare(enemyMobility, weights.enemyMobility) == 0
+                && Double.compare(potential, weights.potential) == 0
+                && Double.compare(enemyPotential,
+                                  weights.enemyPotential) == 0;
+    }
+
+    /**
+     * Berechnet den Hashcode aus allen Gewichten.
+     *
+     * @return      Entspricht dem Hashcode.
+     */
+    @Override
+    public int hashCode() {
+        long bits = Double.doubleToLongBits(field);
+        bits = 31 * bits + Double.doubleToLongBits(enemyField);
+        bits = 31 * bits + Double.doubleToLongBits(mobility);
+        bits = 31 * bits + Double.doubleToLongBits(enemyMobility);
+        bits = 31 * bits + Double.doubleToLongBits(potential);
+        bits = 31 * bits + Double.doubleToLongBits(enemyPotential);
+        return Long.hashCode(bits);
+    }
+
+    /**
+     * Prüft, ob ein Gewicht nicht negativ und eine endliche Zahl ist.
+     *
+     * @param weight        Entspricht dem Gewicht.
+     * @return              Gibt {@code true} zurück, falls das Gewicht
+     *                      erlaubt ist.
+     */
+    private static boolean isLegal(double weight) {
+        return weight >= 0 && !Double.isInfinite(weight);
+    }
+}
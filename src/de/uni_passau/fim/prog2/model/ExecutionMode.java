@@ -0,0 +1,73 @@
+package de.uni_passau.fim.prog2.model;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Stellt die verfügbaren Arten dar, auf welchen Threads
+ * {@code GameSessionManager} die Aufträge der Spiele ausführt. Die Suchen
+ * selbst laufen bei beiden Arten auf der festen Anzahl an Threads der
+ * Suche.
+ *
+ * @version 17.10.26
+ * @author -----
+ * @see     GameSessionManager
+ */
+public enum ExecutionMode {
+
+    /**
+     * Die Aufträge der Spiele laufen direkt auf den Threads der Suche,
+     * sodass ein Auftrag, der auf etwas anderes als eine Suche wartet, einen
+     * Thread der Suche blockiert.
+     */
+    POOLED {
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        ExecutorService createLoopExecutor(ThreadPoolExecutor searchPool) {
+            return searchPool;
+        }
+    },
+
+    /**
+     * Jeder Auftrag eines Spiels läuft auf einem eigenen virtuellen Thread,
+     * der nur für die Suchen an die Threads der Suche abgibt und während
+     * diesen ohne eigenen Thread des Betriebssystems wartet. Virtuelle
+     * Threads gibt es erst ab Java 21, weshalb diese über Reflection
+     * erzeugt werden, damit der Rest auch mit älteren Versionen läuft.
+     */
+    VIRTUAL {
+        /**
+         * {@inheritDoc}
+         *
+         * @throws IllegalStateException    Wird geworfen, falls die JVM
+         *                                  keine virtuellen Threads
+         *                                  unterstützt.
+         */
+        @Override
+        ExecutorService createLoopExecutor(ThreadPoolExecutor searchPool) {
+            try {
+                return (ExecutorService) Executors.class.getMethod(
+                        "newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (NoSuchMethodException | IllegalAccessException
+                    | InvocationTargetException e) {
+                throw new IllegalStateException("Virtual threads require"
+                        + " Java 21!");
+            }
+        }
+    };
+
+    /**
+     * Kreiert die Threads, auf denen die Aufträge der Spiele ausgeführt
+     * werden.
+     *
+     * @param searchPool        Entspricht den Threads der Suche.
+     * @return                  Gibt die Threads der Aufträge zurück, wobei
+     *                          dies {@code searchPool} sein kann.
+     */
+    abstract ExecutorService createLoopExecutor(
+            ThreadPoolExecutor searchPool);
+}
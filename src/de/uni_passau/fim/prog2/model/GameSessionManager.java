@@ -0,0 +1,709 @@
+package de.uni_passau.fim.prog2.model;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Stack;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@code GameSessionManager} verwaltet viele gleichzeitige Spiele ohne Gui,
+ * wobei jedes Spiel wie bei {@code DisplayData} aus allen Spielzügen seit
+ * Spielstart besteht. Die Maschinenzüge aller Spiele werden von einer festen
+ * Anzahl an Threads berechnet, sodass die Anzahl der Threads nicht mit der
+ * Anzahl der Spiele wächst.
+ *
+ * <p>Jedes Spiel besitzt eine eigene Warteschlange seiner Aufträge, die der
+ * Reihe nach ausgeführt werden, sodass pro Spiel höchstens eine Suche
+ * gleichzeitig läuft. Ein Spiel mit Aufträgen belegt höchstens einen Platz
+ * in der Warteschlange der Threads und gibt diesen nach jedem Auftrag
+ * wieder ab, damit ein Spiel mit vielen Aufträgen die anderen Spiele nicht
+ * blockiert.
+ *
+ * <p>Neue Spiele und Aufträge werden nur angenommen, solange die max Anzahl
+ * an Spielen bzw an wartenden Aufträgen nicht erreicht ist. Andernfalls wird
+ * eine {@code IllegalStateException} geworfen, sodass der Aufrufer die
+ * Anfrage ablehnen kann, statt dass die Wartezeiten aller Spiele steigen.
+ *
+ * <p>Jedes Spiel sucht mit nur einem Thread und verwendet eine eigene
+ * Hauptvariante, aber die gemeinsame Transpositionstabelle aller Spiele,
+ * sodass auch der Speicher nicht mit der Anzahl der Spiele wächst. Nur ein
+ * Spiel, dessen Einstellungen eine andere Größe der Tabelle oder andere
+ * Gewichte der Bewertung haben, legt eine eigene Tabelle an.
+ *
+ * <p>Mit {@link ExecutionMode#VIRTUAL} läuft jeder Auftrag auf einem
+ * virtuellen Thread und gibt nur die Suchen an die Threads der Suche ab.
+ * Ein Spiel, das auf den Zug des Menschen wartet, belegt bei beiden Arten
+ * keinen Thread.
+ *
+ * @version 17.10.26
+ * @author -----
+ * @see     EngineSession#fork()
+ */
+public final class GameSessionManager implements AutoCloseable {
+
+    /**
+     * Entspricht der Zeit in Sekunden, die beim Beenden auf laufende Suchen
+     * gewartet wird.
+     */
+    private static final int SHUTDOWN_SECONDS = 5;
+
+    /**
+     * Entspricht der Implementierung des Spielbretts aller Spiele.
+     */
+    private final BoardType boardType;
+
+    /**
+     * Entspricht der Sitzung, von der die Sitzungen aller Spiele abgeleitet
+     * werden und die somit die gemeinsame Transpositionstabelle enthält.
+     */
+    private final EngineSession engine;
+
+    /**
+     * Entspricht den Threads, die die Suchen aller Spiele ausführen.
+     */
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Entspricht den Threads, die die Aufträge aller Spiele ausführen,
+     * wobei dies bei {@link ExecutionMode#POOLED} {@code executor} ist.
+     */
+    private final ExecutorService loopExecutor;
+
+    /**
+     * Entspricht allen momentanen Spielen pro Id.
+     */
+    private final Map<Long, GameSession> sessions;
+
+    /**
+     * Entspricht der Id des nächsten Spiels.
+     */
+    private final AtomicLong nextId;
+
+    /**
+     * Entspricht der max Anzahl an gleichzeitigen Spielen.
+     */
+    private final int maxSessions;
+
+    /**
+     * Entspricht der max Anzahl an wartenden Aufträgen aller Spiele, wobei
+     * laufende Aufträge bereits durch die Anzahl der Threads begrenzt sind.
+     */
+    private final int maxPendingMoves;
+
+    /**
+     * Entspricht der Anzahl der momentanen Spiele, wobei diese beim
+     * Kreieren reserviert wird.
+     */
+    private final AtomicInteger numberOfSessions;
+
+    /**
+     * Entspricht der Anzahl der Aufträge aller Spiele, die noch nicht
+     * begonnen wurden.
+     */
+    private final AtomicInteger pendingMoves;
+
+    /**
+     * Entspricht {@code true}, falls die Verwaltung beendet wurde.
+     */
+    private volatile boolean closed;
+
+    /**
+     * Kreiert die Verwaltung der Spiele.
+     *
+     * @param boardType                     Entspricht der Implementierung
+     *                                      des Spielbretts.
+     * @param config                        Entspricht den Einstellungen, mit
+     *                                      denen neue Spiele beginnen, wobei
+     *                                      die Anzahl der Threads ignoriert
+     *                                      wird.
+     * @param searchThreads                 Entspricht der max Anzahl an
+     *                                      gleichzeitigen Suchen und somit
+     *                                      der Anzahl der Threads.
+     * @param maxSessions                   Entspricht der max Anzahl an
+     *                                      gleichzeitigen Spielen.
+     * @param maxPendingMoves               Entspricht der max Anzahl an
+     *                                      wartenden Aufträgen aller
+     *                                      Spiele.
+     * @throws IllegalArgumentException     Wird geworfen, falls
+     *                                      {@code boardType} oder
+     *                                      {@code config} {@code null} oder
+     *                                      eine Anzahl nicht positiv ist.
+     * @see                                 ExecutionMode#POOLED
+     */
+    public GameSessionManager(BoardType boardType, EngineConfig config,
+                              int searchThreads, int maxSessions,
+                              int maxPendingMoves) {
+        this(boardType, config, searchThreads, maxSessions, maxPendingMoves,
+                ExecutionMode.POOLED);
+    }
+
+    /**
+     * Kreiert die Verwaltung der Spiele, wobei gewählt werden kann, auf
+     * welchen Threads die Aufträge der Spiele laufen.
+     *
+     * @param boardType                     Entspricht der Implementierung
+     *                                      des Spielbretts.
+     * @param config                        Entspricht den Einstellungen, mit
+     *                                      denen neue Spiele beginnen, wobei
+     *                                      die Anzahl der Threads ignoriert
+     *                                      wird.
+     * @param searchThreads                 Entspricht der max Anzahl an
+     *                                      gleichzeitigen Suchen und somit
+     *                                      der Anzahl der Threads der Suche.
+     * @param maxSessions                   Entspricht der max Anzahl an
+     *                                      gleichzeitigen Spielen.
+     * @param maxPendingMoves               Entspricht der max Anzahl an
+     *                                      wartenden Aufträgen aller
+     *                                      Spiele.
+     * @param mode                          Entspricht der Art der Threads
+     *                                      der Aufträge.
+     * @throws IllegalArgumentException     Wird geworfen, falls
+     *                                      {@code boardType}, {@code config}
+     *                                      oder {@code mode} {@code null}
+     *                                      oder eine Anzahl nicht positiv
+     *                                      ist.
+     * @throws IllegalStateException        Wird geworfen, falls die JVM die
+     *                                      Art nicht unterstützt.
+     */
+    public GameSessionManager(BoardType boardType, EngineConfig config,
+                              int searchThreads, int maxSessions,
+                              int maxPendingMoves, ExecutionMode mode) {
+        if (boardType == null || config == null || mode == null) {
+            throw new IllegalArgumentException("BoardType, config or mode"
+                    + " cannot be null!");
+        } else if (searchThreads <= 0 || maxSessions <= 0
+                || maxPendingMoves <= 0) {
+            throw new IllegalArgumentException("Limit is negative or 0!");
+        }
+
+        this.boardType = boardType;
+        engine = new EngineSession(config.withThreads(1));
+        executor = new ThreadPoolExecutor(searchThreads, searchThreads, 0,
+                TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>(),
+                new SearchThreadFactory());
+        loopExecutor = mode.createLoopExecutor(executor);
+        sessions = new ConcurrentHashMap<>();
+        nextId = new AtomicLong();
+        this.maxSessions = maxSessions;
+        this.maxPendingMoves = maxPendingMoves;
+        numberOfSessions = new AtomicInteger();
+        pendingMoves = new AtomicInteger();
+    }
+
+    /**
+     * Kreiert ein neues Spiel mit den Einstellungen der Verwaltung. Ist die
+     * Maschine der Eröffner, wird deren erster Zug sofort beauftragt.
+     *
+     * @param firstPlayer                   Entspricht dem Eröffner.
+     * @return                              Gibt die Id des Spiels zurück.
+     * @throws IllegalArgumentException     Wird geworfen, falls
+     *                                      {@code firstPlayer} {@code null}
+     *                                      ist.
+     * @throws IllegalStateException        Wird geworfen, falls die max
+     *                                      Anzahl an Spielen bzw an
+     *                                      wartenden Aufträgen erreicht ist.
+     */
+    public long createSession(Player firstPlayer) {
+        return createSession(firstPlayer, engine.getConfig());
+    }
+
+    /**
+     * Kreiert ein neues Spiel mit eigenen Einstellungen, wobei das Spiel
+     * immer mit nur einem Thread sucht. Ist die Maschine der Eröffner, wird
+     * deren erster Zug sofort beauftragt.
+     *
+     * @param firstPlayer                   Entspricht dem Eröffner.
+     * @param config                        Entspricht den Einstellungen des
+     *                                      Spiels.
+     * @return                              Gibt die Id des Spiels zurück.
+     * @throws IllegalArgumentException     Wird geworfen, falls
+     *                                      {@code firstPlayer} oder
+     *                                      {@code config} {@code null} ist.
+     * @throws IllegalStateException        Wird geworfen, falls die max
+     *                                      Anzahl an Spielen bzw an
+     *                                      wartenden Aufträgen erreicht ist.
+     */
+    public long createSession(Player firstPlayer, EngineConfig config) {
+        if (firstPlayer == null || config == null) {
+            throw new IllegalArgumentException("FirstPlayer or config cannot"
+                    + " be null!");
+        } else if (closed) {
+            throw new IllegalStateException("Manager is closed!");
+        } else if (numberOfSessions.incrementAndGet() > maxSessions) {
+            numberOfSessions.decrementAndGet();
+            throw new IllegalStateException("Too many sessions!");
+        }
+
+        EngineSession session = engine.fork();
+        session.setConfig(config.withThreads(1));
+        final GameSession game = new GameSession(nextId.getAndIncrement(),
+                boardType.createBoard(firstPlayer, session));
+        sessions.put(game.id, game);
+        if (firstPlayer == Player.MACHINE) {
+            try {
+                game.submit(new Callable<Board>() {
+                    @Override
+                    public Board call() {
+                        return game.playMachineMoves();
+                    }
+                });
+            } catch (IllegalStateException e) {
+                remove(game.id);
+                throw e;
+            }
+        }
+        return game.id;
+    }
+
+    /**
+     * Beendet ein Spiel, wobei dessen wartende Aufträge abgebrochen werden
+     * und dessen laufende Suche unterbrochen wird.
+     *
+     * @param id                            Entspricht der Id des Spiels.
+     * @throws IllegalArgumentException     Wird geworfen, falls kein Spiel
+     *                                      mit der Id existiert.
+     */
+    public void closeSession(long id) {
+        if (!remove(id)) {
+            throw new IllegalArgumentException("Session does not exist!");
+        }
+    }
+
+    /**
+     * Beauftragt einen Zug des Menschen und die darauffolgenden Züge der
+     * Maschine, bis der Mensch wieder an der Reihe ist oder das Spiel vorbei
+     * ist. Der Auftrag wird nach allen vorherigen Aufträgen des Spiels
+     * ausgeführt.
+     *
+     * @param id                            Entspricht der Id des Spiels.
+     * @param row                           Entspricht der Zeile des Zuges.
+     * @param col                           Entspricht der Spalte des Zuges.
+     * @return                              Gibt die Spielsituation nach den
+     *                                      Zügen der Maschine zurück, sobald
+     *                                      diese berechnet wurden, bzw
+     *                                      {@code null}, falls der Zug nicht
+     *                                      legal ist.
+     * @throws IllegalArgumentException     Wird geworfen, falls kein Spiel
+     *                                      mit der Id existiert oder
+     *                                      {@code row} oder {@code col}
+     *                                      außerhalb des Spielbretts liegt.
+     * @throws IllegalStateException        Wird geworfen, falls die max
+     *                                      Anzahl an wartenden Aufträgen
+     *                                      erreicht ist.
+     * @see                                 Board#move(int, int)
+     */
+    public Future<Board> move(long id, final int row, final int col) {
+        if (row <= 0 || col <= 0 || row > Board.SIZE || col > Board.SIZE) {
+            throw new IllegalArgumentException("Row or column is not on the"
+                    + " board!");
+        }
+
+        final GameSession game = getSession(id);
+        return game.submit(new Callable<Board>() {
+            @Override
+            public Board call() {
+                Board board = game.getBoard().move(row, col);
+                if (board != null) {
+                    game.push(board);
+                    return game.playMachineMoves();
+                }
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Beauftragt das Zurücksetzen des letzten Zuges des Menschen, wobei
+     * dieser wie bei {@link DisplayData#undo()} nur ausgeführt wird, falls
+     * der Mensch bereits gezogen hat.
+     *
+     * @param id                            Entspricht der Id des Spiels.
+     * @return                              Gibt die Spielsituation nach dem
+     *                                      Zurücksetzen zurück bzw
+     *                                      {@code null}, falls kein Zug
+     *                                      zurückgesetzt werden konnte.
+     * @throws IllegalArgumentException     Wird geworfen, falls kein Spiel
+     *                                      mit der Id existiert.
+     * @throws IllegalStateException        Wird geworfen, falls die max
+     *                                      Anzahl an wartenden Aufträgen
+     *                                      erreicht ist.
+     */
+    public Future<Board> undo(long id) {
+        final GameSession game = getSession(id);
+        return game.submit(new Callable<Board>() {
+            @Override
+            public Board call() {
+                return game.undo();
+            }
+        });
+    }
+
+    /**
+     * Gibt die momentane Spielsituation eines Spiels zurück, wobei noch
+     * wartende Aufträge nicht beachtet werden.
+     *
+     * @param id                            Entspricht der Id des Spiels.
+     * @return                              Entspricht der Spielsituation.
+     * @throws IllegalArgumentException     Wird geworfen, falls kein Spiel
+     *                                      mit der Id existiert.
+     */
+    public Board getBoard(long id) {
+        return getSession(id).getBoard();
+    }
+
+    /**
+     * Gibt die Anzahl der momentanen Spiele zurück.
+     *
+     * @return      Entspricht der Anzahl der Spiele.
+     */
+    public int getNumberOfSessions() {
+        return numberOfSessions.get();
+    }
+
+    /**
+     * Gibt die Anzahl der Aufträge aller Spiele zurück, die noch nicht
+     * begonnen wurden.
+     *
+     * @return      Entspricht der Anzahl der Aufträge.
+     */
+    public int getPendingMoves() {
+        return pendingMoves.get();
+    }
+
+    /**
+     * Gibt die Anzahl der Threads zurück, die momentan einen Auftrag
+     * ausführen.
+     *
+     * @return      Entspricht der Anzahl der laufenden Suchen.
+     */
+    public int getActiveSearches() {
+        return executor.getActiveCount();
+    }
+
+    /**
+     * Beendet alle Spiele und die Threads, wobei laufende Suchen
+     * unterbrochen werden.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (Long id : sessions.keySet()) {
+            remove(id);
+        }
+        loopExecutor.shutdown();
+        executor.shutdown();
+        try {
+            loopExecutor.awaitTermination(SHUTDOWN_SECONDS, TimeUnit.SECONDS);
+            executor.awaitTermination(SHUTDOWN_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        loopExecutor.shutdownNow();
+        executor.shutdownNow();
+        engine.close();
+    }
+
+    /**
+     * Entfernt ein Spiel und bricht dessen Aufträge ab.
+     *
+     * @param id        Entspricht der Id des Spiels.
+     * @return          Gibt {@code true} zurück, falls das Spiel existiert
+     *                  hat, andernfalls {@code false}.
+     */
+    private boolean remove(long id) {
+        GameSession game = sessions.remove(id);
+        if (game != null) {
+            numberOfSessions.decrementAndGet();
+            game.cancel();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gibt das Spiel mit einer Id zurück.
+     *
+     * @param id                            Entspricht der Id des Spiels.
+     * @return                              Entspricht dem Spiel.
+     * @throws IllegalArgumentException     Wird geworfen, falls kein Spiel
+     *                                      mit der Id existiert.
+     */
+    private GameSession getSession(long id) {
+        GameSession game = sessions.get(id);
+        if (game != null) {
+            return game;
+        } else {
+            throw new IllegalArgumentException("Session does not exist!");
+        }
+    }
+
+    /**
+     * Entspricht einem Spiel mit seinen Spielzügen und der Warteschlange
+     * seiner Aufträge. Das Spiel ist selbst der Auftrag an die Threads, der
+     * genau einen wartenden Auftrag des Spiels ausführt und sich danach
+     * erneut einreiht, falls weitere Aufträge warten.
+     */
+    private final class GameSession implements Runnable {
+
+        /**
+         * Entspricht der Id des Spiels.
+         */
+        private final long id;
+
+        /**
+         * Entspricht allen Spielzügen seit Spielstart, die nur von dem
+         * Thread verändert werden, der gerade einen Auftrag des Spiels
+         * ausführt.
+         */
+        private final Stack<Board> boards;
+
+        /**
+         * Entspricht den wartenden Aufträgen des Spiels.
+         */
+        private final Queue<FutureTask<Board>> queue;
+
+        /**
+         * Entspricht dem momentan ausgeführten Auftrag bzw {@code null},
+         * falls kein Auftrag ausgeführt wird.
+         */
+        private FutureTask<Board> running;
+
+        /**
+         * Entspricht {@code true}, falls das Spiel einen Platz in der
+         * Warteschlange der Threads belegt oder gerade ausgeführt wird.
+         */
+        private boolean scheduled;
+
+        /**
+         * Entspricht {@code true}, falls das Spiel beendet wurde.
+         */
+        private boolean closed;
+
+        /**
+         * Kreiert ein Spiel mit einer Spielsituation bei Spielstart.
+         *
+         * @param id            Entspricht der Id des Spiels.
+         * @param board         Entspricht der Spielsituation bei
+         *                      Spielstart.
+         */
+        GameSession(long id, Board board) {
+            this.id = id;
+            boards = new Stack<>();
+            boards.push(board);
+            queue = new ArrayDeque<>();
+        }
+
+        /**
+         * Reiht einen Auftrag in die Warteschlange des Spiels ein und
+         * belegt einen Platz in der Warteschlange der Threads, falls das
+         * Spiel noch keinen belegt.
+         *
+         * @param callable                  Entspricht dem Auftrag.
+         * @return                          Gibt das Ergebnis des Auftrags
+         *                                  zurück.
+         * @throws IllegalStateException    Wird geworfen, falls die max
+         *                                  Anzahl an wartenden Aufträgen
+         *                                  erreicht ist oder das Spiel
+         *                                  beendet wurde.
+         */
+        Future<Board> submit(Callable<Board> callable) {
+            if (pendingMoves.incrementAndGet() > maxPendingMoves) {
+                pendingMoves.decrementAndGet();
+                throw new IllegalStateException("Too many pending moves!");
+            }
+
+            FutureTask<Board> task = new FutureTask<>(callable);
+            boolean schedule;
+            synchronized (this) {
+                if (closed) {
+                    pendingMoves.decrementAndGet();
+                    throw new IllegalStateException("Session is closed!");
+                }
+                queue.add(task);
+                schedule = !scheduled;
+                scheduled = true;
+            }
+            if (schedule) {
+                loopExecutor.execute(this);
+            }
+            return task;
+        }
+
+        /**
+         * Führt den ältesten wartenden Auftrag aus und reiht das Spiel
+         * erneut ein, falls danach noch Aufträge warten. Der Auftrag zählt
+         * bereits vor seinem Beginn nicht mehr als wartend, damit nach
+         * seinem Ende sofort ein neuer Auftrag angenommen wird.
+         */
+        @Override
+        public void run() {
+            FutureTask<Board> task;
+            synchronized (this) {
+                task = queue.poll();
+                running = task;
+            }
+            pendingMoves.decrementAndGet();
+
+            task.run();
+
+            boolean schedule;
+            synchronized (this) {
+                running = null;
+                schedule = !queue.isEmpty() && !loopExecutor.isShutdown();
+                scheduled = schedule;
+            }
+            if (schedule) {
+                loopExecutor.execute(this);
+            }
+        }
+
+        /**
+         * Bricht alle wartenden Aufträge ab und unterbricht den laufenden
+         * Auftrag. Die abgebrochenen Aufträge bleiben in der Warteschlange,
+         * damit diese wie jeder andere Auftrag gezählt werden.
+         */
+        synchronized void cancel() {
+            closed = true;
+            for (FutureTask<Board> task : queue) {
+                task.cancel(false);
+            }
+            if (running != null) {
+                running.cancel(true);
+            }
+        }
+
+        /**
+         * Gibt die momentane Spielsituation zurück.
+         *
+         * @return      Entspricht der Spielsituation.
+         */
+        synchronized Board getBoard() {
+            return boards.peek();
+        }
+
+        /**
+         * Legt eine neue Spielsituation auf die Spielzüge.
+         *
+         * @param board     Entspricht der Spielsituation.
+         */
+        synchronized void push(Board board) {
+            boards.push(board);
+        }
+
+        /**
+         * Führt Maschinenzüge aus, bis der Mensch an der Reihe oder das
+         * Spiel vorbei ist.
+         *
+         * @return      Gibt die Spielsituation nach den Maschinenzügen
+         *              zurück.
+         */
+        Board playMachineMoves() {
+            Board board = getBoard();
+            while (!board.gameOver() && board.next() == Player.MACHINE) {
+                board = search(board);
+                push(board);
+            }
+            return board;
+        }
+
+        /**
+         * Berechnet einen Maschinenzug auf den Threads der Suche. Läuft der
+         * Auftrag bereits auf diesen, wird direkt gesucht, andernfalls
+         * wartet der Auftrag auf das Ende der Suche.
+         *
+         * @param board                     Entspricht der Spielsituation, in
+         *                                  der die Maschine an der Reihe ist.
+         * @return                          Gibt die Spielsituation nach dem
+         *                                  Maschinenzug zurück.
+         * @throws SearchAbortedException   Wird geworfen, falls der Auftrag
+         *                                  während der Suche unterbrochen
+         *                                  wurde.
+         */
+        private Board search(final Board board) {
+            if (loopExecutor == executor) {
+                return board.machineMove();
+            }
+
+            Future<Board> search = executor.submit(new Callable<Board>() {
+                @Override
+                public Board call() {
+                    return board.machineMove();
+                }
+            });
+            try {
+                return search.get();
+            } catch (InterruptedException e) {
+                search.cancel(true);
+                Thread.currentThread().interrupt();
+                throw new SearchAbortedException("Thread is interrupted!");
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new IllegalStateException("Search failed!",
+                        e.getCause());
+            }
+        }
+
+        /**
+         * Setzt Spielzüge zurück, bis ein Zug des Menschen zurückgesetzt
+         * wurde, falls dieser bereits gezogen hat.
+         *
+         * @return      Gibt die Spielsituation nach dem Zurücksetzen zurück
+         *              bzw {@code null}, falls der Mensch noch nicht gezogen
+         *              hat.
+         */
+        synchronized Board undo() {
+            int minimumMovesForUndo
+                    = boards.firstElement().getFirstPlayer() == Player.HUMAN
+                    ? 2 : 3;
+            if (boards.size() < minimumMovesForUndo) {
+                return null;
+            }
+            boolean humanMovePopped = false;
+            do {
+                boards.pop();
+                humanMovePopped = boards.peek().next() == Player.HUMAN;
+            } while (!humanMovePopped && boards.size() >= minimumMovesForUndo);
+            return boards.peek();
+        }
+    }
+
+    /**
+     * Erzeugt die Threads der Suchen als Daemon-Threads, damit diese die
+     * JVM nicht am Beenden hindern.
+     */
+    private static final class SearchThreadFactory implements ThreadFactory {
+
+        /**
+         * Entspricht der Nummer des nächsten Threads.
+         */
+        private final AtomicInteger nextNumber = new AtomicInteger();
+
+        /**
+         * Kreiert einen Thread der Suchen.
+         *
+         * @param runnable      Entspricht dem Auftrag des Threads.
+         * @return              Gibt den Thread zurück.
+         */
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "game-search-"
+                    + nextNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
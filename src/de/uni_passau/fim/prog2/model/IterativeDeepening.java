@@ -0,0 +1,208 @@
+package de.uni_passau.fim.prog2.model;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@code IterativeDeepening} berechnet den besten Zug innerhalb einer
+ * vorgegebenen Zeit, anstatt bis zu einer festen Tiefe zu suchen. Dazu wird
+ * die Suche mit steigender Tiefe wiederholt, bis die Zeit abgelaufen ist.
+ * Zurückgegeben wird der beste Zug der tiefsten vollständig beendeten Suche.
+ * Alle Iterationen verwenden die gleiche {@code TranspositionTable} und
+ * {@code MoveOrdering}, sodass jede Iteration mit den besten Zügen der
+ * vorherigen Iteration beginnt. Die Sortierung stammt wie bei einer Suche
+ * bis zu einem Level aus der {@code EngineSession} des Spiels, und nach
+ * jeder beendeten Iteration wird deren Hauptvariante in der Sitzung
+ * gespeichert. Jede Iteration wird als {@code SearchIterationEvent}
+ * aufgezeichnet.
+ *
+ * <p>Alle Iterationen laufen auf dem aufrufenden Thread, da die parallelen
+ * Suchen keine verfügbare Zeit unterstützen. Die Threads der Sitzung werden
+ * daher nicht verwendet.
+ *
+ * @version 17.10.26
+ * @author -----
+ */
+class IterativeDeepening {
+
+    /**
+     * Entspricht der Ausgangsspielsituation.
+     */
+    private EngineBoard root;
+
+    /**
+     * Entspricht der für den Zug verfügbaren Zeit.
+     */
+    private Duration budget;
+
+    /**
+     * Entspricht der Tabelle der bereits berechneten Scores, die von allen
+     * Iterationen gemeinsam verwendet wird.
+     */
+    private TranspositionTable transpositionTable;
+
+    /**
+     * Entspricht der Sitzung des Spiels, die die Sortierung der Züge
+     * liefert und die Hauptvariante speichert.
+     */
+    private EngineSession session;
+
+    /**
+     * Entspricht den Gewichten der Bewertung.
+     */
+    private EvaluationWeights weights;
+
+    /**
+     * Entspricht dem Signal, durch das die Suche von außen beendet wird.
+     */
+    private AtomicBoolean stopped;
+
+    /**
+     * Entspricht den Zählern des Maschinenzuges, zu denen jede Iteration
+     * ihre Statistik addiert.
+     */
+    private SearchCounters counters;
+
+    /**
+     * Entspricht der Tiefe der tiefsten vollständig beendeten Suche.
+     */
+    private int reachedDepth;
+
+    /**
+     * Kreiert eine zeitbegrenzte Suche für die Ausgangsspielsituation, die
+     * nicht vorbei sein darf.
+     *
+     * @param root              Entspricht der Ausgangsspielsituation.
+     * @param budget            Entspricht der für den Zug verfügbaren Zeit,
+     *                          die nicht negativ sein darf.
+     * @param session           Entspricht der Sitzung des Spiels, deren
+     *                          Transpositionstabelle verwendet wird.
+     * @param weights           Entspricht den Gewichten der Bewertung.
+     * @param stopped           Entspricht dem Signal, durch das die Suche
+     *                          von außen beendet wird.
+     * @param counters          Entspricht den Zählern des Maschinenzuges.
+     */
+    IterativeDeepening(EngineBoard root, Duration budget,
+                       EngineSession session, EvaluationWeights weights,
+                       AtomicBoolean stopped, SearchCounters counters) {
+        assert root != null : "The beginning game cannot be undefined!";
+        assert budget != null && !budget.isNegative() : "Budget is illegal!";
+        assert !root.gameOver() : "The game cannot be already over!";
+        assert session != null : "The session cannot be undefined!";
+        assert weights != null : "The weights cannot be undefined!";
+        assert stopped != null : "The signal cannot be undefined!";
+        assert counters != null : "The counters cannot be undefined!";
+
+        this.root = root;
+        this.budget = budget;
+        transpositionTable = session.getTranspositionTable();
+        this.session = session;
+        this.weights = weights;
+        this.stopped = stopped;
+        this.counters = counters;
+    }
+
+    /**
+     * Berechnet den besten Zug der tiefsten Suche, die innerhalb der
+     * verfügbaren Zeit beendet wurde. Die Suche mit der Tiefe {@code 1} wird
+     * immer beendet, damit auch bei zu kurzer Zeit ein Zug zurückgegeben
+     * wird. Die Tiefe ist durch die Anzahl der leeren Felder begrenzt, da
+     * der Baum danach vollständig durchsucht ist.
+     *
+     * @return                          Entspricht dem besten Zug, ausgeführt
+     *                                  auf einem Klon.
+     * @throws SearchAbortedException   Wird geworfen, falls die Suche von
+     *                                  außen beendet wurde.
+     * @see                             AlphaBetaSearch
+     */
+    EngineBoard calculateBestMove() {
+        long deadline = System.nanoTime() + toNanos(budget);
+        int maxDepth = Board.SIZE * Board.SIZE - root.getNumberOfHumanTiles()
+                - root.getNumberOfMachineTiles();
+
+        MoveOrdering moveOrdering = session.createMoveOrdering(root);
+        EngineBoard bestMove = searchIteration(new AlphaBetaSearch(root, 1,
+                transpositionTable, weights, moveOrdering, stopped, counters),
+                1);
+        reachedDepth = 1;
+        boolean timeLeft = true;
+        while (timeLeft && reachedDepth < maxDepth
+                && System.nanoTime() - deadline < 0) {
+            AlphaBetaSearch search = new AlphaBetaSearch(root,
+                    reachedDepth + 1, transpositionTable, weights,
+                    moveOrdering, deadline, stopped, counters);
+            try {
+                bestMove = searchIteration(search, reachedDepth + 1);
+                reachedDepth++;
+            } catch (SearchAbortedException e) {
+                if (stopped.get()) {
+                    throw e;
+                }
+                timeLeft = false;
+            }
+        }
+        return bestMove;
+    }
+
+    /**
+     * Führt eine Iteration aus und zeichnet diese als
+     * {@code SearchIterationEvent} auf, auch falls diese abgebrochen wird.
+     * Die Hauptvariante wird direkt nach der Iteration gelesen, bevor die
+     * nächste Iteration die Einträge mit größerer Tiefe überschreibt.
+     *
+     * @param search                    Entspricht der Suche der Iteration.
+     * @param depth                     Entspricht der Tiefe der Iteration.
+     * @return                          Entspricht dem besten Zug der
+     *                                  Iteration.
+     * @throws SearchAbortedException   Wird geworfen, falls die Iteration
+     *                                  abgebrochen wurde.
+     */
+    private EngineBoard searchIteration(AlphaBetaSearch search, int depth) {
+        SearchIterationEvent event = new SearchIterationEvent();
+        event.begin();
+        long nodesBefore = counters.getNodes();
+        boolean completed = false;
+        try {
+            EngineBoard bestMove = search.calculateBestMove();
+            session.recordPrincipalVariation(root, depth);
+            completed = true;
+            return bestMove;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.depth = depth;
+                event.nodes = counters.getNodes() - nodesBefore;
+                event.humanTiles = root.getNumberOfHumanTiles();
+                event.machineTiles = root.getNumberOfMachineTiles();
+                event.completed = completed;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Gibt die Tiefe der tiefsten vollständig beendeten Suche zurück.
+     *
+     * @return          Entspricht der erreichten Tiefe, wobei diese vor
+     *                  {@link #calculateBestMove()} {@code 0} ist.
+     */
+    int getReachedDepth() {
+        return reachedDepth;
+    }
+
+    /**
+     * Wandelt die verfügbare Zeit in Nanosekunden um, wobei zu große Zeiten
+     * auf die größtmögliche Zeit begrenzt werden.
+     *
+     * @param budget        Entspricht der verfügbaren Zeit.
+     * @return              Gibt die Zeit in Nanosekunden zurück.
+     */
+    private static long toNanos(Duration budget) {
+        final long maxNanos = Long.MAX_VALUE / 2;
+        try {
+            return Math.min(budget.toNanos(), maxNanos);
+        } catch (ArithmeticException e) {
+            return maxNanos;
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package de.uni_passau.fim.prog2.model;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * {@code LatencyHistogram} zählt Latenzen in Nanosekunden in logarithmisch
+ * wachsenden Buckets wie ein HDR-Histogramm. Jede Zweierpotenz wird in
+ * {@code SUB_BUCKETS} gleich breite Buckets unterteilt, sodass jeder Wert
+ * mit einem relativen Fehler von höchstens {@code 1 / SUB_BUCKETS}
+ * gezählt wird. Werte ab {@code MAX_VALUE} werden im letzten Bucket
+ * gezählt.
+ *
+ * <p>Das Aufzeichnen sperrt nicht und erzeugt keine Objekte, sodass es von
+ * beliebig vielen Threads gleichzeitig auch auf dem Event Dispatch Thread
+ * verwendet werden kann. Ein {@link Snapshot} kopiert die Zähler, während
+ * weiter aufgezeichnet wird, und ist daher nur annähernd konsistent.
+ *
+ * @version 17.10.26
+ * @author -----
+ */
+final class LatencyHistogram {
+
+    /**
+     * Entspricht dem Logarithmus der Anzahl der Buckets pro Zweierpotenz.
+     */
+    private static final int SUB_BUCKET_BITS = 5;
+
+    /**
+     * Entspricht der Anzahl der Buckets pro Zweierpotenz.
+     */
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * Entspricht dem Exponenten der größten unterschiedenen Zweierpotenz,
+     * womit Latenzen bis über eine Stunde unterschieden werden.
+     */
+    private static final int MAX_EXPONENT = 41;
+
+    /**
+     * Entspricht dem größten Wert, der nicht im letzten Bucket gezählt
+     * wird.
+     */
+    static final long MAX_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+
+    /**
+     * Entspricht der Anzahl aller Buckets.
+     */
+    private static final int BUCKETS = bucketOf(MAX_VALUE) + 1;
+
+    /**
+     * Entspricht den Zählern der Buckets.
+     */
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    /**
+     * Entspricht der Summe aller Werte.
+     */
+    private final AtomicLong sum = new AtomicLong();
+
+    /**
+     * Entspricht dem größten Wert.
+     */
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Zeichnet eine Latenz auf. Negative Werte werden als {@code 0}
+     * gezählt.
+     *
+     * @param nanos     Entspricht der Latenz in Nanosekunden.
+     */
+    void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        counts.incrementAndGet(bucketOf(Math.min(value, MAX_VALUE)));
+        sum.addAndGet(value);
+        long previous = max.get();
+        while (value > previous && !max.compareAndSet(previous, value)) {
+            previous = max.get();
+        }
+    }
+
+    /**
+     * Kopiert die bisher aufgezeichneten Zähler.
+     *
+     * @return          Entspricht der Kopie.
+     */
+    Snapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+        }
+        return new Snapshot(copy, sum.get(), max.get());
+    }
+
+    /**
+     * Gibt den Index des Buckets eines Wertes zurück. Werte unterhalb von
+     * {@code SUB_BUCKETS} erhalten einen eigenen Bucket, darüber werden
+     * Exponent und die {@code SUB_BUCKET_BITS} Bits nach der führenden
+     * {@code 1} verwendet.
+     *
+     * @param value     Entspricht dem Wert, der nicht negativ und nicht
+     *                  größer als {@code MAX_VALUE} sein darf.
+     * @return          Entspricht dem Index.
+     */
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int mantissa = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+        return SUB_BUCKETS + shift * SUB_BUCKETS + mantissa;
+    }
+
+    /**
+     * Gibt den größten Wert zurück, der im Bucket gezählt wird.
+     *
+     * @param bucket    Entspricht dem Index des Buckets.
+     * @return          Entspricht dem größten Wert.
+     */
+    private static long highestValueOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long mantissa = SUB_BUCKETS + bucket % SUB_BUCKETS;
+        return ((mantissa + 1) << shift) - 1;
+    }
+
+    /**
+     * Entspricht einer Kopie der Zähler eines {@code LatencyHistogram}, aus
+     * der die Perzentile berechnet werden.
+     */
+    static final class Snapshot {
+
+        /**
+         * Entspricht den Zählern der Buckets.
+         */
+        private final long[] counts;
+
+        /**
+         * Entspricht der Anzahl aller Werte.
+         */
+        private final long count;
+
+        /**
+         * Entspricht der Summe aller Werte.
+         */
+        private final long sum;
+
+        /**
+         * Entspricht dem größten Wert.
+         */
+        private final long max;
+
+        /**
+         * Kreiert die Kopie der Zähler.
+         *
+         * @param counts    Entspricht den Zählern der Buckets.
+         * @param sum       Entspricht der Summe aller Werte.
+         * @param max       Entspricht dem größten Wert.
+         */
+        private Snapshot(long[] counts, long sum, long max) {
+            this.counts = counts;
+            this.sum = sum;
+            this.max = max;
+            long total = 0;
+            for (long bucket : counts) {
+                total += bucket;
+            }
+            count = total;
+        }
+
+        /**
+         * Gibt die Werte zurück, die seit {@code previous} aufgezeichnet
+         * wurden. Der größte Wert entspricht dabei der oberen Grenze des
+         * höchsten belegten Buckets.
+         *
+         * @param previous  Entspricht einer früheren Kopie des gleichen
+         *                  Histogramms.
+         * @return          Entspricht der Differenz.
+         */
+        Snapshot minus(Snapshot previous) {
+            assert previous != null : "Snapshot cannot be undefined!";
+
+            long[] difference = new long[counts.length];
+            long highest = 0;
+            for (int i = 0; i < counts.length; i++) {
+                difference[i] = Math.max(counts[i] - previous.counts[i], 0);
+                if (difference[i] > 0) {
+                    highest = Math.min(highestValueOf(i), max);
+                }
+            }
+            return new Snapshot(difference, sum - previous.sum, highest);
+        }
+
+        /**
+         * Gibt die Anzahl der Werte zurück.
+         *
+         * @return          Entspricht der Anzahl.
+         */
+        long getCount() {
+            return count;
+        }
+
+        /**
+         * Gibt den Durchschnitt der Werte zurück.
+         *
+         * @return          Entspricht dem Durchschnitt in Nanosekunden bzw
+         *                  {@code 0}, falls kein Wert aufgezeichnet wurde.
+         */
+        double getMean() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        /**
+         * Gibt den größten Wert zurück.
+         *
+         * @return          Entspricht dem Wert in Nanosekunden.
+         */
+        long getMax() {
+            return max;
+        }
+
+        /**
+         * Gibt den Wert zurück, unter dem der Anteil {@code percentile}
+         * aller Werte liegt, wobei die obere Grenze des Buckets verwendet
+         * wird.
+         *
+         * @param percentile    Entspricht dem Perzentil zwischen {@code 0}
+         *                      und {@code 100}.
+         * @return              Entspricht dem Wert in Nanosekunden bzw
+         *                      {@code 0}, falls kein Wert aufgezeichnet
+         *                      wurde.
+         */
+        long valueAtPercentile(double percentile) {
+            assert percentile >= 0 && percentile <= 100 : "Illegal percentile";
+
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max((long) Math.ceil(percentile / 100 * count),
+                    1);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(highestValueOf(i), max);
+                }
+            }
+            return max;
+        }
+    }
+}
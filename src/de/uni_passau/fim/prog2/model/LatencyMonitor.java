@@ -0,0 +1,300 @@
+package de.uni_passau.fim.prog2.model;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code LatencyMonitor} zeichnet die Latenzen aller Maschinenzüge des
+ * Prozesses getrennt nach Level und Spielphase sowie die Dauer der
+ * Benachrichtigung der {@code Observer} durch {@code DisplayData} in
+ * {@code LatencyHistogram} auf. Die Spielphase ergibt sich aus der Anzahl
+ * der leeren Felder vor dem Zug, wobei je {@code EMPTIES_PER_PHASE} Felder
+ * eine Phase bilden. Züge einer zeitbegrenzten Suche werden unabhängig vom
+ * Level gezählt und Level ab {@code MAX_LEVEL} zusammengefasst.
+ *
+ * <p>Das Aufzeichnen sperrt nicht und erzeugt keine Objekte. Optional
+ * werden die Perzentile p50, p99 und p999 der seit dem letzten Export
+ * aufgezeichneten Latenzen regelmäßig auf der Konsole oder in einer Datei
+ * ausgegeben.
+ *
+ * @version 17.10.26
+ * @author -----
+ * @see     LatencyHistogram
+ */
+public final class LatencyMonitor {
+
+    /**
+     * Entspricht dem größten Level, das eigene Histogramme erhält.
+     */
+    public static final int MAX_LEVEL = 10;
+
+    /**
+     * Entspricht der Anzahl der leeren Felder pro Spielphase.
+     */
+    public static final int EMPTIES_PER_PHASE = 10;
+
+    /**
+     * Entspricht der Anzahl der Spielphasen.
+     */
+    private static final int PHASES = Board.SIZE * Board.SIZE
+            / EMPTIES_PER_PHASE + 1;
+
+    /**
+     * Entspricht den Latenzen der Maschinenzüge pro Level und Spielphase,
+     * wobei das Level {@code 0} für zeitbegrenzte Suchen steht.
+     */
+    private static final LatencyHistogram[][] MACHINE_MOVES
+            = createMachineMoveHistograms();
+
+    /**
+     * Entspricht der Dauer der Benachrichtigung der {@code Observer}.
+     */
+    private static final LatencyHistogram NOTIFICATIONS
+            = new LatencyHistogram();
+
+    /**
+     * Entspricht dem {@code Thread} des regelmäßigen Exports bzw
+     * {@code null}, falls nicht exportiert wird.
+     */
+    private static ScheduledExecutorService exporter;
+
+    /**
+     * Verhindert, dass ein {@code LatencyMonitor} kreiert wird.
+     */
+    private LatencyMonitor() {
+    }
+
+    /**
+     * Zeichnet die Latenz eines Maschinenzuges auf.
+     *
+     * @param level     Entspricht dem Level bzw {@code 0} bei einer
+     *                  zeitbegrenzten Suche.
+     * @param empties   Entspricht der Anzahl der leeren Felder vor dem Zug.
+     * @param nanos     Entspricht der Latenz in Nanosekunden.
+     */
+    static void recordMachineMove(int level, int empties, long nanos) {
+        assert level >= 0 : "Level cannot be negative!";
+        assert empties >= 0 : "Empties cannot be negative!";
+
+        MACHINE_MOVES[Math.min(level, MAX_LEVEL)][Math.min(
+                empties / EMPTIES_PER_PHASE, PHASES - 1)].record(nanos);
+    }
+
+    /**
+     * Zeichnet die Dauer einer Benachrichtigung der {@code Observer} auf.
+     *
+     * @param nanos     Entspricht der Dauer in Nanosekunden.
+     */
+    static void recordNotification(long nanos) {
+        NOTIFICATIONS.record(nanos);
+    }
+
+    /**
+     * Beginnt den regelmäßigen Export der Perzentile, wobei ein bereits
+     * laufender Export beendet wird. Jeder Export enthält nur die seitdem
+     * aufgezeichneten Latenzen und wird ausgelassen, falls keine
+     * aufgezeichnet wurden.
+     *
+     * @param interval                      Entspricht dem Abstand der
+     *                                      Exporte.
+     * @param file                          Entspricht der Datei, an die die
+     *                                      Exporte angehängt werden, bzw
+     *                                      {@code null} für die Konsole.
+     * @throws IllegalArgumentException     Wird geworfen, falls
+     *                                      {@code interval} {@code null}
+     *                                      oder nicht positiv ist.
+     */
+    public static synchronized void startExport(Duration interval,
+                                                final Path file) {
+        if (interval == null || interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("Interval must be positive!");
+        }
+
+        stopExport();
+        exporter = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactory() {
+                    @Override
+                    public Thread newThread(Runnable runnable) {
+                        Thread thread = new Thread(runnable,
+                                "latency-export");
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+        long millis = Math.max(interval.toMillis(), 1);
+        exporter.scheduleAtFixedRate(new Runnable() {
+
+            /**
+             * Entspricht den Kopien der Histogramme beim letzten Export.
+             */
+            private LatencyHistogram.Snapshot[] previous = snapshotAll();
+
+            @Override
+            public void run() {
+                LatencyHistogram.Snapshot[] current = snapshotAll();
+                String report = formatReport(current, previous);
+                previous = current;
+                if (report.isEmpty()) {
+                    return;
+                } else if (file == null) {
+                    System.out.print(report);
+                } else {
+                    try {
+                        Files.write(file, report.getBytes(
+                                StandardCharsets.UTF_8),
+                                StandardOpenOption.CREATE,
+                                StandardOpenOption.APPEND);
+                    } catch (IOException e) {
+                        System.err.println("Latencies cannot be exported: "
+                                + e.getMessage());
+                    }
+                }
+            }
+        }, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Beendet den regelmäßigen Export, falls dieser läuft.
+     */
+    public static synchronized void stopExport() {
+        if (exporter != null) {
+            exporter.shutdownNow();
+            exporter = null;
+        }
+    }
+
+    /**
+     * Gibt die Perzentile aller bisher aufgezeichneten Latenzen aus.
+     *
+     * @param out                           Entspricht der Ausgabe.
+     * @throws IllegalArgumentException     Wird geworfen, falls {@code out}
+     *                                      {@code null} ist.
+     */
+    public static void printReport(PrintStream out) {
+        if (out != null) {
+            out.print(formatReport(snapshotAll(), null));
+        } else {
+            throw new IllegalArgumentException("Output cannot be null!");
+        }
+    }
+
+    /**
+     * Kreiert die Histogramme der Maschinenzüge.
+     *
+     * @return          Entspricht den Histogrammen pro Level und Phase.
+     */
+    private static LatencyHistogram[][] createMachineMoveHistograms() {
+        LatencyHistogram[][] histograms
+                = new LatencyHistogram[MAX_LEVEL + 1][PHASES];
+        for (LatencyHistogram[] level : histograms) {
+            for (int phase = 0; phase < PHASES; phase++) {
+                level[phase] = new LatencyHistogram();
+            }
+        }
+        return histograms;
+    }
+
+    /**
+     * Kopiert alle Histogramme, wobei die Benachrichtigungen an letzter
+     * Stelle stehen.
+     *
+     * @return          Entspricht den Kopien.
+     */
+    private static LatencyHistogram.Snapshot[] snapshotAll() {
+        LatencyHistogram.Snapshot[] snapshots
+                = new LatencyHistogram.Snapshot[(MAX_LEVEL + 1) * PHASES + 1];
+        for (int level = 0; level <= MAX_LEVEL; level++) {
+            for (int phase = 0; phase < PHASES; phase++) {
+                snapshots[level * PHASES + phase]
+                        = MACHINE_MOVES[level][phase].snapshot();
+            }
+        }
+        snapshots[snapshots.length - 1] = NOTIFICATIONS.snapshot();
+        return snapshots;
+    }
+
+    /**
+     * Formatiert eine Zeile pro Histogramm, in dem Latenzen aufgezeichnet
+     * wurden.
+     *
+     * @param current   Entspricht den momentanen Kopien.
+     * @param previous  Entspricht den Kopien des letzten Exports bzw
+     *                  {@code null}, falls alle Latenzen ausgegeben werden.
+     * @return          Entspricht dem Bericht bzw einem leeren Text, falls
+     *                  keine Latenzen aufgezeichnet wurden.
+     */
+    private static String formatReport(LatencyHistogram.Snapshot[] current,
+                                       LatencyHistogram.Snapshot[] previous) {
+        StringBuilder lines = new StringBuilder();
+        for (int i = 0; i < current.length; i++) {
+            LatencyHistogram.Snapshot snapshot = current[i];
+            if (previous != null) {
+                snapshot = snapshot.minus(previous[i]);
+            }
+            if (snapshot.getCount() > 0) {
+                lines.append(labelOf(i)).append(' ')
+                        .append(formatSnapshot(snapshot))
+                        .append(System.lineSeparator());
+            }
+        }
+        if (lines.length() == 0) {
+            return "";
+        }
+        return "# latencies " + LocalDateTime.now() + System.lineSeparator()
+                + lines;
+    }
+
+    /**
+     * Gibt die Bezeichnung eines Histogramms zurück.
+     *
+     * @param index     Entspricht der Stelle des Histogramms in
+     *                  {@link #snapshotAll()}.
+     * @return          Entspricht der Bezeichnung.
+     */
+    private static String labelOf(int index) {
+        if (index == (MAX_LEVEL + 1) * PHASES) {
+            return "observer-notification";
+        }
+        int level = index / PHASES;
+        int lowest = index % PHASES * EMPTIES_PER_PHASE;
+        int highest = Math.min(lowest + EMPTIES_PER_PHASE - 1,
+                Board.SIZE * Board.SIZE);
+        String levelLabel;
+        if (level == 0) {
+            levelLabel = "budget";
+        } else if (level == MAX_LEVEL) {
+            levelLabel = MAX_LEVEL + "+";
+        } else {
+            levelLabel = String.valueOf(level);
+        }
+        return String.format("machine-move level=%s empties=%d-%d",
+                levelLabel, lowest, highest);
+    }
+
+    /**
+     * Formatiert Anzahl, Perzentile, Durchschnitt und Maximum einer Kopie
+     * in Millisekunden.
+     *
+     * @param snapshot  Entspricht der Kopie.
+     * @return          Entspricht dem Text.
+     */
+    private static String formatSnapshot(LatencyHistogram.Snapshot snapshot) {
+        return String.format(Locale.ROOT, "count=%d p50=%.3fms p99=%.3fms"
+                + " p999=%.3fms mean=%.3fms max=%.3fms", snapshot.getCount(),
+                snapshot.valueAtPercentile(50) / 1e6,
+                snapshot.valueAtPercentile(99) / 1e6,
+                snapshot.valueAtPercentile(99.9) / 1e6,
+                snapshot.getMean() / 1e6, snapshot.getMax() / 1e6);
+    }
+}
@@ -0,0 +1,224 @@
+package de.uni_passau.fim.prog2.model;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@code LazySmpSearch} berechnet den gleichen besten Zug wie
+ * {@code AlphaBetaSearch}, wobei zusätzlich Helfer auf den restlichen
+ * Threads eines {@code ForkJoinPool} die gleiche Ausgangsspielsituation
+ * durchsuchen. Die Threads teilen sich lediglich die
+ * {@code TranspositionTable}, sodass die Suche selbst nicht aufgeteilt und
+ * synchronisiert werden muss. Die Helfer füllen die Tabelle mit Scores, die
+ * die Hauptsuche anschließend nicht mehr berechnen muss.
+ *
+ * <p>Damit die Helfer nicht die gleichen Teilbäume wie die Hauptsuche
+ * durchsuchen, sortiert jeder Helfer die Züge mit einem eigenen Startwert
+ * der {@code MoveOrdering}. Alle Helfer suchen mit der Tiefe der
+ * Hauptsuche, sodass deren Einträge die gleiche Tiefe wie die der
+ * Hauptsuche haben. Dadurch liefern diese der Hauptsuche Scores statt nur
+ * Züge und verdrängen nicht die Einträge, aus denen
+ * {@code EngineSession} die Hauptvariante liest. Zurückgegeben wird immer
+ * der Zug der Hauptsuche, der nicht von den Helfern abhängt, da die Tabelle
+ * nur genaue Scores bzw Schranken enthält.
+ *
+ * @version 17.10.26
+ * @author -----
+ */
+class LazySmpSearch {
+
+    /**
+     * Entspricht einem Helfer, der die Ausgangsspielsituation mit der Tiefe
+     * der Hauptsuche und einer eigenen Sortierung der Züge durchsucht.
+     */
+    private static final class HelperTask extends RecursiveAction {
+
+        /**
+         * Entspricht der Version der Serialisierung.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Entspricht der Ausgangsspielsituation.
+         */
+        private final EngineBoard root;
+
+        /**
+         * Entspricht der Tiefe der Suche.
+         */
+        private final int level;
+
+        /**
+         * Entspricht dem Startwert der Sortierung der Züge.
+         */
+        private final long seed;
+
+        /**
+         * Entspricht der gemeinsamen Tabelle der bereits berechneten Scores.
+         */
+        private final TranspositionTable transpositionTable;
+
+        /**
+         * Entspricht den Gewichten der Bewertung.
+         */
+        private final EvaluationWeights weights;
+
+        /**
+         * Entspricht dem Signal, durch das der Helfer beendet wird.
+         */
+        private final AtomicBoolean stopped;
+
+        /**
+         * Entspricht den Zählern des Maschinenzuges.
+         */
+        private final SearchCounters counters;
+
+        /**
+         * Kreiert einen Helfer für die Ausgangsspielsituation.
+         *
+         * @param root          Entspricht der Ausgangsspielsituation.
+         * @param level         Entspricht der Tiefe der Suche.
+         * @param seed          Entspricht dem Startwert der Sortierung.
+         * @param table         Entspricht der gemeinsamen Tabelle.
+         * @param weights       Entspricht den Gewichten der Bewertung.
+         * @param stopped       Entspricht dem Signal, durch das der Helfer
+         *                      beendet wird.
+         * @param counters      Entspricht den Zählern des Maschinenzuges.
+         */
+        HelperTask(EngineBoard root, int level, long seed,
+                   TranspositionTable table, EvaluationWeights weights,
+                   AtomicBoolean stopped, SearchCounters counters) {
+            this.root = root;
+            this.level = level;
+            this.seed = seed;
+            transpositionTable = table;
+            this.weights = weights;
+            this.stopped = stopped;
+            this.counters = counters;
+        }
+
+        /**
+         * Durchsucht die Ausgangsspielsituation, bis die Suche beendet ist
+         * oder die Hauptsuche den Helfer beendet.
+         */
+        @Override
+        protected void compute() {
+            AlphaBetaSearch search = new AlphaBetaSearch(root, level,
+                    transpositionTable, weights, new MoveOrdering(seed),
+                    stopped, counters);
+            try {
+                search.searchRoot();
+            } catch (SearchAbortedException e) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Entspricht der Ausgangsspielsituation.
+     */
+    private EngineBoard root;
+
+    /**
+     * Entspricht der max Tiefe der Hauptsuche.
+     */
+    private int level;
+
+    /**
+     * Entspricht der Tabelle der bereits berechneten Scores, die von allen
+     * Threads gemeinsam verwendet wird.
+     */
+    private TranspositionTable transpositionTable;
+
+    /**
+     * Entspricht den Gewichten der Bewertung.
+     */
+    private EvaluationWeights weights;
+
+    /**
+     * Entspricht den Threads, auf denen die Helfer ausgeführt werden.
+     */
+    private ForkJoinPool pool;
+
+    /**
+     * Entspricht dem Signal, durch das die Hauptsuche von außen beendet
+     * wird.
+     */
+    private AtomicBoolean stopped;
+
+    /**
+     * Entspricht den Zählern des Maschinenzuges, zu denen die Hauptsuche und
+     * alle Helfer ihre Statistik addieren.
+     */
+    private SearchCounters counters;
+
+    /**
+     * Kreiert eine Suche für die Ausgangsspielsituation, die nicht vorbei
+     * sein darf.
+     *
+     * @param root              Entspricht der Ausgangsspielsituation.
+     * @param level             Entspricht der Schwierigkeitsstufe und somit
+     *                          der max Tiefe der Hauptsuche.
+     * @param table             Entspricht der Tabelle der bereits
+     *                          berechneten Scores.
+     * @param weights           Entspricht den Gewichten der Bewertung.
+     * @param pool              Entspricht den Threads, auf denen die Helfer
+     *                          ausgeführt werden.
+     * @param stopped           Entspricht dem Signal, durch das die
+     *                          Hauptsuche von außen beendet wird.
+     * @param counters          Entspricht den Zählern des Maschinenzuges.
+     */
+    LazySmpSearch(EngineBoard root, int level, TranspositionTable table,
+                  EvaluationWeights weights, ForkJoinPool pool,
+                  AtomicBoolean stopped, SearchCounters counters) {
+        assert root != null : "The beginning game cannot be undefined!";
+        assert level > 0 : "Level cannot be negative or 0!";
+        assert !root.gameOver() : "The game cannot be already over!";
+        assert table != null : "The table cannot be undefined!";
+        assert weights != null : "The weights cannot be undefined!";
+        assert pool != null : "The pool cannot be undefined!";
+        assert stopped != null : "The signal cannot be undefined!";
+        assert counters != null : "The counters cannot be undefined!";
+
+        this.root = root;
+        this.level = level;
+        transpositionTable = table;
+        this.weights = weights;
+        this.pool = pool;
+        this.stopped = stopped;
+        this.counters = counters;
+    }
+
+    /**
+     * Berechnet den besten Zug für den nächst ziehenden Spieler, wobei pro
+     * weiterem Thread des {@code pool} ein Helfer gestartet wird. Die Helfer
+     * werden beendet, bevor der Zug zurückgegeben wird oder die Hauptsuche
+     * abbricht.
+     *
+     * @return          Entspricht dem besten Zug, ausgeführt auf einem Klon.
+     * @see             AlphaBetaSearch#searchRoot()
+     */
+    EngineBoard calculateBestMove() {
+        AtomicBoolean helpersStopped = new AtomicBoolean();
+        HelperTask[] helpers = new HelperTask[pool.getParallelism() - 1];
+
+        transpositionTable.newSearch();
+        for (int i = 0; i < helpers.length; i++) {
+            helpers[i] = new HelperTask(root, level, i + 1,
+                    transpositionTable, weights, helpersStopped, counters);
+            pool.execute(helpers[i]);
+        }
+
+        try {
+            return new AlphaBetaSearch(root, level, transpositionTable,
+                    weights, new MoveOrdering(), stopped, counters)
+                    .searchRoot();
+        } finally {
+            helpersStopped.set(true);
+            for (HelperTask helper : helpers) {
+                helper.join();
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package de.uni_passau.fim.prog2.model;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Percentage;
+import jdk.jfr.StackTrace;
+
+/**
+ * Entspricht dem Ereignis des Java Flight Recorder für die Suche eines
+ * Maschinenzuges. Die Dauer des Ereignisses entspricht der gesamten Suche
+ * inklusive Eröffnungsbuch und Lösen des Endspiels. Auch abgebrochene
+ * Suchen werden aufgezeichnet.
+ *
+ * @version 17.10.26
+ * @author -----
+ * @see     SearchStats
+ */
+@Name("de.uni_passau.fim.prog2.MachineMove")
+@Label("Machine Move")
+@Category({"Reversi", "Engine"})
+@Description("Search of a machine move")
+@StackTrace(false)
+final class MachineMoveEvent extends Event {
+
+    /**
+     * Entspricht dem Level der Einstellungen, das bei einer zeitbegrenzten
+     * Suche nicht beachtet wird.
+     */
+    @Label("Level")
+    int level;
+
+    /**
+     * Entspricht der erreichten Tiefe der Suche.
+     */
+    @Label("Depth")
+    int depth;
+
+    /**
+     * Entspricht der Anzahl der besuchten Spielsituationen.
+     */
+    @Label("Nodes")
+    long nodes;
+
+    /**
+     * Entspricht der Anzahl der Bewertungen.
+     */
+    @Label("Evaluations")
+    long evaluations;
+
+    /**
+     * Entspricht der Anzahl der abgeschnittenen Teilbäume.
+     */
+    @Label("Cutoffs")
+    long cutoffs;
+
+    /**
+     * Entspricht dem Anteil der abgeschnittenen Teilbäume, bei denen bereits
+     * der erste durchsuchte Zug abgeschnitten hat.
+     */
+    @Label("First Move Cutoff Rate")
+    @Percentage
+    double firstMoveCutoffRate;
+
+    /**
+     * Entspricht dem Anteil der gefundenen Einträge der
+     * Transpositionstabelle.
+     */
+    @Label("Cache Hit Rate")
+    @Percentage
+    double cacheHitRate;
+
+    /**
+     * Entspricht der Anzahl der Steine des Menschen vor dem Zug.
+     */
+    @Label("Human Tiles")
+    int humanTiles;
+
+    /**
+     * Entspricht der Anzahl der Steine der Maschine vor dem Zug.
+     */
+    @Label("Machine Tiles")
+    int machineTiles;
+
+    /**
+     * Entspricht {@code true}, falls das Spiel exakt gelöst wurde.
+     */
+    @Label("Solved")
+    boolean solved;
+
+    /**
+     * Entspricht {@code true}, falls die Suche abgebrochen wurde, wobei
+     * dieses vor {@link #finish(EngineBoard, int, SearchStats, boolean)}
+     * gesetzt wird.
+     */
+    @Label("Aborted")
+    boolean aborted;
+
+    /**
+     * Beendet das Ereignis und zeichnet dieses auf, falls der Java Flight
+     * Recorder es aufzeichnen soll.
+     *
+     * @param root      Entspricht der Ausgangsspielsituation.
+     * @param level     Entspricht dem Level der Suche.
+     * @param stats     Entspricht der Statistik der Suche.
+     * @param solved    Entspricht {@code true}, falls das Spiel exakt gelöst
+     *                  wurde.
+     */
+    void finish(EngineBoard root, int level, SearchStats stats,
+                boolean solved) {
+        end();
+        if (shouldCommit()) {
+            this.level = level;
+            humanTiles = root.getNumberOfHumanTiles();
+            machineTiles = root.getNumberOfMachineTiles();
+            this.solved = solved;
+            depth = stats.getDepth();
+            nodes = stats.getNodes();
+            evaluations = stats.getEvaluations();
+            cutoffs = stats.getCutoffs();
+            firstMoveCutoffRate = stats.getFirstMoveCutoffRate();
+            cacheHitRate = stats.getCacheHitRate();
+            commit();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package de.uni_passau.fim.prog2.model;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Entspricht dem Ereignis des Java Flight Recorder für die Übernahme eines
+ * Maschinenzuges durch {@code DisplayData}. Das Ereignis beginnt, sobald die
+ * Suche beendet ist, und endet, nachdem die {@code Observer} auf dem Event
+ * Dispatch Thread benachrichtigt wurden. Die Wartezeit auf den Event
+ * Dispatch Thread wird getrennt aufgezeichnet.
+ *
+ * @version 17.10.26
+ * @author -----
+ * @see     DisplayData#machineMove()
+ */
+@Name("de.uni_passau.fim.prog2.MachineMoveUpdate")
+@Label("Machine Move Update")
+@Category({"Reversi", "UI"})
+@Description("Round-trip of a machine move to the event dispatch thread")
+@StackTrace(false)
+final class MachineMoveUpdateEvent extends Event {
+
+    /**
+     * Entspricht dem Level der Einstellungen.
+     */
+    @Label("Level")
+    int level;
+
+    /**
+     * Entspricht der Tiefe der Suche des Zuges.
+     */
+    @Label("Depth")
+    int depth;
+
+    /**
+     * Entspricht der Anzahl der besuchten Spielsituationen der Suche.
+     */
+    @Label("Nodes")
+    long nodes;
+
+    /**
+     * Entspricht der Anzahl der Steine des Menschen nach dem Zug.
+     */
+    @Label("Human Tiles")
+    int humanTiles;
+
+    /**
+     * Entspricht der Anzahl der Steine der Maschine nach dem Zug.
+     */
+    @Label("Machine Tiles")
+    int machineTiles;
+
+    /**
+     * Entspricht der Zeit, bis der Event Dispatch Thread den Zug übernommen
+     * hat.
+     */
+    @Label("Dispatch Delay")
+    @Timespan(Timespan.NANOSECONDS)
+    long dispatchDelay;
+
+    /**
+     * Beendet das Ereignis und zeichnet dieses auf, falls der Java Flight
+     * Recorder es aufzeichnen soll.
+     *
+     * @param reply     Entspricht dem übernommenen Maschinenzug.
+     * @param level     Entspricht dem Level der Einstellungen.
+     */
+    void finish(Board reply, int level) {
+        end();
+        if (shouldCommit()) {
+            this.level = level;
+            depth = reply.getSearchDepth();
+            if (reply.getSearchStats().isPresent()) {
+                nodes = reply.getSearchStats().get().getNodes();
+            }
+            humanTiles = reply.getNumberOfHumanTiles();
+            machineTiles = reply.getNumberOfMachineTiles();
+            commit();
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package de.uni_passau.fim.prog2.model;
+
+import java.time.Duration;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@code MachineMoves} berechnet die Züge der Maschine für jede
+ * Implementierung von {@code EngineBoard}. Zuerst wird das Eröffnungsbuch
+ * befragt und ab wenigen leeren Feldern das Spiel exakt gelöst.
+ * Andernfalls wird innerhalb der verfügbaren Zeit oder bis zu der Tiefe des
+ * Levels gesucht, wobei die Sitzung des Spiels entscheidet, ob parallel
+ * gesucht wird.
+ *
+ * @version 17.10.26
+ * @author -----
+ * @see     EngineBoard
+ */
+final class MachineMoves {
+
+    /**
+     * Verhindert, dass ein {@code MachineMoves} kreiert wird.
+     */
+    private MachineMoves() {
+    }
+
+    /**
+     * Berechnet den besten Zug für die Maschine und führt diesen auf einem
+     * Klon aus. Alle Werte werden aus den übergebenen Einstellungen gelesen.
+     * Die Statistik der Suche wird am Klon gespeichert. Falls
+     * {@code recorded} gesetzt ist, wird diese zur Statistik des Prozesses
+     * addiert, die Suche als {@code MachineMoveEvent} aufgezeichnet und
+     * deren Latenz im {@code LatencyMonitor} gezählt. Spekulative Suchen wie
+     * das Vorausberechnen verfälschen so nicht die Statistik der
+     * tatsächlich gespielten Züge.
+     *
+     * @param root                      Entspricht der Spielsituation, in der
+     *                                  die Maschine zieht.
+     * @param session                   Entspricht der Sitzung des Spiels.
+     * @param config                    Entspricht den Einstellungen, die
+     *                                  während der gesamten Suche verwendet
+     *                                  werden.
+     * @param budget                    Entspricht der verfügbaren Zeit bzw
+     *                                  {@code null}, falls bis zu der Tiefe
+     *                                  des Levels gesucht wird.
+     * @param stopped                   Entspricht dem Signal, durch das die
+     *                                  Suche beendet wird.
+     * @param recorded                  Entspricht {@code true}, falls die
+     *                                  Suche aufgezeichnet wird.
+     * @return                          Entspricht dem Klon, auf dem der Zug
+     *                                  ausgeführt wurde.
+     * @throws IllegalMoveException     Wird geworfen, falls das Spiel bereits
+     *                                  vorbei ist oder die Maschine nicht an
+     *                                  der Reihe ist.
+     * @throws SearchAbortedException   Wird geworfen, falls die Suche
+     *                                  beendet oder der Thread unterbrochen
+     *                                  wurde.
+     * @see                             IllegalMoveException
+     * @see                             AlphaBetaSearch
+     * @see                             IterativeDeepening
+     * @see                             ParallelMode
+     * @see                             EndgameSolver
+     * @see                             OpeningBook
+     */
+    static EngineBoard calculate(EngineBoard root, EngineSession session,
+                                 EngineConfig config, Duration budget,
+                                 AtomicBoolean stopped, boolean recorded) {
+        MachineMoveEvent event = new MachineMoveEvent();
+        if (recorded) {
+            event.begin();
+        }
+        SearchCounters counters = new SearchCounters();
+        long start = System.nanoTime();
+        EngineBoard bestMove;
+        try {
+            bestMove = search(root, session, config, budget, stopped,
+                    counters);
+        } catch (SearchAbortedException e) {
+            if (recorded) {
+                event.aborted = true;
+                event.finish(root, config.getLevel(),
+                        counters.toStats(0, System.nanoTime() - start),
+                        false);
+            }
+            throw e;
+        }
+        long wallNanos = System.nanoTime() - start;
+        bestMove.searchStats = counters.toStats(bestMove.searchDepth,
+                wallNanos);
+        if (!recorded) {
+            return bestMove;
+        }
+        event.finish(root, config.getLevel(), bestMove.searchStats,
+                bestMove.solved);
+        ProcessSearchStats.record(bestMove.searchStats);
+        LatencyMonitor.recordMachineMove(budget != null ? 0
+                : config.getLevel(), countEmptySquares(root), wallNanos);
+        return bestMove;
+    }
+
+    /**
+     * Berechnet den besten Zug für die Maschine und führt diesen auf einem
+     * Klon aus, wobei alle Suchen ihre Statistik zu den {@code counters}
+     * addieren.
+     *
+     * @param root                      Entspricht der Spielsituation, in der
+     *                                  die Maschine zieht.
+     * @param session                   Entspricht der Sitzung des Spiels.
+     * @param config                    Entspricht den Einstellungen der
+     *                                  Suche.
+     * @param budget                    Entspricht der verfügbaren Zeit bzw
+     *                                  {@code null}.
+     * @param stopped                   Entspricht dem Signal, durch das die
+     *                                  Suche beendet wird.
+     * @param counters                  Entspricht den Zählern, zu denen alle
+     *                                  Suchen ihre Statistik addieren.
+     * @return                          Entspricht dem Klon, auf dem der Zug
+     *                                  ausgeführt wurde.
+     * @see                             #calculate(EngineBoard,
+     *                                  EngineSession, EngineConfig,
+     *                                  Duration, AtomicBoolean, boolean)
+     */
+    private static EngineBoard search(EngineBoard root,
+                                      EngineSession session,
+                                      EngineConfig config,
+                                      Duration budget,
+                                      AtomicBoolean stopped,
+                                      SearchCounters counters) {
+        assert root != null : "Root cannot be undefined!";
+        assert session != null : "Session cannot be undefined!";
+        assert config != null : "Config cannot be undefined!";
+
+        if (!root.gameOver()) {
+            if (root.next() == Player.MACHINE) {
+                EngineBoard bookMove = findBookMove(root,
+                        config.getOpeningBook());
+                if (bookMove != null) {
+                    return bookMove;
+                } else if (countEmptySquares(root)
+                        <= config.getEndgameEmpties()) {
+                    return solveEndgame(root, stopped, counters);
+                }
+                EngineBoard bestMove;
+                if (budget != null) {
+                    IterativeDeepening search = new IterativeDeepening(root,
+                            budget, session, config.getWeights(), stopped,
+                            counters);
+                    bestMove = search.calculateBestMove();
+                    bestMove.searchDepth = search.getReachedDepth();
+                    return bestMove;
+                }
+                int level = Math.min(config.getLevel(),
+                        countEmptySquares(root));
+                TranspositionTable table = session.getTranspositionTable();
+                ForkJoinPool threads = session.getPool();
+                if (threads != null) {
+                    ParallelMode mode = config.getParallelMode();
+                    bestMove = mode.calculateBestMove(root, level, table,
+                            config.getWeights(), threads, stopped, counters);
+                } else {
+                    AlphaBetaSearch search = new AlphaBetaSearch(root, level,
+                            table, config.getWeights(),
+                            session.createMoveOrdering(root), stopped,
+                            counters);
+                    bestMove = search.calculateBestMove();
+                }
+                session.recordPrincipalVariation(root, level);
+                bestMove.searchDepth = level;
+                return bestMove;
+            } else {
+                throw new IllegalMoveException("Human Turn!");
+            }
+        } else {
+            throw new IllegalMoveException("Game is already over!");
+        }
+    }
+
+    /**
+     * Sucht den Zug der Maschine im Eröffnungsbuch und führt diesen auf
+     * einem Klon aus. Ein Zug, der nicht legal ist, wird ignoriert, da
+     * dieser zu einer anderen Spielsituation mit dem gleichen Hash gehört.
+     *
+     * @param root      Entspricht der Spielsituation, in der die Maschine
+     *                  zieht.
+     * @param book      Entspricht dem Eröffnungsbuch bzw {@code null}.
+     * @return          Entspricht dem Klon, auf dem der Zug ausgeführt
+     *                  wurde, bzw {@code null}, falls das Buch keinen Zug
+     *                  enthält.
+     * @see             OpeningBook
+     */
+    private static EngineBoard findBookMove(EngineBoard root,
+                                            OpeningBook book) {
+        TranspositionTable.Entry entry = new TranspositionTable.Entry();
+        if (book != null && book.probe(root.getHash(), entry)
+                && entry.move < TranspositionTable.NO_MOVE) {
+            EngineBoard bookMove = root.moveForNextPlayer(
+                    entry.move / Board.SIZE + 1, entry.move % Board.SIZE + 1);
+            if (bookMove != null) {
+                bookMove.searchDepth = entry.depth;
+                return bookMove;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Löst das Spiel exakt und führt den besten Zug der Maschine auf einem
+     * Klon aus, wobei die exakte Differenz der Steine gespeichert wird.
+     *
+     * @param root      Entspricht der Spielsituation, in der die Maschine
+     *                  zieht.
+     * @param stopped   Entspricht dem Signal, durch das die Suche beendet
+     *                  wird.
+     * @param counters  Entspricht den Zählern, zu denen die besuchten
+     *                  Spielsituationen und die Rechenzeit addiert werden.
+     * @return          Entspricht dem Klon, auf dem der Zug ausgeführt
+     *                  wurde.
+     * @see             EndgameSolver
+     */
+    private static EngineBoard solveEndgame(EngineBoard root,
+                                            AtomicBoolean stopped,
+                                            SearchCounters counters) {
+        long cpuStart = SearchCounters.currentCpuTime();
+        EndgameSolver solver = new EndgameSolver(root, stopped);
+        EngineBoard bestMove = solver.calculateBestMove();
+        counters.add(solver.getNodes(), 0, 0, 0, 0, 0, cpuStart);
+        bestMove.searchDepth = countEmptySquares(root);
+        bestMove.solved = true;
+        bestMove.solvedMargin = solver.getMargin();
+        return bestMove;
+    }
+
+    /**
+     * Gibt die Anzahl der leeren Felder zurück.
+     *
+     * @param root      Entspricht der Spielsituation.
+     * @return          Entspricht der Anzahl der leeren Felder.
+     */
+    private static int countEmptySquares(EngineBoard root) {
+        return Board.SIZE * Board.SIZE - root.getNumberOfHumanTiles()
+                - root.getNumberOfMachineTiles();
+    }
+}
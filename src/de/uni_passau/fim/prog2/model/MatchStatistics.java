@@ -0,0 +1,254 @@
+package de.uni_passau.fim.prog2.model;
+
+/**
+ * Zählt die Ergebnisse eines Wettkampfs zweier Engines aus Sicht der
+ * ersten Engine und schätzt daraus den Unterschied der Spielstärke in Elo.
+ * Zusätzlich wird ein sequentieller Test (SPRT) geführt, der entscheidet,
+ * ob der Unterschied eher {@code elo0} oder eher {@code elo1} entspricht,
+ * sodass der Wettkampf vorzeitig beendet werden kann. Die Varianz wird
+ * dabei aus den beobachteten Siegen, Remis und Niederlagen geschätzt.
+ *
+ * @version 17.10.26
+ * @author -----
+ * @see     SelfPlayArena
+ */
+final class MatchStatistics {
+
+    /**
+     * Entspricht dem Quantil der Normalverteilung für ein zweiseitiges
+     * Konfidenzintervall von 95%.
+     */
+    private static final double Z_95 = 1.959964;
+
+    /**
+     * Entspricht der Wahrscheinlichkeit, {@code elo1} anzunehmen, obwohl
+     * {@code elo0} gilt.
+     */
+    private static final double ALPHA = 0.05;
+
+    /**
+     * Entspricht der Wahrscheinlichkeit, {@code elo0} anzunehmen, obwohl
+     * {@code elo1} gilt.
+     */
+    private static final double BETA = 0.05;
+
+    /**
+     * Entspricht dem Unterschied in Elo der Nullhypothese.
+     */
+    private final double elo0;
+
+    /**
+     * Entspricht dem Unterschied in Elo der Alternativhypothese.
+     */
+    private final double elo1;
+
+    /**
+     * Entspricht der Anzahl der Siege der ersten Engine.
+     */
+    private int wins;
+
+    /**
+     * Entspricht der Anzahl der Remis.
+     */
+    private int draws;
+
+    /**
+     * Entspricht der Anzahl der Niederlagen der ersten Engine.
+     */
+    private int losses;
+
+    /**
+     * Kreiert eine leere Statistik für einen Test zwischen zwei
+     * Hypothesen.
+     *
+     * @param elo0      Entspricht dem Unterschied der Nullhypothese.
+     * @param elo1      Entspricht dem Unterschied der Alternativhypothese,
+     *                  der größer als {@code elo0} sein muss.
+     */
+    MatchStatistics(double elo0, double elo1) {
+        assert elo0 < elo1 : "Hypotheses must be ordered!";
+
+        this.elo0 = elo0;
+        this.elo1 = elo1;
+    }
+
+    /**
+     * Zählt das Ergebnis einer Partie.
+     *
+     * @param winner    Entspricht dem Sieger, wobei {@code Player.MACHINE}
+     *                  der ersten Engine entspricht, bzw {@code null} bei
+     *                  einem Remis.
+     */
+    synchronized void record(Player winner) {
+        if (winner == Player.MACHINE) {
+            wins++;
+        } else if (winner == Player.HUMAN) {
+            losses++;
+        } else {
+            draws++;
+        }
+    }
+
+    /**
+     * Gibt die Anzahl der gezählten Partien zurück.
+     *
+     * @return      Entspricht der Anzahl der Partien.
+     */
+    synchronized int getGames() {
+        return wins + draws + losses;
+    }
+
+    /**
+     * Gibt den durchschnittlichen Punktestand der ersten Engine zurück,
+     * wobei ein Sieg einen und ein Remis einen halben Punkt zählt.
+     *
+     * @return      Entspricht dem Punktestand zwischen {@code 0} und
+     *              {@code 1} bzw {@code 0.5}, falls noch keine Partie
+     *              gezählt wurde.
+     */
+    synchronized double getScore() {
+        int games = getGames();
+        return games == 0 ? 0.5 : (wins + 0.5 * draws) / games;
+    }
+
+    /**
+     * Gibt den geschätzten Unterschied der Spielstärke zurück.
+     *
+     * @return      Entspricht dem Unterschied in Elo, der bei nur Siegen
+     *              bzw Niederlagen unendlich ist.
+     */
+    synchronized double getElo() {
+        return eloOf(getScore());
+    }
+
+    /**
+     * Gibt die halbe Breite des Konfidenzintervalls von 95% des geschätzten
+     * Unterschieds zurück.
+     *
+     * @return      Entspricht der halben Breite in Elo.
+     */
+    synchronized double getEloError() {
+        int games = getGames();
+        if (games == 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double score = getScore();
+        double deviation = Math.sqrt(variance(score) / games);
+        return (eloOf(score + Z_95 * deviation)
+                - eloOf(score - Z_95 * deviation)) / 2;
+    }
+
+    /**
+     * Gibt die logarithmierte Likelihood-Ratio des sequentiellen Tests
+     * zurück, wobei die Verteilung der Punkte durch eine Normalverteilung
+     * genähert wird.
+     *
+     * @return      Entspricht der Likelihood-Ratio, die bei positiven Werten
+     *              für {@code elo1} spricht.
+     */
+    synchronized double getLlr() {
+        int games = getGames();
+        double score = getScore();
+        double variance = variance(score);
+        if (games == 0 || variance == 0) {
+            return 0;
+        }
+        double score0 = scoreOf(elo0);
+        double score1 = scoreOf(elo1);
+        return games * (score1 - score0) * (2 * score - score0 - score1)
+                / (2 * variance);
+    }
+
+    /**
+     * Gibt die untere Grenze der Likelihood-Ratio zurück, ab der
+     * {@code elo0} angenommen wird.
+     *
+     * @return      Entspricht der unteren Grenze.
+     */
+    double getLowerBound() {
+        return Math.log(BETA / (1 - ALPHA));
+    }
+
+    /**
+     * Gibt die obere Grenze der Likelihood-Ratio zurück, ab der
+     * {@code elo1} angenommen wird.
+     *
+     * @return      Entspricht der oberen Grenze.
+     */
+    double getUpperBound() {
+        return Math.log((1 - BETA) / ALPHA);
+    }
+
+    /**
+     * Gibt zurück, ob der sequentielle Test eine der Hypothesen angenommen
+     * hat.
+     *
+     * @return      Gibt zurück, ob der Wettkampf beendet werden kann.
+     */
+    synchronized boolean isDecided() {
+        double llr = getLlr();
+        return llr <= getLowerBound() || llr >= getUpperBound();
+    }
+
+    /**
+     * Gibt die Ergebnisse, die Schätzung und den Stand des Tests als Text
+     * zurück.
+     *
+     * @return      Entspricht der Darstellung der Statistik.
+     */
+    @Override
+    public synchronized String toString() {
+        String text = String.format("+%d =%d -%d score %.1f%% elo %+.1f"
+                + " +-%.1f llr %.2f [%.2f, %.2f]", wins, draws, losses,
+                100 * getScore(), getElo(), getEloError(), getLlr(),
+                getLowerBound(), getUpperBound());
+        double llr = getLlr();
+        if (llr >= getUpperBound()) {
+            text += " H1 accepted";
+        } else if (llr <= getLowerBound()) {
+            text += " H0 accepted";
+        }
+        return text;
+    }
+
+    /**
+     * Gibt die geschätzte Varianz des Punktestands einer Partie zurück.
+     *
+     * @param score     Entspricht dem durchschnittlichen Punktestand.
+     * @return          Entspricht der Varianz.
+     */
+    private double variance(double score) {
+        int games = getGames();
+        if (games == 0) {
+            return 0;
+        }
+        return (wins * (1 - score) * (1 - score)
+                + draws * (0.5 - score) * (0.5 - score)
+                + losses * score * score) / games;
+    }
+
+    /**
+     * Rechnet einen Punktestand in einen Unterschied in Elo um.
+     *
+     * @param score     Entspricht dem Punktestand.
+     * @return          Entspricht dem Unterschied in Elo.
+     */
+    private static double eloOf(double score) {
+        if (score <= 0) {
+            return Double.NEGATIVE_INFINITY;
+        } else if (score >= 1) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return -400 * Math.log10(1 / score - 1);
+    }
+
+    /**
+     * Rechnet einen Unterschied in Elo in den erwarteten Punktestand um.
+     *
+     * @param elo       Entspricht dem Unterschied in Elo.
+     * @return          Entspricht dem erwarteten Punktestand.
+     */
+    private static double scoreOf(double elo) {
+        return 1 / (1 + Math.pow(10, -elo / 400));
+    }
+}
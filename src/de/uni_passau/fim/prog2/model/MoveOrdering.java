@@ -0,0 +1,204 @@
+package de.uni_passau.fim.prog2.model;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * {@code MoveOrdering} sortiert die möglichen Züge einer Spielsituation so,
+ * dass die vermutlich besten Züge zuerst durchsucht werden. Je früher der
+ * beste Zug durchsucht wird, desto mehr Teilbäume kann {@code AlphaBetaSearch}
+ * überspringen. Zuerst kommt der in der {@code TranspositionTable}
+ * gespeicherte Zug, danach die Killer-Züge der Tiefe, danach die Züge nach
+ * ihrem Wert in der History-Tabelle und zuletzt nach dem Score ihres Feldes
+ * in {@code Score}. Bei gleicher Priorität bleibt die Reihenfolge der Zeilen
+ * erhalten.
+ *
+ * <p>Killer-Züge sind Züge, die in der gleichen Tiefe zuletzt einen Teilbaum
+ * abgeschnitten haben. Die History-Tabelle zählt pro Spieler und Feld, wie
+ * oft und wie tief ein Zug einen Teilbaum abgeschnitten hat.
+ *
+ * <p>Eine Sortierung mit Startwert addiert zum Score jedes Feldes einen
+ * zufälligen, festen Wert, sodass Züge mit ähnlichem Score je nach
+ * Startwert in anderer Reihenfolge durchsucht werden. Dadurch durchsuchen
+ * die Helfer von {@code LazySmpSearch} andere Teilbäume als die Hauptsuche.
+ *
+ * @version 17.10.26
+ * @author -----
+ */
+class MoveOrdering {
+
+    /**
+     * Entspricht der Anzahl an Killer-Zügen, die pro Tiefe gespeichert
+     * werden.
+     */
+    private static final int KILLERS_PER_PLY = 2;
+
+    /**
+     * Entspricht der max Anzahl an Halbzügen eines Spiels und somit der
+     * max Tiefe einer Suche.
+     */
+    private static final int MAX_PLY = Board.SIZE * Board.SIZE;
+
+    /**
+     * Entspricht der Anzahl an Bits, um die der Wert der History-Tabelle vor
+     * dem Score des Feldes in der Priorität steht.
+     */
+    private static final int HISTORY_SHIFT = 16;
+
+    /**
+     * Entspricht dem max Wert der History-Tabelle, damit die Priorität nicht
+     * überläuft.
+     */
+    private static final long MAX_HISTORY = 1L << 44;
+
+    /**
+     * Entspricht der oberen Grenze des zufälligen Wertes, der bei einer
+     * Sortierung mit Startwert zum Score eines Feldes addiert wird. Die
+     * Grenze ist kleiner als der Abstand der Ecken zu allen anderen
+     * Feldern, sodass Ecken immer zuerst durchsucht werden.
+     */
+    private static final int MAX_NOISE = 256;
+
+    /**
+     * Entspricht den Killer-Zügen pro Tiefe, wobei der neueste Zug zuerst
+     * gespeichert ist.
+     */
+    private final int[][] killers;
+
+    /**
+     * Entspricht der History-Tabelle pro Spieler und Feld.
+     */
+    private final long[][] history;
+
+    /**
+     * Entspricht dem zufälligen Wert pro Feld, der zum Score des Feldes
+     * addiert wird.
+     */
+    private final int[] noise;
+
+    /**
+     * Kreiert eine leere Sortierung, die für mehrere Suchen der gleichen
+     * Ausgangsspielsituation verwendet werden kann.
+     */
+    MoveOrdering() {
+        killers = new int[MAX_PLY + 1][KILLERS_PER_PLY];
+        for (int[] killersOfPly : killers) {
+            Arrays.fill(killersOfPly, TranspositionTable.NO_MOVE);
+        }
+        history = new long[Player.values().length][Board.SIZE * Board.SIZE];
+        noise = new int[Board.SIZE * Board.SIZE];
+    }
+
+    /**
+     * Kreiert eine leere Sortierung, die Züge mit ähnlichem Score des
+     * Feldes abhängig vom Startwert anders sortiert.
+     *
+     * @param seed          Entspricht dem Startwert der zufälligen Werte.
+     */
+    MoveOrdering(long seed) {
+        this();
+        Random random = new Random(seed);
+        for (int square = 0; square < noise.length; square++) {
+            noise[square] = random.nextInt(MAX_NOISE);
+        }
+    }
+
+    /**
+     * Sortiert die Züge einer Spielsituation absteigend nach ihrer Priorität,
+     * wobei die Reihenfolge von Zügen mit gleicher Priorität erhalten bleibt.
+     * Die Züge werden dazu mit ihren Prioritäten gemeinsam verschoben.
+     *
+     * @param squares       Entspricht den Indexen der Felder der Züge.
+     * @param priorities    Wird mit den Prioritäten der Züge befüllt.
+     * @param count         Entspricht der Anzahl der Züge.
+     * @param hashMove      Entspricht dem Zug der {@code TranspositionTable}
+     *                      bzw {@code TranspositionTable.NO_MOVE}.
+     * @param ply           Entspricht der Tiefe der Spielsituation.
+     * @param player        Entspricht dem ziehenden Spieler.
+     */
+    void orderMoves(int[] squares, long[] priorities, int count, int hashMove,
+                    int ply, Player player) {
+        assert ply >= 0 && ply <= MAX_PLY : "Ply is illegal!";
+        assert player != null : "Player cannot be undefined!";
+
+        for (int i = 0; i < count; i++) {
+            priorities[i] = priorityOf(squares[i], hashMove, ply, player);
+        }
+        for (int i = 1; i < count; i++) {
+            int square = squares[i];
+            long priority = priorities[i];
+            int u = i - 1;
+            while (u >= 0 && priorities[u] < priority) {
+                squares[u + 1] = squares[u];
+                priorities[u + 1] = priorities[u];
+                u--;
+            }
+            squares[u + 1] = square;
+            priorities[u + 1] = priority;
+        }
+    }
+
+    /**
+     * Merkt sich einen Zug, der einen Teilbaum abgeschnitten hat, als
+     * Killer-Zug der Tiefe und erhöht dessen Wert in der History-Tabelle.
+     *
+     * @param square        Entspricht dem Index des Feldes des Zuges.
+     * @param ply           Entspricht der Tiefe der Spielsituation.
+     * @param depth         Entspricht der verbleibenden Tiefe der Suche.
+     * @param player        Entspricht dem ziehenden Spieler.
+     */
+    void recordCutoff(int square, int ply, int depth, Player player) {
+        assert ply >= 0 && ply <= MAX_PLY : "Ply is illegal!";
+        assert player != null : "Player cannot be undefined!";
+
+        addKiller(square, ply);
+
+        long[] historyOfPlayer = history[player.ordinal()];
+        historyOfPlayer[square] = Math.min(MAX_HISTORY,
+                historyOfPlayer[square] + (long) depth * depth);
+    }
+
+    /**
+     * Merkt sich einen Zug als neuesten Killer-Zug der Tiefe, ohne dabei die
+     * History-Tabelle zu verändern.
+     *
+     * @param square        Entspricht dem Index des Feldes des Zuges.
+     * @param ply           Entspricht der Tiefe der Spielsituation.
+     */
+    void addKiller(int square, int ply) {
+        assert ply >= 0 && ply <= MAX_PLY : "Ply is illegal!";
+
+        int[] killersOfPly = killers[ply];
+        if (killersOfPly[0] != square) {
+            for (int i = KILLERS_PER_PLY - 1; i > 0; i--) {
+                killersOfPly[i] = killersOfPly[i - 1];
+            }
+            killersOfPly[0] = square;
+        }
+    }
+
+    /**
+     * Berechnet die Priorität eines Zuges.
+     *
+     * @param square        Entspricht dem Index des Feldes des Zuges.
+     * @param hashMove      Entspricht dem Zug der {@code TranspositionTable}.
+     * @param ply           Entspricht der Tiefe der Spielsituation.
+     * @param player        Entspricht dem ziehenden Spieler.
+     * @return              Gibt die Priorität zurück, wobei eine höhere
+     *                      Priorität früher durchsucht wird.
+     */
+    private long priorityOf(int square, int hashMove, int ply, Player player) {
+        if (square == hashMove) {
+            return Long.MAX_VALUE;
+        }
+        for (int i = 0; i < KILLERS_PER_PLY; i++) {
+            if (killers[ply][i] == square) {
+                return Long.MAX_VALUE - 1 - i;
+            }
+        }
+        return (history[player.ordinal()][square] << HISTORY_SHIFT)
+                + Score.getFieldScore(square / Board.SIZE + 1,
+                                      square % Board.SIZE + 1)
+                + noise[square];
+    }
+}
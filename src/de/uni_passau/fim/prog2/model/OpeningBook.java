@@ -0,0 +1,148 @@
+package de.uni_passau.fim.prog2.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * {@code OpeningBook} enthält die vorab berechneten besten Züge der Maschine
+ * für Spielsituationen der Eröffnung, damit diese nicht in jedem Spiel erneut
+ * durchsucht werden müssen. Das Buch wird aus einer Binärdatei gelesen, die
+ * in den Speicher abgebildet wird, sodass beim Laden keine Einträge kopiert
+ * werden.
+ *
+ * <p>Die Datei beginnt mit {@code MAGIC}, {@code VERSION} und der Anzahl der
+ * Einträge als {@code int}. Danach folgen die Einträge aufsteigend sortiert
+ * nach dem Zobrist-Hash der Spielsituation, wobei jeder Eintrag aus dem Hash
+ * als {@code long}, dem Index des Feldes und der Tiefe der Suche als
+ * {@code short} und dem Score als {@code float} besteht. Ein Eintrag wird
+ * durch binäre Suche gefunden.
+ *
+ * @version 17.10.26
+ * @author -----
+ * @see     OpeningBookBuilder
+ */
+public final class OpeningBook {
+
+    /**
+     * Entspricht den ersten vier Bytes jeder Datei, also "RVOB".
+     */
+    static final int MAGIC = 0x52564f42;
+
+    /**
+     * Entspricht der Version des Formats.
+     */
+    static final int VERSION = 1;
+
+    /**
+     * Entspricht der Anzahl an Bytes vor dem ersten Eintrag.
+     */
+    static final int HEADER_BYTES = 3 * Integer.BYTES;
+
+    /**
+     * Entspricht der Anzahl an Bytes pro Eintrag.
+     */
+    static final int ENTRY_BYTES = Long.BYTES + 2 * Short.BYTES + Float.BYTES;
+
+    /**
+     * Entspricht dem Inhalt der Datei.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * Entspricht der Anzahl der Einträge.
+     */
+    private final int size;
+
+    /**
+     * Kreiert ein Buch aus dem Inhalt einer Datei.
+     *
+     * @param buffer        Entspricht dem Inhalt der Datei.
+     * @param size          Entspricht der Anzahl der Einträge.
+     */
+    private OpeningBook(ByteBuffer buffer, int size) {
+        this.buffer = buffer;
+        this.size = size;
+    }
+
+    /**
+     * Lädt ein Buch, indem die Datei in den Speicher abgebildet wird.
+     *
+     * @param file                          Entspricht der Datei des Buches.
+     * @return                              Gibt das geladene Buch zurück.
+     * @throws IOException                  Wird geworfen, falls die Datei
+     *                                      nicht gelesen werden kann oder
+     *                                      kein Buch dieser Version ist.
+     * @throws IllegalArgumentException     Wird geworfen, falls {@code file}
+     *                                      {@code null} ist.
+     */
+    public static OpeningBook load(Path file) throws IOException {
+        if (file != null) {
+            ByteBuffer buffer;
+            try (FileChannel channel = FileChannel.open(file,
+                    StandardOpenOption.READ)) {
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+                        channel.size());
+            }
+            if (buffer.capacity() < HEADER_BYTES
+                    || buffer.getInt(0) != MAGIC
+                    || buffer.getInt(Integer.BYTES) != VERSION) {
+                throw new IOException("File is not an opening book!");
+            }
+            int size = buffer.getInt(2 * Integer.BYTES);
+            if (size < 0 || (long) size * ENTRY_BYTES + HEADER_BYTES
+                    != buffer.capacity()) {
+                throw new IOException("Opening book is corrupted!");
+            }
+            return new OpeningBook(buffer, size);
+        } else {
+            throw new IllegalArgumentException("File cannot be null!");
+        }
+    }
+
+    /**
+     * Gibt die Anzahl der Einträge zurück.
+     *
+     * @return      Entspricht der Anzahl der Spielsituationen des Buches.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Sucht den Eintrag einer Spielsituation durch binäre Suche.
+     *
+     * @param key           Entspricht dem Zobrist-Hash der Spielsituation.
+     * @param entry         Wird mit der Tiefe, dem Score und dem Zug des
+     *                      Eintrags befüllt, falls dieser gefunden wurde.
+     * @return              Gibt {@code true} zurück, falls ein Eintrag
+     *                      gefunden wurde, andernfalls {@code false}.
+     */
+    boolean probe(long key, TranspositionTable.Entry entry) {
+        assert entry != null : "Entry cannot be undefined!";
+
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int offset = HEADER_BYTES + middle * ENTRY_BYTES;
+            long keyOfMiddle = buffer.getLong(offset);
+            if (keyOfMiddle < key) {
+                low = middle + 1;
+            } else if (keyOfMiddle > key) {
+                high = middle - 1;
+            } else {
+                entry.move = buffer.getShort(offset + Long.BYTES);
+                entry.depth = buffer.getShort(offset + Long.BYTES
+                        + Short.BYTES);
+                entry.score = buffer.getFloat(offset + Long.BYTES
+                        + 2 * Short.BYTES);
+                entry.bound = TranspositionTable.Bound.EXACT;
+                return true;
+            }
+        }
+        return false;
+    }
+}
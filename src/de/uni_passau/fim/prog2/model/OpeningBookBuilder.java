@@ -0,0 +1,206 @@
+package de.uni_passau.fim.prog2.model;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Erzeugt ein {@code OpeningBook}, indem alle Spielsituationen der ersten
+ * Halbzüge beider Eröffner durchlaufen werden. Für jede Spielsituation, in
+ * der die Maschine an der Reihe ist, wird der beste Zug durch eine tiefe
+ * {@code AlphaBetaSearch} berechnet und danach nur dieser Zug weiter
+ * verfolgt, da die Maschine im Spiel genau diesen Zug wählt. Für den
+ * Menschen werden alle legalen Züge verfolgt.
+ *
+ * <p>Aufruf: {@code OpeningBookBuilder <Datei> [Halbzüge] [Tiefe]}, wobei
+ * standardmäßig {@code 8} Halbzüge mit der Tiefe {@code 6} durchsucht
+ * werden.
+ *
+ * @version 17.10.26
+ * @author -----
+ */
+public final class OpeningBookBuilder {
+
+    /**
+     * Entspricht der Anzahl an Halbzügen, falls diese nicht angegeben wurde.
+     */
+    private static final int DEFAULT_PLIES = 8;
+
+    /**
+     * Entspricht der Tiefe der Suche, falls diese nicht angegeben wurde.
+     */
+    private static final int DEFAULT_DEPTH = 6;
+
+    /**
+     * Entspricht der Größe der Transpositionstabelle in Megabyte.
+     */
+    private static final int HASH_SIZE = 64;
+
+    /**
+     * Entspricht der Anzahl an Einträgen, nach denen jeweils der Fortschritt
+     * ausgegeben wird.
+     */
+    private static final int PROGRESS_INTERVAL = 100;
+
+    /**
+     * Entspricht der Anzahl an Halbzügen, bis zu der Einträge erzeugt
+     * werden.
+     */
+    private final int plies;
+
+    /**
+     * Entspricht der Tiefe der Suche pro Eintrag.
+     */
+    private final int depth;
+
+    /**
+     * Entspricht der Transpositionstabelle aller Suchen.
+     */
+    private final TranspositionTable transpositionTable;
+
+    /**
+     * Entspricht den Einträgen, sortiert nach dem Hash der Spielsituation.
+     */
+    private final Map<Long, TranspositionTable.Entry> entries;
+
+    /**
+     * Entspricht den Hashes aller bereits durchlaufenen Spielsituationen.
+     */
+    private final Set<Long> visited;
+
+    /**
+     * Kreiert einen Erzeuger für ein Buch.
+     *
+     * @param plies         Entspricht der Anzahl an Halbzügen.
+     * @param depth         Entspricht der Tiefe der Suche pro Eintrag.
+     */
+    private OpeningBookBuilder(int plies, int depth) {
+        this.plies = plies;
+        this.depth = depth;
+        transpositionTable = new TranspositionTable(HASH_SIZE);
+        entries = new TreeMap<>();
+        visited = new HashSet<>();
+    }
+
+    /**
+     * Startmethode des Erzeugers.
+     *
+     * @param args  Übergabeparameter des Programms, also die Datei des
+     *              Buches und optional die Anzahl an Halbzügen und die Tiefe
+     *              der Suche.
+     * @throws IOException  Wird geworfen, falls die Datei nicht geschrieben
+     *                      werden kann.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: OpeningBookBuilder <file> [plies]"
+                    + " [depth]");
+            System.exit(1);
+        }
+        Path file = Paths.get(args[0]);
+        int plies = args.length > 1 ? Integer.parseInt(args[1])
+                                    : DEFAULT_PLIES;
+        int depth = args.length > 2 ? Integer.parseInt(args[2])
+                                    : DEFAULT_DEPTH;
+        if (plies <= 0 || depth <= 0) {
+            throw new IllegalArgumentException("Plies or depth is negative"
+                    + " or 0!");
+        }
+
+        OpeningBookBuilder builder = new OpeningBookBuilder(plies, depth);
+        long start = System.nanoTime();
+        for (Player firstPlayer : Player.values()) {
+            builder.expand(new BitBoard(firstPlayer), 0);
+        }
+        builder.write(file);
+        System.out.printf("%d entries written to %s in %.1f s%n",
+                builder.entries.size(), file,
+                (System.nanoTime() - start) / 1e9);
+    }
+
+    /**
+     * Durchläuft alle Spielsituationen nach einer Spielsituation, bis die
+     * Anzahl an Halbzügen erreicht ist, wobei bereits durchlaufene
+     * Spielsituationen übersprungen werden.
+     *
+     * @param board         Entspricht der Spielsituation.
+     * @param ply           Entspricht der Anzahl an Halbzügen vor der
+     *                      Spielsituation.
+     */
+    private void expand(EngineBoard board, int ply) {
+        if (ply >= plies || board.gameOver() || !visited.add(board.getHash())) {
+            return;
+        }
+
+        if (board.next() == Player.MACHINE) {
+            int square = addEntry(board);
+            expand(board.moveForNextPlayer(square / Board.SIZE + 1,
+                    square % Board.SIZE + 1), ply + 1);
+        } else {
+            for (long rest = board.calculateLegalMoves(board.next());
+                    rest != 0; rest &= rest - 1) {
+                int square = Long.numberOfTrailingZeros(rest);
+                expand(board.moveForNextPlayer(square / Board.SIZE + 1,
+                        square % Board.SIZE + 1), ply + 1);
+            }
+        }
+    }
+
+    /**
+     * Berechnet den besten Zug der Maschine und speichert diesen als
+     * Eintrag. Der Zug und dessen Score werden aus dem Eintrag der Wurzel in
+     * der {@code transpositionTable} gelesen.
+     *
+     * @param board         Entspricht der Spielsituation, in der die
+     *                      Maschine an der Reihe ist.
+     * @return              Gibt den Index des Feldes des besten Zuges
+     *                      zurück.
+     */
+    private int addEntry(EngineBoard board) {
+        AlphaBetaSearch search = new AlphaBetaSearch(board, depth,
+                transpositionTable, EvaluationWeights.DEFAULT);
+        search.calculateBestMove();
+        TranspositionTable.Entry entry = new TranspositionTable.Entry();
+        if (!transpositionTable.probe(board.getHash(), entry)
+                || entry.depth != depth) {
+            throw new IllegalStateException("Root entry is missing!");
+        }
+
+        entries.put(board.getHash(), entry);
+        if (entries.size() % PROGRESS_INTERVAL == 0) {
+            System.out.println(entries.size() + " entries");
+        }
+        return entry.move;
+    }
+
+    /**
+     * Schreibt alle Einträge im Format von {@code OpeningBook} in eine
+     * Datei.
+     *
+     * @param file          Entspricht der Datei.
+     * @throws IOException  Wird geworfen, falls die Datei nicht geschrieben
+     *                      werden kann.
+     */
+    private void write(Path file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(OpeningBook.MAGIC);
+            out.writeInt(OpeningBook.VERSION);
+            out.writeInt(entries.size());
+            for (Map.Entry<Long, TranspositionTable.Entry> entry
+                    : entries.entrySet()) {
+                out.writeLong(entry.getKey());
+                out.writeShort(entry.getValue().move);
+                out.writeShort(entry.getValue().depth);
+                out.writeFloat((float) entry.getValue().score);
+            }
+        }
+    }
+}
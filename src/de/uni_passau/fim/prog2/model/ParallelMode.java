@@ -0,0 +1,80 @@
+package de.uni_passau.fim.prog2.model;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Stellt die verfügbaren Arten dar, wie die Maschine ihre Suche auf mehrere
+ * Threads verteilt. Bei beiden Arten wird der gleiche Zug gewählt wie bei
+ * der Suche mit einem Thread.
+ *
+ * @version 17.10.26
+ * @author -----
+ */
+public enum ParallelMode {
+
+    /**
+     * Entspricht {@code ParallelSearch}, das die Züge der Wurzel auf die
+     * Threads verteilt.
+     */
+    SPLIT {
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        EngineBoard calculateBestMove(EngineBoard root, int level,
+                                      TranspositionTable table,
+                                      EvaluationWeights weights,
+                                      ForkJoinPool pool,
+                                      AtomicBoolean stopped,
+                                      SearchCounters counters) {
+            return new ParallelSearch(root, level, table, weights, pool,
+                    stopped, counters).calculateBestMove();
+        }
+    },
+
+    /**
+     * Entspricht {@code LazySmpSearch}, bei dem alle Threads die gesamte
+     * Wurzel durchsuchen und sich nur die {@code TranspositionTable} teilen.
+     */
+    LAZY_SMP {
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        EngineBoard calculateBestMove(EngineBoard root, int level,
+                                      TranspositionTable table,
+                                      EvaluationWeights weights,
+                                      ForkJoinPool pool,
+                                      AtomicBoolean stopped,
+                                      SearchCounters counters) {
+            return new LazySmpSearch(root, level, table, weights, pool,
+                    stopped, counters).calculateBestMove();
+        }
+    };
+
+    /**
+     * Berechnet den besten Zug für den nächst ziehenden Spieler mit den
+     * Threads des {@code pool}.
+     *
+     * @param root          Entspricht der Ausgangsspielsituation, die nicht
+     *                      vorbei sein darf.
+     * @param level         Entspricht der max Tiefe der Suche.
+     * @param table         Entspricht der Tabelle der bereits berechneten
+     *                      Scores.
+     * @param weights       Entspricht den Gewichten der Bewertung.
+     * @param pool          Entspricht den Threads der Suche.
+     * @param stopped       Entspricht dem Signal, durch das die Suche aller
+     *                      Threads beendet wird.
+     * @param counters      Entspricht den Zählern des Maschinenzuges, zu
+     *                      denen alle Threads ihre Statistik addieren.
+     * @return              Entspricht dem besten Zug, ausgeführt auf einem
+     *                      Klon.
+     */
+    abstract EngineBoard calculateBestMove(EngineBoard root, int level,
+                                           TranspositionTable table,
+                                           EvaluationWeights weights,
+                                           ForkJoinPool pool,
+                                           AtomicBoolean stopped,
+                                           SearchCounters counters);
+}
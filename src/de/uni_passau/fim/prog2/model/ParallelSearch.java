@@ -0,0 +1,287 @@
+package de.uni_passau.fim.prog2.model;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@code ParallelSearch} berechnet den gleichen besten Zug wie
+ * {@code AlphaBetaSearch}, wobei die Züge der Wurzel jedoch auf mehrere
+ * Threads eines {@code ForkJoinPool} verteilt werden. Zuerst wird der
+ * vermutlich beste Zug allein durchsucht, damit dessen Score als Fenster für
+ * alle anderen Züge verwendet werden kann. Danach werden die restlichen Züge
+ * gleichzeitig durchsucht, wobei jeder Zug eine eigene
+ * {@code AlphaBetaSearch} mit eigener {@code MoveOrdering} erhält und sich
+ * alle Suchen die {@code TranspositionTable} teilen.
+ *
+ * <p>Da jeder Zug mit dem Score des ersten Zuges als Fenster durchsucht wird,
+ * ist der Score jedes Zuges, der besser sein könnte, genau. Der beste Zug
+ * hängt somit nicht von der Reihenfolge ab, in der die Threads fertig
+ * werden, und entspricht bei jeder Anzahl an Threads dem Zug von
+ * {@code AlphaBetaSearch}.
+ *
+ * @version 17.10.26
+ * @author -----
+ */
+class ParallelSearch {
+
+    /**
+     * Entspricht der Suche eines Zuges der Wurzel, die von einem Thread des
+     * {@code ForkJoinPool} ausgeführt wird.
+     */
+    private static final class MoveTask extends RecursiveTask<Double> {
+
+        /**
+         * Entspricht der Version der Serialisierung.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Entspricht der Ausgangsspielsituation.
+         */
+        private final EngineBoard root;
+
+        /**
+         * Entspricht dem Index des Feldes des Zuges.
+         */
+        private final int square;
+
+        /**
+         * Entspricht der max Tiefe der Suche.
+         */
+        private final int level;
+
+        /**
+         * Entspricht der Tabelle der bereits berechneten Scores.
+         */
+        private final TranspositionTable transpositionTable;
+
+        /**
+         * Entspricht den Gewichten der Bewertung.
+         */
+        private final EvaluationWeights weights;
+
+        /**
+         * Entspricht dem Score, den der Zug übertreffen muss.
+         */
+        private final double alpha;
+
+        /**
+         * Entspricht dem Signal, durch das die Suche beendet wird.
+         */
+        private final AtomicBoolean stopped;
+
+        /**
+         * Entspricht den Zählern des Maschinenzuges.
+         */
+        private final SearchCounters counters;
+
+        /**
+         * Kreiert die Suche eines Zuges der Wurzel.
+         *
+         * @param root          Entspricht der Ausgangsspielsituation.
+         * @param square        Entspricht dem Index des Feldes des Zuges.
+         * @param level         Entspricht der max Tiefe der Suche.
+         * @param table         Entspricht der Tabelle der bereits
+         *                      berechneten Scores.
+         * @param weights       Entspricht den Gewichten der Bewertung.
+         * @param alpha         Entspricht dem Score, den der Zug übertreffen
+         *                      muss.
+         * @param stopped       Entspricht dem Signal, durch das die Suche
+         *                      beendet wird.
+         * @param counters      Entspricht den Zählern des Maschinenzuges.
+         */
+        MoveTask(EngineBoard root, int square, int level,
+                 TranspositionTable table, EvaluationWeights weights,
+                 double alpha, AtomicBoolean stopped,
+                 SearchCounters counters) {
+            this.root = root;
+            this.square = square;
+            this.level = level;
+            transpositionTable = table;
+            this.weights = weights;
+            this.alpha = alpha;
+            this.stopped = stopped;
+            this.counters = counters;
+        }
+
+        /**
+         * Durchsucht den Zug mit einer eigenen {@code AlphaBetaSearch}.
+         *
+         * @return      Gibt den Score des Zuges zurück.
+         */
+        @Override
+        protected Double compute() {
+            AlphaBetaSearch search = new AlphaBetaSearch(root, level,
+                    transpositionTable, weights, new MoveOrdering(), stopped,
+                    counters);
+            return search.calculateScoreOfMove(square, alpha);
+        }
+    }
+
+    /**
+     * Entspricht der max Anzahl an möglichen Zügen einer Spielsituation.
+     */
+    private static final int MAX_MOVES = Board.SIZE * Board.SIZE;
+
+    /**
+     * Entspricht der Ausgangsspielsituation.
+     */
+    private EngineBoard root;
+
+    /**
+     * Entspricht der max Tiefe der Suche.
+     */
+    private int level;
+
+    /**
+     * Entspricht der Tabelle der bereits berechneten Scores, die von allen
+     * Threads gemeinsam verwendet wird.
+     */
+    private TranspositionTable transpositionTable;
+
+    /**
+     * Entspricht den Gewichten der Bewertung.
+     */
+    private EvaluationWeights weights;
+
+    /**
+     * Entspricht den Threads, auf die die Züge verteilt werden.
+     */
+    private ForkJoinPool pool;
+
+    /**
+     * Entspricht dem Signal, durch das die Suche aller Threads beendet wird.
+     */
+    private AtomicBoolean stopped;
+
+    /**
+     * Entspricht den Zählern des Maschinenzuges, zu denen alle Threads ihre
+     * Statistik addieren.
+     */
+    private SearchCounters counters;
+
+    /**
+     * Kreiert eine parallele Suche für die Ausgangsspielsituation, die nicht
+     * vorbei sein darf.
+     *
+     * @param root              Entspricht der Ausgangsspielsituation.
+     * @param level             Entspricht der Schwierigkeitsstufe und somit
+     *                          der max Tiefe der Suche.
+     * @param table             Entspricht der Tabelle der bereits
+     *                          berechneten Scores.
+     * @param weights           Entspricht den Gewichten der Bewertung.
+     * @param pool              Entspricht den Threads, auf die die Züge
+     *                          verteilt werden.
+     * @param stopped           Entspricht dem Signal, durch das die Suche
+     *                          aller Threads beendet wird.
+     * @param counters          Entspricht den Zählern des Maschinenzuges.
+     */
+    ParallelSearch(EngineBoard root, int level, TranspositionTable table,
+                   EvaluationWeights weights, ForkJoinPool pool,
+                   AtomicBoolean stopped, SearchCounters counters) {
+        assert root != null : "The beginning game cannot be undefined!";
+        assert level > 0 : "Level cannot be negative or 0!";
+        assert !root.gameOver() : "The game cannot be already over!";
+        assert table != null : "The table cannot be undefined!";
+        assert weights != null : "The weights cannot be undefined!";
+        assert pool != null : "The pool cannot be undefined!";
+        assert stopped != null : "The signal cannot be undefined!";
+        assert counters != null : "The counters cannot be undefined!";
+
+        this.root = root;
+        this.level = level;
+        transpositionTable = table;
+        this.weights = weights;
+        this.pool = pool;
+        this.stopped = stopped;
+        this.counters = counters;
+    }
+
+    /**
+     * Berechnet den besten Zug für den nächst ziehenden Spieler. Bei
+     * gleichem Score wird wie bei {@code Tree} der Zug gewählt, der in der
+     * Reihenfolge der Zeilen zuerst kommt.
+     *
+     * @return          Entspricht dem besten Zug, ausgeführt auf einem Klon.
+     * @see             AlphaBetaSearch#calculateScoreOfMove(int, double)
+     */
+    EngineBoard calculateBestMove() {
+        transpositionTable.newSearch();
+        long key = root.getHash();
+        if (root.next() == Player.HUMAN) {
+            key ^= Zobrist.HUMAN_TO_ASSESS;
+        }
+        TranspositionTable.Entry entry = new TranspositionTable.Entry();
+        int hashMove = TranspositionTable.NO_MOVE;
+        if (transpositionTable.probe(key, entry)) {
+            hashMove = entry.move;
+        }
+
+        int[] squares = new int[MAX_MOVES];
+        int count = generateMoves(squares, hashMove);
+
+        AlphaBetaSearch firstSearch = new AlphaBetaSearch(root, level,
+                transpositionTable, weights, new MoveOrdering(), stopped,
+                counters);
+        int bestSquare = squares[0];
+        double bestScore = firstSearch.calculateScoreOfMove(bestSquare,
+                Double.NEGATIVE_INFINITY);
+
+        MoveTask[] tasks = new MoveTask[count];
+        for (int i = 1; i < count; i++) {
+            double alpha = bestScore;
+            if (squares[i] < bestSquare) {
+                alpha = Math.nextDown(bestScore);
+            }
+            tasks[i] = new MoveTask(root, squares[i], level,
+                    transpositionTable, weights, alpha, stopped, counters);
+            pool.execute(tasks[i]);
+        }
+
+        double firstScore = bestScore;
+        int firstSquare = bestSquare;
+        for (int i = 1; i < count; i++) {
+            double scoreOfChild = tasks[i].join();
+            int square = squares[i];
+            boolean exact = scoreOfChild > firstScore
+                    || (scoreOfChild == firstScore && square < firstSquare);
+            if (exact && (scoreOfChild > bestScore
+                    || (scoreOfChild == bestScore && square < bestSquare))) {
+                bestScore = scoreOfChild;
+                bestSquare = square;
+            }
+        }
+
+        Score score = new Score(root, root.next(), weights);
+        transpositionTable.store(key, level, TranspositionTable.Bound.EXACT,
+                score.calculateScore() + bestScore, bestSquare);
+        return root.moveForNextPlayer(bestSquare / Board.SIZE + 1,
+                bestSquare % Board.SIZE + 1);
+    }
+
+    /**
+     * Berechnet alle möglichen Züge der Ausgangsspielsituation und sortiert
+     * diese durch {@code MoveOrdering}, sodass der vermutlich beste Zug
+     * zuerst kommt.
+     *
+     * @param squares       Wird mit den Indexen der Felder der Züge befüllt.
+     * @param hashMove      Entspricht dem Zug der {@code TranspositionTable}
+     *                      bzw {@code TranspositionTable.NO_MOVE}.
+     * @return              Gibt die Anzahl der möglichen Züge zurück.
+     */
+    private int generateMoves(int[] squares, int hashMove) {
+        int count = 0;
+        for (long rest = root.calculateLegalMoves(root.next()); rest != 0;
+                rest &= rest - 1) {
+            squares[count] = Long.numberOfTrailingZeros(rest);
+            count++;
+        }
+        assert count > 0 : "The game must have a legal move because the game"
+                + " is not over yet!";
+
+        new MoveOrdering().orderMoves(squares, new long[count], count,
+                hashMove, 0, root.next());
+        return count;
+    }
+}
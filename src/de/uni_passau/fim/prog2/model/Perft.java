@@ -0,0 +1,412 @@
+package de.uni_passau.fim.prog2.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Zählt die Spielsituationen, die von einer Spielsituation aus nach genau
+ * {@code depth} Halbzügen erreicht werden, um die Zuggenerierung einer
+ * Implementierung von {@code Board} unabhängig von der Suche zu prüfen und
+ * zu messen. Ein Spiel, das vorher vorbei ist, zählt als eine Spielsituation.
+ * Wer nach einem Zug an der Reihe ist, wird wie in {@code setNextPlayer}
+ * der Implementierung bestimmt, sodass ein Aussetzen standardmäßig kein
+ * eigener Halbzug ist. Mit {@code passes} zählt ein Aussetzen als eigener
+ * Halbzug, wodurch die Zahlen den veröffentlichten Zahlen für Othello
+ * entsprechen.
+ *
+ * <p>Die Züge werden bis {@link #SEQUENTIAL_DEPTH} auf mehrere Threads
+ * eines {@code ForkJoinPool} verteilt. Mit {@code divide} wird die Anzahl
+ * pro Zug der Ausgangsspielsituation ausgegeben, mit {@code check} werden
+ * alle Tiefen bis {@code depth} mit den veröffentlichten Zahlen verglichen.
+ *
+ * <p>Aufruf: {@code Perft <Tiefe> [Spielfeld] [Threads] [divide] [passes]
+ * [check] [Eröffner:Züge]}, wobei das Spielfeld standardmäßig
+ * {@code BITBOARD} ist und eine Spielsituation wie {@code HUMAN:d3c5f6}
+ * angegeben wird.
+ *
+ * @version 17.10.26
+ * @author -----
+ */
+public final class Perft {
+
+    /**
+     * Entspricht den veröffentlichten Anzahlen pro Tiefe ab der
+     * Ausgangsspielsituation, wobei ein Aussetzen als Halbzug zählt.
+     */
+    static final long[] KNOWN_COUNTS = {1L, 4L, 12L, 56L, 244L, 1396L, 8200L,
+        55092L, 390216L, 3005288L, 24571284L, 212258800L, 1939886636L,
+        18429641748L, 184042084512L};
+
+    /**
+     * Entspricht der Tiefe, ab der ein Teilbaum von einem Thread allein
+     * gezählt wird.
+     */
+    private static final int SEQUENTIAL_DEPTH = 5;
+
+    /**
+     * Entspricht dem Zählen eines Teilbaums, der bei genügend Tiefe auf
+     * mehrere Threads verteilt wird.
+     */
+    private final class CountTask extends RecursiveTask<Long> {
+
+        /**
+         * Entspricht der Version der Serialisierung.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Entspricht der Wurzel des Teilbaums.
+         */
+        private final EngineBoard board;
+
+        /**
+         * Entspricht der verbleibenden Tiefe.
+         */
+        private final int depth;
+
+        /**
+         * Kreiert das Zählen eines Teilbaums.
+         *
+         * @param board     Entspricht der Wurzel des Teilbaums.
+         * @param depth     Entspricht der verbleibenden Tiefe.
+         */
+        CountTask(EngineBoard board, int depth) {
+            this.board = board;
+            this.depth = depth;
+        }
+
+        /**
+         * Zählt den Teilbaum, wobei die Kinder parallel gezählt werden,
+         * solange die Tiefe größer als {@link #SEQUENTIAL_DEPTH} ist.
+         *
+         * @return      Gibt die Anzahl der Spielsituationen zurück.
+         */
+        @Override
+        protected Long compute() {
+            if (depth <= SEQUENTIAL_DEPTH || board.gameOver()) {
+                return count(board, depth);
+            }
+
+            List<CountTask> tasks = new ArrayList<>();
+            for (long rest = board.calculateLegalMoves(board.next());
+                    rest != 0; rest &= rest - 1) {
+                int square = Long.numberOfTrailingZeros(rest);
+                EngineBoard child = moveOf(board, square);
+                tasks.add(new CountTask(child, depthAfter(board, child,
+                        depth)));
+            }
+            invokeAll(tasks);
+            long nodes = 0;
+            for (CountTask task : tasks) {
+                nodes += task.join();
+            }
+            return nodes;
+        }
+    }
+
+    /**
+     * Gibt an, ob ein Aussetzen als eigener Halbzug zählt.
+     */
+    private final boolean countPasses;
+
+    /**
+     * Kreiert einen Zähler.
+     *
+     * @param countPasses   Gibt an, ob ein Aussetzen als eigener Halbzug
+     *                      zählt.
+     */
+    Perft(boolean countPasses) {
+        this.countPasses = countPasses;
+    }
+
+    /**
+     * Startmethode des Zählers.
+     *
+     * @param args  Übergabeparameter des Programms, also die Tiefe und
+     *              optional das Spielfeld, die Anzahl der Threads
+     *              (Standard Anzahl der Kerne), die Optionen und die
+     *              Spielsituation.
+     */
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.err.println("Usage: Perft <depth> [board] [threads]"
+                    + " [divide] [passes] [check] [player:moves]");
+            System.exit(1);
+        }
+        int depth = Integer.parseInt(args[0]);
+        BoardType type = args.length > 1 ? BoardType.valueOf(args[1])
+                                         : BoardType.BITBOARD;
+        int threads = args.length > 2 ? Integer.parseInt(args[2])
+                : Runtime.getRuntime().availableProcessors();
+        boolean divide = false;
+        boolean passes = false;
+        boolean check = false;
+        String position = "HUMAN:";
+        for (int i = 3; i < args.length; i++) {
+            if (args[i].equals("divide")) {
+                divide = true;
+            } else if (args[i].equals("passes")) {
+                passes = true;
+            } else if (args[i].equals("check")) {
+                check = true;
+            } else {
+                position = args[i];
+            }
+        }
+        if (depth < 0 || threads <= 0) {
+            throw new IllegalArgumentException("Depth or threads is"
+                    + " negative!");
+        }
+
+        EngineSession session
+                = new EngineSession(EngineConfig.DEFAULT.withHashSize(1));
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            if (check) {
+                List<String> mismatches = check(type, depth, pool);
+                for (String mismatch : mismatches) {
+                    System.out.println(mismatch);
+                }
+                if (!mismatches.isEmpty()) {
+                    System.exit(1);
+                }
+                System.out.printf("perft(0..%d) ok%n", depth);
+            } else {
+                EngineBoard root = parsePosition(type, position, session);
+                run(new Perft(passes), root, depth, divide, pool);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Zählt die Spielsituationen bis zu einer Tiefe auf mehreren Threads.
+     *
+     * @param root      Entspricht der Ausgangsspielsituation.
+     * @param depth     Entspricht der Tiefe.
+     * @param pool      Entspricht den Threads.
+     * @return          Gibt die Anzahl der Spielsituationen zurück.
+     */
+    long count(EngineBoard root, int depth, ForkJoinPool pool) {
+        return pool.invoke(new CountTask(root, depth));
+    }
+
+    /**
+     * Zählt die Spielsituationen pro Zug der Ausgangsspielsituation auf
+     * mehreren Threads.
+     *
+     * @param root      Entspricht der Ausgangsspielsituation, die nicht
+     *                  vorbei sein darf.
+     * @param depth     Entspricht der Tiefe, die größer als {@code 0} sein
+     *                  muss.
+     * @param pool      Entspricht den Threads.
+     * @return          Gibt die Anzahl pro Index des Feldes des Zuges
+     *                  zurück, wobei Felder ohne legalen Zug {@code -1}
+     *                  enthalten.
+     */
+    long[] divide(EngineBoard root, int depth, ForkJoinPool pool) {
+        assert !root.gameOver() && depth > 0 : "Nothing to divide!";
+
+        long[] counts = new long[Board.SIZE * Board.SIZE];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = -1;
+        }
+        List<CountTask> tasks = new ArrayList<>();
+        List<Integer> squares = new ArrayList<>();
+        for (long rest = root.calculateLegalMoves(root.next()); rest != 0;
+                rest &= rest - 1) {
+            int square = Long.numberOfTrailingZeros(rest);
+            EngineBoard child = moveOf(root, square);
+            CountTask task = new CountTask(child, depthAfter(root, child,
+                    depth));
+            pool.execute(task);
+            tasks.add(task);
+            squares.add(square);
+        }
+        for (int i = 0; i < tasks.size(); i++) {
+            counts[squares.get(i)] = tasks.get(i).join();
+        }
+        return counts;
+    }
+
+    /**
+     * Zählt die Spielsituationen eines Teilbaums auf dem aufrufenden
+     * Thread. Die letzte Tiefe wird nicht ausgeführt, sondern nur die
+     * legalen Züge gezählt.
+     *
+     * @param board     Entspricht der Wurzel des Teilbaums.
+     * @param depth     Entspricht der verbleibenden Tiefe.
+     * @return          Gibt die Anzahl der Spielsituationen zurück.
+     */
+    private long count(EngineBoard board, int depth) {
+        if (depth == 0 || board.gameOver()) {
+            return 1;
+        }
+
+        long legalMoves = board.calculateLegalMoves(board.next());
+        if (depth == 1) {
+            return Long.bitCount(legalMoves);
+        }
+        long nodes = 0;
+        for (long rest = legalMoves; rest != 0; rest &= rest - 1) {
+            EngineBoard child = moveOf(board, Long.numberOfTrailingZeros(rest));
+            nodes += count(child, depthAfter(board, child, depth));
+        }
+        return nodes;
+    }
+
+    /**
+     * Gibt die verbleibende Tiefe nach einem Zug zurück, wobei ein Aussetzen
+     * des Gegners als weiterer Halbzug zählt, falls {@code countPasses}
+     * gesetzt ist.
+     *
+     * @param board     Entspricht der Spielsituation vor dem Zug.
+     * @param child     Entspricht der Spielsituation nach dem Zug.
+     * @param depth     Entspricht der Tiefe vor dem Zug, die mindestens
+     *                  {@code 2} beträgt, falls ein Aussetzen zählen kann.
+     * @return          Gibt die Tiefe nach dem Zug zurück.
+     */
+    private int depthAfter(EngineBoard board, EngineBoard child, int depth) {
+        if (countPasses && depth > 1 && !child.gameOver()
+                && child.next() == board.next()) {
+            return depth - 2;
+        }
+        return depth - 1;
+    }
+
+    /**
+     * Zählt die Spielsituationen einer Spielsituation und gibt das Ergebnis
+     * mit der Geschwindigkeit aus.
+     *
+     * @param perft     Entspricht dem Zähler.
+     * @param root      Entspricht der Ausgangsspielsituation.
+     * @param depth     Entspricht der Tiefe.
+     * @param divide    Gibt an, ob die Anzahl pro Zug ausgegeben wird.
+     * @param pool      Entspricht den Threads.
+     */
+    private static void run(Perft perft, EngineBoard root, int depth,
+                            boolean divide, ForkJoinPool pool) {
+        long start = System.nanoTime();
+        long nodes;
+        if (divide && depth > 0 && !root.gameOver()) {
+            long[] counts = perft.divide(root, depth, pool);
+            nodes = 0;
+            for (int square = 0; square < counts.length; square++) {
+                if (counts[square] >= 0) {
+                    System.out.printf("%s %d%n", nameOf(square),
+                            counts[square]);
+                    nodes += counts[square];
+                }
+            }
+        } else {
+            nodes = perft.count(root, depth, pool);
+        }
+        long nanos = System.nanoTime() - start;
+        System.out.printf("perft(%d) = %d in %.1f ms, %.2f Mnodes/s%n", depth,
+                nodes, nanos / 1e6, nodes / (nanos / 1e3));
+    }
+
+    /**
+     * Vergleicht die Anzahlen aller Tiefen bis {@code depth} ab der
+     * Ausgangsspielsituation mit den veröffentlichten Zahlen, wobei ein
+     * Aussetzen als Halbzug zählt. Bis zur Tiefe {@code 8} kann niemand
+     * aussetzen, weshalb dort auch ohne {@code passes} verglichen wird.
+     *
+     * @param type                          Entspricht dem Spielfeld.
+     * @param depth                         Entspricht der max Tiefe.
+     * @param pool                          Entspricht den Threads.
+     * @return                              Gibt eine Beschreibung jeder
+     *                                      falschen Anzahl zurück, die leer
+     *                                      ist, falls alle Anzahlen stimmen.
+     * @throws IllegalArgumentException     Wird geworfen, falls keine
+     *                                      Zahlen bis {@code depth}
+     *                                      bekannt sind.
+     */
+    static List<String> check(BoardType type, int depth,
+                              ForkJoinPool pool) {
+        if (depth >= KNOWN_COUNTS.length) {
+            throw new IllegalArgumentException("Counts are only known up to"
+                    + " depth " + (KNOWN_COUNTS.length - 1) + "!");
+        }
+
+        EngineBoard root = (EngineBoard) type.createBoard(Player.HUMAN,
+                new EngineSession(EngineConfig.DEFAULT.withHashSize(1)));
+        List<String> mismatches = new ArrayList<>();
+        for (int i = 0; i <= depth; i++) {
+            for (boolean passes : new boolean[] {true, false}) {
+                if (passes || i <= 8) {
+                    long nodes = new Perft(passes).count(root, i, pool);
+                    if (nodes != KNOWN_COUNTS[i]) {
+                        mismatches.add(String.format(
+                                "perft(%d)%s = %d, expected %d", i,
+                                passes ? " passes" : "", nodes,
+                                KNOWN_COUNTS[i]));
+                    }
+                }
+            }
+        }
+        return mismatches;
+    }
+
+    /**
+     * Spielt die Züge einer Spielsituation der Form
+     * {@code Eröffner:Züge} ab der Ausgangsspielsituation nach.
+     *
+     * @param type                          Entspricht dem Spielfeld.
+     * @param position                      Entspricht dem Eröffner und den
+     *                                      Zügen, etwa {@code HUMAN:d3c5}.
+     * @param session                       Entspricht der Sitzung des
+     *                                      Spielfelds.
+     * @return                              Gibt die Spielsituation nach
+     *                                      den Zügen zurück.
+     * @throws IllegalArgumentException     Wird geworfen, falls ein Zug
+     *                                      nicht legal ist.
+     */
+    static EngineBoard parsePosition(BoardType type, String position,
+                                     EngineSession session) {
+        String[] parts = position.split(":", 2);
+        EngineBoard board = (EngineBoard) type.createBoard(
+                Player.valueOf(parts[0]), session);
+        String moves = parts.length > 1 ? parts[1] : "";
+        for (int i = 0; i + 1 < moves.length(); i += 2) {
+            int square = (moves.charAt(i + 1) - '1') * Board.SIZE
+                    + moves.charAt(i) - 'a';
+            if (board.gameOver() || square < 0
+                    || square >= Board.SIZE * Board.SIZE
+                    || (board.calculateLegalMoves(board.next())
+                            & (1L << square)) == 0) {
+                throw new IllegalArgumentException("Illegal move "
+                        + moves.substring(i, i + 2) + "!");
+            }
+            board = moveOf(board, square);
+        }
+        return board;
+    }
+
+    /**
+     * Führt einen Zug des ziehenden Spielers auf einem Klon aus.
+     *
+     * @param board     Entspricht der Spielsituation.
+     * @param square    Entspricht dem Index des Feldes des Zuges.
+     * @return          Gibt die Spielsituation nach dem Zug zurück.
+     */
+    private static EngineBoard moveOf(EngineBoard board, int square) {
+        return board.moveForNextPlayer(square / Board.SIZE + 1,
+                square % Board.SIZE + 1);
+    }
+
+    /**
+     * Gibt den Namen eines Feldes aus Buchstabe der Spalte und Nummer der
+     * Zeile zurück.
+     *
+     * @param square    Entspricht dem Index des Feldes.
+     * @return          Gibt den Namen zurück, etwa {@code d3}.
+     */
+    private static String nameOf(int square) {
+        return "" + (char) ('a' + square % Board.SIZE)
+                + (square / Board.SIZE + 1);
+    }
+}
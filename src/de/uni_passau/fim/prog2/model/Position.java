@@ -0,0 +1,98 @@
+package de.uni_passau.fim.prog2.model;
+
+/**
+ * Enthält die Methoden einer Spielsituation, die {@code Score} für die
+ * Bewertung und {@code AlphaBetaSearch} für die Suche benötigen. Dadurch
+ * kann sowohl jedes {@code EngineBoard} als auch das veränderbare
+ * {@code SearchBoard} bewertet werden.
+ *
+ * @version 17.10.26
+ * @author -----
+ */
+interface Position {
+
+    /**
+     * Gibt den Spieler zurück, der als nächstes an der Reihe ist.
+     *
+     * @return              Entspricht dem nächst ziehenden Spieler.
+     */
+    Player next();
+
+    /**
+     * Prüft, ob das Spiel vorbei ist.
+     *
+     * @return              Entspricht {@code true}, falls das Spiel vorbei
+     *                      ist, andernfalls {@code false}.
+     */
+    boolean gameOver();
+
+    /**
+     * Gibt die Anzahl der Steine des Menschen auf dem Spielfeld zurück.
+     *
+     * @return              Entspricht der Anzahl der Steine.
+     */
+    int getNumberOfHumanTiles();
+
+    /**
+     * Gibt die Anzahl der Steine der Maschine auf dem Spielfeld zurück.
+     *
+     * @return              Entspricht der Anzahl der Steine.
+     */
+    int getNumberOfMachineTiles();
+
+    /**
+     * Prüft, wie viele legale Züge für einen Spieler möglich sind.
+     *
+     * @param player        Entspricht dem Spieler, für den die Anzahl der
+     *                      legalen Züge berechnet wird.
+     * @return              Es wird die Anzahl an legalen, möglichen Zügen
+     *                      zurückgegeben.
+     */
+    int numberOfLegalMoves(Player player);
+
+    /**
+     * Berechnet alle Felder, auf die ein Spieler legal ziehen kann, ohne
+     * dafür Objekte zu erzeugen.
+     *
+     * @param player        Entspricht dem Spieler, für den die legalen Züge
+     *                      berechnet werden.
+     * @return              Gibt die Maske der legalen Felder zurück, wobei
+     *                      das Feld in der Zeile {@code row} und der Spalte
+     *                      {@code col} dem Bit
+     *                      {@code (row - 1) * Board.SIZE + (col - 1)}
+     *                      entspricht.
+     */
+    long calculateLegalMoves(Player player);
+
+    /**
+     * Gibt den Zobrist-Hash der Spielsituation zurück, der bei jedem Zug
+     * inkrementell aktualisiert wird.
+     *
+     * @return              Entspricht dem Hash der Spielsituation.
+     * @see                 Zobrist
+     */
+    long getHash();
+
+    /**
+     * Gibt die Summe der Scores der Felder zurück, auf denen Steine eines
+     * Spielers liegen. Diese wird bei jedem Zug für die gesetzten und
+     * umgedrehten Steine aktualisiert.
+     *
+     * @param player        Entspricht dem Spieler.
+     * @return              Entspricht der Summe der Scores der Felder.
+     * @see                 Score#getFieldScore(int, int)
+     */
+    int getFieldScore(Player player);
+
+    /**
+     * Gibt die Anzahl der leeren Nachbarfelder aller Steine eines Spielers
+     * zurück, wobei ein leeres Feld pro angrenzendem Stein gezählt wird.
+     * Diese wird bei jedem Zug für die gesetzten und umgedrehten Steine und
+     * deren Nachbarn aktualisiert.
+     *
+     * @param player        Entspricht dem Spieler.
+     * @return              Entspricht der Anzahl der leeren Nachbarfelder.
+     * @see                 Score#countWrappingFields(Board, int, int)
+     */
+    int getFrontier(Player player);
+}
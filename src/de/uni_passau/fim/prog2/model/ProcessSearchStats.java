@@ -0,0 +1,269 @@
+package de.uni_passau.fim.prog2.model;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongBinaryOperator;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Addiert die {@link SearchStats} aller Maschinenzüge des Prozesses und
+ * stellt diese über JMX bereit. Es gibt genau eine Instanz, die beim ersten
+ * Maschinenzug kreiert und registriert wird. Kann die Bean nicht
+ * registriert werden, etwa weil ein anderer Classloader bereits eine
+ * registriert hat, wird dennoch weiter gezählt.
+ *
+ * @version 17.10.26
+ * @author -----
+ * @see     SearchStatsMXBean
+ */
+final class ProcessSearchStats implements SearchStatsMXBean {
+
+    /**
+     * Entspricht der einzigen Instanz.
+     */
+    private static final ProcessSearchStats INSTANCE = register();
+
+    /**
+     * Entspricht der Anzahl der Maschinenzüge.
+     */
+    private final LongAdder machineMoves = new LongAdder();
+
+    /**
+     * Entspricht der Anzahl der besuchten Spielsituationen.
+     */
+    private final LongAdder nodes = new LongAdder();
+
+    /**
+     * Entspricht der Anzahl der Bewertungen.
+     */
+    private final LongAdder evaluations = new LongAdder();
+
+    /**
+     * Entspricht der Anzahl der abgeschnittenen Teilbäume.
+     */
+    private final LongAdder cutoffs = new LongAdder();
+
+    /**
+     * Entspricht der Anzahl der abgeschnittenen Teilbäume, bei denen bereits
+     * der erste Zug abgeschnitten hat.
+     */
+    private final LongAdder firstMoveCutoffs = new LongAdder();
+
+    /**
+     * Entspricht der Anzahl der Abfragen der Transpositionstabelle.
+     */
+    private final LongAdder cacheProbes = new LongAdder();
+
+    /**
+     * Entspricht der Anzahl der gefundenen Einträge.
+     */
+    private final LongAdder cacheHits = new LongAdder();
+
+    /**
+     * Entspricht der größten Tiefe.
+     */
+    private final LongAccumulator maxDepth = new LongAccumulator(
+            new LongBinaryOperator() {
+                @Override
+                public long applyAsLong(long left, long right) {
+                    return Math.max(left, right);
+                }
+            }, 0);
+
+    /**
+     * Entspricht der vergangenen Zeit in Nanosekunden.
+     */
+    private final LongAdder wallNanos = new LongAdder();
+
+    /**
+     * Entspricht der Rechenzeit in Nanosekunden.
+     */
+    private final LongAdder cpuNanos = new LongAdder();
+
+    /**
+     * Entspricht der Statistik des letzten Maschinenzuges.
+     */
+    private final AtomicReference<SearchStats> lastMove
+            = new AtomicReference<>();
+
+    /**
+     * Kreiert die Statistik des Prozesses.
+     */
+    private ProcessSearchStats() {
+    }
+
+    /**
+     * Addiert die Statistik eines Maschinenzuges.
+     *
+     * @param stats     Entspricht der Statistik des Maschinenzuges.
+     */
+    static void record(SearchStats stats) {
+        assert stats != null : "Stats cannot be undefined!";
+
+        INSTANCE.add(stats);
+    }
+
+    /**
+     * Kreiert die einzige Instanz und registriert diese beim MBean-Server
+     * der Plattform.
+     *
+     * @return          Entspricht der Instanz.
+     */
+    private static ProcessSearchStats register() {
+        ProcessSearchStats stats = new ProcessSearchStats();
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(stats,
+                    new ObjectName(OBJECT_NAME));
+        } catch (JMException e) {
+            // Die Statistik wird auch ohne JMX gezählt.
+        }
+        return stats;
+    }
+
+    /**
+     * Addiert die Statistik eines Maschinenzuges zu den Zählern.
+     *
+     * @param stats     Entspricht der Statistik des Maschinenzuges.
+     */
+    private void add(SearchStats stats) {
+        machineMoves.increment();
+        nodes.add(stats.getNodes());
+        evaluations.add(stats.getEvaluations());
+        cutoffs.add(stats.getCutoffs());
+        firstMoveCutoffs.add(stats.getFirstMoveCutoffs());
+        cacheProbes.add(stats.getCacheProbes());
+        cacheHits.add(stats.getCacheHits());
+        maxDepth.accumulate(stats.getDepth());
+        wallNanos.add(stats.getWallNanos());
+        cpuNanos.add(stats.getCpuNanos());
+        lastMove.set(stats);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getMachineMoves() {
+        return machineMoves.sum();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getNodes() {
+        return nodes.sum();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getEvaluations() {
+        return evaluations.sum();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getCutoffs() {
+        return cutoffs.sum();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getFirstMoveCutoffRate() {
+        long all = cutoffs.sum();
+        return all == 0 ? 0 : (double) firstMoveCutoffs.sum() / all;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getCacheProbes() {
+        return cacheProbes.sum();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getCacheHitRate() {
+        long probes = cacheProbes.sum();
+        return probes == 0 ? 0 : (double) cacheHits.sum() / probes;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getMaxDepth() {
+        return (int) maxDepth.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getWallMillis() {
+        return wallNanos.sum() / 1_000_000;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getCpuMillis() {
+        return cpuNanos.sum() / 1_000_000;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getNodesPerSecond() {
+        long wall = wallNanos.sum();
+        return wall == 0 ? 0 : nodes.sum() / (wall / 1e9);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SearchStats getLastMove() {
+        return lastMove.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void reset() {
+        machineMoves.reset();
+        nodes.reset();
+        evaluations.reset();
+        cutoffs.reset();
+        firstMoveCutoffs.reset();
+        cacheProbes.reset();
+        cacheHits.reset();
+        maxDepth.reset();
+        wallNanos.reset();
+        cpuNanos.reset();
+        lastMove.set(null);
+    }
+}
@@ -1,8 +1,5 @@
 package de.uni_passau.fim.prog2.model;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * Die Klasse {@code Reversi} implementiert ein strategisches Brettspiel
  * gennant Reversi bzw Othello. Das Spielbrett besteht aus
@@ -14,17 +11,18 @@ import java.util.List;
  * @version 21.12.19
  * @author -----
  */
-public class Reversi implements Board {
+public class Reversi extends EngineBoard {
 
     /**
-     * Entspricht dem Spielfeld.
+     * Entspricht allen Richtungen, damit diese nicht bei jedem Aufruf von
+     * {@link Direction#values()} kopiert werden.
      */
-    private Player[][] gameBoard;
+    private static final Direction[] DIRECTIONS = Direction.values();
 
     /**
-     * Entspricht der momentanen Schwierigkeitsstufe der Maschine.
+     * Entspricht dem Spielfeld.
      */
-    private static int level = 3;
+    private Player[][] gameBoard;
 
     /**
      * Entspricht dem Spieler, der das Spiel eröffnet hat.
@@ -36,6 +34,33 @@ public class Reversi implements Board {
      */
     private Player nextPlayer;
 
+    /**
+     * Entspricht dem Zobrist-Hash der Spielsituation.
+     */
+    private long hash;
+
+    /**
+     * Entspricht der Summe der Scores der Felder mit Steinen des Menschen.
+     */
+    private int humanFieldScore;
+
+    /**
+     * Entspricht der Summe der Scores der Felder mit Steinen der Maschine.
+     */
+    private int machineFieldScore;
+
+    /**
+     * Entspricht der Anzahl der leeren Nachbarfelder aller Steine des
+     * Menschen.
+     */
+    private int humanFrontier;
+
+    /**
+     * Entspricht der Anzahl der leeren Nachbarfelder aller Steine der
+     * Maschine.
+     */
+    private int machineFrontier;
+
     /**
      * Entspricht {@code true}, falls sowohl der Mensch als auch die Maschine
      * nicht mehr ziehen konnten, was äquivalent dazu ist, dass das Spiel
@@ -43,6 +68,18 @@ public class Reversi implements Board {
      */
     private boolean gameOver;
 
+    /**
+     * Entspricht den Feldern, auf die der Mensch legal ziehen kann. Wird bei
+     * jedem Zug einmal berechnet.
+     */
+    private long humanLegalMoves;
+
+    /**
+     * Entspricht den Feldern, auf die die Maschine legal ziehen kann. Wird
+     * bei jedem Zug einmal berechnet.
+     */
+    private long machineLegalMoves;
+
     /**
      * Entspricht der Anzahl an Steinen des menschlichen Spielers auf dem Feld.
      */
@@ -55,22 +92,39 @@ public class Reversi implements Board {
 
     /**
      * Erstellt ein Spiel, wobei der Eröffner gesetzt werden kann und die
-     * Schwierigkeitsstufe des alten Spiels erhalten bleibt bzw bei dem ersten
-     * Spiel gleich {@code 3} ist.
+     * Maschine eine eigene Sitzung mit den standard Einstellungen verwendet.
      *
      * @param  firstPlayer                  Entspricht dem Eröffner des Spiels.
      * @throws IllegalArgumentException     Wird geworfen, falls der Eröffner
      *                                      {@code null} ist.
-     * @see                                 #setInitialPosition()
+     * @see                                 EngineConfig#DEFAULT
      */
     public Reversi(Player firstPlayer) {
-        if (firstPlayer != null) {
+        this(firstPlayer, new EngineSession());
+    }
+
+    /**
+     * Erstellt ein Spiel, wobei der Eröffner und die Sitzung der Maschine
+     * gesetzt werden können. Die Maschine sucht mit den Einstellungen der
+     * Sitzung.
+     *
+     * @param  firstPlayer                  Entspricht dem Eröffner des Spiels.
+     * @param  session                      Entspricht der Sitzung der
+     *                                      Maschine für dieses Spiel.
+     * @throws IllegalArgumentException     Wird geworfen, falls der Eröffner
+     *                                      oder die Sitzung {@code null} ist.
+     * @see                                 #setInitialPosition()
+     */
+    public Reversi(Player firstPlayer, EngineSession session) {
+        super(session);
+        if (firstPlayer != null && session != null) {
             gameBoard = new Player[Board.SIZE][Board.SIZE];
             this.firstPlayer = firstPlayer;
             nextPlayer = firstPlayer;
             setInitialPosition();
         } else {
-            throw new IllegalArgumentException("FirstPlayer is undefined!");
+            throw new IllegalArgumentException("FirstPlayer or session is"
+                    + " undefined!");
         }
     }
 
@@ -138,55 +192,6 @@ public class Reversi implements Board {
         }
     }
 
-    /**
-     * Berechnet den besten Zug für die Maschine und führt diesen auf einem
-     * Klon aus, falls die Maschine an der Reihe ist und das Spiel nicht
-     * vorbei ist.
-     *
-     * @return                          Entspricht dem Klon, auf dem der Zug
-     *                                  ausgeführt wurde.
-     * @throws IllegalMoveException     Wird geworfen, falls das Spiel bereits
-     *                                  vorbei ist oder die Maschine nicht an
-     *                                  der Reihe ist.
-     * @see                             #gameOver()
-     * @see                             #next()
-     * @see                             IllegalMoveException
-     * @see                             Tree
-     */
-    @Override
-    public Reversi machineMove() {
-        if (!gameOver()) {
-            if (next() == Player.MACHINE) {
-                Tree tree = new Tree(this, Reversi.level);
-                return tree.calculateBestMove();
-            } else {
-                throw new IllegalMoveException("Human Turn!");
-            }
-        } else {
-            throw new IllegalMoveException("Game is already over!");
-        }
-    }
-
-    /**
-     * Setzt die Schwierigkeitsstufe auf einen neuen Wert, der positiv sein
-     * muss. Das Level kann beliebig schwierig gesetzt werden, wobei die
-     * Rechenzeit sehr lang dauern kann. Ein maximales Level ist trotzdem
-     * gegeben, da theoretisch nur eine begrenzte Anzahl an Zügen möglich sind.
-     *
-     * @param level                         Entspricht dem neuen Level der
-     *                                      Maschine und muss positiv sein.
-     * @throws IllegalArgumentException     Wird geworfen, falls {@code level}
-     *                                      nicht positiv ist.
-     */
-    @Override
-    public void setLevel(int level) {
-        if (level > 0) {
-            Reversi.level = level;
-        } else {
-            throw new IllegalArgumentException("Level is negative or 0!");
-        }
-    }
-
     /**
      * Gibt zurück, ob das Spiel bereits vorbei ist, also keiner der Spieler
      * mehr ziehen kann.
@@ -280,12 +285,7 @@ public class Reversi implements Board {
      */
     @Override
     public Reversi clone() {
-        Reversi copy;
-        try {
-            copy = (Reversi) super.clone();
-        } catch (CloneNotSupportedException e) {
-            throw new IllegalStateException("Reversi has to be cloneable!");
-        }
+        Reversi copy = (Reversi) super.clone();
         Player[][] gameCopy = gameBoard.clone();
         for (int i = 0; i < gameCopy.length; i++) {
             gameCopy[i] = gameCopy[i].clone();
@@ -339,19 +339,20 @@ public class Reversi implements Board {
      *                                      Zug ausgeführt wurde, andernfalls
      *                                      wird {@code null} zurückgegeben.
      * @see                                 #next()
-     * @see                                 #checkLegalityOfMove(int, int,
-     *                                      Player)
-     * @see                                 #executeMove(int, int, List)
+     * @see                                 #calculateLegalDirections(int,
+     *                                      int, Player)
+     * @see                                 #executeMove(int, int, int)
      *
      */
-    Reversi moveForNextPlayer(int row, int col) {
+    @Override
+    public Reversi moveForNextPlayer(int row, int col) {
         assert row > 0 && row <= Board.SIZE : "Row is not positive or to big!";
         assert col > 0 && col <= Board.SIZE : "Col is not positive or to big!";
         assert next() != null : "Next player cannot be undefined!";
 
-        List<Direction> legalDirections = checkLegalityOfMove(row, col, next());
-        if (legalDirections.size() > 0) {
-            return executeMove(row, col, legalDirections);
+        if ((calculateLegalMoves(next()) & (1L << toSquare(row, col))) != 0) {
+            return executeMove(row, col,
+                    calculateLegalDirections(row, col, next()));
         } else {
             return null;
         }
@@ -365,20 +366,103 @@ public class Reversi implements Board {
      *                          legalen Züge berechnet wird.
      * @return                  Es wird die Anzahl an legalen, möglichen Zügen
      *                          zurückgegeben.
-     * @see                     #checkLegalityOfMove(int, int, Player)
+     * @see                     #calculateLegalMoves(Player)
      */
-    int numberOfLegalMoves(Player player) {
+    @Override
+    public int numberOfLegalMoves(Player player) {
         assert player != null : "Player cannot be undefined!";
 
-        int counter = 0;
+        return Long.bitCount(calculateLegalMoves(player));
+    }
+
+    /**
+     * Gibt alle Felder zurück, auf die ein Spieler legal ziehen kann. Diese
+     * werden nach jedem Zug einmal für beide Spieler berechnet und danach
+     * nur noch gelesen, da das Spielobjekt nicht mehr verändert wird.
+     *
+     * @param player            Entspricht dem Spieler, für den die legalen
+     *                          Züge zurückgegeben werden.
+     * @return                  Gibt die Maske der legalen Felder zurück.
+     * @see                     #updateLegalMoves()
+     */
+    @Override
+    public long calculateLegalMoves(Player player) {
+        assert player != null : "Player cannot be undefined!";
+
+        return player == Player.HUMAN ? humanLegalMoves : machineLegalMoves;
+    }
+
+    /**
+     * Gibt die Felder zurück, auf die der nächste Spieler legal ziehen kann.
+     * Diese wurden beim Erzeugen der Spielsituation einmal berechnet.
+     *
+     * @return      Entspricht der Maske der legalen Felder, die {@code 0}
+     *              ist, falls das Spiel vorbei ist.
+     */
+    @Override
+    public long legalMoves() {
+        return calculateLegalMoves(nextPlayer);
+    }
+
+    /**
+     * Berechnet alle Felder, auf die ein Spieler legal ziehen kann, wobei
+     * für jedes Feld die legalen Richtungen geprüft werden.
+     *
+     * @param player            Entspricht dem Spieler, für den die legalen
+     *                          Züge berechnet werden.
+     * @return                  Gibt die Maske der legalen Felder zurück.
+     * @see                     #calculateLegalDirections(int, int, Player)
+     */
+    private long scanLegalMoves(Player player) {
+        assert player != null : "Player cannot be undefined!";
+
+        long legalMoves = 0;
         for (int i = 1; i <= gameBoard.length; i++) {
             for (int u = 1; u <= gameBoard[i - 1].length; u++) {
-                if (checkLegalityOfMove(i, u, player).size() > 0) {
-                    counter++;
+                if (calculateLegalDirections(i, u, player) != 0) {
+                    legalMoves |= 1L << toSquare(i, u);
                 }
             }
         }
-        return counter;
+        return legalMoves;
+    }
+
+    /**
+     * Gibt die Summe der Scores der Felder zurück, auf denen Steine eines
+     * Spielers liegen.
+     *
+     * @param player        Entspricht dem Spieler.
+     * @return              Entspricht der Summe der Scores der Felder.
+     */
+    @Override
+    public int getFieldScore(Player player) {
+        assert player != null : "Player cannot be undefined!";
+
+        return player == Player.HUMAN ? humanFieldScore : machineFieldScore;
+    }
+
+    /**
+     * Gibt die Anzahl der leeren Nachbarfelder aller Steine eines Spielers
+     * zurück.
+     *
+     * @param player        Entspricht dem Spieler.
+     * @return              Entspricht der Anzahl der leeren Nachbarfelder.
+     */
+    @Override
+    public int getFrontier(Player player) {
+        assert player != null : "Player cannot be undefined!";
+
+        return player == Player.HUMAN ? humanFrontier : machineFrontier;
+    }
+
+    /**
+     * Gibt den Zobrist-Hash der Spielsituation zurück.
+     *
+     * @return      Entspricht dem Hash der Spielsituation.
+     */
+    @Override
+    public long getHash() {
+        return hash;
     }
 
     /**
@@ -394,19 +478,21 @@ public class Reversi implements Board {
      *                          werden soll.
      * @param player            Entspricht dem Spieler, für den geprüft werden
      *                          soll, ob der Zug legal ist.
-     * @return                  Falls ein Zug legal sind, werden alle legalen
-     *                          Richtungen zurückgegeben, andernfalls wird
-     *                          keine Richtung zurückgegeben.
+     * @return                  Gibt die Maske der legalen Richtungen zurück,
+     *                          wobei das Bit {@code i} für die Richtung
+     *                          {@code DIRECTIONS[i]} steht. Der Zug ist genau
+     *                          dann legal, wenn die Maske nicht {@code 0}
+     *                          ist.
      */
-    private List<Direction> checkLegalityOfMove(int row, int col,
-                                                 Player player) {
+    private int calculateLegalDirections(int row, int col, Player player) {
         assert row > 0 && row <= Board.SIZE : "Row is not positive or to big!";
         assert col > 0 && col <= Board.SIZE : "Col is not positive or to big!";
         assert player != null : "Player cannot be undefined!";
 
-        List<Direction> legalDirections = new ArrayList<>();
-        if (getSlot(row, col) == null) {
-            for (Direction direction : Direction.values()) {
+        int legalDirections = 0;
+        if (gameBoard[row - 1][col - 1] == null) {
+            for (int i = 0; i < DIRECTIONS.length; i++) {
+                Direction direction = DIRECTIONS[i];
                 int rowToCheck = row + direction.getY();
                 int colToCheck = col + direction.getX();
                 int counter = 0;
@@ -415,7 +501,8 @@ public class Reversi implements Board {
 
                 while (!endLoop && rowToCheck <= Board.SIZE && rowToCheck > 0
                         && colToCheck <= Board.SIZE && colToCheck > 0) {
-                    Player playerOfSlot = getSlot(rowToCheck, colToCheck);
+                    Player playerOfSlot
+                            = gameBoard[rowToCheck - 1][colToCheck - 1];
 
                     if (playerOfSlot == player.inverse()) {
                         counter++;
@@ -432,7 +519,7 @@ public class Reversi implements Board {
                 }
 
                 if (isLegal) {
-                    legalDirections.add(direction);
+                    legalDirections |= 1 << i;
                 }
             }
         }
@@ -450,27 +537,34 @@ public class Reversi implements Board {
      *                          werden soll.
      * @param col               Entspricht der Spalte auf der der Stein gelegt
      *                          werden soll.
-     * @param directions        Entsprechen den Richtungen, in denen Steine
-     *                          umgedreht werden müssen.
+     * @param directions        Entspricht der Maske der Richtungen, in denen
+     *                          Steine umgedreht werden müssen.
      * @return                  Gibt einen Klon zurück, auf dem der Zug
      *                          ausgeführt wurde.
      * @see                     #setNextPlayer()
      */
-    private Reversi executeMove(int row, int col, List<Direction> directions) {
+    private Reversi executeMove(int row, int col, int directions) {
         assert row > 0 && row <= Board.SIZE : "Row is not positive or to big!";
         assert col > 0 && col <= Board.SIZE : "Col is not positive or to big!";
-        assert directions.size() > 0 : "The move is not legal!";
+        assert directions != 0 : "The move is not legal!";
         assert nextPlayer != null : "Next player cannot be undefined!";
 
         Reversi copy = clone();
+        copy.clearSearchResult();
         copy.gameBoard[row - 1][col - 1] = nextPlayer;
+        copy.hash ^= Zobrist.of(nextPlayer, toSquare(row, col));
+        copy.removeWrappingField(row, col);
+        copy.addToScores(nextPlayer, Score.getFieldScore(row, col),
+                Score.countWrappingFields(copy, row, col));
         if (nextPlayer == Player.HUMAN) {
             copy.numberOfHumanTiles++;
         } else {
             copy.numberOfMachineTiles++;
         }
 
-        for (Direction direction: directions) {
+        for (int rest = directions; rest != 0; rest &= rest - 1) {
+            Direction direction
+                    = DIRECTIONS[Integer.numberOfTrailingZeros(rest)];
             boolean endLoop = false;
             int rowToInverse = row + direction.getY();
             int colToInverse = col + direction.getX();
@@ -482,6 +576,16 @@ public class Reversi implements Board {
                 if (playerOfSlot == nextPlayer.inverse()) {
                     copy.gameBoard[rowToInverse - 1][colToInverse - 1]
                             = nextPlayer;
+                    int square = toSquare(rowToInverse, colToInverse);
+                    copy.hash ^= Zobrist.of(nextPlayer, square)
+                            ^ Zobrist.of(nextPlayer.inverse(), square);
+                    int fieldScore = Score.getFieldScore(rowToInverse,
+                            colToInverse);
+                    int frontier = Score.countWrappingFields(copy,
+                            rowToInverse, colToInverse);
+                    copy.addToScores(nextPlayer, fieldScore, frontier);
+                    copy.addToScores(nextPlayer.inverse(), -fieldScore,
+                            -frontier);
                     if (nextPlayer == Player.HUMAN) {
                         copy.numberOfHumanTiles++;
                         copy.numberOfMachineTiles--;
@@ -497,6 +601,9 @@ public class Reversi implements Board {
             }
         }
         copy.setNextPlayer();
+        if (copy.nextPlayer != nextPlayer) {
+            copy.hash ^= Zobrist.MACHINE_TO_MOVE;
+        }
         return copy;
     }
 
@@ -505,14 +612,15 @@ public class Reversi implements Board {
      * dass es ebenfalls vorkommen kann, das ein bzw beide Spieler aussetzen
      * müssen. Falls beide aussetzen müssen, ist das Spiel vorbei.
      *
-     * @see                         #numberOfLegalMoves(Player)
+     * @see                         #calculateLegalMoves(Player)
      */
     private void setNextPlayer() {
         assert nextPlayer != null : "Old player cannot be undefined!";
 
+        updateLegalMoves();
         nextPlayer = nextPlayer.inverse();
-        if (numberOfLegalMoves(nextPlayer) == 0) {
-            if (numberOfLegalMoves(nextPlayer.inverse()) == 0) {
+        if (calculateLegalMoves(nextPlayer) == 0) {
+            if (calculateLegalMoves(nextPlayer.inverse()) == 0) {
                 gameOver = true;
             } else {
                 nextPlayer = nextPlayer.inverse();
@@ -532,5 +640,78 @@ public class Reversi implements Board {
         gameBoard[median + 1][median] = firstPlayer;
         gameBoard[median][median + 1] = firstPlayer;
         gameBoard[median + 1][median + 1] = firstPlayer.inverse();
+        hash = Zobrist.hashOf(this);
+        for (Player player : Player.values()) {
+            addToScores(player, Score.sumFieldScores(this, player),
+                    Score.sumWrappingFields(this, player));
+        }
+        updateLegalMoves();
+    }
+
+    /**
+     * Berechnet die legalen Felder beider Spieler, damit diese nicht bei
+     * jeder Abfrage erneut berechnet werden müssen.
+     *
+     * @see                         #calculateLegalMoves(Player)
+     */
+    private void updateLegalMoves() {
+        humanLegalMoves = scanLegalMoves(Player.HUMAN);
+        machineLegalMoves = scanLegalMoves(Player.MACHINE);
+    }
+
+    /**
+     * Verringert die Anzahl der leeren Nachbarfelder der Steine, die an ein
+     * Feld angrenzen, auf das soeben ein Stein gelegt wurde.
+     *
+     * @param row       Entspricht der Zeile des Feldes.
+     * @param col       Entspricht der Spalte des Feldes.
+     */
+    private void removeWrappingField(int row, int col) {
+        for (Direction direction : DIRECTIONS) {
+            int rowOfNeighbor = row + direction.getY();
+            int colOfNeighbor = col + direction.getX();
+            if (rowOfNeighbor > 0 && rowOfNeighbor <= Board.SIZE
+                    && colOfNeighbor > 0 && colOfNeighbor <= Board.SIZE) {
+                Player playerOfNeighbor
+                        = gameBoard[rowOfNeighbor - 1][colOfNeighbor - 1];
+
+                if (playerOfNeighbor != null) {
+                    addToScores(playerOfNeighbor, 0, -1);
+                }
+            }
+        }
+    }
+
+    /**
+     * Addiert Werte zu der Summe der Scores der Felder und der Anzahl der
+     * leeren Nachbarfelder eines Spielers.
+     *
+     * @param player            Entspricht dem Spieler.
+     * @param fieldScore        Entspricht dem Wert, der zu der Summe der
+     *                          Scores der Felder addiert wird.
+     * @param frontier          Entspricht dem Wert, der zu der Anzahl der
+     *                          leeren Nachbarfelder addiert wird.
+     */
+    private void addToScores(Player player, int fieldScore, int frontier) {
+        if (player == Player.HUMAN) {
+            humanFieldScore += fieldScore;
+            humanFrontier += frontier;
+        } else {
+            machineFieldScore += fieldScore;
+            machineFrontier += frontier;
+        }
+    }
+
+    /**
+     * Berechnet den Index eines Feldes, wie er für den Zobrist-Hash benötigt
+     * wird.
+     *
+     * @param row       Entspricht der Zeile des Feldes.
+     * @param col       Entspricht der Spalte des Feldes.
+     * @return          Gibt den Index zwischen {@code 0} und
+     *                  {@code Board.SIZE * Board.SIZE - 1} zurück.
+     */
+    private static int toSquare(int row, int col) {
+        return (row - 1) * Board.SIZE + (col - 1);
     }
 }
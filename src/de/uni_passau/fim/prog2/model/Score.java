@@ -1,12 +1,18 @@
 package de.uni_passau.fim.prog2.model;
 
 /**
- * {@code Score} berechnet für eine Instanz der Klasse {@code Reversi} den
+ * {@code Score} berechnet für eine Instanz von {@code Position} den
  * Score eines {@code Player}. Diese Bewertung dient als Entscheidungsgrundlage
  * für die Maschine. Die Klasse {@code Score} muss abgeändert werden, falls
  * die Größe des Spielbretts nicht 8 x 8 beträgt, da diese in der Klasse
  * hartkodiert wurde.
  *
+ * <p>Die Summe der Scores der Felder und die Anzahl der leeren Nachbarfelder
+ * werden nicht bei jeder Bewertung neu berechnet, sondern von
+ * {@code Position} bei jedem Zug für die gesetzten und umgedrehten Steine
+ * aktualisiert. Die Bewertung ist dadurch unabhängig von der Anzahl der
+ * Steine, ergibt aber exakt den gleichen Score.
+ *
  * @version 21.12.19
  * @author -----
  */
@@ -15,31 +21,46 @@ class Score {
     /**
      * Entspricht dem zu bewertenden Spielobjekt.
      */
-    private Reversi reversi;
+    private Position reversi;
 
     /**
      * Entspricht dem zu bewertenden Spieler.
      */
     private Player playerToAssess;
 
+    /**
+     * Entspricht den Gewichten der einzelnen Scores.
+     */
+    private EvaluationWeights weights;
+
     /**
      * Entspricht der Bewertung der einzelnen Felder des Spielbretts.
      */
     private static final int[][] FIELD_SCORES = getFieldScores();
 
     /**
-     * Kreiert ein Bewertungsobjekt für ein {@code Reversi} Objekt mit dem
+     * Entspricht allen Richtungen, damit diese nicht bei jedem Aufruf von
+     * {@link Direction#values()} kopiert werden.
+     */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * Kreiert ein Bewertungsobjekt für ein {@code Position} Objekt mit dem
      * zu bewertenden Spieler.
      *
      * @param reversi           Entspricht dem zu bewertenden Spielbrett.
      * @param playerToAssess    Entspricht dem zu bewertenden Spieler.
+     * @param weights           Entspricht den Gewichten der einzelnen
+     *                          Scores.
      */
-    Score(Reversi reversi, Player playerToAssess) {
+    Score(Position reversi, Player playerToAssess, EvaluationWeights weights) {
         assert reversi != null : "Reversi to assess cannot be undefined";
         assert playerToAssess != null : "Player to asses cannot be undefined";
+        assert weights != null : "Weights cannot be undefined";
 
         this.reversi = reversi;
         this.playerToAssess = playerToAssess;
+        this.weights = weights;
     }
 
     /**
@@ -70,26 +91,17 @@ class Score {
      * einer bestimmten Formel berechnet.
      *
      * @return              Gibt den Score der Felder zurück.
+     * @see                 Position#getFieldScore(Player)
      */
     private double calculateFieldScore() {
         assert Board.SIZE == 8 : "Calculating is only for 8x8 possible";
         assert reversi != null : "Reversi to assess cannot be undefined";
         assert playerToAssess != null : "Player to asses cannot be undefined";
 
-        int playerScore = 0;
-        int enemyScore = 0;
-        for (int i = 1; i <= Board.SIZE; i++) {
-            for (int u = 1; u <= Board.SIZE; u++) {
-                Player playerOfSlot = reversi.getSlot(i, u);
-
-                if (playerOfSlot == playerToAssess) {
-                    playerScore += FIELD_SCORES[i - 1][u - 1];
-                } else if (playerOfSlot == playerToAssess.inverse()) {
-                    enemyScore += FIELD_SCORES[i - 1][u - 1];
-                }
-            }
-        }
-        return playerScore - 1.5 * enemyScore;
+        int playerScore = reversi.getFieldScore(playerToAssess);
+        int enemyScore = reversi.getFieldScore(playerToAssess.inverse());
+        return weights.getField() * playerScore
+                - weights.getEnemyField() * enemyScore;
     }
 
     /**
@@ -99,7 +111,7 @@ class Score {
      * und wird im Laufe des Spiels immer unwichtiger.
      *
      * @return                      Gibt den Score der möglichen Züge zurück.
-     * @see                         Reversi#numberOfLegalMoves(Player)
+     * @see                         Position#calculateLegalMoves(Player)
      */
     private double calculateMobilityScore() {
         assert reversi != null : "Reversi to assess cannot be undefined";
@@ -108,10 +120,13 @@ class Score {
         int numberOfFields = Board.SIZE * Board.SIZE;
         int numberOfTakenFields = reversi.getNumberOfHumanTiles()
                                 + reversi.getNumberOfMachineTiles();
-        int playerScore = reversi.numberOfLegalMoves(playerToAssess);
-        int enemyScore = reversi.numberOfLegalMoves(playerToAssess.inverse());
+        int playerScore = Long.bitCount(
+                reversi.calculateLegalMoves(playerToAssess));
+        int enemyScore = Long.bitCount(
+                reversi.calculateLegalMoves(playerToAssess.inverse()));
         return (numberOfFields / (double) numberOfTakenFields)
-                * (3.0 * playerScore - 4.0 * enemyScore);
+                * (weights.getMobility() * playerScore
+                   - weights.getEnemyMobility() * enemyScore);
 
     }
 
@@ -124,7 +139,7 @@ class Score {
      *
      * @return                      Gibt den Score der zukünftig möglichen
      *                              Züge zurück.
-     * @see                         #countWrappingFields(int, int)
+     * @see                         Position#getFrontier(Player)
      */
     private double calculatePotencialScore() {
         assert reversi != null : "Reversi to assess cannot be undefined";
@@ -133,43 +148,34 @@ class Score {
         int numberOfFields = Board.SIZE * Board.SIZE;
         int numberOfTakenFields = reversi.getNumberOfHumanTiles()
                                 + reversi.getNumberOfMachineTiles();
-        int playerScore = 0;
-        int enemyScore = 0;
-        for (int i = 1; i <= Board.SIZE; i++) {
-            for (int u = 1; u <= Board.SIZE; u++) {
-                Player playerOfSlot = reversi.getSlot(i, u);
-
-                if (playerOfSlot == playerToAssess) {
-                    enemyScore += countWrappingFields(i, u);
-                } else if (playerOfSlot == playerToAssess.inverse()) {
-                    playerScore += countWrappingFields(i, u);
-                }
-            }
-        }
+        int playerScore = reversi.getFrontier(playerToAssess.inverse());
+        int enemyScore = reversi.getFrontier(playerToAssess);
         return (numberOfFields / (2.0 * numberOfTakenFields))
-                * (2.5 * playerScore - 3.0 * enemyScore);
+                * (weights.getPotential() * playerScore
+                   - weights.getEnemyPotential() * enemyScore);
     }
 
     /**
      * Zählt die Anzahl der leeren Felder, die an das Feld in der Zeile
      * {@code row} und in der Spalte {@code col} anliegen.
      *
+     * @param board     Entspricht dem Spielbrett.
      * @param row       Entspricht der Zeile des Feldes.
      * @param col       Entspricht der Spalte des Feldes.
      * @return          Gibt die Anzahl der anliegenden Felder zurück.
      */
-    private int countWrappingFields(int row, int col) {
+    static int countWrappingFields(Board board, int row, int col) {
         assert row > 0 && row <= Board.SIZE : "Row is not positive or to big!";
         assert col > 0 && col <= Board.SIZE : "Col is not positive or to big!";
-        assert reversi != null : "Reversi to assess cannot be undefined";
+        assert board != null : "Board cannot be undefined";
 
         int counter = 0;
-        for (Direction direction: Direction.values()) {
+        for (Direction direction: DIRECTIONS) {
             int rowToCount = row + direction.getY();
             int colToCount = col + direction.getX();
             if (rowToCount > 0 && rowToCount <= Board.SIZE && colToCount > 0
                     && colToCount <= Board.SIZE) {
-                if (reversi.getSlot(rowToCount, colToCount) == null) {
+                if (board.getSlot(rowToCount, colToCount) == null) {
                     counter++;
                 }
             }
@@ -177,6 +183,71 @@ class Score {
         return counter;
     }
 
+    /**
+     * Berechnet die Summe der Scores der Felder, auf denen Steine eines
+     * Spielers liegen, indem alle Felder durchlaufen werden. Wird nur für
+     * die Anfangsposition benötigt.
+     *
+     * @param board     Entspricht dem Spielbrett.
+     * @param player    Entspricht dem Spieler.
+     * @return          Gibt die Summe der Scores zurück.
+     */
+    static int sumFieldScores(Board board, Player player) {
+        assert board != null : "Board cannot be undefined";
+        assert player != null : "Player cannot be undefined";
+
+        int sum = 0;
+        for (int i = 1; i <= Board.SIZE; i++) {
+            for (int u = 1; u <= Board.SIZE; u++) {
+                if (board.getSlot(i, u) == player) {
+                    sum += FIELD_SCORES[i - 1][u - 1];
+                }
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Berechnet die Anzahl der leeren Nachbarfelder aller Steine eines
+     * Spielers, indem alle Felder durchlaufen werden. Wird nur für die
+     * Anfangsposition benötigt.
+     *
+     * @param board     Entspricht dem Spielbrett.
+     * @param player    Entspricht dem Spieler.
+     * @return          Gibt die Anzahl der leeren Nachbarfelder zurück,
+     *                  wobei ein Feld pro angrenzendem Stein gezählt wird.
+     * @see             #countWrappingFields(Board, int, int)
+     */
+    static int sumWrappingFields(Board board, Player player) {
+        assert board != null : "Board cannot be undefined";
+        assert player != null : "Player cannot be undefined";
+
+        int sum = 0;
+        for (int i = 1; i <= Board.SIZE; i++) {
+            for (int u = 1; u <= Board.SIZE; u++) {
+                if (board.getSlot(i, u) == player) {
+                    sum += countWrappingFields(board, i, u);
+                }
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Gibt den Score eines Feldes des Spielbretts zurück, der auch für die
+     * Sortierung der Züge verwendet wird.
+     *
+     * @param row       Entspricht der Zeile des Feldes.
+     * @param col       Entspricht der Spalte des Feldes.
+     * @return          Gibt den Score des Feldes zurück.
+     */
+    static int getFieldScore(int row, int col) {
+        assert row > 0 && row <= Board.SIZE : "Row is not positive or to big!";
+        assert col > 0 && col <= Board.SIZE : "Col is not positive or to big!";
+
+        return FIELD_SCORES[row - 1][col - 1];
+    }
+
     /**
      * Gibt eine 8 x 8 Matrix zurück, wobei in jedem Feld der Score des
      * Spielbrettfeldes gespeichert wird. Falls das Spielfeld nicht 8 x 8
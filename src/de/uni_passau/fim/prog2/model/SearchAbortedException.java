@@ -0,0 +1,29 @@
+package de.uni_passau.fim.prog2.model;
+
+/**
+ * {@code SearchAbortedException} ist eine definierte
+ * {@code RuntimeException}, die geworfen wird, falls eine Suche der Maschine
+ * vorzeitig abgebrochen werden muss, da z.B. die verfügbare Zeit abgelaufen
+ * ist. Das Ergebnis der abgebrochenen Suche ist unvollständig und darf nicht
+ * verwendet werden.
+ *
+ * @version 17.10.26
+ * @author -----
+ */
+class SearchAbortedException extends RuntimeException {
+
+    /**
+     * Entspricht der Version der Serialisierung.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Verwendet lediglich den Super Konstruktor mit einer Nachricht, um
+     * die {@code SearchAbortedException} zu instanziieren.
+     *
+     * @param message       Entspricht der Fehlernachricht.
+     */
+    SearchAbortedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,381 @@
+package de.uni_passau.fim.prog2.model;
+
+/**
+ * {@code SearchBoard} ist die veränderbare Spielsituation, auf der
+ * {@code AlphaBetaSearch} den Baum der möglichen Züge durchläuft. Anders als
+ * bei {@link EngineBoard#moveForNextPlayer(int, int)} wird ein Zug nicht auf
+ * einem Klon, sondern durch {@link #makeMove(int)} direkt auf dieser
+ * Spielsituation ausgeführt und durch {@link #unmakeMove()} wieder
+ * zurückgenommen. Dadurch wird während der Suche pro Knoten kein neues
+ * Objekt erzeugt.
+ *
+ * <p>Pro ausgeführtem Zug werden das Feld, die umgedrehten Steine und die
+ * inkrementell aktualisierten Werte vor dem Zug auf einem Stapel
+ * gespeichert, dessen Puffer beim Erzeugen für alle möglichen Halbzüge
+ * angelegt werden. Die Steine werden wie bei {@code BitBoard} als Masken
+ * gespeichert, der Hash und die Scores der Felder entsprechen aber genau
+ * denen jeder Implementierung von {@code EngineBoard}.
+ *
+ * @version 17.10.26
+ * @author -----
+ */
+final class SearchBoard implements Position {
+
+    /**
+     * Entspricht der max Anzahl an Halbzügen eines Spiels und somit der
+     * Größe des Stapels.
+     */
+    private static final int MAX_PLY = Board.SIZE * Board.SIZE;
+
+    /**
+     * Entspricht den Steinen des Menschen.
+     */
+    private long human;
+
+    /**
+     * Entspricht den Steinen der Maschine.
+     */
+    private long machine;
+
+    /**
+     * Entspricht dem Spieler, der nun an der Reihe ist.
+     */
+    private Player nextPlayer;
+
+    /**
+     * Entspricht {@code true}, falls beide Spieler nicht mehr ziehen können.
+     */
+    private boolean gameOver;
+
+    /**
+     * Entspricht dem Zobrist-Hash der Spielsituation.
+     */
+    private long hash;
+
+    /**
+     * Entspricht der Summe der Scores der Felder mit Steinen des Menschen.
+     */
+    private int humanFieldScore;
+
+    /**
+     * Entspricht der Summe der Scores der Felder mit Steinen der Maschine.
+     */
+    private int machineFieldScore;
+
+    /**
+     * Entspricht der Anzahl der leeren Nachbarfelder aller Steine des
+     * Menschen.
+     */
+    private int humanFrontier;
+
+    /**
+     * Entspricht der Anzahl der leeren Nachbarfelder aller Steine der
+     * Maschine.
+     */
+    private int machineFrontier;
+
+    /**
+     * Entspricht den Feldern, auf die der Mensch legal ziehen kann.
+     */
+    private long humanLegalMoves;
+
+    /**
+     * Entspricht den Feldern, auf die die Maschine legal ziehen kann.
+     */
+    private long machineLegalMoves;
+
+    /**
+     * Entspricht der Anzahl der ausgeführten Züge auf dem Stapel.
+     */
+    private int ply;
+
+    /**
+     * Entspricht den Feldern der ausgeführten Züge.
+     */
+    private final int[] squares;
+
+    /**
+     * Entspricht den umgedrehten Steinen der ausgeführten Züge.
+     */
+    private final long[] flips;
+
+    /**
+     * Entspricht den ziehenden Spielern der ausgeführten Züge.
+     */
+    private final Player[] movers;
+
+    /**
+     * Entspricht den Hashes vor den ausgeführten Zügen.
+     */
+    private final long[] hashes;
+
+    /**
+     * Entspricht den Summen der Scores der Felder beider Spieler vor den
+     * ausgeführten Zügen, wobei der Mensch zuerst gespeichert ist.
+     */
+    private final int[] fieldScores;
+
+    /**
+     * Entspricht den Anzahlen der leeren Nachbarfelder beider Spieler vor den
+     * ausgeführten Zügen, wobei der Mensch zuerst gespeichert ist.
+     */
+    private final int[] frontiers;
+
+    /**
+     * Entspricht den legalen Feldern beider Spieler vor den ausgeführten
+     * Zügen, wobei der Mensch zuerst gespeichert ist.
+     */
+    private final long[] legalMoves;
+
+    /**
+     * Kreiert eine veränderbare Kopie einer Spielsituation.
+     *
+     * @param board         Entspricht der zu kopierenden Spielsituation.
+     */
+    SearchBoard(EngineBoard board) {
+        assert board != null : "Board cannot be undefined!";
+
+        for (int row = 1; row <= Board.SIZE; row++) {
+            for (int col = 1; col <= Board.SIZE; col++) {
+                Player playerOfSlot = board.getSlot(row, col);
+                long square = 1L << ((row - 1) * Board.SIZE + (col - 1));
+
+                if (playerOfSlot == Player.HUMAN) {
+                    human |= square;
+                } else if (playerOfSlot == Player.MACHINE) {
+                    machine |= square;
+                }
+            }
+        }
+        nextPlayer = board.next();
+        gameOver = board.gameOver();
+        hash = board.getHash();
+        humanFieldScore = board.getFieldScore(Player.HUMAN);
+        machineFieldScore = board.getFieldScore(Player.MACHINE);
+        humanFrontier = board.getFrontier(Player.HUMAN);
+        machineFrontier = board.getFrontier(Player.MACHINE);
+        humanLegalMoves = board.calculateLegalMoves(Player.HUMAN);
+        machineLegalMoves = board.calculateLegalMoves(Player.MACHINE);
+
+        squares = new int[MAX_PLY];
+        flips = new long[MAX_PLY];
+        movers = new Player[MAX_PLY];
+        hashes = new long[MAX_PLY];
+        fieldScores = new int[2 * MAX_PLY];
+        frontiers = new int[2 * MAX_PLY];
+        legalMoves = new long[2 * MAX_PLY];
+    }
+
+    /**
+     * Führt einen legalen Zug für den nächsten Spieler auf dieser
+     * Spielsituation aus und legt diesen auf den Stapel. Die Werte werden
+     * genau wie bei {@code BitBoard} aktualisiert.
+     *
+     * @param square        Entspricht dem Index des Feldes, auf das der
+     *                      Stein gelegt wird.
+     * @see                 #unmakeMove()
+     */
+    void makeMove(int square) {
+        assert !gameOver : "The game cannot be already over!";
+        assert ply < MAX_PLY : "Too many moves are made!";
+
+        Player mover = nextPlayer;
+        long own = mover == Player.HUMAN ? human : machine;
+        long opponent = mover == Player.HUMAN ? machine : human;
+        long flipped = BitBoard.calculateFlips(own, opponent, square);
+        assert flipped != 0 : "The move is not legal!";
+
+        squares[ply] = square;
+        flips[ply] = flipped;
+        movers[ply] = mover;
+        hashes[ply] = hash;
+        fieldScores[2 * ply] = humanFieldScore;
+        fieldScores[2 * ply + 1] = machineFieldScore;
+        frontiers[2 * ply] = humanFrontier;
+        frontiers[2 * ply + 1] = machineFrontier;
+        legalMoves[2 * ply] = humanLegalMoves;
+        legalMoves[2 * ply + 1] = machineLegalMoves;
+        ply++;
+
+        long neighbors = BitBoard.NEIGHBORS[square];
+        humanFrontier -= Long.bitCount(neighbors & human);
+        machineFrontier -= Long.bitCount(neighbors & machine);
+        own |= flipped | (1L << square);
+        opponent &= ~flipped;
+        if (mover == Player.HUMAN) {
+            human = own;
+            machine = opponent;
+        } else {
+            machine = own;
+            human = opponent;
+        }
+        hash ^= Zobrist.of(mover, square);
+
+        long empty = ~(human | machine);
+        int flippedFieldScore = 0;
+        int flippedFrontier = 0;
+        for (long rest = flipped; rest != 0; rest &= rest - 1) {
+            int tile = Long.numberOfTrailingZeros(rest);
+            hash ^= Zobrist.of(Player.HUMAN, tile)
+                    ^ Zobrist.of(Player.MACHINE, tile);
+            flippedFieldScore += Score.getFieldScore(tile / Board.SIZE + 1,
+                    tile % Board.SIZE + 1);
+            flippedFrontier += Long.bitCount(BitBoard.NEIGHBORS[tile] & empty);
+        }
+        addToScores(mover, Score.getFieldScore(square / Board.SIZE + 1,
+                square % Board.SIZE + 1) + flippedFieldScore,
+                Long.bitCount(neighbors & empty) + flippedFrontier);
+        addToScores(mover.inverse(), -flippedFieldScore, -flippedFrontier);
+
+        humanLegalMoves = BitBoard.calculateLegalMoves(human, machine);
+        machineLegalMoves = BitBoard.calculateLegalMoves(machine, human);
+        nextPlayer = mover.inverse();
+        if (calculateLegalMoves(nextPlayer) == 0) {
+            if (calculateLegalMoves(mover) == 0) {
+                gameOver = true;
+            } else {
+                nextPlayer = mover;
+            }
+        }
+        if (nextPlayer != mover) {
+            hash ^= Zobrist.MACHINE_TO_MOVE;
+        }
+    }
+
+    /**
+     * Nimmt den zuletzt durch {@link #makeMove(int)} ausgeführten Zug
+     * zurück, sodass die Spielsituation wieder genau der vor dem Zug
+     * entspricht.
+     */
+    void unmakeMove() {
+        assert ply > 0 : "No move is made!";
+
+        ply--;
+        long flipped = flips[ply];
+        long changed = flipped | (1L << squares[ply]);
+        Player mover = movers[ply];
+        if (mover == Player.HUMAN) {
+            human &= ~changed;
+            machine |= flipped;
+        } else {
+            machine &= ~changed;
+            human |= flipped;
+        }
+        nextPlayer = mover;
+        gameOver = false;
+        hash = hashes[ply];
+        humanFieldScore = fieldScores[2 * ply];
+        machineFieldScore = fieldScores[2 * ply + 1];
+        humanFrontier = frontiers[2 * ply];
+        machineFrontier = frontiers[2 * ply + 1];
+        humanLegalMoves = legalMoves[2 * ply];
+        machineLegalMoves = legalMoves[2 * ply + 1];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Player next() {
+        return nextPlayer;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean gameOver() {
+        return gameOver;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getNumberOfHumanTiles() {
+        return Long.bitCount(human);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getNumberOfMachineTiles() {
+        return Long.bitCount(machine);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int numberOfLegalMoves(Player player) {
+        assert player != null : "Player cannot be undefined!";
+
+        return Long.bitCount(calculateLegalMoves(player));
+    }
+
+    /**
+     * Gibt alle Felder zurück, auf die ein Spieler legal ziehen kann. Diese
+     * werden bei jedem Zug einmal für beide Spieler berechnet und beim
+     * Zurücknehmen vom Stapel wiederhergestellt, da sowohl {@code Score}
+     * als auch die Suche diese pro Knoten benötigen.
+     *
+     * @param player        Entspricht dem Spieler.
+     * @return              Gibt die Maske der legalen Felder zurück.
+     * @see                 BitBoard#calculateLegalMoves(long, long)
+     */
+    @Override
+    public long calculateLegalMoves(Player player) {
+        assert player != null : "Player cannot be undefined!";
+
+        return player == Player.HUMAN ? humanLegalMoves : machineLegalMoves;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getFieldScore(Player player) {
+        assert player != null : "Player cannot be undefined!";
+
+        return player == Player.HUMAN ? humanFieldScore : machineFieldScore;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getFrontier(Player player) {
+        assert player != null : "Player cannot be undefined!";
+
+        return player == Player.HUMAN ? humanFrontier : machineFrontier;
+    }
+
+    /**
+     * Addiert Werte zu der Summe der Scores der Felder und der Anzahl der
+     * leeren Nachbarfelder eines Spielers.
+     *
+     * @param player            Entspricht dem Spieler.
+     * @param fieldScore        Entspricht dem Wert, der zu der Summe der
+     *                          Scores der Felder addiert wird.
+     * @param frontier          Entspricht dem Wert, der zu der Anzahl der
+     *                          leeren Nachbarfelder addiert wird.
+     */
+    private void addToScores(Player player, int fieldScore, int frontier) {
+        if (player == Player.HUMAN) {
+            humanFieldScore += fieldScore;
+            humanFrontier += frontier;
+        } else {
+            machineFieldScore += fieldScore;
+            machineFrontier += frontier;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package de.uni_passau.fim.prog2.model;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sammelt die Zähler aller Suchen eines Maschinenzuges, die auch auf
+ * mehreren Threads gleichzeitig laufen können. Jede Suche zählt zunächst in
+ * eigenen Feldern und addiert diese erst am Ende, damit die Threads nicht
+ * pro Knoten auf gemeinsame Zähler schreiben.
+ *
+ * @version 17.10.26
+ * @author -----
+ * @see     SearchStats
+ */
+final class SearchCounters {
+
+    /**
+     * Entspricht der Messung der Rechenzeit pro Thread bzw {@code null},
+     * falls die JVM diese nicht unterstützt.
+     */
+    private static final ThreadMXBean THREADS = createThreadBean();
+
+    /**
+     * Entspricht der Anzahl der besuchten Spielsituationen.
+     */
+    private final LongAdder nodes = new LongAdder();
+
+    /**
+     * Entspricht der Anzahl der Bewertungen.
+     */
+    private final LongAdder evaluations = new LongAdder();
+
+    /**
+     * Entspricht der Anzahl der abgeschnittenen Teilbäume.
+     */
+    private final LongAdder cutoffs = new LongAdder();
+
+    /**
+     * Entspricht der Anzahl der abgeschnittenen Teilbäume, bei denen bereits
+     * der erste Zug abgeschnitten hat.
+     */
+    private final LongAdder firstMoveCutoffs = new LongAdder();
+
+    /**
+     * Entspricht der Anzahl der Abfragen der Transpositionstabelle.
+     */
+    private final LongAdder cacheProbes = new LongAdder();
+
+    /**
+     * Entspricht der Anzahl der gefundenen Einträge.
+     */
+    private final LongAdder cacheHits = new LongAdder();
+
+    /**
+     * Entspricht der Rechenzeit aller Threads in Nanosekunden.
+     */
+    private final LongAdder cpuNanos = new LongAdder();
+
+    /**
+     * Addiert die Zähler einer beendeten oder abgebrochenen Suche.
+     *
+     * @param nodes             Entspricht der Anzahl der besuchten
+     *                          Spielsituationen.
+     * @param evaluations       Entspricht der Anzahl der Bewertungen.
+     * @param cutoffs           Entspricht der Anzahl der abgeschnittenen
+     *                          Teilbäume.
+     * @param firstMoveCutoffs  Entspricht der Anzahl der Teilbäume, bei
+     *                          denen bereits der erste Zug abgeschnitten
+     *                          hat.
+     * @param cacheProbes       Entspricht der Anzahl der Abfragen.
+     * @param cacheHits         Entspricht der Anzahl der gefundenen
+     *                          Einträge.
+     * @param cpuStart          Entspricht der Rechenzeit des Threads zu
+     *                          Beginn der Suche.
+     * @see                     #currentCpuTime()
+     */
+    void add(long nodes, long evaluations, long cutoffs,
+             long firstMoveCutoffs, long cacheProbes, long cacheHits,
+             long cpuStart) {
+        this.nodes.add(nodes);
+        this.evaluations.add(evaluations);
+        this.cutoffs.add(cutoffs);
+        this.firstMoveCutoffs.add(firstMoveCutoffs);
+        this.cacheProbes.add(cacheProbes);
+        this.cacheHits.add(cacheHits);
+        cpuNanos.add(currentCpuTime() - cpuStart);
+    }
+
+    /**
+     * Gibt die Anzahl der bisher addierten Spielsituationen zurück.
+     *
+     * @return          Entspricht der Anzahl.
+     */
+    long getNodes() {
+        return nodes.sum();
+    }
+
+    /**
+     * Erzeugt die Statistik aus den bisher addierten Zählern.
+     *
+     * @param depth         Entspricht der Tiefe der Suche.
+     * @param wallNanos     Entspricht der vergangenen Zeit.
+     * @return              Gibt die Statistik zurück.
+     */
+    SearchStats toStats(int depth, long wallNanos) {
+        return new SearchStats(nodes.sum(), evaluations.sum(), depth,
+                cutoffs.sum(), firstMoveCutoffs.sum(), cacheProbes.sum(),
+                cacheHits.sum(), wallNanos, cpuNanos.sum());
+    }
+
+    /**
+     * Gibt die bisherige Rechenzeit des aufrufenden Threads zurück.
+     *
+     * @return      Entspricht der Rechenzeit in Nanosekunden bzw {@code 0},
+     *              falls die JVM diese nicht misst.
+     */
+    static long currentCpuTime() {
+        return THREADS != null ? THREADS.getCurrentThreadCpuTime() : 0;
+    }
+
+    /**
+     * Gibt die Messung der Rechenzeit pro Thread zurück, wobei diese falls
+     * nötig eingeschaltet wird.
+     *
+     * @return      Entspricht der Messung bzw {@code null}, falls die JVM
+     *              diese nicht unterstützt.
+     */
+    private static ThreadMXBean createThreadBean() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (!threads.isCurrentThreadCpuTimeSupported()) {
+            return null;
+        }
+        if (!threads.isThreadCpuTimeEnabled()) {
+            threads.setThreadCpuTimeEnabled(true);
+        }
+        return threads;
+    }
+}
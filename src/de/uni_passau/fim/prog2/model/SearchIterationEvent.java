@@ -0,0 +1,56 @@
+package de.uni_passau.fim.prog2.model;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Entspricht dem Ereignis des Java Flight Recorder für eine Iteration von
+ * {@code IterativeDeepening}. Die letzte Iteration eines Zuges wird meist
+ * durch das Ablaufen der Zeit abgebrochen.
+ *
+ * @version 17.10.26
+ * @author -----
+ * @see     IterativeDeepening
+ */
+@Name("de.uni_passau.fim.prog2.SearchIteration")
+@Label("Search Iteration")
+@Category({"Reversi", "Engine"})
+@Description("Iteration of an iterative deepening search")
+@StackTrace(false)
+final class SearchIterationEvent extends Event {
+
+    /**
+     * Entspricht der Tiefe der Iteration.
+     */
+    @Label("Depth")
+    int depth;
+
+    /**
+     * Entspricht der Anzahl der besuchten Spielsituationen der Iteration.
+     */
+    @Label("Nodes")
+    long nodes;
+
+    /**
+     * Entspricht der Anzahl der Steine des Menschen.
+     */
+    @Label("Human Tiles")
+    int humanTiles;
+
+    /**
+     * Entspricht der Anzahl der Steine der Maschine.
+     */
+    @Label("Machine Tiles")
+    int machineTiles;
+
+    /**
+     * Entspricht {@code true}, falls die Iteration vollständig beendet
+     * wurde.
+     */
+    @Label("Completed")
+    boolean completed;
+}
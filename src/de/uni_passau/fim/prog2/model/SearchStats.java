@@ -0,0 +1,243 @@
+package de.uni_passau.fim.prog2.model;
+
+/**
+ * Enthält die Statistik der Suche eines Maschinenzuges, also wie viel die
+ * Suche über alle Threads hinweg gearbeitet hat und wie lange dies gedauert
+ * hat. Bei einem Zug aus dem Eröffnungsbuch sind alle Zähler {@code 0}.
+ * Bei einer zeitbegrenzten Suche zählt auch die abgebrochene letzte
+ * Iteration mit.
+ *
+ * @version 17.10.26
+ * @author -----
+ * @see     Board#getSearchStats()
+ */
+public final class SearchStats {
+
+    /**
+     * Entspricht der Anzahl der besuchten Spielsituationen.
+     */
+    private final long nodes;
+
+    /**
+     * Entspricht der Anzahl der Bewertungen durch {@code Score}.
+     */
+    private final long evaluations;
+
+    /**
+     * Entspricht der Tiefe der Suche.
+     */
+    private final int depth;
+
+    /**
+     * Entspricht der Anzahl der abgeschnittenen Teilbäume.
+     */
+    private final long cutoffs;
+
+    /**
+     * Entspricht der Anzahl der abgeschnittenen Teilbäume, bei denen bereits
+     * der erste durchsuchte Zug abgeschnitten hat.
+     */
+    private final long firstMoveCutoffs;
+
+    /**
+     * Entspricht der Anzahl der Abfragen der Transpositionstabelle.
+     */
+    private final long cacheProbes;
+
+    /**
+     * Entspricht der Anzahl der Abfragen, für die die Transpositionstabelle
+     * einen Eintrag enthielt.
+     */
+    private final long cacheHits;
+
+    /**
+     * Entspricht der vergangenen Zeit in Nanosekunden.
+     */
+    private final long wallNanos;
+
+    /**
+     * Entspricht der Rechenzeit aller Threads in Nanosekunden.
+     */
+    private final long cpuNanos;
+
+    /**
+     * Kreiert die Statistik einer Suche.
+     *
+     * @param nodes             Entspricht der Anzahl der besuchten
+     *                          Spielsituationen.
+     * @param evaluations       Entspricht der Anzahl der Bewertungen.
+     * @param depth             Entspricht der Tiefe der Suche.
+     * @param cutoffs           Entspricht der Anzahl der abgeschnittenen
+     *                          Teilbäume.
+     * @param firstMoveCutoffs  Entspricht der Anzahl der Teilbäume, bei
+     *                          denen bereits der erste Zug abgeschnitten
+     *                          hat.
+     * @param cacheProbes       Entspricht der Anzahl der Abfragen der
+     *                          Transpositionstabelle.
+     * @param cacheHits         Entspricht der Anzahl der gefundenen
+     *                          Einträge.
+     * @param wallNanos         Entspricht der vergangenen Zeit.
+     * @param cpuNanos          Entspricht der Rechenzeit aller Threads.
+     */
+    SearchStats(long nodes, long evaluations, int depth, long cutoffs,
+                long firstMoveCutoffs, long cacheProbes, long cacheHits,
+                long wallNanos, long cpuNanos) {
+        this.nodes = nodes;
+        this.evaluations = evaluations;
+        this.depth = depth;
+        this.cutoffs = cutoffs;
+        this.firstMoveCutoffs = firstMoveCutoffs;
+        this.cacheProbes = cacheProbes;
+        this.cacheHits = cacheHits;
+        this.wallNanos = wallNanos;
+        this.cpuNanos = cpuNanos;
+    }
+
+    /**
+     * Gibt die Anzahl der besuchten Spielsituationen zurück.
+     *
+     * @return      Entspricht der Anzahl.
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Gibt die Anzahl der Bewertungen durch {@code Score} zurück.
+     *
+     * @return      Entspricht der Anzahl.
+     */
+    public long getEvaluations() {
+        return evaluations;
+    }
+
+    /**
+     * Gibt die Tiefe der Suche zurück.
+     *
+     * @return      Entspricht der Tiefe.
+     * @see         Board#getSearchDepth()
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Gibt die Anzahl der abgeschnittenen Teilbäume zurück.
+     *
+     * @return      Entspricht der Anzahl.
+     */
+    public long getCutoffs() {
+        return cutoffs;
+    }
+
+    /**
+     * Gibt die Anzahl der abgeschnittenen Teilbäume zurück, bei denen
+     * bereits der erste durchsuchte Zug abgeschnitten hat.
+     *
+     * @return      Entspricht der Anzahl.
+     */
+    public long getFirstMoveCutoffs() {
+        return firstMoveCutoffs;
+    }
+
+    /**
+     * Gibt den Anteil der abgeschnittenen Teilbäume zurück, bei denen
+     * bereits der erste durchsuchte Zug abgeschnitten hat. Je näher dieser
+     * an {@code 1} liegt, desto besser sortiert die Suche ihre Züge.
+     *
+     * @return      Entspricht dem Anteil zwischen {@code 0} und {@code 1}
+     *              bzw {@code 0}, falls nichts abgeschnitten wurde.
+     */
+    public double getFirstMoveCutoffRate() {
+        return cutoffs == 0 ? 0 : (double) firstMoveCutoffs / cutoffs;
+    }
+
+    /**
+     * Gibt die Anzahl der Abfragen der Transpositionstabelle zurück.
+     *
+     * @return      Entspricht der Anzahl.
+     */
+    public long getCacheProbes() {
+        return cacheProbes;
+    }
+
+    /**
+     * Gibt die Anzahl der Abfragen zurück, für die die
+     * Transpositionstabelle einen Eintrag enthielt.
+     *
+     * @return      Entspricht der Anzahl.
+     */
+    public long getCacheHits() {
+        return cacheHits;
+    }
+
+    /**
+     * Gibt den Anteil der Abfragen zurück, für die die
+     * Transpositionstabelle einen Eintrag enthielt.
+     *
+     * @return      Entspricht dem Anteil zwischen {@code 0} und {@code 1}.
+     */
+    public double getCacheHitRate() {
+        return cacheProbes == 0 ? 0 : (double) cacheHits / cacheProbes;
+    }
+
+    /**
+     * Gibt den effektiven Verzweigungsgrad zurück, also die Anzahl an
+     * Kindern, die ein gleichmäßiger Baum der gleichen Tiefe mit gleich
+     * vielen Spielsituationen pro Knoten hätte.
+     *
+     * @return      Entspricht dem Verzweigungsgrad bzw {@code 0}, falls
+     *              nicht gesucht wurde.
+     */
+    public double getBranchingFactor() {
+        if (nodes == 0 || depth == 0) {
+            return 0;
+        }
+        return Math.pow(nodes, 1.0 / depth);
+    }
+
+    /**
+     * Gibt die vergangene Zeit in Nanosekunden zurück.
+     *
+     * @return      Entspricht der Zeit.
+     */
+    public long getWallNanos() {
+        return wallNanos;
+    }
+
+    /**
+     * Gibt die Rechenzeit aller Threads in Nanosekunden zurück, die bei
+     * mehreren Threads größer als die vergangene Zeit sein kann.
+     *
+     * @return      Entspricht der Zeit bzw {@code 0}, falls die JVM keine
+     *              Rechenzeit pro Thread misst.
+     */
+    public long getCpuNanos() {
+        return cpuNanos;
+    }
+
+    /**
+     * Gibt die Anzahl der besuchten Spielsituationen pro Sekunde zurück.
+     *
+     * @return      Entspricht der Geschwindigkeit.
+     */
+    public double getNodesPerSecond() {
+        return wallNanos == 0 ? 0 : nodes / (wallNanos / 1e9);
+    }
+
+    /**
+     * Gibt die Statistik als Text zurück.
+     *
+     * @return      Entspricht der Darstellung der Statistik.
+     */
+    @Override
+    public String toString() {
+        return String.format("SearchStats[depth=%d, nodes=%d, nps=%.0f,"
+                + " evaluations=%d, branching=%.2f, cutoffs=%d,"
+                + " firstMoveCutoffRate=%.3f, cacheHitRate=%.3f,"
+                + " wall=%.2fms, cpu=%.2fms]", depth, nodes,
+                getNodesPerSecond(), evaluations, getBranchingFactor(),
+                cutoffs, getFirstMoveCutoffRate(), getCacheHitRate(),
+                wallNanos / 1e6, cpuNanos / 1e6);
+    }
+}
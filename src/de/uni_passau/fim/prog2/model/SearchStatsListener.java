@@ -0,0 +1,20 @@
+package de.uni_passau.fim.prog2.model;
+
+/**
+ * Wird von {@code DisplayData} nach jedem Maschinenzug mit der Statistik
+ * dessen Suche benachrichtigt. Die Benachrichtigung erfolgt auf dem Event
+ * Dispatch Thread, nachdem der Zug übernommen wurde.
+ *
+ * @version 17.10.26
+ * @author -----
+ * @see     DisplayData#addSearchStatsListener(SearchStatsListener)
+ */
+public interface SearchStatsListener {
+
+    /**
+     * Wird nach einem Maschinenzug aufgerufen.
+     *
+     * @param stats     Entspricht der Statistik der Suche des Zuges.
+     */
+    void searchFinished(SearchStats stats);
+}
@@ -0,0 +1,123 @@
+package de.uni_passau.fim.prog2.model;
+
+/**
+ * Stellt die Statistik aller Maschinenzüge des Prozesses über JMX dar. Die
+ * Bean wird beim ersten Maschinenzug unter dem Namen {@link #OBJECT_NAME}
+ * beim MBean-Server der Plattform registriert und addiert die
+ * {@link SearchStats} aller Spiele, unabhängig von deren Sitzung.
+ *
+ * @version 17.10.26
+ * @author -----
+ * @see     Board#getSearchStats()
+ */
+public interface SearchStatsMXBean {
+
+    /**
+     * Entspricht dem Namen, unter dem die Bean registriert wird.
+     */
+    String OBJECT_NAME = "de.uni_passau.fim.prog2:type=SearchStats";
+
+    /**
+     * Gibt die Anzahl der Maschinenzüge zurück.
+     *
+     * @return      Entspricht der Anzahl.
+     */
+    long getMachineMoves();
+
+    /**
+     * Gibt die Anzahl der besuchten Spielsituationen aller Maschinenzüge
+     * zurück.
+     *
+     * @return      Entspricht der Anzahl.
+     */
+    long getNodes();
+
+    /**
+     * Gibt die Anzahl der Bewertungen aller Maschinenzüge zurück.
+     *
+     * @return      Entspricht der Anzahl.
+     */
+    long getEvaluations();
+
+    /**
+     * Gibt die Anzahl der abgeschnittenen Teilbäume aller Maschinenzüge
+     * zurück.
+     *
+     * @return      Entspricht der Anzahl.
+     */
+    long getCutoffs();
+
+    /**
+     * Gibt den Anteil der abgeschnittenen Teilbäume aller Maschinenzüge
+     * zurück, bei denen bereits der erste durchsuchte Zug abgeschnitten hat.
+     *
+     * @return      Entspricht dem Anteil zwischen {@code 0} und {@code 1}.
+     */
+    double getFirstMoveCutoffRate();
+
+    /**
+     * Gibt die Anzahl der Abfragen der Transpositionstabelle aller
+     * Maschinenzüge zurück.
+     *
+     * @return      Entspricht der Anzahl.
+     */
+    long getCacheProbes();
+
+    /**
+     * Gibt die Anzahl der gefundenen Einträge aller Maschinenzüge zurück.
+     *
+     * @return      Entspricht der Anzahl.
+     */
+    long getCacheHits();
+
+    /**
+     * Gibt den Anteil der Abfragen aller Maschinenzüge zurück, für die die
+     * Transpositionstabelle einen Eintrag enthielt.
+     *
+     * @return      Entspricht dem Anteil zwischen {@code 0} und {@code 1}.
+     */
+    double getCacheHitRate();
+
+    /**
+     * Gibt die größte Tiefe aller Maschinenzüge zurück.
+     *
+     * @return      Entspricht der Tiefe.
+     */
+    int getMaxDepth();
+
+    /**
+     * Gibt die vergangene Zeit aller Maschinenzüge in Millisekunden zurück.
+     *
+     * @return      Entspricht der Zeit.
+     */
+    long getWallMillis();
+
+    /**
+     * Gibt die Rechenzeit aller Threads aller Maschinenzüge in
+     * Millisekunden zurück.
+     *
+     * @return      Entspricht der Zeit.
+     */
+    long getCpuMillis();
+
+    /**
+     * Gibt die Anzahl der besuchten Spielsituationen pro Sekunde über alle
+     * Maschinenzüge zurück.
+     *
+     * @return      Entspricht der Geschwindigkeit.
+     */
+    double getNodesPerSecond();
+
+    /**
+     * Gibt die Statistik des letzten Maschinenzuges zurück.
+     *
+     * @return      Entspricht der Statistik bzw {@code null}, falls noch
+     *              kein Maschinenzug berechnet wurde.
+     */
+    SearchStats getLastMove();
+
+    /**
+     * Setzt alle Zähler auf {@code 0} zurück.
+     */
+    void reset();
+}
@@ -0,0 +1,527 @@
+package de.uni_passau.fim.prog2.model;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lässt zwei Einstellungen der Engine ohne Oberfläche auf allen Kernen
+ * gegeneinander spielen, um zu messen, ob eine Änderung stärker oder
+ * schneller ist. Jede Eröffnung besteht aus zufälligen Halbzügen und wird
+ * zweimal gespielt, wobei die Engines die Farben tauschen. Mit einem
+ * Eröffnungsbuch in den Einstellungen spielen die Engines danach ihre
+ * Buchzüge. Jede Partie wird sofort mit dem Zwischenstand ausgegeben, am
+ * Ende zusätzlich die Wartezeiten der Züge pro Engine.
+ *
+ * <p>Jede Engine sieht die Partie als Maschine, damit die Züge genau wie im
+ * Spiel durch {@link Board#machineMove(EngineSession)} berechnet werden.
+ * Dazu wird jede Partie auf zwei Spielfeldern mit vertauschten Farben
+ * geführt und der Zug der einen Engine auf dem Spielfeld der anderen als
+ * Zug des Menschen ausgeführt.
+ *
+ * <p>Aufruf: {@code SelfPlayArena <Engine A> <Engine B> [Partien] [Threads]
+ * [Halbzüge] [Elo0 Elo1]}, wobei eine Engine als {@code default} oder als
+ * Liste wie {@code level=5,threads=1,mode=SPLIT,hash=8,endgame=14,
+ * budget=50,book=book.bin,weights=1:1.5:3:4:2.5:3} angegeben wird. Werden
+ * {@code Elo0} und {@code Elo1} angegeben, endet der Wettkampf, sobald der
+ * sequentielle Test eine der Hypothesen annimmt.
+ *
+ * @version 17.10.26
+ * @author -----
+ * @see     MatchStatistics
+ */
+public final class SelfPlayArena {
+
+    /**
+     * Entspricht der Anzahl an Partien, falls diese nicht angegeben wurde.
+     */
+    private static final int DEFAULT_GAMES = 1000;
+
+    /**
+     * Entspricht der Anzahl an zufälligen Halbzügen einer Eröffnung, falls
+     * diese nicht angegeben wurde.
+     */
+    private static final int DEFAULT_OPENING_PLIES = 8;
+
+    /**
+     * Entspricht den Hypothesen des sequentiellen Tests, falls diese nicht
+     * angegeben wurden, wobei der Test dann nicht zum Abbruch führt.
+     */
+    private static final double[] DEFAULT_HYPOTHESES = {0, 10};
+
+    /**
+     * Entspricht dem Seed, aus dem die Eröffnungen erzeugt werden.
+     */
+    private static final long SEED = 20191221L;
+
+    /**
+     * Entspricht den Namen der beiden Engines in der Ausgabe.
+     */
+    private static final String[] NAMES = {"A", "B"};
+
+    /**
+     * Entspricht den Einstellungen der beiden Engines.
+     */
+    private final EngineConfig[] configs;
+
+    /**
+     * Entspricht der max Anzahl an Partien.
+     */
+    private final int games;
+
+    /**
+     * Entspricht der Anzahl an zufälligen Halbzügen einer Eröffnung.
+     */
+    private final int openingPlies;
+
+    /**
+     * Gibt an, ob der Wettkampf endet, sobald der Test entschieden ist.
+     */
+    private final boolean sprt;
+
+    /**
+     * Entspricht den Ergebnissen aus Sicht der ersten Engine.
+     */
+    private final MatchStatistics statistics;
+
+    /**
+     * Entspricht der Nummer der nächsten Partie, die begonnen wird.
+     */
+    private final AtomicInteger nextGame;
+
+    /**
+     * Signalisiert, dass keine weiteren Partien begonnen werden.
+     */
+    private final AtomicBoolean stopped;
+
+    /**
+     * Entspricht den Wartezeiten aller Züge in Nanosekunden pro Engine.
+     */
+    private final long[][] latencies;
+
+    /**
+     * Entspricht der Anzahl der Wartezeiten pro Engine.
+     */
+    private final int[] numberOfMoves;
+
+    /**
+     * Kreiert einen Wettkampf zwischen zwei Engines.
+     *
+     * @param configs       Entspricht den Einstellungen der Engines.
+     * @param games         Entspricht der max Anzahl an Partien.
+     * @param openingPlies  Entspricht der Anzahl an zufälligen Halbzügen
+     *                      einer Eröffnung.
+     * @param hypotheses    Entspricht den Hypothesen des Tests in Elo.
+     * @param sprt          Gibt an, ob der Wettkampf endet, sobald der Test
+     *                      entschieden ist.
+     */
+    private SelfPlayArena(EngineConfig[] configs, int games, int openingPlies,
+                          double[] hypotheses, boolean sprt) {
+        this.configs = configs;
+        this.games = games;
+        this.openingPlies = openingPlies;
+        this.sprt = sprt;
+        statistics = new MatchStatistics(hypotheses[0], hypotheses[1]);
+        nextGame = new AtomicInteger();
+        stopped = new AtomicBoolean();
+        latencies = new long[configs.length][Board.SIZE * Board.SIZE];
+        numberOfMoves = new int[configs.length];
+    }
+
+    /**
+     * Startmethode des Wettkampfs.
+     *
+     * @param args  Übergabeparameter des Programms, also die Einstellungen
+     *              beider Engines und optional die Anzahl der Partien
+     *              (Standard {@code 1000}), die Anzahl der Threads
+     *              (Standard Anzahl der Kerne), die Anzahl der zufälligen
+     *              Halbzüge (Standard {@code 8}) und die Hypothesen des
+     *              Tests in Elo.
+     * @throws IOException              Wird geworfen, falls ein
+     *                                  Eröffnungsbuch nicht gelesen werden
+     *                                  kann.
+     * @throws InterruptedException     Wird geworfen, falls der Wettkampf
+     *                                  unterbrochen wird.
+     * @throws ExecutionException       Wird geworfen, falls eine Partie
+     *                                  nicht gespielt werden konnte.
+     */
+    public static void main(String[] args) throws IOException,
+            InterruptedException, ExecutionException {
+        if (args.length < 2) {
+            System.err.println("Usage: SelfPlayArena <engineA> <engineB>"
+                    + " [games] [threads] [plies] [elo0 elo1]");
+            System.exit(1);
+        }
+        EngineConfig[] configs = {parseConfig(args[0]), parseConfig(args[1])};
+        int games = args.length > 2 ? Integer.parseInt(args[2])
+                                    : DEFAULT_GAMES;
+        int threads = args.length > 3 ? Integer.parseInt(args[3])
+                : Runtime.getRuntime().availableProcessors();
+        int plies = args.length > 4 ? Integer.parseInt(args[4])
+                                    : DEFAULT_OPENING_PLIES;
+        boolean sprt = args.length > 6;
+        double[] hypotheses = sprt
+                ? new double[] {Double.parseDouble(args[5]),
+                                Double.parseDouble(args[6])}
+                : DEFAULT_HYPOTHESES;
+        if (games <= 0 || threads <= 0 || plies < 0) {
+            throw new IllegalArgumentException("Games, threads or plies is"
+                    + " negative or 0!");
+        } else if (hypotheses[0] >= hypotheses[1]) {
+            throw new IllegalArgumentException("Elo0 must be less than"
+                    + " elo1!");
+        }
+
+        for (int i = 0; i < configs.length; i++) {
+            System.out.printf("%s: %s%n", NAMES[i], configs[i]);
+        }
+        SelfPlayArena arena = new SelfPlayArena(configs, games, plies,
+                hypotheses, sprt);
+        long start = System.nanoTime();
+        arena.play(threads);
+        System.out.printf("%d games in %.1f s: %s%n",
+                arena.statistics.getGames(),
+                (System.nanoTime() - start) / 1e9, arena.statistics);
+        arena.printLatencies();
+    }
+
+    /**
+     * Liest die Einstellungen einer Engine aus einer Liste von Optionen,
+     * wobei nicht angegebene Optionen {@link EngineConfig#DEFAULT}
+     * entsprechen.
+     *
+     * @param spec                          Entspricht {@code default} oder
+     *                                      den durch Kommas getrennten
+     *                                      Optionen der Form
+     *                                      {@code Name=Wert}.
+     * @return                              Gibt die Einstellungen zurück.
+     * @throws IOException                  Wird geworfen, falls das
+     *                                      Eröffnungsbuch nicht gelesen
+     *                                      werden kann.
+     * @throws IllegalArgumentException     Wird geworfen, falls eine Option
+     *                                      unbekannt oder ihr Wert illegal
+     *                                      ist.
+     */
+    static EngineConfig parseConfig(String spec) throws IOException {
+        EngineConfig config = EngineConfig.DEFAULT;
+        if (spec.equals("default")) {
+            return config;
+        }
+
+        for (String option : spec.split(",")) {
+            String[] pair = option.split("=", 2);
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Illegal option "
+                        + option + "!");
+            }
+            String value = pair[1];
+            switch (pair[0]) {
+                case "level":
+                    config = config.withLevel(Integer.parseInt(value));
+                    break;
+                case "budget":
+                    config = config.withBudget(
+                            Duration.ofMillis(Long.parseLong(value)));
+                    break;
+                case "threads":
+                    config = config.withThreads(Integer.parseInt(value));
+                    break;
+                case "mode":
+                    config = config.withParallelMode(
+                            ParallelMode.valueOf(value));
+                    break;
+                case "hash":
+                    config = config.withHashSize(Integer.parseInt(value));
+                    break;
+                case "endgame":
+                    config = config.withEndgameEmpties(Integer.parseInt(value));
+                    break;
+                case "book":
+                    config = config.withOpeningBook(
+                            OpeningBook.load(Paths.get(value)));
+                    break;
+                case "weights":
+                    config = config.withWeights(parseWeights(value));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option "
+                            + pair[0] + "!");
+            }
+        }
+        return config;
+    }
+
+    /**
+     * Liest die Gewichte der Bewertung in der Reihenfolge des Konstruktors
+     * von {@code EvaluationWeights}.
+     *
+     * @param value                         Entspricht den sechs durch
+     *                                      Doppelpunkte getrennten
+     *                                      Gewichten.
+     * @return                              Gibt die Gewichte zurück.
+     * @throws IllegalArgumentException     Wird geworfen, falls nicht genau
+     *                                      sechs Gewichte angegeben wurden.
+     */
+    private static EvaluationWeights parseWeights(String value) {
+        String[] parts = value.split(":");
+        if (parts.length != 6) {
+            throw new IllegalArgumentException("Six weights required!");
+        }
+        double[] weights = new double[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            weights[i] = Double.parseDouble(parts[i]);
+        }
+        return new EvaluationWeights(weights[0], weights[1], weights[2],
+                weights[3], weights[4], weights[5]);
+    }
+
+    /**
+     * Spielt die Partien auf mehreren Threads, bis alle gespielt wurden oder
+     * der Test entschieden ist.
+     *
+     * @param threads                   Entspricht der Anzahl der Threads.
+     * @throws InterruptedException     Wird geworfen, falls der Wettkampf
+     *                                  unterbrochen wird.
+     * @throws ExecutionException       Wird geworfen, falls eine Partie
+     *                                  nicht gespielt werden konnte.
+     */
+    private void play(int threads) throws InterruptedException,
+            ExecutionException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Void>> workers = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                workers.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() {
+                        playGames();
+                        return null;
+                    }
+                }));
+            }
+            for (Future<Void> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            stopped.set(true);
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Spielt Partien, bis keine mehr übrig sind oder der Wettkampf beendet
+     * wurde. Jeder Thread verwendet pro Engine eine eigene Sitzung, deren
+     * Transpositionstabelle über die Partien hinweg erhalten bleibt.
+     */
+    private void playGames() {
+        EngineSession[] sessions = new EngineSession[configs.length];
+        long[][] ownLatencies = new long[configs.length][Board.SIZE
+                * Board.SIZE];
+        int[] ownMoves = new int[configs.length];
+        try {
+            for (int i = 0; i < configs.length; i++) {
+                sessions[i] = new EngineSession(configs[i]);
+            }
+            int game = nextGame.getAndIncrement();
+            while (game < games && !stopped.get()) {
+                EngineBoard end = playGame(game, sessions, ownLatencies,
+                        ownMoves);
+                report(game, end);
+                game = nextGame.getAndIncrement();
+            }
+        } finally {
+            for (EngineSession session : sessions) {
+                if (session != null) {
+                    session.close();
+                }
+            }
+            addLatencies(ownLatencies, ownMoves);
+        }
+    }
+
+    /**
+     * Spielt eine Partie. Die Partien {@code 2n} und {@code 2n + 1} beginnen
+     * mit der gleichen zufälligen Eröffnung, wobei in der ersten Partie die
+     * erste und in der zweiten die zweite Engine eröffnet.
+     *
+     * @param game          Entspricht der Nummer der Partie.
+     * @param sessions      Entspricht den Sitzungen der Engines.
+     * @param latencies     Wird um die Wartezeiten der Züge pro Engine
+     *                      ergänzt, wobei die Arrays bei Bedarf vergrößert
+     *                      werden.
+     * @param moves         Entspricht der Anzahl der Wartezeiten pro Engine.
+     * @return              Gibt das Ende der Partie aus Sicht der ersten
+     *                      Engine zurück.
+     */
+    private EngineBoard playGame(int game, EngineSession[] sessions,
+                                 long[][] latencies, int[] moves) {
+        int opener = game % 2;
+        EngineBoard[] views = new EngineBoard[sessions.length];
+        for (int i = 0; i < views.length; i++) {
+            Player firstPlayer = i == opener ? Player.MACHINE : Player.HUMAN;
+            views[i] = (EngineBoard) BoardType.BITBOARD.createBoard(
+                    firstPlayer, sessions[i]);
+        }
+
+        Random random = new Random(SEED + game / 2);
+        for (int ply = 0; ply < openingPlies && !views[0].gameOver(); ply++) {
+            long legalMoves = views[0].calculateLegalMoves(views[0].next());
+            for (int i = random.nextInt(Long.bitCount(legalMoves)); i > 0;
+                    i--) {
+                legalMoves &= legalMoves - 1;
+            }
+            playOnAll(views, Long.numberOfTrailingZeros(legalMoves));
+        }
+        for (EngineSession session : sessions) {
+            session.reset();
+        }
+
+        while (!views[0].gameOver()) {
+            int engine = views[0].next() == Player.MACHINE ? 0 : 1;
+            assert views[1 - engine].next() == Player.HUMAN
+                    : "Views of the game diverged!";
+
+            long start = System.nanoTime();
+            Board reply = views[engine].machineMove(sessions[engine]);
+            long latency = System.nanoTime() - start;
+            if (moves[engine] == latencies[engine].length) {
+                latencies[engine] = Arrays.copyOf(latencies[engine],
+                        2 * moves[engine]);
+            }
+            latencies[engine][moves[engine]++] = latency;
+            views[1 - engine] = moveOf(views[1 - engine],
+                    findMove(views[engine], reply));
+            views[engine] = (EngineBoard) reply;
+        }
+        assert views[0].getNumberOfMachineTiles()
+                == views[1].getNumberOfHumanTiles()
+                : "Views of the game diverged!";
+        return views[0];
+    }
+
+    /**
+     * Führt einen Zug auf allen Spielfeldern einer Partie aus.
+     *
+     * @param views         Entspricht den Spielfeldern der Engines.
+     * @param square        Entspricht dem Index des Feldes des Zuges.
+     */
+    private static void playOnAll(EngineBoard[] views, int square) {
+        for (int i = 0; i < views.length; i++) {
+            views[i] = moveOf(views[i], square);
+        }
+    }
+
+    /**
+     * Führt einen Zug des ziehenden Spielers auf einem Klon aus.
+     *
+     * @param board         Entspricht der Spielsituation.
+     * @param square        Entspricht dem Index des Feldes des Zuges.
+     * @return              Gibt die Spielsituation nach dem Zug zurück.
+     */
+    private static EngineBoard moveOf(EngineBoard board, int square) {
+        return board.moveForNextPlayer(square / Board.SIZE + 1,
+                square % Board.SIZE + 1);
+    }
+
+    /**
+     * Gibt das Feld des Zuges zurück, der von einer Spielsituation zur
+     * nächsten geführt hat, also das einzige legale Feld, das danach belegt
+     * ist.
+     *
+     * @param board         Entspricht der Spielsituation vor dem Zug.
+     * @param reply         Entspricht der Spielsituation nach dem Zug.
+     * @return              Gibt den Index des Feldes des Zuges zurück.
+     */
+    private static int findMove(EngineBoard board, Board reply) {
+        for (long rest = board.calculateLegalMoves(board.next()); rest != 0;
+                rest &= rest - 1) {
+            int square = Long.numberOfTrailingZeros(rest);
+            if (reply.getSlot(square / Board.SIZE + 1,
+                    square % Board.SIZE + 1) != null) {
+                return square;
+            }
+        }
+        throw new IllegalStateException("Reply is no legal move!");
+    }
+
+    /**
+     * Zählt das Ergebnis einer Partie und gibt es mit dem Zwischenstand
+     * aus. Ist der Test entschieden, werden keine weiteren Partien
+     * begonnen.
+     *
+     * @param game          Entspricht der Nummer der Partie.
+     * @param end           Entspricht dem Ende der Partie aus Sicht der
+     *                      ersten Engine.
+     */
+    private synchronized void report(int game, EngineBoard end) {
+        statistics.record(end.getWinner());
+        System.out.printf("game %d (%s first) A %d:%d B | %s%n", game + 1,
+                NAMES[game % 2], end.getNumberOfMachineTiles(),
+                end.getNumberOfHumanTiles(), statistics);
+        if (sprt && statistics.isDecided()) {
+            stopped.set(true);
+        }
+    }
+
+    /**
+     * Übernimmt die Wartezeiten der Züge eines Threads.
+     *
+     * @param ownLatencies  Entspricht den Wartezeiten pro Engine.
+     * @param ownMoves      Entspricht der Anzahl der Wartezeiten pro Engine.
+     */
+    private synchronized void addLatencies(long[][] ownLatencies,
+                                           int[] ownMoves) {
+        for (int i = 0; i < latencies.length; i++) {
+            if (numberOfMoves[i] + ownMoves[i] > latencies[i].length) {
+                latencies[i] = Arrays.copyOf(latencies[i],
+                        numberOfMoves[i] + ownMoves[i]);
+            }
+            System.arraycopy(ownLatencies[i], 0, latencies[i],
+                    numberOfMoves[i], ownMoves[i]);
+            numberOfMoves[i] += ownMoves[i];
+        }
+    }
+
+    /**
+     * Gibt die Perzentile der Wartezeiten der Züge pro Engine aus.
+     */
+    private synchronized void printLatencies() {
+        for (int i = 0; i < latencies.length; i++) {
+            int count = numberOfMoves[i];
+            if (count == 0) {
+                continue;
+            }
+            long[] sorted = latencies[i];
+            Arrays.sort(sorted, 0, count);
+            System.out.printf("%s: %d moves, latency p50 %.2f ms, p90 %.2f"
+                    + " ms, p99 %.2f ms, max %.2f ms%n", NAMES[i], count,
+                    percentile(sorted, count, 50) / 1e6,
+                    percentile(sorted, count, 90) / 1e6,
+                    percentile(sorted, count, 99) / 1e6,
+                    sorted[count - 1] / 1e6);
+        }
+    }
+
+    /**
+     * Gibt ein Perzentil der sortierten Wartezeiten zurück.
+     *
+     * @param sorted        Entspricht den sortierten Wartezeiten.
+     * @param count         Entspricht der Anzahl der Wartezeiten.
+     * @param percent       Entspricht dem Perzentil.
+     * @return              Gibt die Wartezeit des Perzentils zurück.
+     */
+    private static long percentile(long[] sorted, int count, int percent) {
+        return sorted[Math.min(count - 1, count * percent / 100)];
+    }
+}
@@ -0,0 +1,334 @@
+package de.uni_passau.fim.prog2.model;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@code TranspositionTable} speichert die Scores bereits durchsuchter
+ * Spielsituationen, damit diese nicht erneut durchsucht werden müssen, falls
+ * sie durch eine andere Zugreihenfolge erneut erreicht werden. Die Tabelle
+ * hat eine feste Größe und wird über den Zobrist-Hash der Spielsituation
+ * adressiert. Pro Eintrag werden Tiefe, Art der Schranke, Score und der beste
+ * Zug gespeichert.
+ *
+ * <p>Ist ein Platz belegt, wird der alte Eintrag nur ersetzt, falls dieser
+ * zur selben Spielsituation gehört, aus einer früheren Suche stammt oder
+ * nicht tiefer durchsucht wurde als der neue Eintrag. Die Zähler für Treffer,
+ * Fehlschläge und Kollisionen dienen dazu, die Größe der Tabelle anzupassen.
+ *
+ * <p>Die Tabelle kann von mehreren Threads gleichzeitig ohne Sperren
+ * verwendet werden. Statt des Schlüssels wird dazu die XOR-Verknüpfung von
+ * Schlüssel, Score und Informationen gespeichert. Wird ein Eintrag von einem
+ * Thread gelesen, während ein anderer Thread diesen schreibt, passen die
+ * drei Werte nicht zusammen und der Eintrag wird wie ein fremder Eintrag
+ * behandelt, anstatt einen falschen Score zurückzugeben.
+ *
+ * @version 17.10.26
+ * @author -----
+ */
+public final class TranspositionTable {
+
+    /**
+     * Entspricht der Art des gespeicherten Scores.
+     */
+    enum Bound {
+
+        /**
+         * Der Score entspricht genau dem Score der Spielsituation.
+         */
+        EXACT,
+
+        /**
+         * Der Score der Spielsituation ist mindestens so groß.
+         */
+        LOWER,
+
+        /**
+         * Der Score der Spielsituation ist höchstens so groß.
+         */
+        UPPER
+    }
+
+    /**
+     * Entspricht dem Inhalt eines Eintrags, der bei einer Abfrage befüllt
+     * wird. Dadurch muss bei einer Abfrage kein Objekt erzeugt werden.
+     */
+    static final class Entry {
+
+        /**
+         * Entspricht der verbleibenden Tiefe, bis zu der die Spielsituation
+         * durchsucht wurde.
+         */
+        int depth;
+
+        /**
+         * Entspricht der Art des Scores.
+         */
+        Bound bound;
+
+        /**
+         * Entspricht dem Score der Spielsituation.
+         */
+        double score;
+
+        /**
+         * Entspricht dem Index des besten Zuges bzw {@code NO_MOVE}.
+         */
+        int move;
+    }
+
+    /**
+     * Entspricht dem Index eines nicht vorhandenen Zuges.
+     */
+    static final int NO_MOVE = Board.SIZE * Board.SIZE;
+
+    /**
+     * Entspricht der Anzahl an {@code long} Werten pro Eintrag, also dem
+     * Schlüssel, dem Score und den restlichen Informationen.
+     */
+    private static final int LONGS_PER_ENTRY = 3;
+
+    /**
+     * Entspricht der Anzahl an Bytes pro Megabyte.
+     */
+    private static final long BYTES_PER_MEGABYTE = 1024 * 1024;
+
+    /**
+     * Entspricht der Anzahl an Bits für die Tiefe eines Eintrags.
+     */
+    private static final int DEPTH_BITS = 8;
+
+    /**
+     * Entspricht der Anzahl an Bits für die Art des Scores eines Eintrags.
+     */
+    private static final int BOUND_BITS = 2;
+
+    /**
+     * Entspricht der Anzahl an Bits für den besten Zug eines Eintrags.
+     */
+    private static final int MOVE_BITS = 7;
+
+    /**
+     * Entspricht der Anzahl an Bits für die Nummer der Suche eines Eintrags.
+     */
+    private static final int GENERATION_BITS = 8;
+
+    /**
+     * Entspricht allen Arten von Scores, wobei der Index dem in den
+     * Informationen gespeicherten Wert entspricht.
+     */
+    private static final Bound[] BOUNDS = Bound.values();
+
+    /**
+     * Entspricht den Einträgen, wobei jeder Eintrag aus
+     * {@code LONGS_PER_ENTRY} aufeinanderfolgenden Werten besteht. Der erste
+     * Wert entspricht der XOR-Verknüpfung des Schlüssels mit den anderen
+     * beiden Werten.
+     */
+    private final long[] entries;
+
+    /**
+     * Entspricht der Anzahl der Einträge minus {@code 1}, wobei die Anzahl
+     * eine Zweierpotenz ist.
+     */
+    private final int mask;
+
+    /**
+     * Entspricht der Nummer der momentanen Suche, mit der veraltete Einträge
+     * erkannt werden.
+     */
+    private volatile int generation;
+
+    /**
+     * Entspricht der Anzahl der Abfragen, bei denen ein Eintrag gefunden
+     * wurde.
+     */
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * Entspricht der Anzahl der Abfragen, bei denen kein Eintrag gefunden
+     * wurde.
+     */
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Entspricht der Anzahl der Fehlschläge, bei denen der Platz durch eine
+     * andere Spielsituation belegt war.
+     */
+    private final LongAdder collisions = new LongAdder();
+
+    /**
+     * Kreiert eine leere Tabelle, die höchstens {@code megabytes} Megabyte
+     * belegt.
+     *
+     * @param megabytes                     Entspricht der Größe der Tabelle
+     *                                      in Megabyte.
+     * @throws IllegalArgumentException     Wird geworfen, falls
+     *                                      {@code megabytes} nicht positiv
+     *                                      ist.
+     */
+    public TranspositionTable(int megabytes) {
+        if (megabytes > 0) {
+            long maxEntries = megabytes * BYTES_PER_MEGABYTE
+                    / (LONGS_PER_ENTRY * Long.BYTES);
+            int capacity = Integer.highestOneBit((int) Math.min(maxEntries,
+                    Integer.MAX_VALUE / LONGS_PER_ENTRY));
+            entries = new long[capacity * LONGS_PER_ENTRY];
+            mask = capacity - 1;
+        } else {
+            throw new IllegalArgumentException("Size is negative or 0!");
+        }
+    }
+
+    /**
+     * Gibt die Anzahl der Einträge zurück, die die Tabelle speichern kann.
+     *
+     * @return      Entspricht der Kapazität der Tabelle.
+     */
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Gibt die Anzahl der Abfragen zurück, bei denen ein Eintrag zur
+     * Spielsituation gefunden wurde.
+     *
+     * @return      Entspricht der Anzahl der Treffer.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Gibt die Anzahl der Abfragen zurück, bei denen kein Eintrag zur
+     * Spielsituation gefunden wurde.
+     *
+     * @return      Entspricht der Anzahl der Fehlschläge.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Gibt die Anzahl der Fehlschläge zurück, bei denen der Platz durch eine
+     * andere Spielsituation belegt war. Ein hoher Anteil deutet darauf hin,
+     * dass die Tabelle zu klein ist.
+     *
+     * @return      Entspricht der Anzahl der Kollisionen.
+     */
+    public long getCollisions() {
+        return collisions.sum();
+    }
+
+    /**
+     * Markiert alle vorhandenen Einträge als veraltet, wobei diese weiterhin
+     * gefunden werden, aber bevorzugt ersetzt werden. Wird zu Beginn jeder
+     * Suche aufgerufen.
+     */
+    synchronized void newSearch() {
+        generation = (generation + 1) & ((1 << GENERATION_BITS) - 1);
+    }
+
+    /**
+     * Sucht den Eintrag einer Spielsituation.
+     *
+     * @param key           Entspricht dem Schlüssel der Spielsituation.
+     * @param entry         Wird mit dem Inhalt des Eintrags befüllt, falls
+     *                      dieser gefunden wurde.
+     * @return              Gibt {@code true} zurück, falls ein Eintrag
+     *                      gefunden wurde, andernfalls {@code false}.
+     */
+    boolean probe(long key, Entry entry) {
+        assert entry != null : "Entry cannot be undefined!";
+
+        int index = indexOf(key);
+        long check = entries[index];
+        long scoreBits = entries[index + 1];
+        long info = entries[index + 2];
+        if (info != 0 && (check ^ scoreBits ^ info) == key) {
+            hits.increment();
+            entry.depth = (int) (info & ((1 << DEPTH_BITS) - 1));
+            entry.bound = BOUNDS[(int) ((info >>> DEPTH_BITS)
+                    & ((1 << BOUND_BITS) - 1))];
+            entry.move = (int) ((info >>> (DEPTH_BITS + BOUND_BITS))
+                    & ((1 << MOVE_BITS) - 1));
+            entry.score = Double.longBitsToDouble(scoreBits);
+            return true;
+        } else {
+            misses.increment();
+            if (info != 0) {
+                collisions.increment();
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Speichert den Score einer Spielsituation, falls der momentane Eintrag
+     * des Platzes nach der Ersetzungsstrategie ersetzt werden darf.
+     *
+     * @param key           Entspricht dem Schlüssel der Spielsituation.
+     * @param depth         Entspricht der verbleibenden Tiefe der Suche.
+     * @param bound         Entspricht der Art des Scores.
+     * @param score         Entspricht dem Score.
+     * @param move          Entspricht dem Index des besten Zuges bzw
+     *                      {@code NO_MOVE}.
+     */
+    void store(long key, int depth, Bound bound, double score, int move) {
+        assert depth >= 0 && depth < (1 << DEPTH_BITS) : "Depth is illegal!";
+        assert bound != null : "Bound cannot be undefined!";
+        assert move >= 0 && move <= NO_MOVE : "Move is illegal!";
+
+        int index = indexOf(key);
+        long oldCheck = entries[index];
+        long oldScoreBits = entries[index + 1];
+        long oldInfo = entries[index + 2];
+        if (oldInfo == 0 || (oldCheck ^ oldScoreBits ^ oldInfo) == key
+                || generationOf(oldInfo) != generation
+                || (oldInfo & ((1 << DEPTH_BITS) - 1)) <= depth) {
+            long scoreBits = Double.doubleToRawLongBits(score);
+            long info = pack(depth, bound, move);
+            entries[index] = key ^ scoreBits ^ info;
+            entries[index + 1] = scoreBits;
+            entries[index + 2] = info;
+        }
+    }
+
+    /**
+     * Berechnet den Index des ersten Wertes des Eintrags eines Schlüssels.
+     *
+     * @param key       Entspricht dem Schlüssel.
+     * @return          Gibt den Index in {@code entries} zurück.
+     */
+    private int indexOf(long key) {
+        return ((int) (key ^ (key >>> 32)) & mask) * LONGS_PER_ENTRY;
+    }
+
+    /**
+     * Fasst die Informationen eines Eintrags zusammen, wobei das höchste
+     * Bit gesetzt wird, damit belegte Einträge nie {@code 0} sind.
+     *
+     * @param depth     Entspricht der Tiefe.
+     * @param bound     Entspricht der Art des Scores.
+     * @param move      Entspricht dem Index des besten Zuges.
+     * @return          Gibt die zusammengefassten Informationen zurück.
+     */
+    private long pack(int depth, Bound bound, int move) {
+        final int generationShift = DEPTH_BITS + BOUND_BITS + MOVE_BITS;
+        return Long.MIN_VALUE | depth
+                | ((long) bound.ordinal() << DEPTH_BITS)
+                | ((long) move << (DEPTH_BITS + BOUND_BITS))
+                | ((long) generation << generationShift);
+    }
+
+    /**
+     * Gibt die Nummer der Suche zurück, in der ein Eintrag gespeichert wurde.
+     *
+     * @param info      Entspricht den Informationen des Eintrags.
+     * @return          Gibt die Nummer der Suche zurück.
+     */
+    private static int generationOf(long info) {
+        final int generationShift = DEPTH_BITS + BOUND_BITS + MOVE_BITS;
+        return (int) ((info >>> generationShift)
+                & ((1 << GENERATION_BITS) - 1));
+    }
+}
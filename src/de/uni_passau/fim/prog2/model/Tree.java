@@ -18,7 +18,7 @@ class Tree {
     /**
      * Entspricht der Wurzel des Baumes.
      */
-    private Reversi root;
+    private EngineBoard root;
 
     /**
      * Entspricht den Kinderbäumen der Wurzel.
@@ -35,7 +35,7 @@ class Tree {
      *                          beste Zug berechnet wird.
      * @see                     #buildTree(int)
      */
-    Tree(Reversi root, int level) {
+    Tree(EngineBoard root, int level) {
         assert root != null : "The beginning game cannot be undefined!";
         assert level > 0 : "Level cannot be negative or 0!";
         assert !root.gameOver() : "The game cannot be already over!";
@@ -50,7 +50,7 @@ class Tree {
      *
      * @param root                  Entspricht einer möglichen Spielsituation.
      */
-    private Tree(Reversi root) {
+    private Tree(EngineBoard root) {
         assert root != null : "The game to assess cannot be undefined!";
 
         this.root = root;
@@ -63,21 +63,20 @@ class Tree {
      *
      * @param level         Entspricht der Schwierigkeitsstufe und somit
      *                      der max Tiefe des Baumes.
-     * @see                 Reversi#moveForNextPlayer(int, int)
+     * @see                 EngineBoard#moveForNextPlayer(int, int)
+     * @see                 Position#calculateLegalMoves(Player)
      */
     private void buildTree(int level) {
         children = new ArrayList<>();
         if (!root.gameOver() && level > 0) {
-            for (int i = 1; i <= Board.SIZE; i++) {
-                for (int u = 1; u <= Board.SIZE; u++) {
-                    Reversi moveOfNextPlayer = root.moveForNextPlayer(i, u);
-
-                    if (moveOfNextPlayer != null) {
-                        Tree tree = new Tree(moveOfNextPlayer);
-                        children.add(tree);
-                        tree.buildTree(level - 1);
-                    }
-                }
+            for (long rest = root.calculateLegalMoves(root.next()); rest != 0;
+                    rest &= rest - 1) {
+                int square = Long.numberOfTrailingZeros(rest);
+                EngineBoard moveOfNextPlayer = root.moveForNextPlayer(
+                        square / Board.SIZE + 1, square % Board.SIZE + 1);
+                Tree tree = new Tree(moveOfNextPlayer);
+                children.add(tree);
+                tree.buildTree(level - 1);
             }
         }
     }
@@ -89,14 +88,14 @@ class Tree {
      * @return          Entspricht dem besten Zug, ausgeführt auf einem Klon.
      * @see             #calculateScore(Player)
      */
-    Reversi calculateBestMove() {
+    EngineBoard calculateBestMove() {
         assert !root.gameOver() : "The game must not be already over!";
         assert children.size() > 0 : "The game must have children because"
                 + " the game is not over yet!";
         assert root.next() != null : "The next player cannot be undefined!";
 
         Tree firstChild = children.get(0);
-        Reversi bestMove = firstChild.root;
+        EngineBoard bestMove = firstChild.root;
         double bestScoreOfChildren = firstChild.calculateScore(root.next());
         for (int i = 1; i < children.size(); i++) {
             Tree child = children.get(i);
@@ -123,7 +122,8 @@ class Tree {
         assert playerToAssess != null : "The player to asses cannot"
                 + " be undefined!";
 
-        Score score = new Score(root, playerToAssess);
+        Score score = new Score(root, playerToAssess,
+                EvaluationWeights.DEFAULT);
         double scoreOfRoot = score.calculateScore();
         if (children.size() > 0) {
             scoreOfRoot += calculateScoreOfChildren(playerToAssess);
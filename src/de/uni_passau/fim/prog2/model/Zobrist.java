@@ -0,0 +1,94 @@
+package de.uni_passau.fim.prog2.model;
+
+import java.util.Random;
+
+/**
+ * {@code Zobrist} stellt die Zufallszahlen bereit, aus denen der Hash einer
+ * Spielsituation gebildet wird. Der Hash entspricht der XOR-Verknüpfung der
+ * Zahlen aller belegten Felder und wird bei einem Zug inkrementell
+ * aktualisiert, indem die Zahlen der gesetzten und umgedrehten Steine
+ * verknüpft werden. Da die Zahlen mit einem festen Seed erzeugt werden, ist
+ * der Hash einer Spielsituation in jeder JVM gleich.
+ *
+ * @version 17.10.26
+ * @author -----
+ */
+final class Zobrist {
+
+    /**
+     * Entspricht der Zahl, die verknüpft wird, falls die Maschine an der
+     * Reihe ist.
+     */
+    static final long MACHINE_TO_MOVE;
+
+    /**
+     * Entspricht der Zahl, die verknüpft wird, falls die Spielsituation aus
+     * der Sicht des Menschen bewertet wird. Dadurch unterscheiden sich die
+     * Schlüssel der Scores beider Spieler.
+     */
+    static final long HUMAN_TO_ASSESS;
+
+    /**
+     * Entspricht den Zahlen pro Spieler und Feld.
+     */
+    private static final long[][] KEYS;
+
+    static {
+        final long seed = 0x5eed_2019_1221L;
+        Random random = new Random(seed);
+        KEYS = new long[Player.values().length][Board.SIZE * Board.SIZE];
+        for (long[] keysOfPlayer : KEYS) {
+            for (int i = 0; i < keysOfPlayer.length; i++) {
+                keysOfPlayer[i] = random.nextLong();
+            }
+        }
+        MACHINE_TO_MOVE = random.nextLong();
+        HUMAN_TO_ASSESS = random.nextLong();
+    }
+
+    /**
+     * Verhindert die Instanziierung der Klasse.
+     */
+    private Zobrist() {
+    }
+
+    /**
+     * Gibt die Zahl eines Steines auf einem Feld zurück.
+     *
+     * @param player        Entspricht dem Spieler des Steines.
+     * @param square        Entspricht dem Index des Feldes, also
+     *                      {@code (row - 1) * Board.SIZE + (col - 1)}.
+     * @return              Gibt die Zahl des Steines zurück.
+     */
+    static long of(Player player, int square) {
+        assert player != null : "Player cannot be undefined!";
+        assert square >= 0 && square < Board.SIZE * Board.SIZE
+                : "Square is not on the board!";
+
+        return KEYS[player.ordinal()][square];
+    }
+
+    /**
+     * Berechnet den Hash einer Spielsituation vollständig, wobei dies nur
+     * für die Anfangsposition benötigt wird.
+     *
+     * @param board         Entspricht der Spielsituation.
+     * @return              Gibt den Hash der Spielsituation zurück.
+     */
+    static long hashOf(Board board) {
+        assert board != null : "Board cannot be undefined!";
+
+        long hash = board.next() == Player.MACHINE ? MACHINE_TO_MOVE : 0;
+        for (int row = 1; row <= Board.SIZE; row++) {
+            for (int col = 1; col <= Board.SIZE; col++) {
+                Player playerOfSlot = board.getSlot(row, col);
+
+                if (playerOfSlot != null) {
+                    hash ^= of(playerOfSlot,
+                            (row - 1) * Board.SIZE + (col - 1));
+                }
+            }
+        }
+        return hash;
+    }
+}
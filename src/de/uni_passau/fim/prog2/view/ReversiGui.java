@@ -3,6 +3,8 @@ package de.uni_passau.fim.prog2.view;
 import de.uni_passau.fim.prog2.observer.Observable;
 import de.uni_passau.fim.prog2.observer.Observer;
 import de.uni_passau.fim.prog2.model.DisplayData;
+import de.uni_passau.fim.prog2.model.LatencyMonitor;
+import de.uni_passau.fim.prog2.model.OpeningBook;
 import de.uni_passau.fim.prog2.model.Player;
 
 import javax.swing.JFrame;
@@ -29,6 +31,9 @@ import java.awt.event.InputEvent;
 import java.awt.event.KeyEvent;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
 
 /**
  * Implementiert die visuelle Darstellung von Reversi inkl Menü. Das Menü
@@ -315,7 +320,7 @@ public final class ReversiGui extends JFrame implements Observer {
             @Override
             public void windowClosed(WindowEvent e) {
                 super.windowClosed(e);
-                displayData.stopMachineThread();
+                displayData.stopMachineMove();
             }
         });
     }
@@ -407,13 +412,41 @@ public final class ReversiGui extends JFrame implements Observer {
     /**
      * Startmethode des Programms.
      *
-     * @param args  Übergabeparameter des Programms.
+     * @param args  Übergabeparameter des Programms, wobei optional die Datei
+     *              eines Eröffnungsbuches angegeben werden kann. Ist die
+     *              Property {@code reversi.ponder} {@code true}, berechnet
+     *              die Maschine ihre Antworten während des Zuges des
+     *              Menschen voraus. Ist die Property
+     *              {@code reversi.latency.interval} in Sekunden gesetzt,
+     *              werden die Latenzen regelmäßig auf der Konsole bzw in
+     *              der Datei der Property {@code reversi.latency.file}
+     *              ausgegeben.
+     * @see         LatencyMonitor#startExport(Duration, java.nio.file.Path)
      */
     public static void main(String[] args) {
+        int latencyInterval = Integer.getInteger("reversi.latency.interval",
+                0);
+        if (latencyInterval > 0) {
+            String latencyFile = System.getProperty("reversi.latency.file");
+            LatencyMonitor.startExport(Duration.ofSeconds(latencyInterval),
+                    latencyFile != null ? Paths.get(latencyFile) : null);
+        }
+        final boolean pondering = Boolean.getBoolean("reversi.ponder");
+        final DisplayData displayData = new DisplayData();
+        if (args.length > 0) {
+            try {
+                displayData.setOpeningBook(OpeningBook.load(
+                        Paths.get(args[0])));
+            } catch (IOException e) {
+                System.err.println("Opening book cannot be loaded: "
+                        + e.getMessage());
+            }
+        }
         SwingUtilities.invokeLater(new Runnable() {
             @Override
             public void run() {
-                new ReversiGui(new DisplayData());
+                new ReversiGui(displayData);
+                displayData.setPondering(pondering);
             }
         });
     }